@@ -16,6 +16,7 @@
 package org.kie.kogito.explainability;
 
 import java.util.Map;
+import java.util.function.Function;
 
 import org.kie.dmn.api.core.DMNContext;
 import org.kie.dmn.api.core.DMNResult;
@@ -40,11 +41,19 @@ public class DecisionExplainabilityResourceExecutor implements ExplainabilityRes
 
     @Override
     public PredictOutput processRequest(Application application, PredictInput predictInput) {
+        return newEvaluator(application, predictInput).apply(predictInput);
+    }
+
+    @Override
+    public Function<PredictInput, PredictOutput> newEvaluator(Application application, PredictInput predictInput) {
         DecisionModel decisionModel = getDecisionModel(application.get(DecisionModels.class), predictInput.getModelIdentifier());
-        DMNContext dmnContext = decisionModel.newContext(convertDMNInput(predictInput));
-        dmnContext.getMetadata().set(SKIP_TRACING, true);
-        dmnContext.getMetadata().set(SKIP_MONITORING, true);
-        return convertDMNOutput(decisionModel.evaluateAll(dmnContext), predictInput);
+        String[] namespaceAndName = extractNamespaceAndName(predictInput.getModelIdentifier().getResourceId());
+        return input -> {
+            DMNContext dmnContext = decisionModel.newContext(convertDMNInput(input));
+            dmnContext.getMetadata().set(SKIP_TRACING, true);
+            dmnContext.getMetadata().set(SKIP_MONITORING, true);
+            return convertDMNOutput(decisionModel.evaluateAll(dmnContext), namespaceAndName, input);
+        };
     }
 
     protected DecisionModel getDecisionModel(DecisionModels decisionModels, ModelIdentifier modelIdentifier) {
@@ -56,8 +65,7 @@ public class DecisionExplainabilityResourceExecutor implements ExplainabilityRes
         return predictInput.getRequest();
     }
 
-    private PredictOutput convertDMNOutput(DMNResult dmnResult, PredictInput predictInput) {
-        String[] namespaceAndName = extractNamespaceAndName(predictInput.getModelIdentifier().getResourceId());
+    private PredictOutput convertDMNOutput(DMNResult dmnResult, String[] namespaceAndName, PredictInput predictInput) {
         KogitoDMNResult result = new KogitoDMNResult(
                 namespaceAndName[0],
                 namespaceAndName[1],
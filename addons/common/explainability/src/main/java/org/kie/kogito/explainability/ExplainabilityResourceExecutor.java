@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.explainability;
 
+import java.util.function.Function;
+
 import org.kie.kogito.Application;
 import org.kie.kogito.explainability.model.PredictInput;
 import org.kie.kogito.explainability.model.PredictOutput;
@@ -24,4 +26,16 @@ public interface ExplainabilityResourceExecutor {
     boolean acceptRequest(PredictInput predictInput);
 
     PredictOutput processRequest(Application application, PredictInput predictInput);
+
+    /**
+     * Returns a function that processes inputs targeting the same model as given input. Resolving the model
+     * is done once, so the function can be applied to all the inputs of a request, possibly concurrently.
+     * 
+     * @param application application to resolve the model from
+     * @param predictInput input identifying the model
+     * @return function processing inputs targeting the model
+     */
+    default Function<PredictInput, PredictOutput> newEvaluator(Application application, PredictInput predictInput) {
+        return input -> processRequest(application, input);
+    }
 }
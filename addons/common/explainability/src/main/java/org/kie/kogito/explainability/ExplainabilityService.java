@@ -15,8 +15,17 @@
  */
 package org.kie.kogito.explainability;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.kie.kogito.Application;
 import org.kie.kogito.explainability.model.PredictInput;
@@ -27,20 +36,88 @@ import static java.util.stream.Collectors.toList;
 
 public class ExplainabilityService {
 
-    public static final ExplainabilityService INSTANCE = new ExplainabilityService(singletonList(new DecisionExplainabilityResourceExecutor()));
+    public static final int DEFAULT_CHUNK_SIZE = 32;
+
+    public static final ExplainabilityService INSTANCE = new ExplainabilityService(singletonList(new DecisionExplainabilityResourceExecutor()),
+            Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
 
     private Collection<ExplainabilityResourceExecutor> executors;
+    private final int chunkSize;
+    private final ExecutorService evaluationPool;
 
     public ExplainabilityService(Collection<ExplainabilityResourceExecutor> executors) {
+        this(executors, 1, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a service that evaluates requests larger than given chunk size in parallel: inputs are split in chunks
+     * evaluated concurrently on a pool of given parallelism, shared by all the requests.
+     * 
+     * @param executors executors able to process the inputs
+     * @param parallelism number of threads evaluating chunks, 1 to evaluate requests sequentially
+     * @param chunkSize number of inputs evaluated together by a single thread
+     */
+    public ExplainabilityService(Collection<ExplainabilityResourceExecutor> executors, int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive");
+        }
         this.executors = executors;
+        this.chunkSize = chunkSize;
+        this.evaluationPool = parallelism > 1 ? Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "explainability-evaluation");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
     }
 
     public List<PredictOutput> processRequest(Application application, List<PredictInput> predictInputs) {
-        return predictInputs.stream().map(predictInput -> executors.stream()
+        return streamRequest(application, predictInputs).collect(toList());
+    }
+
+    /**
+     * Same as {@link #processRequest(Application, List)} but returns the outputs as they are evaluated,
+     * in the order of the inputs. When evaluated in parallel, outputs of a chunk are available as soon
+     * as the chunk and the ones before it are evaluated.
+     */
+    public Stream<PredictOutput> streamRequest(Application application, List<PredictInput> predictInputs) {
+        // models are resolved once per request and shared by all inputs targeting them
+        Map<String, Function<PredictInput, PredictOutput>> evaluators = new HashMap<>();
+        if (evaluationPool == null || predictInputs.size() <= chunkSize) {
+            return predictInputs.stream()
+                    .map(predictInput -> evaluators.computeIfAbsent(modelKey(predictInput), key -> newEvaluator(application, predictInput)).apply(predictInput));
+        }
+
+        // resolved upfront on the caller thread, so chunks only read them
+        predictInputs.forEach(predictInput -> evaluators.computeIfAbsent(modelKey(predictInput), key -> newEvaluator(application, predictInput)));
+        Function<PredictInput, PredictOutput> evaluation = predictInput -> evaluators.get(modelKey(predictInput)).apply(predictInput);
+
+        List<CompletableFuture<List<PredictOutput>>> chunks = new ArrayList<>();
+        for (int start = 0; start < predictInputs.size(); start += chunkSize) {
+            List<PredictInput> chunk = predictInputs.subList(start, Math.min(start + chunkSize, predictInputs.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> chunk.stream().map(evaluation).collect(toList()), evaluationPool));
+        }
+        return chunks.stream().flatMap(chunk -> join(chunk, chunks).stream());
+    }
+
+    private Function<PredictInput, PredictOutput> newEvaluator(Application application, PredictInput predictInput) {
+        return executors.stream()
                 .filter(r -> r.acceptRequest(predictInput))
-                .map(r -> r.processRequest(application, predictInput))
+                .map(r -> r.newEvaluator(application, predictInput))
                 .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Malformed resourceType " + predictInput.getModelIdentifier().getResourceType())))
-                .collect(toList());
+                .orElseThrow(() -> new IllegalArgumentException("Malformed resourceType " + predictInput.getModelIdentifier().getResourceType()));
+    }
+
+    private static String modelKey(PredictInput predictInput) {
+        return predictInput.getModelIdentifier().getResourceType() + ':' + predictInput.getModelIdentifier().getResourceId();
+    }
+
+    private static List<PredictOutput> join(CompletableFuture<List<PredictOutput>> chunk, List<CompletableFuture<List<PredictOutput>>> chunks) {
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            // no need to evaluate the remaining chunks once one failed
+            chunks.forEach(c -> c.cancel(false));
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
     }
 }
@@ -16,6 +16,7 @@
 package org.kie.kogito.explainability;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.kie.dmn.api.core.DMNContext;
@@ -28,7 +29,7 @@ import static org.kie.kogito.explainability.Constants.SKIP_MONITORING;
 
 public class DmnDecisionModelSpy extends DmnDecisionModel {
 
-    private final List<Boolean> evaluationSkipMonitoringHistory = new ArrayList<>();
+    private final List<Boolean> evaluationSkipMonitoringHistory = Collections.synchronizedList(new ArrayList<>());
 
     public DmnDecisionModelSpy(DMNRuntime dmnRuntime, String namespace, String name, ExecutionIdSupplier execIdSupplier) {
         super(dmnRuntime, namespace, name, execIdSupplier);
@@ -16,9 +16,11 @@
 package org.kie.kogito.explainability;
 
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -78,6 +80,52 @@ public class ExplainabilityServiceTest {
         Assertions.assertTrue(decisionModel.getEvaluationSkipMonitoringHistory().stream().allMatch(x -> x.equals(true)));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testParallelExecution() {
+        AtomicInteger resolutions = new AtomicInteger();
+        DecisionModels decisionModels = (namespace, name) -> {
+            resolutions.incrementAndGet();
+            return decisionModel;
+        };
+        StaticApplication application = new StaticApplication(null, null, null, decisionModels, null);
+        ModelIdentifier modelIdentifier = new ModelIdentifier("dmn", String.format("%s%s%s", MODEL_NAMESPACE, RESOURCE_ID_SEPARATOR, MODEL_NAME));
+
+        List<PredictInput> predictInputs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> request = createRequest();
+            ((Map<String, Object>) request.get("Violation")).put("Actual Speed", 100 + i);
+            predictInputs.add(new PredictInput(modelIdentifier, request));
+        }
+
+        ExplainabilityService explainabilityService = new ExplainabilityService(singletonList(new DecisionExplainabilityResourceExecutor()), 4, 8);
+        List<PredictOutput> predictOutputs = explainabilityService.processRequest(application, predictInputs);
+
+        Assertions.assertEquals(1, resolutions.get());
+        Assertions.assertEquals(100, predictOutputs.size());
+        for (int i = 0; i < 100; i++) {
+            PredictOutput expected = ExplainabilityService.INSTANCE.processRequest(application, singletonList(predictInputs.get(i))).get(0);
+            Assertions.assertEquals(expected.getResult().get("Fine"), predictOutputs.get(i).getResult().get("Fine"));
+            Assertions.assertEquals(expected.getResult().get("Should the driver be suspended?"), predictOutputs.get(i).getResult().get("Should the driver be suspended?"));
+        }
+    }
+
+    @Test
+    public void testParallelExecutionWithMalformedInput() {
+        DecisionModels decisionModels = (namespace, name) -> decisionModel;
+        StaticApplication application = new StaticApplication(null, null, null, decisionModels, null);
+        ModelIdentifier modelIdentifier = new ModelIdentifier("dmn", String.format("%s%s%s", MODEL_NAMESPACE, RESOURCE_ID_SEPARATOR, MODEL_NAME));
+
+        List<PredictInput> predictInputs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            predictInputs.add(new PredictInput(modelIdentifier, createRequest()));
+        }
+        predictInputs.add(new PredictInput(new ModelIdentifier("unknown", "unknown"), createRequest()));
+
+        ExplainabilityService explainabilityService = new ExplainabilityService(singletonList(new DecisionExplainabilityResourceExecutor()), 4, 8);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> explainabilityService.processRequest(application, predictInputs));
+    }
+
     private Map<String, Object> createRequest() {
         Map<String, Object> driver = new HashMap<>();
         driver.put("Age", 25);
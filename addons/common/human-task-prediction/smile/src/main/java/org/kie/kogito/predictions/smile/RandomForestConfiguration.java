@@ -24,6 +24,8 @@ public class RandomForestConfiguration {
     private AttributeType outcomeType;
     private double confidenceThreshold;
     private int numTrees;
+    private int maxObservations = SmileRandomForest.DEFAULT_MAX_OBSERVATIONS;
+    private long retrainDelay = SmileRandomForest.DEFAULT_RETRAIN_DELAY;
     private Map<String, AttributeType> inputFeatures = new HashMap<>();
 
     public int getNumTrees() {
@@ -73,6 +75,32 @@ public class RandomForestConfiguration {
         this.confidenceThreshold = confidenceThreshold;
     }
 
+    /**
+     * Returns the maximum number of observations the model is trained with, older ones are discarded
+     *
+     * @return The maximum number of observations
+     */
+    public int getMaxObservations() {
+        return maxObservations;
+    }
+
+    public void setMaxObservations(int maxObservations) {
+        this.maxObservations = maxObservations;
+    }
+
+    /**
+     * Returns how long to wait for more observations before retraining the model in background
+     *
+     * @return The retrain delay in milliseconds
+     */
+    public long getRetrainDelay() {
+        return retrainDelay;
+    }
+
+    public void setRetrainDelay(long retrainDelay) {
+        this.retrainDelay = retrainDelay;
+    }
+
     public Map<String, AttributeType> getInputFeatures() {
         return inputFeatures;
     }
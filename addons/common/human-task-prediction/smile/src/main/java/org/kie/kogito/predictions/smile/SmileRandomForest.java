@@ -16,13 +16,19 @@
 package org.kie.kogito.predictions.smile;
 
 import java.text.ParseException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.kie.api.runtime.process.WorkItem;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
@@ -33,7 +39,6 @@ import org.slf4j.LoggerFactory;
 
 import smile.classification.RandomForest;
 import smile.data.Attribute;
-import smile.data.AttributeDataset;
 import smile.data.NominalAttribute;
 import smile.data.NumericAttribute;
 import smile.data.StringAttribute;
@@ -41,27 +46,50 @@ import smile.data.StringAttribute;
 public class SmileRandomForest extends AbstractPredictionEngine implements PredictionService {
 
     public static final String IDENTIFIER = "SMILERandomForest";
+    public static final int DEFAULT_MAX_OBSERVATIONS = 10000;
+    public static final long DEFAULT_RETRAIN_DELAY = 1000;
     private static final String UNABLE_PARSE_TEXT = "Unable to parse text";
     private static final Logger logger = LoggerFactory.getLogger(SmileRandomForest.class);
 
-    private final AttributeDataset dataset;
+    // shared by all instances, training is CPU bound so running one forest at a time is enough
+    private static final ScheduledExecutorService trainingExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "smile-random-forest-training");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Attribute[] attributes;
     private final Map<String, Attribute> smileAttributes;
     private final Attribute outcomeAttribute;
     private final AttributeType outcomeAttributeType;
     private final int numAttributes;
     private final int numberTrees;
+    private final int maxObservations;
+    private final long retrainDelay;
     protected List<String> attributeNames = new ArrayList<>();
 
     private Set<String> outcomeSet = new HashSet<>();
     private static final int MINIMUM_OBSERVATIONS = 1200;
-    private int observations = 0;
+    private long observations = 0;
+
+    // sliding window of the latest observations, one row of features per observation, guarded by this
+    private double[] observedFeatures;
+    private double[] observedOutcomes;
+    private int observedCount;
+    private int nextObservation;
+
+    private final Object trainingLock = new Object();
+    private final AtomicBoolean retrainScheduled = new AtomicBoolean();
+    private volatile TrainedModel model;
 
     public SmileRandomForest(RandomForestConfiguration configuration) {
         this(configuration.getInputFeatures(),
                 configuration.getOutcomeName(),
                 configuration.getOutcomeType(),
                 configuration.getConfidenceThreshold(),
-                configuration.getNumTrees());
+                configuration.getNumTrees(),
+                configuration.getMaxObservations(),
+                configuration.getRetrainDelay());
     }
 
     public SmileRandomForest(Map<String, AttributeType> inputFeatures,
@@ -69,8 +97,23 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
             AttributeType outputFeatureType,
             double confidenceThreshold,
             int numberTrees) {
+        this(inputFeatures, outputFeatureName, outputFeatureType, confidenceThreshold, numberTrees, DEFAULT_MAX_OBSERVATIONS, DEFAULT_RETRAIN_DELAY);
+    }
+
+    public SmileRandomForest(Map<String, AttributeType> inputFeatures,
+            String outputFeatureName,
+            AttributeType outputFeatureType,
+            double confidenceThreshold,
+            int numberTrees,
+            int maxObservations,
+            long retrainDelay) {
         super(inputFeatures, outputFeatureName, outputFeatureType, confidenceThreshold);
+        if (maxObservations <= 0) {
+            throw new IllegalArgumentException("Maximum number of observations must be positive");
+        }
         this.numberTrees = numberTrees;
+        this.maxObservations = maxObservations;
+        this.retrainDelay = retrainDelay;
         smileAttributes = new HashMap<>();
         for (Entry<String, AttributeType> inputFeature : inputFeatures.entrySet()) {
             final String name = inputFeature.getKey();
@@ -79,10 +122,16 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
             attributeNames.add(name);
         }
         numAttributes = smileAttributes.size();
+        attributes = new Attribute[numAttributes];
+        for (int i = 0; i < numAttributes; i++) {
+            attributes[i] = smileAttributes.get(attributeNames.get(i));
+        }
         outcomeAttribute = createAttribute(outputFeatureName, outputFeatureType);
         outcomeAttributeType = outputFeatureType;
 
-        dataset = new AttributeDataset("dataset", smileAttributes.values().toArray(new Attribute[numAttributes]), outcomeAttribute);
+        int initialCapacity = Math.min(maxObservations, 64);
+        observedFeatures = new double[initialCapacity * numAttributes];
+        observedOutcomes = new double[initialCapacity];
     }
 
     protected Attribute createAttribute(String name, AttributeType type) {
@@ -108,26 +157,29 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
     }
 
     /**
-     * Add the data provided as a map to a Smile {@link smile.data.Dataset}.
+     * Add the data provided as a map to the observations the model is trained with. Once the maximum number
+     * of observations is reached, the oldest observation is replaced.
      *
      * @param data A map containing the input attribute names as keys and the attribute values as values.
      * @param outcome The value of the outcome (output data).
      */
-    public void addData(Map<String, Object> data, Object outcome) {
-        final double[] features = new double[numAttributes];
-        int i = 0;
-        for (Entry<String, Attribute> entry : smileAttributes.entrySet()) {
-            try {
-                features[i] = smileAttributes.get(entry.getKey()).valueOf(data.get(entry.getKey()).toString());
-            } catch (ParseException e) {
-                logger.error(UNABLE_PARSE_TEXT, e);
-            }
-            i++;
-        }
+    public synchronized void addData(Map<String, Object> data, Object outcome) {
+        final double[] features = buildFeatures(data);
         try {
             final String outcomeStr = outcome.toString();
+            final double outcomeValue = outcomeAttribute.valueOf(outcomeStr);
             outcomeSet.add(outcomeStr);
-            dataset.add(features, outcomeAttribute.valueOf(outcomeStr));
+            if (nextObservation == observedOutcomes.length && observedOutcomes.length < maxObservations) {
+                int capacity = Math.min(maxObservations, observedOutcomes.length * 2);
+                observedFeatures = Arrays.copyOf(observedFeatures, capacity * numAttributes);
+                observedOutcomes = Arrays.copyOf(observedOutcomes, capacity);
+            }
+            if (nextObservation == maxObservations) {
+                nextObservation = 0;
+            }
+            System.arraycopy(features, 0, observedFeatures, nextObservation * numAttributes, numAttributes);
+            observedOutcomes[nextObservation++] = outcomeValue;
+            observedCount = Math.max(observedCount, nextObservation);
         } catch (ParseException e) {
             logger.error(UNABLE_PARSE_TEXT, e);
         }
@@ -139,12 +191,12 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
      * @param data A map containing the input attribute names as keys and the attribute values as values.
      * @return A feature vector as a array of doubles.
      */
-    protected double[] buildFeatures(Map<String, Object> data) {
+    protected synchronized double[] buildFeatures(Map<String, Object> data) {
         final double[] features = new double[numAttributes];
         for (int i = 0; i < numAttributes; i++) {
             final String attrName = attributeNames.get(i);
             try {
-                features[i] = smileAttributes.get(attrName).valueOf(data.get(attrName).toString());
+                features[i] = attributes[i].valueOf(data.get(attrName).toString());
             } catch (ParseException e) {
                 logger.error(UNABLE_PARSE_TEXT, e);
             }
@@ -163,7 +215,8 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
     }
 
     /**
-     * Returns a model prediction given the input data
+     * Returns a model prediction given the input data. Predictions are made with the latest trained model,
+     * only the very first one trains the model if there is none yet.
      *
      * @param task Human task data
      * @param inputData A map containing the input attribute names as keys and the attribute values as values.
@@ -172,25 +225,24 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
     @Override
     public PredictionOutcome predict(WorkItem task, Map<String, Object> inputData) {
         logger.debug("Predicting with input data: {}", inputData);
-        RandomForest model = null;
         if (observations > MINIMUM_OBSERVATIONS) {
             this.confidenceThreshold = 0.75;
         }
 
         Map<String, Object> outcomes = new HashMap<>();
-        if (outcomeSet.size() >= 2) {
-            model = new RandomForest(dataset, this.numberTrees);
+        TrainedModel current = currentModel();
+        if (current != null) {
             final double[] features = buildFeatures(inputData);
-            final double[] posteriori = new double[outcomeSet.size()];
-            double prediction = model.predict(features, posteriori);
+            final double[] posteriori = new double[current.outcomes.length];
+            int prediction = current.forest.predict(features, posteriori);
 
-            String predictionStr = dataset.responseAttribute().toString(prediction);
+            String predictionStr = current.outcomes[prediction];
             outcomes.put(outcomeAttribute.getName(), convertValue(predictionStr, outcomeAttributeType));
-            final double confidence = posteriori[(int) prediction];
+            final double confidence = posteriori[prediction];
             outcomes.put("confidence", confidence);
 
-            logger.debug("task id {}, total {} observations, prediction = {}, confidence = {} (threshold = {})", ((KogitoWorkItem) task).getStringId(), this.observations, predictionStr, confidence,
-                    this.confidenceThreshold);
+            logger.debug("task id {}, model trained with {} observations, prediction = {}, confidence = {} (threshold = {})", ((KogitoWorkItem) task).getStringId(), current.observations,
+                    predictionStr, confidence, this.confidenceThreshold);
 
             return new PredictionOutcome(confidence, this.confidenceThreshold, outcomes);
         } else {
@@ -200,7 +252,8 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
     }
 
     /**
-     * Train the random forest model using data from the human task.
+     * Train the random forest model using data from the human task. The observation is recorded right away
+     * while the model is retrained in background, once for all the observations recorded within the retrain delay.
      *
      * @param task Human task data
      * @param inputData A map containing the input attribute names as keys and the attribute values as values.
@@ -210,8 +263,122 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
     public void train(WorkItem task, Map<String, Object> inputData, Map<String, Object> outputData) {
         logger.debug("Training with input data: {}", inputData);
         logger.debug("Training with output data: {}", outputData);
-        this.observations += 1;
+        synchronized (this) {
+            this.observations += 1;
+            addData(inputData, outputData.get(outcomeAttribute.getName()));
+        }
+        if (retrainScheduled.compareAndSet(false, true)) {
+            trainingExecutor.schedule(this::retrain, retrainDelay, TimeUnit.MILLISECONDS);
+        }
+    }
 
-        addData(inputData, outputData.get(outcomeAttribute.getName()));
+    /**
+     * Returns how long it took to train the model currently used for predictions
+     *
+     * @return The training time, or {@link Duration#ZERO} when no model was trained yet
+     */
+    public Duration getTrainingTime() {
+        TrainedModel current = model;
+        return current == null ? Duration.ZERO : current.trainingTime;
+    }
+
+    /**
+     * Returns how long ago the model currently used for predictions was trained
+     *
+     * @return The model age, or {@link Duration#ZERO} when no model was trained yet
+     */
+    public Duration getModelAge() {
+        TrainedModel current = model;
+        return current == null ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - current.trainedAt);
+    }
+
+    /**
+     * Returns the number of observations the model currently used for predictions was trained with
+     *
+     * @return The number of observations, 0 when no model was trained yet
+     */
+    public int getTrainedObservations() {
+        TrainedModel current = model;
+        return current == null ? 0 : current.observations;
+    }
+
+    private TrainedModel currentModel() {
+        TrainedModel current = model;
+        if (current == null) {
+            synchronized (this) {
+                if (outcomeSet.size() < 2) {
+                    return null;
+                }
+            }
+            synchronized (trainingLock) {
+                if (model == null) {
+                    train();
+                }
+            }
+            current = model;
+        }
+        return current;
+    }
+
+    private void retrain() {
+        retrainScheduled.set(false);
+        try {
+            synchronized (trainingLock) {
+                train();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Unable to train random forest model", e);
+        }
+    }
+
+    private void train() {
+        final double[][] x;
+        final int[] y;
+        final Attribute[] trainingAttributes;
+        final List<String> outcomes = new ArrayList<>();
+        synchronized (this) {
+            x = new double[observedCount][];
+            y = new int[observedCount];
+            // labels must be contiguous, outcomes that are out of the window get no label
+            Map<Double, Integer> labels = new HashMap<>();
+            for (int i = 0; i < observedCount; i++) {
+                x[i] = Arrays.copyOfRange(observedFeatures, i * numAttributes, (i + 1) * numAttributes);
+                y[i] = labels.computeIfAbsent(observedOutcomes[i], outcome -> {
+                    outcomes.add(outcomeAttribute.toString(outcome));
+                    return outcomes.size() - 1;
+                });
+            }
+            trainingAttributes = new Attribute[numAttributes];
+            for (int i = 0; i < numAttributes; i++) {
+                trainingAttributes[i] = attributes[i] instanceof NominalAttribute
+                        ? new NominalAttribute(attributes[i].getName(), ((NominalAttribute) attributes[i]).values())
+                        : attributes[i];
+            }
+        }
+        if (outcomes.size() < 2) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final RandomForest forest = new RandomForest(trainingAttributes, x, y, numberTrees);
+        final long end = System.nanoTime();
+        model = new TrainedModel(forest, outcomes.toArray(new String[outcomes.size()]), x.length, Duration.ofNanos(end - start), end);
+        logger.debug("Trained random forest model with {} observations in {} ms", x.length, TimeUnit.NANOSECONDS.toMillis(end - start));
+    }
+
+    private static class TrainedModel {
+
+        private final RandomForest forest;
+        private final String[] outcomes;
+        private final int observations;
+        private final Duration trainingTime;
+        private final long trainedAt;
+
+        private TrainedModel(RandomForest forest, String[] outcomes, int observations, Duration trainingTime, long trainedAt) {
+            this.forest = forest;
+            this.outcomes = outcomes;
+            this.observations = observations;
+            this.trainingTime = trainingTime;
+            this.trainedAt = trainedAt;
+        }
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.predictions.smile;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.prediction.api.PredictionOutcome;
+import org.kie.kogito.process.workitems.impl.KogitoWorkItemImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SmileRandomForestTest {
+
+    private final KogitoWorkItem task = new KogitoWorkItemImpl();
+
+    @Test
+    public void testFirstPredictionTrainsModel() {
+        SmileRandomForest forest = createForest(100, TimeUnit.HOURS.toMillis(1));
+        assertThat(forest.getTrainedObservations()).isZero();
+        assertThat(forest.predict(task, Collections.singletonMap("ActorId", "john")).getConfidenceLevel()).isZero();
+
+        train(forest, "john", "predicted value", 10);
+        train(forest, "mary", "value", 8);
+
+        PredictionOutcome outcome = forest.predict(task, Collections.singletonMap("ActorId", "john"));
+        assertThat(outcome.getData()).containsEntry("output", "predicted value");
+        assertThat(forest.getTrainedObservations()).isEqualTo(18);
+        assertThat(forest.getTrainingTime()).isPositive();
+    }
+
+    @Test
+    public void testModelRetrainedInBackground() throws InterruptedException {
+        SmileRandomForest forest = createForest(100, 10);
+        train(forest, "john", "predicted value", 10);
+        train(forest, "mary", "value", 8);
+        forest.predict(task, Collections.singletonMap("ActorId", "john"));
+
+        train(forest, "anne", "other value", 10);
+        await(() -> forest.getTrainedObservations() == 28);
+
+        assertThat(forest.predict(task, Collections.singletonMap("ActorId", "anne")).getData()).containsEntry("output", "other value");
+    }
+
+    @Test
+    public void testObservationsBoundedBySlidingWindow() throws InterruptedException {
+        SmileRandomForest forest = createForest(10, 10);
+        train(forest, "john", "predicted value", 10);
+        train(forest, "mary", "value", 5);
+        train(forest, "anne", "other value", 5);
+        await(() -> forest.getTrainedObservations() == 10);
+
+        // outcomes of the observations that left the window are not predicted anymore
+        assertThat(forest.predict(task, Collections.singletonMap("ActorId", "john")).getData()).doesNotContainEntry("output", "predicted value");
+        assertThat(forest.predict(task, Collections.singletonMap("ActorId", "mary")).getData()).containsEntry("output", "value");
+    }
+
+    private SmileRandomForest createForest(int maxObservations, long retrainDelay) {
+        return new SmileRandomForest(Collections.singletonMap("ActorId", AttributeType.NOMINAL), "output", AttributeType.NOMINAL, 0.7, 1, maxObservations, retrainDelay);
+    }
+
+    private void train(SmileRandomForest forest, String actor, String output, int times) {
+        for (int i = 0; i < times; i++) {
+            forest.train(task, Collections.singletonMap("ActorId", actor), Collections.singletonMap("output", output));
+        }
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("model was not retrained in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
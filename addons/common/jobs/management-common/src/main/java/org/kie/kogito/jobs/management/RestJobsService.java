@@ -16,15 +16,38 @@
 package org.kie.kogito.jobs.management;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.jobs.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.api.Job;
 import org.kie.kogito.jobs.api.JobBuilder;
 import org.kie.kogito.jobs.api.URIBuilder;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.WorkUnit;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.kie.kogito.uow.events.UnitOfWorkStartEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public abstract class RestJobsService implements JobsService {
+/**
+ * Base of jobs services registering jobs in the remote Jobs Service.
+ * <p>
+ * Jobs scheduled and cancelled while a unit of work is running on the calling thread are collected and sent
+ * once the unit of work ends, so jobs of aborted units of work never reach the Jobs Service and a job that
+ * is both scheduled and cancelled within the same unit of work is not sent at all. Outside of a unit of work
+ * requests are sent right away.
+ */
+public abstract class RestJobsService implements JobsService, UnitOfWorkEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestJobsService.class);
 
     @SuppressWarnings("squid:S1075")
     public static final String JOBS_PATH = "/jobs";
@@ -32,6 +55,8 @@ public abstract class RestJobsService implements JobsService {
     private URI jobsServiceUri;
     private String callbackEndpoint;
 
+    private final ThreadLocal<JobsBatch> currentBatch = new ThreadLocal<>();
+
     public RestJobsService(String jobServiceUrl, String callbackEndpoint) {
         this.jobsServiceUri = Objects.nonNull(jobServiceUrl) ? buildJobsServiceURI(jobServiceUrl) : null;
         this.callbackEndpoint = callbackEndpoint;
@@ -71,4 +96,127 @@ public abstract class RestJobsService implements JobsService {
                 .nodeInstanceId(description.nodeInstanceId())
                 .build();
     }
+
+    @Override
+    public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
+        String callback = getCallbackEndpoint(description);
+        LOGGER.debug("Job to be scheduled {} with callback URL {}", description, callback);
+        Job job = buildJob(description, callback);
+        JobsBatch batch = currentBatch.get();
+        if (batch != null) {
+            register(batch);
+            batch.schedule(job);
+        } else {
+            sendJob(job);
+        }
+        return job.getId();
+    }
+
+    @Override
+    public boolean cancelJob(String id) {
+        JobsBatch batch = currentBatch.get();
+        if (batch != null) {
+            register(batch);
+            batch.cancel(id);
+            return true;
+        }
+        return sendCancel(id);
+    }
+
+    /**
+     * Sends the job to the Jobs Service.
+     */
+    protected abstract void sendJob(Job job);
+
+    /**
+     * Sends cancellation of the job to the Jobs Service.
+     *
+     * @return true if the job was cancelled
+     */
+    protected abstract boolean sendCancel(String id);
+
+    /**
+     * Sends jobs collected during a unit of work, cancellations go first. By default every job is sent with
+     * its own request.
+     */
+    protected void sendBatch(Collection<Job> jobs, Collection<String> cancelled) {
+        cancelled.forEach(this::sendCancel);
+        jobs.forEach(this::sendJob);
+    }
+
+    @Override
+    public void onBeforeStartEvent(UnitOfWorkStartEvent event) {
+        // the unit of work is not started yet, so the flush is only registered with it once there is something to send
+        currentBatch.set(new JobsBatch(event.getUnitOfWork(), currentBatch.get()));
+    }
+
+    @Override
+    public void onAfterEndEvent(UnitOfWorkEndEvent event) {
+        release(event.getUnitOfWork());
+    }
+
+    @Override
+    public void onAfterAbortEvent(UnitOfWorkAbortEvent event) {
+        release(event.getUnitOfWork());
+    }
+
+    private void release(UnitOfWork unitOfWork) {
+        JobsBatch batch = currentBatch.get();
+        if (batch != null && batch.unitOfWork == unitOfWork) {
+            if (batch.previous != null) {
+                currentBatch.set(batch.previous);
+            } else {
+                currentBatch.remove();
+            }
+        }
+    }
+
+    private void register(JobsBatch batch) {
+        if (!batch.registered) {
+            batch.registered = true;
+            batch.unitOfWork.intercept(WorkUnit.create(batch, this::flush, JobsBatch::clear));
+        }
+    }
+
+    private void flush(JobsBatch batch) {
+        if (!batch.isEmpty()) {
+            LOGGER.debug("Sending {} jobs and {} cancellations collected in unit of work", batch.scheduled.size(), batch.cancelled.size());
+            sendBatch(batch.scheduled.values(), batch.cancelled);
+        }
+        batch.clear();
+    }
+
+    private static class JobsBatch {
+
+        private final UnitOfWork unitOfWork;
+        private final JobsBatch previous;
+        private final Map<String, Job> scheduled = new LinkedHashMap<>();
+        private final Set<String> cancelled = new LinkedHashSet<>();
+        private boolean registered;
+
+        private JobsBatch(UnitOfWork unitOfWork, JobsBatch previous) {
+            this.unitOfWork = unitOfWork;
+            this.previous = previous;
+        }
+
+        private void schedule(Job job) {
+            scheduled.put(job.getId(), job);
+        }
+
+        private void cancel(String id) {
+            // job scheduled within the same unit of work never reaches the Jobs Service
+            if (scheduled.remove(id) == null) {
+                cancelled.add(id);
+            }
+        }
+
+        private boolean isEmpty() {
+            return scheduled.isEmpty() && cancelled.isEmpty();
+        }
+
+        private void clear() {
+            scheduled.clear();
+            cancelled.clear();
+        }
+    }
 }
@@ -17,11 +17,22 @@ package org.kie.kogito.jobs.management;
 
 import java.net.URI;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.jobs.ExactExpirationTime;
 import org.kie.kogito.jobs.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.ProcessJobDescription;
+import org.kie.kogito.jobs.api.Job;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkStartEvent;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -30,6 +41,8 @@ public class RestJobsServiceTest {
     public static final String CALLBACK_URL = "http://localhost";
     public static final String JOB_SERVICE_URL = "http://localhost:8085";
     private final RestJobsService tested;
+    private final List<String> scheduled = new ArrayList<>();
+    private final List<String> cancelled = new ArrayList<>();
 
     public RestJobsServiceTest() {
         this.tested = new RestJobsService(JOB_SERVICE_URL, CALLBACK_URL) {
@@ -39,13 +52,14 @@ public class RestJobsServiceTest {
             }
 
             @Override
-            public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
-                return null;
+            protected void sendJob(Job job) {
+                scheduled.add(job.getId());
             }
 
             @Override
-            public boolean cancelJob(String id) {
-                return false;
+            protected boolean sendCancel(String id) {
+                cancelled.add(id);
+                return true;
             }
 
             @Override
@@ -71,4 +85,104 @@ public class RestJobsServiceTest {
         URI jobsServiceUri = tested.getJobsServiceUri();
         assertThat(jobsServiceUri.toString()).isEqualTo(JOB_SERVICE_URL + "/jobs");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSendWithoutUnitOfWork() {
+        ProcessInstanceJobDescription description = description();
+        tested.scheduleProcessInstanceJob(description);
+        assertThat(scheduled).containsExactly(description.id());
+
+        assertThat(tested.cancelJob("other")).isTrue();
+        assertThat(cancelled).containsExactly("other");
+    }
+
+    @Test
+    void testBatchInUnitOfWork() {
+        TestUnitOfWork uow = new TestUnitOfWork();
+        tested.onBeforeStartEvent(new UnitOfWorkStartEvent(uow));
+
+        ProcessInstanceJobDescription first = description();
+        ProcessInstanceJobDescription second = description();
+        ProcessInstanceJobDescription coalesced = description();
+        tested.scheduleProcessInstanceJob(first);
+        tested.scheduleProcessInstanceJob(coalesced);
+        tested.scheduleProcessInstanceJob(second);
+        assertThat(tested.cancelJob(coalesced.id())).isTrue();
+        assertThat(tested.cancelJob("other")).isTrue();
+        assertThat(scheduled).isEmpty();
+        assertThat(cancelled).isEmpty();
+
+        uow.end();
+        tested.onAfterEndEvent(new UnitOfWorkEndEvent(uow));
+        assertThat(scheduled).containsExactly(first.id(), second.id());
+        assertThat(cancelled).containsExactly("other");
+
+        // once unit of work ended requests are sent right away
+        tested.cancelJob(first.id());
+        assertThat(cancelled).containsExactly("other", first.id());
+    }
+
+    @Test
+    void testAbortedUnitOfWorkSendsNothing() {
+        TestUnitOfWork uow = new TestUnitOfWork();
+        tested.onBeforeStartEvent(new UnitOfWorkStartEvent(uow));
+        tested.scheduleProcessInstanceJob(description());
+        tested.cancelJob("other");
+
+        uow.abort();
+        tested.onAfterAbortEvent(new UnitOfWorkAbortEvent(uow));
+        assertThat(scheduled).isEmpty();
+        assertThat(cancelled).isEmpty();
+    }
+
+    @Test
+    void testBatchInManagedUnitOfWork() {
+        UnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        unitOfWorkManager.register(tested);
+
+        UnitOfWork uow = unitOfWorkManager.newUnitOfWork();
+        uow.start();
+        ProcessInstanceJobDescription description = description();
+        tested.scheduleProcessInstanceJob(description);
+        tested.cancelJob("other");
+        assertThat(scheduled).isEmpty();
+        uow.end();
+
+        assertThat(scheduled).containsExactly(description.id());
+        assertThat(cancelled).containsExactly("other");
+
+        // a unit of work without jobs is not touched
+        UnitOfWork empty = unitOfWorkManager.newUnitOfWork();
+        empty.start();
+        empty.end();
+        assertThat(scheduled).containsExactly(description.id());
+    }
+
+    private static ProcessInstanceJobDescription description() {
+        return ProcessInstanceJobDescription.of(123, ExactExpirationTime.now(), "processInstanceId", "processId");
+    }
+
+    private static class TestUnitOfWork implements UnitOfWork {
+
+        private final List<WorkUnit<?>> work = new ArrayList<>();
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void end() {
+            work.forEach(WorkUnit::perform);
+        }
+
+        @Override
+        public void abort() {
+            work.forEach(WorkUnit::abort);
+        }
+
+        @Override
+        public void intercept(WorkUnit work) {
+            this.work.add(work);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.Arrays;
+
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.kogito.process.impl.ProcessInstancesCacheListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+
+public class MetricsProcessInstancesCacheListener implements ProcessInstancesCacheListener {
+
+    private final KogitoGAV gav;
+    private final MeterRegistry meterRegistry;
+
+    public MetricsProcessInstancesCacheListener(KogitoGAV gav) {
+        this(gav, MonitoringRegistry.getDefaultMeterRegistry());
+    }
+
+    public MetricsProcessInstancesCacheListener(KogitoGAV gav, MeterRegistry meterRegistry) {
+        this.gav = gav;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private Counter getCounter(String name, String description, String processId) {
+        return Counter
+                .builder(name)
+                .description(description)
+                .tags(Arrays.asList(Tag.of("process_id", processId), Tag.of("artifactId", gav.getArtifactId()), Tag.of("version", gav.getVersion())))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onHit(String processId) {
+        getCounter("kie_process_instance_cache_hits_total", "Process Instances found in cache", processId).increment();
+    }
+
+    @Override
+    public void onMiss(String processId) {
+        getCounter("kie_process_instance_cache_misses_total", "Process Instances not found in cache", processId).increment();
+    }
+
+    @Override
+    public void onEviction(String processId) {
+        getCounter("kie_process_instance_cache_evictions_total", "Process Instances evicted from cache", processId).increment();
+    }
+}
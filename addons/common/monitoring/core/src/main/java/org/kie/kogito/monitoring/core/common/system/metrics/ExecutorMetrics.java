@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.system.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.services.executor.BoundedExecutor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+
+public class ExecutorMetrics {
+
+    private final KogitoGAV gav;
+    private final MeterRegistry meterRegistry;
+
+    public ExecutorMetrics(KogitoGAV gav, MeterRegistry meterRegistry) {
+        this.gav = gav;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void bind(BoundedExecutor executor) {
+        List<Tag> tags = Arrays.asList(Tag.of("executor", executor.name()), Tag.of("artifactId", gav.getArtifactId()), Tag.of("version", gav.getVersion()));
+        Gauge.builder("kogito_executor_queue_depth", executor, BoundedExecutor::getQueueDepth)
+                .description("Tasks waiting for a thread")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("kogito_executor_queue_capacity", executor, BoundedExecutor::getQueueCapacity)
+                .description("Maximum number of tasks waiting for a thread")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("kogito_executor_active_threads", executor, BoundedExecutor::getActiveCount)
+                .description("Threads running a task")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("kogito_executor_completed_tasks_total", executor, BoundedExecutor::getCompletedCount)
+                .description("Tasks completed")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("kogito_executor_rejected_tasks_total", executor, BoundedExecutor::getRejectedCount)
+                .description("Tasks rejected because the executor was saturated")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
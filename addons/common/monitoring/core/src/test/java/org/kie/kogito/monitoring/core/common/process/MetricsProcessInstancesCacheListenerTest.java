@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.KogitoGAV;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MetricsProcessInstancesCacheListenerTest {
+
+    @Test
+    public void testCacheCounters() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MetricsProcessInstancesCacheListener listener = new MetricsProcessInstancesCacheListener(KogitoGAV.EMPTY_GAV, registry);
+
+        listener.onHit("myProcessId");
+        listener.onHit("myProcessId");
+        listener.onMiss("myProcessId");
+        listener.onEviction("myProcessId");
+
+        assertEquals(2, registry.find("kie_process_instance_cache_hits_total").tag("process_id", "myProcessId").counter().count());
+        assertEquals(1, registry.find("kie_process_instance_cache_misses_total").counter().count());
+        assertEquals(1, registry.find("kie_process_instance_cache_evictions_total").counter().count());
+    }
+}
@@ -17,9 +17,15 @@ package org.kie.kogito.persistence;
 
 import java.nio.file.Paths;
 
+import org.kie.kogito.persistence.filesystem.FileSystemJobStore;
 import org.kie.kogito.persistence.filesystem.FileSystemProcessInstances;
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.process.impl.CachingProcessInstances;
+import org.kie.kogito.process.impl.CorrelationIndexedProcessInstances;
+import org.kie.kogito.process.impl.ProcessInstancesCacheListener;
+import org.kie.kogito.serialization.process.ProcessInstanceCacheMarshaller;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
@@ -27,8 +33,44 @@ import org.kie.kogito.process.ProcessInstancesFactory;
  */
 public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
 
-    public FileSystemProcessInstances createProcessInstances(Process<?> process) {
-        return new FileSystemProcessInstances(process, Paths.get(path()));
+    /**
+     * Number of process instances kept in memory per process, see {@link CachingProcessInstances}.
+     *
+     * @return the cache size, 0 by default which disables the cache
+     */
+    public int cacheSize() {
+        return 0;
+    }
+
+    /**
+     * Listener notified of the process instances cache hits, misses and evictions.
+     */
+    public ProcessInstancesCacheListener cacheListener() {
+        return ProcessInstancesCacheListener.NO_OP;
+    }
+
+    /**
+     * Whether process instances should be indexed by business key and the events they wait for,
+     * see {@link CorrelationIndexedProcessInstances}.
+     *
+     * @return true if the correlation index is enabled, false by default
+     */
+    public boolean correlationIndex() {
+        return false;
+    }
+
+    @Override
+    public MutableProcessInstances<?> createProcessInstances(Process<?> process) {
+        MutableProcessInstances<?> instances = new FileSystemProcessInstances(process, Paths.get(path()));
+        MutableProcessInstances<?> cached = ProcessInstanceCacheMarshaller.cached(process, instances, cacheSize(), cacheListener());
+        return CorrelationIndexedProcessInstances.indexed(cached, correlationIndex());
+    }
+
+    /**
+     * Creates a job store kept in the <code>jobs</code> directory of the storage, to be used with a persistent jobs service.
+     */
+    public FileSystemJobStore createJobStore() {
+        return new FileSystemJobStore(Paths.get(path(), "jobs"));
     }
 
     public abstract String path();
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.filesystem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.jobs.StoredJob;
+
+/**
+ * {@link JobStore} keeping every job in its own file within given directory. Claims are done while holding
+ * a lock on the <code>.lock</code> file of the directory, so applications sharing the directory do not claim
+ * the same jobs. Every claim scans the directory, so it is meant for a moderate number of jobs.
+ */
+public class FileSystemJobStore implements JobStore {
+
+    private static final String SUFFIX = ".job";
+    private static final String LOCK_FILE = ".lock";
+
+    private final Path storage;
+
+    public FileSystemJobStore(Path storage) {
+        this.storage = storage;
+        try {
+            Files.createDirectories(storage);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to create directories for jobs storage", e);
+        }
+    }
+
+    @Override
+    public void store(StoredJob job) {
+        write(job);
+    }
+
+    @Override
+    public Optional<StoredJob> find(String id) {
+        return read(path(id));
+    }
+
+    @Override
+    public boolean remove(String id) {
+        try {
+            return Files.deleteIfExists(path(id));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to remove job " + id, e);
+        }
+    }
+
+    @Override
+    public List<StoredJob> claim(String owner, long now, long leaseMillis, int limit) {
+        return locked(() -> {
+            List<StoredJob> claimed = new ArrayList<>();
+            try (Stream<Path> files = Files.list(storage)) {
+                List<StoredJob> due = files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                        .map(this::read)
+                        .flatMap(Optional::stream)
+                        .filter(job -> job.isClaimable(now))
+                        .sorted(Comparator.comparingLong(StoredJob::getFireTime))
+                        .limit(limit)
+                        .collect(Collectors.toList());
+                for (StoredJob job : due) {
+                    StoredJob claimedJob = job.claimed(owner, now + leaseMillis);
+                    write(claimedJob);
+                    claimed.add(claimedJob);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to claim due jobs", e);
+            }
+            return claimed;
+        });
+    }
+
+    @Override
+    public boolean reschedule(StoredJob job, String owner) {
+        return locked(() -> {
+            Optional<StoredJob> current = find(job.getId());
+            if (current.isEmpty() || !owner.equals(current.get().getOwner())) {
+                return false;
+            }
+            write(job);
+            return true;
+        });
+    }
+
+    private synchronized <T> T locked(Supplier<T> action) {
+        try (FileChannel channel = FileChannel.open(storage.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            return action.get();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to lock jobs storage", e);
+        }
+    }
+
+    private Path path(String id) {
+        return storage.resolve(id + SUFFIX);
+    }
+
+    private Optional<StoredJob> read(Path file) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read job from " + file, e);
+        }
+        String repeatInterval = properties.getProperty("repeatInterval");
+        String owner = properties.getProperty("owner");
+        return Optional.of(new StoredJob(properties.getProperty("id"),
+                properties.getProperty("processInstanceId"),
+                properties.getProperty("processId"),
+                Long.parseLong(properties.getProperty("fireTime")),
+                repeatInterval == null ? null : Long.valueOf(repeatInterval),
+                Integer.parseInt(properties.getProperty("repeatLimit")),
+                owner,
+                owner == null ? 0L : Long.parseLong(properties.getProperty("leaseExpiration"))));
+    }
+
+    private void write(StoredJob job) {
+        Properties properties = new Properties();
+        properties.setProperty("id", job.getId());
+        properties.setProperty("processInstanceId", job.getProcessInstanceId());
+        if (job.getProcessId() != null) {
+            properties.setProperty("processId", job.getProcessId());
+        }
+        properties.setProperty("fireTime", Long.toString(job.getFireTime()));
+        if (job.getRepeatInterval() != null) {
+            properties.setProperty("repeatInterval", Long.toString(job.getRepeatInterval()));
+        }
+        properties.setProperty("repeatLimit", Integer.toString(job.getRepeatLimit()));
+        if (job.getOwner() != null) {
+            properties.setProperty("owner", job.getOwner());
+            properties.setProperty("leaseExpiration", Long.toString(job.getLeaseExpiration()));
+        }
+        Path target = path(job.getId());
+        Path temp = storage.resolve(job.getId() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, null);
+            }
+            FileSystemProcessInstancesIndex.moveAtomically(temp, target);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to store job " + job.getId(), e);
+        }
+    }
+}
@@ -23,11 +23,16 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
@@ -40,6 +45,18 @@ import org.slf4j.LoggerFactory;
 
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
+/**
+ * Stores process instances as files, one per instance, spread over hash prefixed subdirectories of the
+ * storage directory so none of them grows too big. Files are written to a temporary file first and then
+ * renamed so readers never see a partially written instance.
+ * <p>
+ * Ids and status of stored instances are kept in a persisted index (see {@link FileSystemProcessInstancesIndex})
+ * so counting and listing instances does not need to walk the storage directory. The index is updated before
+ * an instance file is written and after it is removed, so it may briefly list an instance whose file is missing
+ * (dropped from the index when found missing, or when the index is loaded) but never misses a stored one.
+ * Instances stored without being indexed, e.g. copied into the storage directory, are indexed when looked up
+ * by id. The storage directory is expected to be used by a single application at a time.
+ */
 @SuppressWarnings({ "rawtypes" })
 public class FileSystemProcessInstances implements MutableProcessInstances {
 
@@ -48,11 +65,15 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
     public static final String PI_DESCRIPTION = "ProcessInstanceDescription";
     public static final String PI_STATUS = "ProcessInstanceStatus";
 
+    private static final String TMP_SUFFIX = ".tmp";
+
     private Process<?> process;
     private Path storage;
 
     private ProcessInstanceMarshallerService marshaller;
 
+    private final FileSystemProcessInstancesIndex index;
+
     public FileSystemProcessInstances(Process<?> process, Path storage) {
         this(process, storage, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
     }
@@ -67,86 +88,135 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         } catch (IOException e) {
             throw new RuntimeException("Unable to create directories for file based storage of process instances", e);
         }
+        this.index = new FileSystemProcessInstancesIndex(this.storage);
+        if (index.load()) {
+            index.retainStored(id -> Files.exists(pathOf(id)));
+        } else {
+            rebuildIndex();
+        }
     }
 
     @Override
     public Integer size() {
-        try (Stream<Path> stream = Files.walk(storage)) {
-            Long count = stream.filter(file -> !Files.isDirectory(file)).count();
-            return count.intValue();
-        } catch (IOException e) {
-            throw new RuntimeException("Unable to count process instances ", e);
-        }
+        return index.size();
     }
 
     @Override
     public Optional findById(String id, ProcessInstanceReadMode mode) {
-        Path processInstanceStorage = Paths.get(storage.toString(), id);
-
-        if (Files.notExists(processInstanceStorage)) {
+        if (!exists(id)) {
             return Optional.empty();
         }
+        Path processInstanceStorage = pathOf(id);
         byte[] data = readBytesFromFile(processInstanceStorage);
         return Optional.of(mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process));
     }
 
     @Override
     public Collection values(ProcessInstanceReadMode mode) {
-        try (Stream<Path> stream = Files.walk(storage)) {
-            return stream
-                    .filter(file -> !Files.isDirectory(file))
-                    .map(this::readBytesFromFile)
-                    .map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process))
-                    .collect(Collectors.toList());
-        } catch (IOException e) {
-            throw new RuntimeException("Unable to read process instances ", e);
+        try (Stream<ProcessInstance> stream = stream(mode, 0, Integer.MAX_VALUE)) {
+            return stream.collect(Collectors.toList());
         }
     }
 
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode, int offset, int limit) {
+        return StreamSupport.stream(index.ids().spliterator(), false)
+                .skip(offset)
+                .limit(limit)
+                .map(this::pathOf)
+                .filter(this::existsOrUnindex)
+                .map(this::readBytesFromFile)
+                .map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process));
+    }
+
     @Override
     public boolean exists(String id) {
-        return Files.exists(Paths.get(storage.toString(), id));
+        Path processInstanceStorage = pathOf(id);
+        if (index.contains(id)) {
+            return existsOrUnindex(processInstanceStorage);
+        }
+        if (Files.exists(processInstanceStorage)) {
+            // stored but not indexed, e.g. copied into the storage directory
+            index.put(id, statusOf(processInstanceStorage));
+            return true;
+        }
+        return false;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public void create(String id, ProcessInstance instance) {
         if (isActive(instance)) {
-            Path processInstanceStorage = Paths.get(storage.toString(), id);
-            if (Files.exists(processInstanceStorage)) {
+            if (exists(id)) {
                 throw new ProcessInstanceDuplicatedException(id);
             }
-            storeProcessInstance(processInstanceStorage, instance);
+            storeProcessInstance(pathOf(id), instance);
         }
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public void update(String id, ProcessInstance instance) {
-        if (isActive(instance)) {
-            Path processInstanceStorage = Paths.get(storage.toString(), id);
-            if (Files.exists(processInstanceStorage)) {
-                storeProcessInstance(processInstanceStorage, instance);
-            }
+        if (isActive(instance) && exists(id)) {
+            storeProcessInstance(pathOf(id), instance);
         }
     }
 
     @Override
     public void remove(String id) {
-        Path processInstanceStorage = Paths.get(storage.toString(), id);
         try {
-            Files.deleteIfExists(processInstanceStorage);
+            Files.deleteIfExists(pathOf(id));
         } catch (IOException e) {
             throw new RuntimeException("Unable to remove process instance with id " + id, e);
         }
+        index.remove(id);
+    }
+
+    /**
+     * Returns status of the stored process instance as kept in the index
+     *
+     * @param id id of the process instance
+     * @return status of the process instance, empty if there is no such process instance stored
+     */
+    public Optional<Integer> status(String id) {
+        return Optional.ofNullable(index.status(id));
+    }
+
+    private boolean existsOrUnindex(Path processInstanceStorage) {
+        if (Files.exists(processInstanceStorage)) {
+            return true;
+        }
+        // removed outside of this storage, do not keep it in the index any longer
+        index.remove(processInstanceStorage.getFileName().toString());
+        return false;
+    }
+
+    protected Path pathOf(String id) {
+        return storage.resolve(shardOf(id)).resolve(id);
+    }
+
+    protected String shardOf(String id) {
+        return String.format("%02x", id.hashCode() & 0xff);
     }
 
     protected void storeProcessInstance(Path processInstanceStorage, ProcessInstance<?> instance) {
         try {
             byte[] data = marshaller.marshallProcessInstance(instance);
-            Files.write(processInstanceStorage, data);
-            setMetadata(processInstanceStorage, PI_DESCRIPTION, instance.description());
-            setMetadata(processInstanceStorage, PI_STATUS, String.valueOf(instance.status()));
+            Files.createDirectories(processInstanceStorage.getParent());
+            Path tmp = processInstanceStorage.resolveSibling(processInstanceStorage.getFileName() + TMP_SUFFIX);
+            Files.write(tmp, data);
+            setMetadata(tmp, PI_DESCRIPTION, instance.description());
+            setMetadata(tmp, PI_STATUS, String.valueOf(instance.status()));
+            boolean stored = Files.exists(processInstanceStorage);
+            index.put(instance.id(), instance.status());
+            try {
+                FileSystemProcessInstancesIndex.moveAtomically(tmp, processInstanceStorage);
+            } catch (IOException e) {
+                if (!stored) {
+                    index.remove(instance.id());
+                }
+                throw e;
+            }
 
             disconnect(processInstanceStorage, instance);
         } catch (IOException e) {
@@ -154,6 +224,50 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         }
     }
 
+    /**
+     * Builds the index from the stored instances, moving instances stored by previous versions directly
+     * in the storage directory into their subdirectories.
+     */
+    protected void rebuildIndex() {
+        Map<String, Integer> entries = new HashMap<>();
+        try (Stream<Path> stream = Files.walk(storage, 2)) {
+            List<Path> files = stream
+                    .filter(file -> !Files.isDirectory(file))
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .collect(Collectors.toList());
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(TMP_SUFFIX)) {
+                    // leftover of a write that did not complete
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                Path target = pathOf(fileName);
+                if (!file.equals(target)) {
+                    Files.createDirectories(target.getParent());
+                    FileSystemProcessInstancesIndex.moveAtomically(file, target);
+                }
+                entries.put(fileName, statusOf(target));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to rebuild index of process instances stored in " + storage, e);
+        }
+        LOGGER.debug("Rebuilt index of {} process instances stored in {}", entries.size(), storage);
+        index.reset(entries);
+    }
+
+    private int statusOf(Path file) {
+        String status = getMetadata(file, PI_STATUS);
+        if (status != null) {
+            try {
+                return Integer.parseInt(status);
+            } catch (NumberFormatException e) {
+                LOGGER.debug("Invalid status {} stored for process instance {}", status, file);
+            }
+        }
+        return KogitoProcessInstance.STATE_ACTIVE;
+    }
+
     protected byte[] readBytesFromFile(Path processInstanceStorage) {
         try {
             return Files.readAllBytes(processInstanceStorage);
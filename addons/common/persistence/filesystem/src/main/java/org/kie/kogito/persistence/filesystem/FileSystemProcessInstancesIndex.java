@@ -0,0 +1,216 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.filesystem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persisted index of the process instances kept by {@link FileSystemProcessInstances}, mapping the id of every
+ * stored instance to its status.
+ * <p>
+ * The index is loaded from a snapshot file plus a journal of changes made since the snapshot was taken. Every
+ * change is appended to the journal, and once the journal grows bigger than the index itself a new snapshot is
+ * written (via atomic rename) and the journal is truncated. When neither file exists the index is rebuilt from
+ * the stored instances.
+ * <p>
+ * Changes are journaled before the instance file is written, so a crash in between leaves an entry whose file
+ * is missing rather than a file the index does not know about. Entries added by the journal are checked against
+ * the stored files when the index is loaded, see {@link #retainStored(Predicate)}.
+ */
+class FileSystemProcessInstancesIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemProcessInstancesIndex.class);
+
+    static final String SNAPSHOT_FILE = ".index";
+    static final String JOURNAL_FILE = ".index.journal";
+
+    private static final char ADDED = '+';
+    private static final char REMOVED = '-';
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private final Path snapshot;
+    private final Path journalFile;
+    private final NavigableMap<String, Integer> entries = new ConcurrentSkipListMap<>();
+
+    private int journalSize;
+    // ids added since the snapshot was taken, the only ones that may lack a stored file
+    private final Set<String> journaled = new HashSet<>();
+
+    FileSystemProcessInstancesIndex(Path storage) {
+        this.snapshot = storage.resolve(SNAPSHOT_FILE);
+        this.journalFile = storage.resolve(JOURNAL_FILE);
+    }
+
+    /**
+     * Loads the persisted index
+     *
+     * @return false if there is no persisted index so it must be rebuilt
+     */
+    boolean load() {
+        if (Files.notExists(snapshot) && Files.notExists(journalFile)) {
+            return false;
+        }
+        try {
+            if (Files.exists(snapshot)) {
+                replay(snapshot, null);
+            }
+            if (Files.exists(journalFile)) {
+                journalSize = replay(journalFile, journaled);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to read process instances index from {}, it will be rebuilt", snapshot, e);
+            entries.clear();
+            journaled.clear();
+            journalSize = 0;
+            return false;
+        }
+    }
+
+    /**
+     * Removes the entries added by the loaded journal whose instance is not stored, left behind when the
+     * application stopped after journaling a change but before writing the instance.
+     */
+    synchronized void retainStored(Predicate<String> stored) {
+        for (String id : journaled) {
+            if (entries.containsKey(id) && !stored.test(id)) {
+                LOGGER.debug("Removing process instance {} from index as it is not stored", id);
+                remove(id);
+            }
+        }
+        journaled.clear();
+    }
+
+    /**
+     * Replaces content of the index with given entries, used when rebuilding it from the stored instances
+     */
+    synchronized void reset(Map<String, Integer> rebuilt) {
+        entries.clear();
+        entries.putAll(rebuilt);
+        journaled.clear();
+        compact();
+    }
+
+    boolean contains(String id) {
+        return entries.containsKey(id);
+    }
+
+    Integer status(String id) {
+        return entries.get(id);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns ids of all indexed instances in a stable (sorted) order
+     */
+    Iterable<String> ids() {
+        return entries.keySet();
+    }
+
+    synchronized void put(String id, int status) {
+        Integer previous = entries.put(id, status);
+        if (previous == null || previous != status) {
+            append(ADDED + id + ' ' + status);
+        }
+    }
+
+    synchronized void remove(String id) {
+        if (entries.remove(id) != null) {
+            append(REMOVED + id);
+        }
+    }
+
+    private int replay(Path file, Set<String> added) throws IOException {
+        int lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                lines++;
+                if (line.charAt(0) == REMOVED) {
+                    entries.remove(line.substring(1));
+                } else {
+                    int separator = line.lastIndexOf(' ');
+                    String id = line.substring(1, separator);
+                    entries.put(id, Integer.parseInt(line.substring(separator + 1)));
+                    if (added != null) {
+                        added.add(id);
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+
+    private void append(String line) {
+        try {
+            // journal is opened for every change so it is never left pointing to a compacted file
+            Files.write(journalFile, (line + '\n').getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to update process instances index " + journalFile, e);
+        }
+        journalSize++;
+        if (journalSize > MIN_COMPACTION_SIZE && journalSize > entries.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        Path tmp = snapshot.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        List<String> lines = new ArrayList<>(entries.size());
+        entries.forEach((id, status) -> lines.add(ADDED + id + ' ' + status));
+        try {
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            moveAtomically(tmp, snapshot);
+            Files.deleteIfExists(journalFile);
+            journalSize = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write process instances index " + snapshot, e);
+        }
+    }
+
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
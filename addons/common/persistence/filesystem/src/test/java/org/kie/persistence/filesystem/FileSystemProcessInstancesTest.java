@@ -15,7 +15,12 @@
  */
 package org.kie.persistence.filesystem;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
+import java.util.stream.Stream;
 
 import org.drools.core.io.impl.ClassPathResource;
 import org.jbpm.process.instance.impl.Action;
@@ -124,6 +129,30 @@ class FileSystemProcessInstancesTest {
         assertThat(instances.size()).isZero();
     }
 
+    @Test
+    void testStreamWithOffsetAndLimit() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        for (int i = 0; i < 5; i++) {
+            process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test" + i))).start();
+        }
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.size()).isEqualTo(5);
+        try (Stream<ProcessInstance<BpmnVariables>> stream = instances.stream()) {
+            assertThat(stream).hasSize(5);
+        }
+        try (Stream<ProcessInstance<BpmnVariables>> stream = instances.stream(ProcessInstanceReadMode.READ_ONLY, 3, 10)) {
+            assertThat(stream).hasSize(2);
+        }
+        try (Stream<ProcessInstance<BpmnVariables>> stream = instances.stream(ProcessInstanceReadMode.READ_ONLY, 0, 0)) {
+            assertThat(stream).isEmpty();
+        }
+        try (Stream<ProcessInstance<BpmnVariables>> stream = instances.stream(ProcessInstanceReadMode.MUTABLE, 1, 2)) {
+            stream.forEach(ProcessInstance::abort);
+        }
+        assertThat(instances.size()).isEqualTo(3);
+    }
+
     @Test
     void testBasicFlow() {
         BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
@@ -232,11 +261,70 @@ class FileSystemProcessInstancesTest {
         assertThat(fileSystemBasedStorage.size()).isZero();
     }
 
+    @Test
+    void testShardedLayoutAndPersistedIndex() throws Exception {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        Path storage = Paths.get("target", process.id());
+        Path shardFile;
+        try (Stream<Path> stream = Files.walk(storage, 2)) {
+            shardFile = stream.filter(p -> p.getFileName().toString().equals(processInstance.id())).findFirst().get();
+        }
+        assertThat(shardFile.getParent().getParent()).isEqualTo(storage);
+
+        // index is loaded from disk by a new storage
+        FileSystemProcessInstances reopened = new FileSystemProcessInstances(process, Paths.get("target"));
+        assertThat(reopened.size()).isOne();
+        assertThat(reopened.exists(processInstance.id())).isTrue();
+        assertThat(reopened.status(processInstance.id())).hasValue(STATE_ACTIVE);
+
+        // and rebuilt when missing, including instances stored directly in the storage directory
+        Files.move(shardFile, storage.resolve(processInstance.id()));
+        Files.delete(storage.resolve(".index"));
+        Files.deleteIfExists(storage.resolve(".index.journal"));
+
+        FileSystemProcessInstances rebuilt = new FileSystemProcessInstances(process, Paths.get("target"));
+        assertThat(rebuilt.size()).isOne();
+        assertThat(rebuilt.findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY)).isPresent();
+        assertThat(storage.resolve(processInstance.id())).doesNotExist();
+        assertThat(shardFile).exists();
+
+        process.instances().findById(processInstance.id()).get().abort();
+        assertThat(shardFile).doesNotExist();
+        assertThat(new FileSystemProcessInstances(process, Paths.get("target")).size()).isZero();
+    }
+
+    @Test
+    void testIndexConsistentWithStoredFiles() throws Exception {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        Path storage = Paths.get("target", process.id());
+        Path shardFile;
+        try (Stream<Path> stream = Files.walk(storage, 2)) {
+            shardFile = stream.filter(p -> p.getFileName().toString().equals(processInstance.id())).findFirst().get();
+        }
+
+        // stored but missing from the index is found when looked up
+        Files.write(storage.resolve(".index.journal"), ("-" + processInstance.id() + "\n").getBytes(), StandardOpenOption.APPEND);
+        FileSystemProcessInstances unindexed = new FileSystemProcessInstances(process, Paths.get("target"));
+        assertThat(unindexed.size()).isZero();
+        assertThat(unindexed.findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY)).isPresent();
+        assertThat(unindexed.size()).isOne();
+
+        // indexed but never written, as when stopped between journaling and writing, is dropped on load
+        Files.delete(shardFile);
+        assertThat(new FileSystemProcessInstances(process, Paths.get("target")).size()).isZero();
+    }
+
     private class FileSystemProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
         @Override
         public FileSystemProcessInstances createProcessInstances(Process<?> process) {
-            FileSystemProcessInstances instances = spy(super.createProcessInstances(process));
+            FileSystemProcessInstances instances = spy((FileSystemProcessInstances) super.createProcessInstances(process));
             return instances;
         }
 
@@ -16,13 +16,19 @@
 package org.kie.kogito.infinispan;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.commons.util.CloseableIterator;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
@@ -36,6 +42,8 @@ import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 @SuppressWarnings({ "rawtypes" })
 public class CacheProcessInstances implements MutableProcessInstances {
 
+    private static final int FETCH_SIZE = 100;
+
     private final RemoteCache<String, byte[]> cache;
     private ProcessInstanceMarshallerService marshaller;
     private org.kie.kogito.process.Process<?> process;
@@ -85,6 +93,17 @@ public class CacheProcessInstances implements MutableProcessInstances {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<? extends ProcessInstance> stream(ProcessInstanceReadMode mode, int offset, int limit) {
+        CloseableIterator<Map.Entry<Object, Object>> entries = cache.retrieveEntries(null, FETCH_SIZE);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(entries, Spliterator.NONNULL), false)
+                .skip(offset)
+                .limit(limit)
+                .map(entry -> (byte[]) entry.getValue())
+                .map(data -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process))
+                .onClose(entries::close);
+    }
+
     @Override
     public void update(String id, ProcessInstance instance) {
         updateStorage(id, instance, false);
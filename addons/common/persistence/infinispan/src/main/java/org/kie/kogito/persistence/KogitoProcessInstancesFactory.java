@@ -17,8 +17,13 @@ package org.kie.kogito.persistence;
 
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.kie.kogito.infinispan.CacheProcessInstances;
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.process.impl.CachingProcessInstances;
+import org.kie.kogito.process.impl.CorrelationIndexedProcessInstances;
+import org.kie.kogito.process.impl.ProcessInstancesCacheListener;
+import org.kie.kogito.serialization.process.ProcessInstanceCacheMarshaller;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
@@ -34,8 +39,37 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     public abstract boolean lock();
 
-    public CacheProcessInstances createProcessInstances(Process<?> process) {
-        return new CacheProcessInstances(process, cacheManager, template(), lock());
+    /**
+     * Number of process instances kept in memory per process, see {@link CachingProcessInstances}.
+     *
+     * @return the cache size, 0 by default which disables the cache
+     */
+    public int cacheSize() {
+        return 0;
+    }
+
+    /**
+     * Listener notified of the process instances cache hits, misses and evictions.
+     */
+    public ProcessInstancesCacheListener cacheListener() {
+        return ProcessInstancesCacheListener.NO_OP;
+    }
+
+    /**
+     * Whether process instances should be indexed by business key and the events they wait for,
+     * see {@link CorrelationIndexedProcessInstances}.
+     *
+     * @return true if the correlation index is enabled, false by default
+     */
+    public boolean correlationIndex() {
+        return false;
+    }
+
+    @Override
+    public MutableProcessInstances<?> createProcessInstances(Process<?> process) {
+        MutableProcessInstances<?> instances = new CacheProcessInstances(process, cacheManager, template(), lock());
+        MutableProcessInstances<?> cached = ProcessInstanceCacheMarshaller.cached(process, instances, cacheSize(), cacheListener());
+        return CorrelationIndexedProcessInstances.indexed(cached, correlationIndex());
     }
 
     public String template() {
@@ -17,9 +17,19 @@ package org.kie.kogito.persistence;
 
 import javax.sql.DataSource;
 
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.persistence.jdbc.JDBCEventOutbox;
+import org.kie.kogito.persistence.jdbc.JDBCJobStore;
 import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.process.impl.AbstractProcess;
+import org.kie.kogito.process.impl.CachingProcessInstances;
+import org.kie.kogito.process.impl.CorrelationIndexedProcessInstances;
+import org.kie.kogito.process.impl.ProcessInstancesCacheListener;
+import org.kie.kogito.serialization.process.ProcessInstanceCacheMarshaller;
+import org.kie.kogito.uow.UnitOfWorkManager;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
@@ -29,6 +39,7 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     private final boolean autoDDL;
     private final DataSource dataSource;
+    private EventManager outboxEventManager;
 
     protected KogitoProcessInstancesFactory() {
         this(null, true);
@@ -41,8 +52,93 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     public abstract boolean lock();
 
+    /**
+     * Whether writes of a unit of work should be collected and flushed as a single JDBC batch
+     * instead of being executed one by one.
+     *
+     * @return true if batching is enabled, false by default
+     */
+    public boolean batch() {
+        return false;
+    }
+
+    /**
+     * Whether updates should only write the changes made to process instances since their stored
+     * base payload, which requires optimistic locking.
+     *
+     * @return true if delta updates are enabled, false by default
+     */
+    public boolean delta() {
+        return false;
+    }
+
+    /**
+     * Number of process instances kept in memory per process, see {@link CachingProcessInstances}.
+     *
+     * @return the cache size, 0 by default which disables the cache
+     */
+    public int cacheSize() {
+        return 0;
+    }
+
+    /**
+     * Listener notified of the process instances cache hits, misses and evictions.
+     */
+    public ProcessInstancesCacheListener cacheListener() {
+        return ProcessInstancesCacheListener.NO_OP;
+    }
+
+    /**
+     * Whether process instances should be indexed by business key and the events they wait for,
+     * see {@link CorrelationIndexedProcessInstances}.
+     *
+     * @return true if the correlation index is enabled, false by default
+     */
+    public boolean correlationIndex() {
+        return false;
+    }
+
+    /**
+     * Whether events should be stored in an outbox along with process instances and published from background,
+     * instead of being published right away, see {@link #createEventOutbox(UnitOfWorkManager)}.
+     *
+     * @return true if the outbox is enabled, false by default
+     */
+    public boolean outbox() {
+        return false;
+    }
+
     @Override
-    public JDBCProcessInstances createProcessInstances(Process<?> process) {
-        return new JDBCProcessInstances(process, dataSource, autoDDL, lock());
+    public MutableProcessInstances<?> createProcessInstances(Process<?> process) {
+        if (outbox() && process instanceof AbstractProcess) {
+            enableOutbox(((AbstractProcess<?>) process).unitOfWorkManager());
+        }
+        MutableProcessInstances<?> instances = new JDBCProcessInstances(process, dataSource, autoDDL, lock(), batch(), delta());
+        MutableProcessInstances<?> cached = ProcessInstanceCacheMarshaller.cached(process, instances, cacheSize(), cacheListener());
+        return CorrelationIndexedProcessInstances.indexed(cached, correlationIndex());
+    }
+
+    /**
+     * Creates a job store sharing the data source of process instances, to be used with a persistent jobs service.
+     */
+    public JDBCJobStore createJobStore() {
+        return new JDBCJobStore(dataSource, autoDDL);
+    }
+
+    /**
+     * Creates an event outbox sharing the data source of process instances, to be set on the event manager
+     * so events are stored along with process instances and published from background.
+     */
+    public JDBCEventOutbox createEventOutbox(UnitOfWorkManager unitOfWorkManager) {
+        return new JDBCEventOutbox(dataSource, autoDDL, unitOfWorkManager);
+    }
+
+    // processes share the event manager of their unit of work manager, the outbox is set on it once
+    private synchronized void enableOutbox(UnitOfWorkManager unitOfWorkManager) {
+        EventManager eventManager = unitOfWorkManager.eventManager();
+        if (outboxEventManager != eventManager) {
+            eventManager.setOutbox(createEventOutbox(unitOfWorkManager));
+            outboxEventManager = eventManager;
+        }
     }
 }
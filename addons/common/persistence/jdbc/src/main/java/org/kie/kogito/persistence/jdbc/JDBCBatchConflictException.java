@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.jdbc;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when a batched flush of process instances detected rows that were updated or deleted
+ * by other request. The whole batch is rolled back, ids of the conflicting rows are available
+ * through {@link #getConflictingIds()}.
+ */
+public class JDBCBatchConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> conflictingIds;
+
+    public JDBCBatchConflictException(List<String> conflictingIds) {
+        super(String.format("The documents with IDs: %s were updated or deleted by other request.", conflictingIds));
+        this.conflictingIds = Collections.unmodifiableList(conflictingIds);
+    }
+
+    public Collection<String> getConflictingIds() {
+        return conflictingIds;
+    }
+}
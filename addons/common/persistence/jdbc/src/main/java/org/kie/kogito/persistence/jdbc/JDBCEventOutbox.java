@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.jdbc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.event.EventOutbox;
+import org.kie.kogito.event.OutboxEvent;
+import org.kie.kogito.services.uow.PassThroughUnitOfWork;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link EventOutbox} keeping events in the <code>process_instance_events</code> table. Events stored during
+ * a unit of work are added to its {@link JDBCWriteBatch}, so they are written on the same connection and in the
+ * same transaction as the process instances when those are written in batches. Otherwise they are written through
+ * the data source of process instances, joining its transaction when one is active. Stored events are claimed with
+ * a single statement skipping rows locked by other nodes, so several nodes can relay from the same table.
+ */
+public class JDBCEventOutbox implements EventOutbox {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCEventOutbox.class);
+
+    private static final String COLUMNS = "id, type, payload, created";
+
+    private static final String INSERT = "INSERT INTO process_instance_events (" + COLUMNS + ") VALUES (?, ?, ?, ?)";
+    private static final String CLAIM = "UPDATE process_instance_events SET owner = ?, lease_expiration = ? WHERE id IN (" +
+            "SELECT id FROM process_instance_events WHERE owner IS NULL OR lease_expiration < ? " +
+            "ORDER BY position LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING position, " + COLUMNS;
+    private static final String DELETE = "DELETE FROM process_instance_events WHERE id = ?";
+
+    private final DataSource dataSource;
+    private final UnitOfWorkManager unitOfWorkManager;
+
+    public JDBCEventOutbox(DataSource dataSource, boolean autoDDL) {
+        this(dataSource, autoDDL, null);
+    }
+
+    public JDBCEventOutbox(DataSource dataSource, boolean autoDDL, UnitOfWorkManager unitOfWorkManager) {
+        this.dataSource = dataSource;
+        this.unitOfWorkManager = unitOfWorkManager;
+        if (autoDDL) {
+            init();
+        } else {
+            LOGGER.debug("Auto DDL is disabled, do not running initializer scripts");
+        }
+    }
+
+    private void init() {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(getQueryFromFile("exists_event_tables"));
+                ResultSet resultSet = statement.executeQuery()) {
+            if (resultSet.next() && !resultSet.getBoolean("exists")) {
+                try (Statement create = connection.createStatement()) {
+                    create.execute(getQueryFromFile("create_event_tables"));
+                }
+                LOGGER.info("DDL successfully done for process instance events");
+            } else {
+                LOGGER.info("Table process_instance_events already exists.");
+            }
+        } catch (Exception e) {
+            //not break the execution flow in case of any missing permission for db application user, for instance.
+            LOGGER.error("Error creating process_instance_events table, the database should be configured properly before " +
+                    "starting the application", e);
+        }
+    }
+
+    @Override
+    public void store(Collection<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        UnitOfWork unitOfWork = unitOfWorkManager == null ? null : unitOfWorkManager.currentUnitOfWork();
+        if (unitOfWork != null && !(unitOfWork instanceof PassThroughUnitOfWork)) {
+            JDBCWriteBatch.of(unitOfWork, dataSource).add(connection -> insert(connection, events));
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            insert(connection, events);
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error storing %s events", events.size());
+        }
+    }
+
+    private static void insert(Connection connection, Collection<OutboxEvent> events) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            for (OutboxEvent event : events) {
+                statement.setString(1, event.getId());
+                statement.setString(2, event.getType());
+                statement.setString(3, event.getPayload());
+                statement.setLong(4, event.getCreated());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    @Override
+    public List<OutboxEvent> claim(String owner, long now, long leaseMillis, int limit) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(CLAIM)) {
+            statement.setString(1, owner);
+            statement.setLong(2, now + leaseMillis);
+            statement.setLong(3, now);
+            statement.setInt(4, limit);
+            // rows returned by the update are not ordered, restore the order events were stored in
+            SortedMap<Long, OutboxEvent> claimed = new TreeMap<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    claimed.put(resultSet.getLong("position"), from(resultSet));
+                }
+            }
+            return new ArrayList<>(claimed.values());
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error claiming stored events");
+        }
+    }
+
+    @Override
+    public void remove(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            for (String id : ids) {
+                statement.setString(1, id);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error deleting %s events", ids.size());
+        }
+    }
+
+    private static OutboxEvent from(ResultSet resultSet) throws SQLException {
+        return new OutboxEvent(resultSet.getString("id"),
+                resultSet.getString("type"),
+                resultSet.getString("payload"),
+                resultSet.getLong("created"));
+    }
+
+    private String getQueryFromFile(String scriptName) {
+        try (InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(String.format("sql/%s.sql", scriptName))) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error reading query script file %s", scriptName);
+        }
+    }
+
+    private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
+        return new RuntimeException(String.format(message, param), ex);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.jdbc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.jobs.StoredJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link JobStore} keeping jobs in the <code>process_instance_jobs</code> table. Due jobs are claimed with a
+ * single statement skipping rows locked by other nodes, so several nodes can poll the same table.
+ */
+public class JDBCJobStore implements JobStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCJobStore.class);
+
+    private static final String COLUMNS = "id, process_instance_id, process_id, fire_time, repeat_interval, repeat_limit, owner, lease_expiration";
+
+    private static final String FIND_BY_ID = "SELECT " + COLUMNS + " FROM process_instance_jobs WHERE id = ?";
+    private static final String UPSERT = "INSERT INTO process_instance_jobs (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET process_instance_id = EXCLUDED.process_instance_id, process_id = EXCLUDED.process_id, " +
+            "fire_time = EXCLUDED.fire_time, repeat_interval = EXCLUDED.repeat_interval, repeat_limit = EXCLUDED.repeat_limit, " +
+            "owner = EXCLUDED.owner, lease_expiration = EXCLUDED.lease_expiration";
+    private static final String DELETE = "DELETE FROM process_instance_jobs WHERE id = ?";
+    private static final String CLAIM = "UPDATE process_instance_jobs SET owner = ?, lease_expiration = ? WHERE id IN (" +
+            "SELECT id FROM process_instance_jobs WHERE fire_time <= ? AND (owner IS NULL OR lease_expiration < ?) " +
+            "ORDER BY fire_time LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING " + COLUMNS;
+    private static final String RESCHEDULE = "UPDATE process_instance_jobs SET fire_time = ?, repeat_limit = ?, owner = NULL, lease_expiration = NULL " +
+            "WHERE id = ? AND owner = ?";
+
+    private final DataSource dataSource;
+
+    public JDBCJobStore(DataSource dataSource, boolean autoDDL) {
+        this.dataSource = dataSource;
+        if (autoDDL) {
+            init();
+        } else {
+            LOGGER.debug("Auto DDL is disabled, do not running initializer scripts");
+        }
+    }
+
+    private void init() {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(getQueryFromFile("exists_job_tables"));
+                ResultSet resultSet = statement.executeQuery()) {
+            if (resultSet.next() && !resultSet.getBoolean("exists")) {
+                try (Statement create = connection.createStatement()) {
+                    create.execute(getQueryFromFile("create_job_tables"));
+                }
+                LOGGER.info("DDL successfully done for process instance jobs");
+            } else {
+                LOGGER.info("Table process_instance_jobs already exists.");
+            }
+        } catch (Exception e) {
+            //not break the execution flow in case of any missing permission for db application user, for instance.
+            LOGGER.error("Error creating process_instance_jobs table, the database should be configured properly before " +
+                    "starting the application", e);
+        }
+    }
+
+    @Override
+    public void store(StoredJob job) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+            statement.setString(1, job.getId());
+            statement.setString(2, job.getProcessInstanceId());
+            statement.setString(3, job.getProcessId());
+            statement.setLong(4, job.getFireTime());
+            setNullableLong(statement, 5, job.getRepeatInterval());
+            statement.setInt(6, job.getRepeatLimit());
+            statement.setString(7, job.getOwner());
+            setNullableLong(statement, 8, job.getOwner() == null ? null : job.getLeaseExpiration());
+            statement.executeUpdate();
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error storing job %s", job.getId());
+        }
+    }
+
+    @Override
+    public Optional<StoredJob> find(String id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_BY_ID)) {
+            statement.setString(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(from(resultSet)) : Optional.empty();
+            }
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding job %s", id);
+        }
+    }
+
+    @Override
+    public boolean remove(String id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            statement.setString(1, id);
+            return statement.executeUpdate() == 1;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error deleting job %s", id);
+        }
+    }
+
+    @Override
+    public List<StoredJob> claim(String owner, long now, long leaseMillis, int limit) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(CLAIM)) {
+            statement.setString(1, owner);
+            statement.setLong(2, now + leaseMillis);
+            statement.setLong(3, now);
+            statement.setLong(4, now);
+            statement.setInt(5, limit);
+            List<StoredJob> claimed = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    claimed.add(from(resultSet));
+                }
+            }
+            claimed.sort((first, second) -> Long.compare(first.getFireTime(), second.getFireTime()));
+            return claimed;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error claiming due jobs");
+        }
+    }
+
+    @Override
+    public boolean reschedule(StoredJob job, String owner) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(RESCHEDULE)) {
+            statement.setLong(1, job.getFireTime());
+            statement.setInt(2, job.getRepeatLimit());
+            statement.setString(3, job.getId());
+            statement.setString(4, owner);
+            return statement.executeUpdate() == 1;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error rescheduling job %s", job.getId());
+        }
+    }
+
+    private static StoredJob from(ResultSet resultSet) throws SQLException {
+        long repeatInterval = resultSet.getLong("repeat_interval");
+        Long interval = resultSet.wasNull() ? null : repeatInterval;
+        return new StoredJob(resultSet.getString("id"),
+                resultSet.getString("process_instance_id"),
+                resultSet.getString("process_id"),
+                resultSet.getLong("fire_time"),
+                interval,
+                resultSet.getInt("repeat_limit"),
+                resultSet.getString("owner"),
+                resultSet.getLong("lease_expiration"));
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+
+    private String getQueryFromFile(String scriptName) {
+        try (InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(String.format("sql/%s.sql", scriptName))) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error reading query script file %s", scriptName);
+        }
+    }
+
+    private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
+        return new RuntimeException(String.format(message, param), ex);
+    }
+}
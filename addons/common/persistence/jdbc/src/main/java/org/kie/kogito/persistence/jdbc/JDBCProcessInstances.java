@@ -22,22 +22,35 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
+import org.kie.kogito.persistence.jdbc.JDBCWriteBatch.Operation;
+import org.kie.kogito.persistence.jdbc.JDBCWriteBatch.PendingWrite;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.impl.AbstractProcess;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.serialization.process.MarshalledProcessInstance;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
+import org.kie.kogito.services.uow.PassThroughUnitOfWork;
+import org.kie.kogito.uow.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,29 +62,79 @@ public class JDBCProcessInstances implements MutableProcessInstances {
 
     private static final String PAYLOAD = "payload";
 
+    private static final String DELTA = "delta";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(JDBCProcessInstances.class);
 
+    private static final int FETCH_SIZE = 100;
+
     private final Process<?> process;
     private final ProcessInstanceMarshallerService marshaller;
     private final boolean autoDDL;
     private final DataSource dataSource;
     private final boolean lock;
+    private final boolean batch;
+    private final boolean delta;
+    // whether the table has the delta column, which might hold deltas written while delta updates were enabled
+    private final boolean deltaColumn;
 
     private static final String FIND_ALL = "SELECT payload FROM process_instances WHERE process_id = ?";
+    private static final String FIND_ALL_PAGED = "SELECT payload, version FROM process_instances WHERE process_id = ? ORDER BY id LIMIT ? OFFSET ?";
     private static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE id = ?";
     private static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, version) VALUES (?, ?, ?, ?)";
     private static final String UPDATE = "UPDATE process_instances SET payload = ? WHERE id = ?";
     private static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = ?, version = ? WHERE id = ? and version = ?";
     private static final String DELETE = "DELETE FROM process_instances WHERE id = ?";
+    private static final String FIND_VERSION_BY_ID = "SELECT version FROM process_instances WHERE id = ?";
     private static final String COUNT = "SELECT COUNT(id) FROM process_instances WHERE process_id = ?";
 
+    // used instead of the above when instances are stored as a base payload and a delta
+    private static final String FIND_ALL_DELTA = "SELECT payload, delta FROM process_instances WHERE process_id = ?";
+    private static final String FIND_ALL_PAGED_DELTA = "SELECT payload, delta, version FROM process_instances WHERE process_id = ? ORDER BY id LIMIT ? OFFSET ?";
+    private static final String FIND_BY_ID_DELTA = "SELECT payload, delta, version FROM process_instances WHERE id = ?";
+    private static final String UPDATE_BASE_WITH_LOCK = "UPDATE process_instances SET payload = ?, delta = NULL, version = ? WHERE id = ? and version = ?";
+    private static final String UPDATE_DELTA_WITH_LOCK = "UPDATE process_instances SET delta = ?, version = ? WHERE id = ? and version = ?";
+    private static final String UPDATE_BASE = "UPDATE process_instances SET payload = ?, delta = NULL WHERE id = ?";
+
     public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock) {
+        this(process, dataSource, autoDDL, lock, false);
+    }
+
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock, boolean batch) {
+        this(process, dataSource, autoDDL, lock, batch, false);
+    }
+
+    /**
+     * @param delta whether updates should only write what changed since the stored base payload, which is
+     *        compacted into a new base once the changes grow too big. It requires optimistic locking, so the
+     *        base is known not to have changed since the instance was read, and is ignored otherwise.
+     *        Deltas stored while it was enabled are still applied when reading once it is disabled, and dropped
+     *        when the instance is next written. Every write costs an extra pass over the marshalled instance to
+     *        find what changed, see {@link ProcessInstanceMarshallerService#marshallProcessInstanceDelta}.
+     */
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock, boolean batch, boolean delta) {
         this.dataSource = dataSource;
         this.process = process;
         this.autoDDL = autoDDL;
         this.lock = lock;
+        this.batch = batch;
+        this.delta = delta && lock;
+        if (delta && !lock) {
+            LOGGER.warn("Delta updates of process instances require optimistic locking, writing whole process instances of {}", process.id());
+        }
         this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
         init();
+        this.deltaColumn = this.delta || hasDeltaColumn();
+    }
+
+    private boolean hasDeltaColumn() {
+        try (Connection connection = dataSource.getConnection();
+                ResultSet columns = connection.getMetaData().getColumns(null, null, "process_instances", DELTA)) {
+            return columns.next();
+        } catch (Exception e) {
+            LOGGER.debug("Could not check delta column of process_instances table, assuming there is none", e);
+            return false;
+        }
     }
 
     private void init() {
@@ -84,6 +147,11 @@ public class JDBCProcessInstances implements MutableProcessInstances {
                 PreparedStatement statement = connection.prepareStatement(getQueryFromFile("exists_tables"))) {
 
             createTable(connection, statement);
+            if (delta) {
+                try (PreparedStatement alter = connection.prepareStatement(getQueryFromFile("create_delta_column"))) {
+                    alter.execute();
+                }
+            }
 
         } catch (Exception e) {
             //not break the execution flow in case of any missing permission for db application user, for instance.
@@ -144,7 +212,14 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     @Override
     public void create(String id, ProcessInstance instance) {
         if (isActive(instance)) {
-            insertInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+            MarshalledProcessInstance marshalled = delta ? marshaller.marshallProcessInstanceDelta(instance)
+                    : new MarshalledProcessInstance(marshaller.marshallProcessInstance(instance), null);
+            if (batch) {
+                enqueue(instance, Operation.INSERT, marshaller.compactProcessInstance(marshalled), 1L);
+            } else {
+                insertInternal(UUID.fromString(id), marshalled.payload());
+                markStored(instance, marshalled);
+            }
         }
         disconnect(instance);
     }
@@ -166,7 +241,18 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     @Override
     public void update(String id, ProcessInstance instance) {
         if (isActive(instance)) {
-            if (lock) {
+            if (delta) {
+                MarshalledProcessInstance marshalled = marshaller.marshallProcessInstanceDelta(instance);
+                if (batch) {
+                    enqueue(instance, Operation.UPDATE, marshalled, instance.version());
+                } else if (updateWithLock(UUID.fromString(id), marshalled, instance.version())) {
+                    markStored(instance, marshalled);
+                } else {
+                    throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
+                }
+            } else if (batch) {
+                enqueue(instance, Operation.UPDATE, new MarshalledProcessInstance(marshaller.marshallProcessInstance(instance), null), instance.version());
+            } else if (lock) {
                 boolean isUpdated = updateWithLock(UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
                 if (!isUpdated) {
                     throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
@@ -180,7 +266,7 @@ public class JDBCProcessInstances implements MutableProcessInstances {
 
     private void updateInternal(UUID id, byte[] payload) {
         try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                PreparedStatement statement = connection.prepareStatement(deltaColumn ? UPDATE_BASE : UPDATE)) {
             statement.setBytes(1, payload);
             statement.setObject(2, id);
             statement.executeUpdate();
@@ -191,7 +277,7 @@ public class JDBCProcessInstances implements MutableProcessInstances {
 
     private boolean updateWithLock(UUID id, byte[] payload, long version) {
         try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(UPDATE_WITH_LOCK)) {
+                PreparedStatement statement = connection.prepareStatement(deltaColumn ? UPDATE_BASE_WITH_LOCK : UPDATE_WITH_LOCK)) {
             statement.setBytes(1, payload);
             statement.setLong(2, version + 1);
             statement.setObject(3, id);
@@ -203,8 +289,23 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         }
     }
 
+    private boolean updateWithLock(UUID id, MarshalledProcessInstance marshalled, long version) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(marshalled.isDelta() ? UPDATE_DELTA_WITH_LOCK : UPDATE_BASE_WITH_LOCK)) {
+            bindUpdateWithLock(statement, id, marshalled.isDelta() ? marshalled.delta() : marshalled.payload(), version);
+            int count = statement.executeUpdate();
+            return count == 1;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error updating process instance %s", id);
+        }
+    }
+
     @Override
     public void remove(String id) {
+        if (batch) {
+            enqueue(UUID.fromString(id), null, Operation.DELETE, null, null);
+            return;
+        }
         boolean isDeleted = deleteInternal(UUID.fromString(id));
         if (lock && !isDeleted) {
             throw uncheckedException(null, "The document with ID: %s was deleted by other request.", id);
@@ -223,14 +324,163 @@ public class JDBCProcessInstances implements MutableProcessInstances {
 
     }
 
+    private void enqueue(ProcessInstance<?> instance, Operation operation, MarshalledProcessInstance marshalled, Long version) {
+        enqueue(UUID.fromString(instance.id()), instance, operation, marshalled, version);
+    }
+
+    private void enqueue(UUID id, ProcessInstance<?> instance, Operation operation, MarshalledProcessInstance marshalled, Long version) {
+        UnitOfWork unitOfWork = currentUnitOfWork();
+        JDBCWriteBatch writes = unitOfWork == null ? JDBCWriteBatch.standalone(dataSource) : JDBCWriteBatch.of(unitOfWork, dataSource);
+        PendingWrite previous = writes.get(id);
+        if (previous != null && marshalled != null && marshalled.isDelta()) {
+            // the delta is relative to the stored base, which the pending write might already replace
+            // or which the instance might not have been read with, so the whole instance is written instead
+            marshalled = marshaller.compactProcessInstance(marshalled);
+        }
+        if (previous == null) {
+            writes.put(id, new PendingWrite(this, operation, instance, marshalled, version));
+        } else if (previous.operation == Operation.INSERT) {
+            // not yet stored, so it either is inserted with latest state or never reaches the database
+            if (operation == Operation.DELETE) {
+                writes.remove(id);
+            } else {
+                writes.put(id, new PendingWrite(this, Operation.INSERT, instance, marshalled, previous.version));
+            }
+        } else {
+            // keep the version read from the database as the one to be checked by the optimistic lock
+            writes.put(id, new PendingWrite(this, operation, instance, marshalled, previous.version != null ? previous.version : version));
+        }
+        if (unitOfWork == null) {
+            writes.flush();
+        }
+    }
+
+    // unit of work collecting the writes, or null when they have to be written right away
+    private UnitOfWork currentUnitOfWork() {
+        if (!(process instanceof AbstractProcess)) {
+            return null;
+        }
+        UnitOfWork unitOfWork = ((AbstractProcess<?>) process).unitOfWorkManager().currentUnitOfWork();
+        return unitOfWork instanceof PassThroughUnitOfWork ? null : unitOfWork;
+    }
+
+    private PendingWrite pendingWrite(UUID id) {
+        UnitOfWork unitOfWork = currentUnitOfWork();
+        JDBCWriteBatch writes = unitOfWork == null ? null : JDBCWriteBatch.find(unitOfWork, dataSource);
+        return writes == null ? null : writes.get(id);
+    }
+
+    /**
+     * Executes the writes of this process instances storage, collected in a {@link JDBCWriteBatch}, using given connection
+     * that is committed or rolled back by the caller.
+     *
+     * @return ids of the instances whose optimistic lock check failed
+     */
+    List<String> executeBatches(Connection connection, Map<UUID, PendingWrite> writes) throws SQLException {
+        List<String> conflicts = new ArrayList<>();
+        conflicts.addAll(executeBatch(connection, INSERT, writes, w -> w.operation == Operation.INSERT, (statement, id, write) -> {
+            statement.setObject(1, id);
+            statement.setBytes(2, write.marshalled.payload());
+            statement.setString(3, process.id());
+            statement.setLong(4, write.version);
+        }));
+        if (delta) {
+            conflicts.addAll(executeBatch(connection, UPDATE_BASE_WITH_LOCK, writes, w -> w.operation == Operation.UPDATE && !w.marshalled.isDelta(),
+                    (statement, id, write) -> bindUpdateWithLock(statement, id, write.marshalled.payload(), write.version)));
+            conflicts.addAll(executeBatch(connection, UPDATE_DELTA_WITH_LOCK, writes, w -> w.operation == Operation.UPDATE && w.marshalled.isDelta(),
+                    (statement, id, write) -> bindUpdateWithLock(statement, id, write.marshalled.delta(), write.version)));
+        } else {
+            String update;
+            if (lock) {
+                update = deltaColumn ? UPDATE_BASE_WITH_LOCK : UPDATE_WITH_LOCK;
+            } else {
+                update = deltaColumn ? UPDATE_BASE : UPDATE;
+            }
+            conflicts.addAll(executeBatch(connection, update, writes, w -> w.operation == Operation.UPDATE, (statement, id, write) -> {
+                if (lock) {
+                    bindUpdateWithLock(statement, id, write.marshalled.payload(), write.version);
+                } else {
+                    statement.setBytes(1, write.marshalled.payload());
+                    statement.setObject(2, id);
+                }
+            }));
+        }
+        conflicts.addAll(executeBatch(connection, DELETE, writes, w -> w.operation == Operation.DELETE, (statement, id, write) -> statement.setObject(1, id)));
+        return conflicts;
+    }
+
+    /**
+     * Called once the writes of this process instances storage, collected in a {@link JDBCWriteBatch}, were stored.
+     */
+    void markStored(Collection<PendingWrite> writes) {
+        for (PendingWrite write : writes) {
+            if (write.instance != null && write.operation != Operation.DELETE) {
+                markStored(write.instance, write.marshalled);
+            }
+        }
+    }
+
+    // the stored base only changes once written, so a failed write keeps computing deltas against the actual one
+    private void markStored(ProcessInstance<?> instance, MarshalledProcessInstance marshalled) {
+        if (delta) {
+            marshaller.markStored(instance, marshalled);
+        }
+    }
+
+    private static void bindUpdateWithLock(PreparedStatement statement, UUID id, byte[] bytes, long version) throws SQLException {
+        statement.setBytes(1, bytes);
+        statement.setLong(2, version + 1);
+        statement.setObject(3, id);
+        statement.setLong(4, version);
+    }
+
+    private List<String> executeBatch(Connection connection, String sql, Map<UUID, PendingWrite> writes, Predicate<PendingWrite> filter, StatementBinder binder) throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        boolean checked = false;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Entry<UUID, PendingWrite> write : writes.entrySet()) {
+                if (filter.test(write.getValue())) {
+                    checked = write.getValue().operation != Operation.INSERT;
+                    binder.bind(statement, write.getKey(), write.getValue());
+                    statement.addBatch();
+                    ids.add(write.getKey());
+                }
+            }
+            if (ids.isEmpty()) {
+                return Collections.emptyList();
+            }
+            int[] counts = statement.executeBatch();
+            List<String> conflicts = new ArrayList<>();
+            if (lock && checked) {
+                for (int i = 0; i < counts.length; i++) {
+                    // drivers not reporting affected rows (SUCCESS_NO_INFO) cannot be checked
+                    if (counts[i] == 0) {
+                        conflicts.add(ids.get(i).toString());
+                    }
+                }
+            }
+            return conflicts;
+        }
+    }
+
     @Override
     public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
         ProcessInstance<?> instance = null;
+        if (batch) {
+            PendingWrite pending = pendingWrite(UUID.fromString(id));
+            if (pending != null) {
+                // written earlier in this unit of work, but not flushed yet
+                if (pending.operation == Operation.DELETE) {
+                    return Optional.empty();
+                }
+                instance = unmarshall(pending.marshalled.payload(), null, mode);
+                ((AbstractProcessInstance<?>) instance).setVersion(pending.version);
+                return Optional.of(instance);
+            }
+        }
         Map<String, Object> map = findByIdInternal(UUID.fromString(id));
         if (map.containsKey(PAYLOAD)) {
-            byte[] b = (byte[]) map.get(PAYLOAD);
-            instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process)
-                    : marshaller.unmarshallReadOnlyProcessInstance(b, process);
+            instance = unmarshall((byte[]) map.get(PAYLOAD), (byte[]) map.get(DELTA), mode);
             ((AbstractProcessInstance<?>) instance).setVersion((Long) map.get(VERSION));
             return Optional.of(instance);
         }
@@ -239,14 +489,80 @@ public class JDBCProcessInstances implements MutableProcessInstances {
 
     @Override
     public Collection<ProcessInstance> values(ProcessInstanceReadMode mode) {
-        return findAllInternal().stream().map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process))
-                .collect(Collectors.toList());
+        return findAllInternal(mode);
+    }
+
+    private ProcessInstance<?> unmarshall(byte[] payload, byte[] delta, ProcessInstanceReadMode mode) {
+        if (this.delta) {
+            return marshaller.unmarshallProcessInstance(payload, delta, process, mode != MUTABLE);
+        }
+        // stored while delta updates were enabled
+        payload = marshaller.applyDelta(payload, delta);
+        return mode == MUTABLE ? marshaller.unmarshallProcessInstance(payload, process) : marshaller.unmarshallReadOnlyProcessInstance(payload, process);
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode, int offset, int limit) {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            // drivers like PostgreSQL only use a server side cursor honouring the fetch size within a transaction
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            PreparedStatement statement = connection.prepareStatement(deltaColumn ? FIND_ALL_PAGED_DELTA : FIND_ALL_PAGED);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setString(1, process.id());
+            statement.setInt(2, limit);
+            statement.setInt(3, offset);
+            ResultSet resultSet = statement.executeQuery();
+            Connection streamConnection = connection;
+            return StreamSupport.stream(new Spliterators.AbstractSpliterator<ProcessInstance>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super ProcessInstance> action) {
+                    try {
+                        if (!resultSet.next()) {
+                            return false;
+                        }
+                        ProcessInstance<?> instance = unmarshall(resultSet.getBytes(PAYLOAD), deltaColumn ? resultSet.getBytes(DELTA) : null, mode);
+                        ((AbstractProcessInstance<?>) instance).setVersion(resultSet.getLong(VERSION));
+                        action.accept(instance);
+                        return true;
+                    } catch (SQLException e) {
+                        throw uncheckedException(e, "Error streaming process instances, for processId %s", process.id());
+                    }
+                }
+            }, false).onClose(() -> closeStream(streamConnection, statement, resultSet, autoCommit));
+        } catch (Exception e) {
+            if (connection != null) {
+                closeStream(connection, null, null, false);
+            }
+            throw uncheckedException(e, "Error streaming process instances, for processId %s", process.id());
+        }
+    }
+
+    private void closeStream(Connection connection, PreparedStatement statement, ResultSet resultSet, boolean autoCommit) {
+        try (connection) {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            if (autoCommit) {
+                connection.commit();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw uncheckedException(e, "Error closing process instances stream, for processId %s", process.id());
+        }
     }
 
     private Map<String, Object> findByIdInternal(UUID id) {
         Map<String, Object> result = new HashMap<>();
         try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(FIND_BY_ID)) {
+                PreparedStatement statement = connection.prepareStatement(deltaColumn ? FIND_BY_ID_DELTA : FIND_BY_ID)) {
             statement.setObject(1, id);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
@@ -254,6 +570,9 @@ public class JDBCProcessInstances implements MutableProcessInstances {
                     if (b.isPresent()) {
                         result.put(PAYLOAD, b.get());
                     }
+                    if (deltaColumn) {
+                        result.put(DELTA, resultSet.getBytes(DELTA));
+                    }
                     result.put(VERSION, resultSet.getLong(VERSION));
                     return result;
                 }
@@ -264,14 +583,14 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         return result;
     }
 
-    private List<byte[]> findAllInternal() {
-        List<byte[]> result = new ArrayList<>();
+    private List<ProcessInstance> findAllInternal(ProcessInstanceReadMode mode) {
+        List<ProcessInstance> result = new ArrayList<>();
         try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(FIND_ALL)) {
+                PreparedStatement statement = connection.prepareStatement(deltaColumn ? FIND_ALL_DELTA : FIND_ALL)) {
             statement.setString(1, process.id());
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    result.add(resultSet.getBytes(PAYLOAD));
+                    result.add(unmarshall(resultSet.getBytes(PAYLOAD), deltaColumn ? resultSet.getBytes(DELTA) : null, mode));
                 }
             }
             return result;
@@ -290,6 +609,39 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         return this.lock;
     }
 
+    @Override
+    public Optional<Long> version(String id) {
+        if (!lock) {
+            return Optional.empty();
+        }
+        UUID uuid = UUID.fromString(id);
+        PendingWrite pending = batch ? pendingWrite(uuid) : null;
+        if (pending != null) {
+            // updates are checked against the version read, the version stored once flushed is the next one
+            if (pending.operation == Operation.DELETE) {
+                return Optional.empty();
+            }
+            return Optional.of(pending.operation == Operation.UPDATE ? pending.version + 1 : pending.version);
+        }
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_VERSION_BY_ID)) {
+            statement.setObject(1, uuid);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getLong(VERSION)) : Optional.empty();
+            }
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding version of process instance %s", id);
+        }
+    }
+
+    public boolean batch() {
+        return this.batch;
+    }
+
+    public boolean delta() {
+        return this.delta;
+    }
+
     private Long countInternal() {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(COUNT)) {
@@ -307,13 +659,25 @@ public class JDBCProcessInstances implements MutableProcessInstances {
 
     private void disconnect(ProcessInstance instance) {
         Supplier<byte[]> supplier = () -> {
+            PendingWrite pending = batch ? pendingWrite(UUID.fromString(instance.id())) : null;
+            if (pending != null && pending.operation != Operation.DELETE) {
+                return pending.marshalled.payload();
+            }
             Map<String, Object> map = findByIdInternal(UUID.fromString(instance.id()));
             ((AbstractProcessInstance<?>) instance).setVersion((Long) map.get(VERSION));
-            return (byte[]) map.get(PAYLOAD);
+            // reloaded with the stored version, so later deltas must be computed against the stored base too
+            markStored(instance, new MarshalledProcessInstance((byte[]) map.get(PAYLOAD), null));
+            return marshaller.applyDelta((byte[]) map.get(PAYLOAD), (byte[]) map.get(DELTA));
         };
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 
+    @FunctionalInterface
+    private interface StatementBinder {
+
+        void bind(PreparedStatement statement, UUID id, PendingWrite write) throws SQLException;
+    }
+
     private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
         return new RuntimeException(String.format(message, param), ex);
     }
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.serialization.process.MarshalledProcessInstance;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.WorkUnit;
+
+/**
+ * Process instance writes collected during a unit of work, for all the processes storing their instances
+ * in the same data source, along with other statements to be executed in the same transaction, e.g. storing
+ * events in the outbox. They are flushed as JDBC batches, in a single transaction, when the unit of work ends,
+ * after any other work of the unit of work.
+ */
+class JDBCWriteBatch {
+
+    // batches of the units of work in progress, weakly referenced so that abandoned units of work are not leaked
+    private static final Map<UnitOfWork, Map<DataSource, JDBCWriteBatch>> BATCHES = new WeakHashMap<>();
+
+    // after events were stored in the outbox, see CollectingUnitOfWork#OUTBOX_PRIORITY
+    private static final int FLUSH_PRIORITY = 200;
+
+    private final DataSource dataSource;
+    private final UnitOfWork unitOfWork;
+    private final Map<UUID, PendingWrite> writes = new LinkedHashMap<>();
+    private final List<Statements> statements = new ArrayList<>();
+
+    private JDBCWriteBatch(DataSource dataSource, UnitOfWork unitOfWork) {
+        this.dataSource = dataSource;
+        this.unitOfWork = unitOfWork;
+    }
+
+    /**
+     * Returns the batch of given unit of work, creating it and registering its flush with the unit of work
+     * if this is the first write of the unit of work to the data source.
+     */
+    static JDBCWriteBatch of(UnitOfWork unitOfWork, DataSource dataSource) {
+        JDBCWriteBatch batch;
+        synchronized (BATCHES) {
+            Map<DataSource, JDBCWriteBatch> batches = BATCHES.computeIfAbsent(unitOfWork, u -> new HashMap<>());
+            batch = batches.get(dataSource);
+            if (batch != null) {
+                return batch;
+            }
+            batch = new JDBCWriteBatch(dataSource, unitOfWork);
+            batches.put(dataSource, batch);
+        }
+        unitOfWork.intercept(new FlushWorkUnit(batch));
+        return batch;
+    }
+
+    /**
+     * Returns the batch of given unit of work, if it already wrote to the data source.
+     */
+    static JDBCWriteBatch find(UnitOfWork unitOfWork, DataSource dataSource) {
+        synchronized (BATCHES) {
+            Map<DataSource, JDBCWriteBatch> batches = BATCHES.get(unitOfWork);
+            return batches == null ? null : batches.get(dataSource);
+        }
+    }
+
+    /**
+     * Returns a batch not bound to any unit of work, to be flushed right away by the caller.
+     */
+    static JDBCWriteBatch standalone(DataSource dataSource) {
+        return new JDBCWriteBatch(dataSource, null);
+    }
+
+    synchronized PendingWrite get(UUID id) {
+        return writes.get(id);
+    }
+
+    synchronized void put(UUID id, PendingWrite write) {
+        writes.put(id, write);
+    }
+
+    synchronized void remove(UUID id) {
+        writes.remove(id);
+    }
+
+    /**
+     * Adds statements to be executed after the process instance writes, in the same transaction.
+     */
+    synchronized void add(Statements executed) {
+        statements.add(executed);
+    }
+
+    void flush() {
+        List<Statements> toExecute = new ArrayList<>();
+        Map<JDBCProcessInstances, Map<UUID, PendingWrite>> byOwner = detach(toExecute);
+        if (byOwner.isEmpty() && toExecute.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                List<String> conflicts = new ArrayList<>();
+                for (Map.Entry<JDBCProcessInstances, Map<UUID, PendingWrite>> owned : byOwner.entrySet()) {
+                    conflicts.addAll(owned.getKey().executeBatches(connection, owned.getValue()));
+                }
+                if (!conflicts.isEmpty()) {
+                    throw new JDBCBatchConflictException(conflicts);
+                }
+                for (Statements executed : toExecute) {
+                    executed.execute(connection);
+                }
+                if (autoCommit) {
+                    connection.commit();
+                }
+                byOwner.forEach((owner, writes) -> owner.markStored(writes.values()));
+            } catch (Exception e) {
+                if (autoCommit) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (autoCommit) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (JDBCBatchConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(String.format("Error flushing batch of %s process instances", byOwner.values().stream().mapToInt(Map::size).sum()), e);
+        }
+    }
+
+    void discard() {
+        detach(new ArrayList<>());
+    }
+
+    // takes the writes out of the batch, so that any later write of the unit of work goes to a new batch
+    private Map<JDBCProcessInstances, Map<UUID, PendingWrite>> detach(List<Statements> detachedStatements) {
+        if (unitOfWork != null) {
+            synchronized (BATCHES) {
+                Map<DataSource, JDBCWriteBatch> batches = BATCHES.get(unitOfWork);
+                if (batches != null && batches.get(dataSource) == this) {
+                    batches.remove(dataSource);
+                    if (batches.isEmpty()) {
+                        BATCHES.remove(unitOfWork);
+                    }
+                }
+            }
+        }
+        Map<JDBCProcessInstances, Map<UUID, PendingWrite>> byOwner = new LinkedHashMap<>();
+        synchronized (this) {
+            writes.forEach((id, write) -> byOwner.computeIfAbsent(write.owner, o -> new LinkedHashMap<>()).put(id, write));
+            writes.clear();
+            detachedStatements.addAll(statements);
+            statements.clear();
+        }
+        return byOwner;
+    }
+
+    @FunctionalInterface
+    interface Statements {
+
+        void execute(Connection connection) throws SQLException;
+    }
+
+    private static class FlushWorkUnit implements WorkUnit<JDBCWriteBatch> {
+
+        private final JDBCWriteBatch batch;
+
+        private FlushWorkUnit(JDBCWriteBatch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public JDBCWriteBatch data() {
+            return batch;
+        }
+
+        @Override
+        public void perform() {
+            batch.flush();
+        }
+
+        @Override
+        public void abort() {
+            batch.discard();
+        }
+
+        @Override
+        public Integer priority() {
+            return FLUSH_PRIORITY;
+        }
+    }
+
+    enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    static class PendingWrite {
+
+        final JDBCProcessInstances owner;
+        final Operation operation;
+        final ProcessInstance<?> instance;
+        final MarshalledProcessInstance marshalled;
+        final Long version;
+
+        PendingWrite(JDBCProcessInstances owner, Operation operation, ProcessInstance<?> instance, MarshalledProcessInstance marshalled, Long version) {
+            this.owner = owner;
+            this.operation = operation;
+            this.instance = instance;
+            this.marshalled = marshalled;
+            this.version = version;
+        }
+    }
+}
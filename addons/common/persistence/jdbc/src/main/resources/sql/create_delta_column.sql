@@ -0,0 +1 @@
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS delta bytea;
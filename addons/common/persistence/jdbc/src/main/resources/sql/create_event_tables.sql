@@ -0,0 +1,13 @@
+CREATE TABLE process_instance_events(id character varying NOT NULL,
+                                     position bigserial NOT NULL,
+                                     type character varying,
+                                     payload text NOT NULL,
+                                     created bigint NOT NULL,
+                                     owner character varying,
+                                     lease_expiration bigint,
+                                     CONSTRAINT process_instance_events_pkey PRIMARY KEY (id)
+                                     );
+CREATE INDEX idx_process_instance_events_position ON process_instance_events
+    (
+     position
+    );
@@ -0,0 +1,14 @@
+CREATE TABLE process_instance_jobs(id character varying NOT NULL,
+                                   process_instance_id character varying NOT NULL,
+                                   process_id character varying,
+                                   fire_time bigint NOT NULL,
+                                   repeat_interval bigint,
+                                   repeat_limit integer NOT NULL,
+                                   owner character varying,
+                                   lease_expiration bigint,
+                                   CONSTRAINT process_instance_jobs_pkey PRIMARY KEY (id)
+                                   );
+CREATE INDEX idx_process_instance_jobs_fire_time ON process_instance_jobs
+    (
+     fire_time
+    );
@@ -1,5 +1,6 @@
 CREATE TABLE process_instances(id uuid NOT NULL,
                                       payload bytea NOT NULL,
+                                      delta bytea,
                                       process_id character varying NOT NULL,
                                       version bigint,
                                       CONSTRAINT process_instances_pkey PRIMARY KEY (id)
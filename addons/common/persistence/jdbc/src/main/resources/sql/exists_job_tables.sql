@@ -0,0 +1,3 @@
+SELECT EXISTS(
+    SELECT FROM pg_tables WHERE tablename  = 'process_instance_jobs'
+    );
\ No newline at end of file
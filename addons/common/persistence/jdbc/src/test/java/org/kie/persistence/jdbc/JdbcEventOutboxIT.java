@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.OutboxEvent;
+import org.kie.kogito.persistence.jdbc.JDBCEventOutbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcEventOutboxIT extends TestHelper {
+
+    private JDBCEventOutbox outbox;
+
+    @BeforeEach
+    void setup() {
+        outbox = new JDBCEventOutbox(getDataSource(), true);
+        outbox.remove(Arrays.asList("a", "b", "c"));
+    }
+
+    @Test
+    void testClaimInStoredOrderWithLease() {
+        outbox.store(Arrays.asList(event("c"), event("a")));
+        outbox.store(Arrays.asList(event("b")));
+
+        List<OutboxEvent> claimed = outbox.claim("node1", 1000L, 500L, 10);
+        assertThat(claimed).extracting(OutboxEvent::getId).containsExactly("c", "a", "b");
+        assertThat(claimed.get(0).getPayload()).isEqualTo("{\"id\":\"c\"}");
+
+        // lease still valid
+        assertThat(outbox.claim("node2", 1200L, 500L, 10)).isEmpty();
+        // lease expired
+        assertThat(outbox.claim("node2", 1600L, 500L, 1)).extracting(OutboxEvent::getId).containsExactly("c");
+    }
+
+    @Test
+    void testRemoveDelivered() {
+        outbox.store(Arrays.asList(event("a"), event("b")));
+        outbox.remove(Arrays.asList("a"));
+
+        assertThat(outbox.claim("node1", 1000L, 500L, 10)).extracting(OutboxEvent::getId).containsExactly("b");
+    }
+
+    private static OutboxEvent event(String id) {
+        return new OutboxEvent(id, "ProcessInstanceEvent", "{\"id\":\"" + id + "\"}", 100L);
+    }
+}
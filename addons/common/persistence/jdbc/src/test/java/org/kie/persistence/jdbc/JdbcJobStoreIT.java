@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jobs.StoredJob;
+import org.kie.kogito.persistence.jdbc.JDBCJobStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcJobStoreIT extends TestHelper {
+
+    private JDBCJobStore store;
+
+    @BeforeEach
+    void setup() {
+        store = new JDBCJobStore(getDataSource(), true);
+        for (String id : new String[] { "a_1", "b_1", "c_1" }) {
+            store.remove(id);
+        }
+    }
+
+    @Test
+    void testStoreAndFind() {
+        StoredJob job = new StoredJob("a_1", "pi", "process", 100L, 50L, -1);
+        store.store(job);
+        assertThat(store.find("a_1")).hasValue(job);
+
+        StoredJob updated = new StoredJob("a_1", "pi", "process", 200L, null, 1);
+        store.store(updated);
+        assertThat(store.find("a_1")).hasValue(updated);
+
+        assertThat(store.remove("a_1")).isTrue();
+        assertThat(store.remove("a_1")).isFalse();
+        assertThat(store.find("a_1")).isEmpty();
+    }
+
+    @Test
+    void testClaimWithLease() {
+        store.store(new StoredJob("a_1", "pi", "process", 100L, null, 1));
+        store.store(new StoredJob("b_1", "pi", "process", 200L, null, 1));
+        store.store(new StoredJob("c_1", "pi", "process", 10_000L, null, 1));
+
+        List<StoredJob> claimed = store.claim("node1", 1000L, 500L, 10);
+        assertThat(claimed).extracting(StoredJob::getId).containsExactly("a_1", "b_1");
+        assertThat(claimed).allSatisfy(job -> {
+            assertThat(job.getOwner()).isEqualTo("node1");
+            assertThat(job.getLeaseExpiration()).isEqualTo(1500L);
+        });
+
+        // lease still valid
+        assertThat(store.claim("node2", 1200L, 500L, 10)).isEmpty();
+        // lease expired
+        assertThat(store.claim("node2", 1600L, 500L, 1)).extracting(StoredJob::getId).containsExactly("a_1");
+    }
+
+    @Test
+    void testRescheduleByOwnerOnly() {
+        store.store(new StoredJob("a_1", "pi", "process", 100L, 100L, -1));
+        StoredJob claimed = store.claim("node1", 1000L, 500L, 10).get(0);
+
+        assertThat(store.reschedule(claimed.next(), "node2")).isFalse();
+        assertThat(store.reschedule(claimed.next(), "node1")).isTrue();
+        assertThat(store.find("a_1")).hasValueSatisfying(job -> {
+            assertThat(job.getFireTime()).isEqualTo(200L);
+            assertThat(job.getOwner()).isNull();
+        });
+    }
+}
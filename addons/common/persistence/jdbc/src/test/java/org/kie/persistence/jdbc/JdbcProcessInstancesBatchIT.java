@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.jdbc.JDBCBatchConflictException;
+import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class JdbcProcessInstancesBatchIT extends TestHelper {
+
+    private final UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+
+    private final ProcessConfig config = new StaticProcessConfig(new DefaultWorkItemHandlerConfig(), new DefaultProcessEventListenerConfig(), uowManager, null);
+
+    @Test
+    void testBatchedCreateAndRemove() {
+        BpmnProcess process = createProcess(config, "BPMN2-UserTask.bpmn2", false, true);
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        assertThat(processInstances.batch()).isTrue();
+
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        List<ProcessInstance<BpmnVariables>> started = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test" + i)));
+            processInstance.start();
+            started.add(processInstance);
+        }
+        assertThat(processInstances.size()).isZero();
+        uow.end();
+
+        assertThat(processInstances.size()).isEqualTo(10);
+        started.forEach(pi -> assertThat(processInstances.findById(pi.id())).isPresent());
+
+        uow = uowManager.newUnitOfWork();
+        uow.start();
+        started.forEach(pi -> process.instances().findById(pi.id()).get().abort());
+        assertThat(processInstances.size()).isEqualTo(10);
+        uow.end();
+
+        assertThat(processInstances.size()).isZero();
+    }
+
+    @Test
+    void testBatchedUpdateReportsConflicts() {
+        BpmnProcess process = createProcess(config, "BPMN2-UserTask.bpmn2", true, true);
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        ProcessInstance<BpmnVariables> first = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        first.start();
+        ProcessInstance<BpmnVariables> second = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        second.start();
+        uow.end();
+
+        BpmnProcessInstance firstCopy = (BpmnProcessInstance) processInstances.findById(first.id()).get();
+        BpmnProcessInstance stale = (BpmnProcessInstance) processInstances.findById(first.id()).get();
+        BpmnProcessInstance secondCopy = (BpmnProcessInstance) processInstances.findById(second.id()).get();
+
+        uow = uowManager.newUnitOfWork();
+        uow.start();
+        firstCopy.updateVariables(BpmnVariables.create(Collections.singletonMap("s", "test")));
+        uow.end();
+        assertThat(process.instances().findById(first.id()).get().version()).isEqualTo(2L);
+
+        UnitOfWork conflicting = uowManager.newUnitOfWork();
+        conflicting.start();
+        stale.updateVariables(BpmnVariables.create(Collections.singletonMap("ss", "test")));
+        secondCopy.updateVariables(BpmnVariables.create(Collections.singletonMap("ss", "test")));
+        assertThatExceptionOfType(JDBCBatchConflictException.class)
+                .isThrownBy(conflicting::end)
+                .satisfies(e -> assertThat(e.getConflictingIds()).containsExactly(first.id()));
+        conflicting.abort();
+
+        // whole batch is rolled back, so the non conflicting update is not stored either
+        assertThat(process.instances().findById(second.id()).get().version()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.OutboxEvent;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.persistence.jdbc.JDBCEventOutbox;
+import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks how batched writes are bound to the unit of work, against a mocked data source.
+ * See {@link JdbcProcessInstancesBatchIT} for the checks against a database.
+ */
+class JdbcProcessInstancesBatchTest {
+
+    private final UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+
+    private final ProcessConfig config = new StaticProcessConfig(new DefaultWorkItemHandlerConfig(), new DefaultProcessEventListenerConfig(), uowManager, null);
+
+    private DataSource dataSource;
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(statement.executeBatch()).thenReturn(new int[] { 1 });
+    }
+
+    @Test
+    void testWritesOfProcessesFlushedInOneTransaction() throws SQLException {
+        BpmnProcess userTask = createProcess("BPMN2-UserTask.bpmn2");
+        BpmnProcess userTaskScript = createProcess("BPMN2-UserTask-Script.bpmn2");
+        // storages look up the table columns when created
+        clearInvocations(dataSource);
+
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        userTask.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+        userTaskScript.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+        uow.end();
+
+        verify(dataSource, times(1)).getConnection();
+        verify(statement, times(2)).addBatch();
+        verify(connection, times(1)).commit();
+    }
+
+    @Test
+    void testFindsInstanceWrittenEarlierInUnitOfWork() throws SQLException {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        AtomicBoolean found = new AtomicBoolean();
+
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        // performed after the process instance is written to the batch, before the batch is flushed
+        uow.intercept(WorkUnit.create(processInstance, pi -> found.set(processInstances.exists(pi.id()) && processInstances.findById(pi.id()).isPresent())));
+        uow.end();
+
+        assertThat(found).isTrue();
+        verify(statement, never()).executeQuery();
+        verify(connection, times(1)).commit();
+    }
+
+    @Test
+    void testWritesFlushedWhenUnitOfWorkEndsOnOtherThread() throws SQLException {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+        CompletableFuture.runAsync(uow::end).join();
+
+        verify(statement, times(1)).addBatch();
+        verify(connection, times(1)).commit();
+    }
+
+    @Test
+    void testEventsStoredInTransactionOfWrites() throws SQLException {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        JDBCEventOutbox outbox = new JDBCEventOutbox(dataSource, false, uowManager);
+        clearInvocations(dataSource);
+
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+        outbox.store(Collections.singletonList(new OutboxEvent("1", "test", "{}", 0L)));
+        verify(dataSource, never()).getConnection();
+        uow.end();
+
+        verify(dataSource, times(1)).getConnection();
+        verify(statement, times(2)).addBatch();
+        verify(connection, times(1)).commit();
+    }
+
+    private BpmnProcess createProcess(String fileName) {
+        BpmnProcess process = BpmnProcess.from(config, new ClassPathResource(fileName)).get(0);
+        process.setProcessInstancesFactory(new KogitoProcessInstancesFactory(dataSource, false) {
+
+            @Override
+            public boolean lock() {
+                return true;
+            }
+
+            @Override
+            public boolean batch() {
+                return true;
+            }
+        });
+        process.configure();
+        return process;
+    }
+}
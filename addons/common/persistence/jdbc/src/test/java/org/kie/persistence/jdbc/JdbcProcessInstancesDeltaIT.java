@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcProcessInstancesDeltaIT extends TestHelper {
+
+    @Test
+    void testDeltaRoundTrip() throws SQLException {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", true, false, true);
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        assertThat(processInstances.delta()).isTrue();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        assertThat(storedDelta(processInstance.id())).isNull();
+
+        // small change, only the delta is written
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+        assertThat(storedDelta(processInstance.id())).isNotNull();
+
+        BpmnProcessInstance reloaded = (BpmnProcessInstance) processInstances.findById(processInstance.id()).get();
+        assertThat(reloaded.version()).isEqualTo(2L);
+        assertThat(reloaded.variables().get("test")).isEqualTo("updated");
+
+        // change bigger than the base, compacted into a new base
+        String large = new String(new char[10000]).replace('\0', 'x');
+        reloaded.updateVariables(BpmnVariables.create(Collections.singletonMap("test", large)));
+        assertThat(storedDelta(processInstance.id())).isNull();
+
+        reloaded = (BpmnProcessInstance) processInstances.findById(processInstance.id()).get();
+        assertThat(reloaded.version()).isEqualTo(3L);
+        assertThat(reloaded.variables().get("test")).isEqualTo(large);
+
+        // delta of the new base
+        reloaded.updateVariables(BpmnVariables.create(Collections.singletonMap("test", large + "y")));
+        assertThat(storedDelta(processInstance.id())).isNotNull();
+        assertThat(((BpmnProcessInstance) processInstances.findById(processInstance.id()).get()).variables().get("test")).isEqualTo(large + "y");
+    }
+
+    @Test
+    void testDeltaAppliedOnceDisabled() throws SQLException {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", true, false, true);
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+        assertThat(storedDelta(processInstance.id())).isNotNull();
+
+        JDBCProcessInstances withoutDelta = new JDBCProcessInstances(process, getDataSource(), true, true, false, false);
+        BpmnProcessInstance found = (BpmnProcessInstance) withoutDelta.findById(processInstance.id()).get();
+        assertThat(found.variables().get("test")).isEqualTo("updated");
+
+        // written as a whole, the delta is dropped
+        withoutDelta.update(found.id(), found);
+        assertThat(storedDelta(processInstance.id())).isNull();
+        found = (BpmnProcessInstance) withoutDelta.findById(processInstance.id()).get();
+        assertThat(found.variables().get("test")).isEqualTo("updated");
+    }
+
+    private static byte[] storedDelta(String id) throws SQLException {
+        try (Connection connection = getDataSource().getConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT delta FROM process_instances WHERE id = ?")) {
+            statement.setObject(1, UUID.fromString(id));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                return resultSet.getBytes(1);
+            }
+        }
+    }
+}
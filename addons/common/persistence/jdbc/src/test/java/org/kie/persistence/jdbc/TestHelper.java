@@ -50,6 +50,10 @@ public class TestHelper {
 
     private boolean enableLock;
 
+    private boolean enableBatch;
+
+    private boolean enableDelta;
+
     @BeforeAll
     public static void startContainerAndPublicPortIsAvailable() {
         container.start();
@@ -61,18 +65,32 @@ public class TestHelper {
         container.stop();
     }
 
+    public static DataSource getDataSource() {
+        return ds;
+    }
+
     public static BpmnProcess createProcess(ProcessConfig config, String fileName, boolean lock) {
+        return createProcess(config, fileName, lock, false);
+    }
+
+    public static BpmnProcess createProcess(ProcessConfig config, String fileName, boolean lock, boolean batch) {
+        return createProcess(config, fileName, lock, batch, false);
+    }
+
+    public static BpmnProcess createProcess(ProcessConfig config, String fileName, boolean lock, boolean batch, boolean delta) {
 
         BpmnProcess process = BpmnProcess.from(config, new ClassPathResource(fileName)).get(0);
-        process.setProcessInstancesFactory(getFactory(lock));
+        process.setProcessInstancesFactory(getFactory(lock, batch, delta));
         process.configure();
         process.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(p -> p.abort());
         return process;
     }
 
-    private static JDBCProcessInstancesFactory getFactory(boolean lock) {
+    private static JDBCProcessInstancesFactory getFactory(boolean lock, boolean batch, boolean delta) {
         TestHelper t = new TestHelper();
         t.setEnableLock(lock);
+        t.setEnableBatch(batch);
+        t.setEnableDelta(delta);
         return t.new JDBCProcessInstancesFactory(ds);
     }
 
@@ -100,6 +118,14 @@ public class TestHelper {
         this.enableLock = enableLock;
     }
 
+    public void setEnableBatch(boolean enableBatch) {
+        this.enableBatch = enableBatch;
+    }
+
+    public void setEnableDelta(boolean enableDelta) {
+        this.enableDelta = enableDelta;
+    }
+
     private class JDBCProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
         public JDBCProcessInstancesFactory(DataSource dataSource) {
@@ -108,7 +134,7 @@ public class TestHelper {
 
         @Override
         public JDBCProcessInstances createProcessInstances(Process<?> process) {
-            JDBCProcessInstances instances = spy(super.createProcessInstances(process));
+            JDBCProcessInstances instances = spy((JDBCProcessInstances) super.createProcessInstances(process));
             return instances;
         }
 
@@ -116,5 +142,15 @@ public class TestHelper {
         public boolean lock() {
             return enableLock;
         }
+
+        @Override
+        public boolean batch() {
+            return enableBatch;
+        }
+
+        @Override
+        public boolean delta() {
+            return enableDelta;
+        }
     }
 }
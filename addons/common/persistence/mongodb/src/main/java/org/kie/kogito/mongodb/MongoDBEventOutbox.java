@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.mongodb;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.kie.kogito.event.EventOutbox;
+import org.kie.kogito.event.OutboxEvent;
+import org.kie.kogito.mongodb.transaction.MongoDBTransactionManager;
+
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+
+import static org.kie.kogito.mongodb.utils.DocumentConstants.DOCUMENT_ID;
+import static org.kie.kogito.mongodb.utils.DocumentUtils.getCollection;
+
+/**
+ * {@link EventOutbox} keeping events in the <code>process_instance_events</code> collection. Events are written
+ * within the client session of the current unit of work when transactions are enabled, so they are committed
+ * along with process instances. MongoDB updates a single document atomically, so events are claimed one by one.
+ */
+public class MongoDBEventOutbox implements EventOutbox {
+
+    private static final String COLLECTION = "process_instance_events";
+
+    private static final String POSITION = "position";
+    private static final String TYPE = "type";
+    private static final String PAYLOAD = "payload";
+    private static final String CREATED = "created";
+    private static final String OWNER = "owner";
+    private static final String LEASE_EXPIRATION = "leaseExpiration";
+
+    private final MongoCollection<Document> collection;
+    private final MongoDBTransactionManager transactionManager;
+
+    public MongoDBEventOutbox(MongoClient mongoClient, String dbName, MongoDBTransactionManager transactionManager) {
+        this.collection = getCollection(mongoClient, COLLECTION, dbName);
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public void store(Collection<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Document> documents = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            // object ids grow with every id generated by this client, so they keep the order events were stored in
+            documents.add(new Document(DOCUMENT_ID, event.getId())
+                    .append(POSITION, new ObjectId())
+                    .append(TYPE, event.getType())
+                    .append(PAYLOAD, event.getPayload())
+                    .append(CREATED, event.getCreated()));
+        }
+        ClientSession clientSession = transactionManager.getClientSession();
+        if (clientSession != null) {
+            collection.insertMany(clientSession, documents);
+        } else {
+            collection.insertMany(documents);
+        }
+    }
+
+    @Override
+    public List<OutboxEvent> claim(String owner, long now, long leaseMillis, int limit) {
+        Bson claimable = Filters.or(Filters.eq(OWNER, null), Filters.lt(LEASE_EXPIRATION, now));
+        Bson claim = Updates.combine(Updates.set(OWNER, owner), Updates.set(LEASE_EXPIRATION, now + leaseMillis));
+        FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().sort(Sorts.ascending(POSITION)).returnDocument(ReturnDocument.AFTER);
+        List<OutboxEvent> claimed = new ArrayList<>();
+        while (claimed.size() < limit) {
+            Document document = collection.findOneAndUpdate(claimable, claim, options);
+            if (document == null) {
+                break;
+            }
+            claimed.add(new OutboxEvent(document.getString(DOCUMENT_ID), document.getString(TYPE), document.getString(PAYLOAD), document.getLong(CREATED)));
+        }
+        return claimed;
+    }
+
+    @Override
+    public void remove(Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            collection.deleteMany(Filters.in(DOCUMENT_ID, ids));
+        }
+    }
+}
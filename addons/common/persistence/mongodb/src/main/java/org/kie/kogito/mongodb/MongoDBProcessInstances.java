@@ -17,14 +17,21 @@ package org.kie.kogito.mongodb;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.kie.kogito.Model;
 import org.kie.kogito.mongodb.transaction.MongoDBTransactionManager;
+import org.kie.kogito.mongodb.utils.DocumentDiff;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
@@ -39,9 +46,13 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonMap;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID;
 import static org.kie.kogito.mongodb.utils.DocumentUtils.getCollection;
@@ -50,13 +61,27 @@ import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 public class MongoDBProcessInstances<T extends Model> implements MutableProcessInstances<T> {
 
     private static final String VERSION = "version";
+    private static final String DOCUMENT_ID = "_id";
+    private static final int FETCH_SIZE = 100;
+    private static final Set<String> DIFF_IGNORED = new HashSet<>(asList(DOCUMENT_ID, VERSION));
     private org.kie.kogito.process.Process<?> process;
     private ProcessInstanceMarshallerService marshaller;
     private final MongoCollection<Document> collection;
     private MongoDBTransactionManager transactionManager;
     private final boolean lock;
+    private final boolean delta;
 
     public MongoDBProcessInstances(MongoClient mongoClient, org.kie.kogito.process.Process<?> process, String dbName, MongoDBTransactionManager transactionManager, boolean lock) {
+        this(mongoClient, process, dbName, transactionManager, lock, false);
+    }
+
+    /**
+     * @param delta whether updates should only set the fields that changed since the document was read, instead
+     *        of replacing it. It requires optimistic locking, so the document is known to be the one that was read,
+     *        and is ignored otherwise.
+     */
+    public MongoDBProcessInstances(MongoClient mongoClient, org.kie.kogito.process.Process<?> process, String dbName, MongoDBTransactionManager transactionManager, boolean lock,
+            boolean delta) {
         this.process = process;
         this.collection = getCollection(mongoClient, process.id(), dbName);
         this.marshaller = ProcessInstanceMarshallerService.newBuilder()
@@ -65,6 +90,7 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
                 .build();
         this.transactionManager = transactionManager;
         this.lock = lock;
+        this.delta = delta && lock;
     }
 
     @Override
@@ -92,9 +118,45 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return list;
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, int offset, int limit) {
+        if (limit == 0) {
+            // MongoDB treats a limit of 0 as no limit at all
+            return Stream.empty();
+        }
+        FindIterable<Document> docs = Optional.ofNullable(transactionManager.getClientSession())
+                .map(collection::find)
+                .orElseGet(collection::find)
+                .sort(Sorts.ascending(DOCUMENT_ID))
+                .skip(offset)
+                .batchSize(FETCH_SIZE);
+        if (limit < Integer.MAX_VALUE) {
+            docs = docs.limit(limit);
+        }
+        MongoCursor<Document> cursor = docs.iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(doc -> {
+                    ProcessInstance<T> instance = unmarshall(doc, mode);
+                    ((AbstractProcessInstance<?>) instance).setVersion(doc.getLong(VERSION));
+                    return instance;
+                })
+                .onClose(cursor::close);
+    }
+
     private ProcessInstance<T> unmarshall(Document document, ProcessInstanceReadMode mode) {
         byte[] content = document.toJson().getBytes();
-        return mode == MUTABLE ? (ProcessInstance<T>) marshaller.unmarshallProcessInstance(content, process) : (ProcessInstance<T>) marshaller.unmarshallReadOnlyProcessInstance(content, process);
+        if (mode == MUTABLE) {
+            ProcessInstance<T> instance = (ProcessInstance<T>) marshaller.unmarshallProcessInstance(content, process);
+            storeState(instance, document);
+            return instance;
+        }
+        return (ProcessInstance<T>) marshaller.unmarshallReadOnlyProcessInstance(content, process);
+    }
+
+    private void storeState(ProcessInstance<T> instance, Document document) {
+        if (delta) {
+            ((AbstractProcessInstance<?>) instance).internalSetStoredState(document);
+        }
     }
 
     @Override
@@ -124,6 +186,7 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         } else {
             updateInternal(id, instance, clientSession, doc);
         }
+        storeState(instance, doc);
         reloadProcessInstance(instance, id);
     }
 
@@ -147,7 +210,12 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
             doc.put(VERSION, instance.version() + 1);
             filters = Filters.and(Filters.eq(PROCESS_INSTANCE_ID, id), Filters.eq(VERSION, instance.version()));
         }
-        if (clientSession != null) {
+        Object stored = ((AbstractProcessInstance<?>) instance).internalGetStoredState();
+        if (delta && stored instanceof Document) {
+            List<Bson> updates = DocumentDiff.diff((Document) stored, doc, DIFF_IGNORED);
+            updates.add(Updates.set(VERSION, doc.get(VERSION)));
+            result = clientSession != null ? collection.updateOne(clientSession, filters, Updates.combine(updates)) : collection.updateOne(filters, Updates.combine(updates));
+        } else if (clientSession != null) {
             result = collection.replaceOne(clientSession, filters, doc);
         } else {
             result = collection.replaceOne(filters, doc);
@@ -187,6 +255,7 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
             Document reloaded = find(id);
             if (reloaded != null) {
                 ((AbstractProcessInstance<?>) instance).setVersion(reloaded.getLong(VERSION));
+                storeState(instance, reloaded);
                 return reloaded.toJson().getBytes();
             } else {
                 throw new IllegalArgumentException("process instance id " + id + " does not exists in mongodb");
@@ -206,4 +275,20 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     public boolean lock() {
         return this.lock;
     }
+
+    @Override
+    public Optional<Long> version(String id) {
+        if (!lock) {
+            return Optional.empty();
+        }
+        Bson projection = Projections.include(VERSION);
+        Document doc = Optional.ofNullable(transactionManager.getClientSession())
+                .map(r -> collection.find(r, Filters.eq(PROCESS_INSTANCE_ID, id)).projection(projection).first())
+                .orElseGet(() -> collection.find(Filters.eq(PROCESS_INSTANCE_ID, id)).projection(projection).first());
+        return Optional.ofNullable(doc).map(d -> d.getLong(VERSION));
+    }
+
+    public boolean delta() {
+        return this.delta;
+    }
 }
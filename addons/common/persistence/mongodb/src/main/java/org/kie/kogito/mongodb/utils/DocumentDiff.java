@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.mongodb.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.mongodb.client.model.Updates;
+
+/**
+ * Computes the update turning a stored document into a changed one, setting only the fields that differ.
+ * Sub documents and lists of the same size are compared field by field, anything else is set as a whole.
+ */
+public class DocumentDiff {
+
+    private DocumentDiff() {
+    }
+
+    /**
+     * @param base document as stored
+     * @param current document to be stored
+     * @param ignored top level fields handled by the caller, like the document id
+     * @return the <code>$set</code> and <code>$unset</code> updates, empty when both documents are equal
+     */
+    public static List<Bson> diff(Document base, Document current, Set<String> ignored) {
+        List<Bson> updates = new ArrayList<>();
+        for (Map.Entry<String, Object> field : current.entrySet()) {
+            if (!ignored.contains(field.getKey())) {
+                diff(field.getKey(), base.get(field.getKey()), field.getValue(), updates);
+            }
+        }
+        for (String key : base.keySet()) {
+            if (!ignored.contains(key) && !current.containsKey(key)) {
+                updates.add(Updates.unset(key));
+            }
+        }
+        return updates;
+    }
+
+    private static void diff(String path, Object base, Object current, List<Bson> updates) {
+        if (Objects.equals(base, current)) {
+            return;
+        }
+        if (base instanceof Document && current instanceof Document && hasPlainKeys((Document) base) && hasPlainKeys((Document) current)) {
+            Document baseDocument = (Document) base;
+            Document currentDocument = (Document) current;
+            for (Map.Entry<String, Object> field : currentDocument.entrySet()) {
+                diff(path + '.' + field.getKey(), baseDocument.get(field.getKey()), field.getValue(), updates);
+            }
+            for (String key : baseDocument.keySet()) {
+                if (!currentDocument.containsKey(key)) {
+                    updates.add(Updates.unset(path + '.' + key));
+                }
+            }
+        } else if (base instanceof List && current instanceof List && ((List<?>) base).size() == ((List<?>) current).size()) {
+            List<?> baseList = (List<?>) base;
+            List<?> currentList = (List<?>) current;
+            for (int i = 0; i < currentList.size(); i++) {
+                diff(path + '.' + i, baseList.get(i), currentList.get(i), updates);
+            }
+        } else {
+            updates.add(Updates.set(path, current));
+        }
+    }
+
+    // keys that would be taken as operators or nested paths cannot be updated one by one
+    private static boolean hasPlainKeys(Document document) {
+        for (String key : document.keySet()) {
+            if (key.isEmpty() || key.indexOf('.') >= 0 || key.charAt(0) == '$') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
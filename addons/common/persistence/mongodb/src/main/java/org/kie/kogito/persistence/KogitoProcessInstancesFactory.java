@@ -15,10 +15,19 @@
  */
 package org.kie.kogito.persistence;
 
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.mongodb.MongoDBEventOutbox;
 import org.kie.kogito.mongodb.MongoDBProcessInstances;
 import org.kie.kogito.mongodb.transaction.MongoDBTransactionManager;
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.process.impl.AbstractProcess;
+import org.kie.kogito.process.impl.CachingProcessInstances;
+import org.kie.kogito.process.impl.CorrelationIndexedProcessInstances;
+import org.kie.kogito.process.impl.ProcessInstancesCacheListener;
+import org.kie.kogito.serialization.process.ProcessInstanceCacheMarshaller;
+import org.kie.kogito.uow.UnitOfWorkManager;
 
 import com.mongodb.client.MongoClient;
 
@@ -29,6 +38,7 @@ import com.mongodb.client.MongoClient;
 public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
 
     protected MongoClient mongoClient;
+    private EventManager outboxEventManager;
 
     public KogitoProcessInstancesFactory(MongoClient mongoClient) {
         this.mongoClient = mongoClient;
@@ -40,8 +50,77 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     public abstract boolean lock();
 
+    /**
+     * Whether updates should only set the fields of process instance documents that changed since
+     * they were read, which requires optimistic locking.
+     *
+     * @return true if delta updates are enabled, false by default
+     */
+    public boolean delta() {
+        return false;
+    }
+
+    /**
+     * Number of process instances kept in memory per process, see {@link CachingProcessInstances}.
+     *
+     * @return the cache size, 0 by default which disables the cache
+     */
+    public int cacheSize() {
+        return 0;
+    }
+
+    /**
+     * Listener notified of the process instances cache hits, misses and evictions.
+     */
+    public ProcessInstancesCacheListener cacheListener() {
+        return ProcessInstancesCacheListener.NO_OP;
+    }
+
+    /**
+     * Whether process instances should be indexed by business key and the events they wait for,
+     * see {@link CorrelationIndexedProcessInstances}.
+     *
+     * @return true if the correlation index is enabled, false by default
+     */
+    public boolean correlationIndex() {
+        return false;
+    }
+
+    /**
+     * Whether events should be stored in an outbox along with process instances and published from background,
+     * instead of being published right away, see {@link #createEventOutbox()}.
+     *
+     * @return true if the outbox is enabled, false by default
+     */
+    public boolean outbox() {
+        return false;
+    }
+
     @Override
-    public MongoDBProcessInstances<?> createProcessInstances(Process<?> process) {
-        return new MongoDBProcessInstances<>(mongoClient, process, dbName(), transactionManager(), lock());
+    public MutableProcessInstances<?> createProcessInstances(Process<?> process) {
+        if (outbox() && process instanceof AbstractProcess) {
+            enableOutbox(((AbstractProcess<?>) process).unitOfWorkManager());
+        }
+        MutableProcessInstances<?> instances = new MongoDBProcessInstances<>(mongoClient, process, dbName(), transactionManager(), lock(), delta());
+        MutableProcessInstances<?> cached = ProcessInstanceCacheMarshaller.cached(process, instances, cacheSize(), cacheListener());
+        return CorrelationIndexedProcessInstances.indexed(cached, correlationIndex());
+    }
+
+    /**
+     * Creates an event outbox in the database of process instances, to be set on the event manager
+     * so events are stored along with process instances and published from background. Events are only
+     * written in the transaction of process instances when MongoDB transactions are enabled.
+     */
+    public MongoDBEventOutbox createEventOutbox() {
+        return new MongoDBEventOutbox(mongoClient, dbName(), transactionManager());
+    }
+
+    // processes share the event manager of their unit of work manager, the outbox is set on it once
+    private synchronized void enableOutbox(UnitOfWorkManager unitOfWorkManager) {
+        EventManager eventManager = unitOfWorkManager.eventManager();
+        if (outboxEventManager != eventManager) {
+            eventManager.setOutbox(createEventOutbox());
+            outboxEventManager = eventManager;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.mongodb;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.mongodb.utils.DocumentDiff;
+
+import com.mongodb.MongoClientSettings;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentDiffTest {
+
+    private static final List<String> IGNORED = Arrays.asList("_id", "version");
+
+    @Test
+    void testEqualDocuments() {
+        Document base = Document.parse("{\"_id\": 1, \"version\": 1, \"id\": \"a\", \"list\": [1, 2]}");
+        Document current = Document.parse("{\"version\": 2, \"id\": \"a\", \"list\": [1, 2]}");
+
+        assertThat(DocumentDiff.diff(base, current, new HashSet<>(IGNORED))).isEmpty();
+    }
+
+    @Test
+    void testOnlyChangedFieldsAreSet() {
+        Document base = Document.parse("{\"id\": \"a\", \"context\": {\"variable\": [{\"name\": \"x\", \"value\": 1}, {\"name\": \"y\", \"value\": 1}]}, \"removed\": true}");
+        Document current = Document.parse("{\"id\": \"a\", \"context\": {\"variable\": [{\"name\": \"x\", \"value\": 1}, {\"name\": \"y\", \"value\": 2}]}}");
+
+        assertThat(render(DocumentDiff.diff(base, current, Collections.emptySet())))
+                .containsExactly("{\"$set\": {\"context.variable.1.value\": 2}}", "{\"$unset\": {\"removed\": \"\"}}");
+    }
+
+    @Test
+    void testListsOfDifferentSizeAreSetAsWhole() {
+        Document base = Document.parse("{\"list\": [1]}");
+        Document current = Document.parse("{\"list\": [1, 2]}");
+
+        assertThat(render(DocumentDiff.diff(base, current, Collections.emptySet()))).containsExactly("{\"$set\": {\"list\": [1, 2]}}");
+    }
+
+    @Test
+    void testKeysWithDotsAreSetAsWhole() {
+        Document base = Document.parse("{\"map\": {\"a.b\": 1}}");
+        Document current = Document.parse("{\"map\": {\"a.b\": 2}}");
+
+        assertThat(render(DocumentDiff.diff(base, current, Collections.emptySet()))).containsExactly("{\"$set\": {\"map\": {\"a.b\": 2}}}");
+    }
+
+    private static String[] render(List<Bson> updates) {
+        return updates.stream()
+                .map(update -> update.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry()).toJson())
+                .toArray(String[]::new);
+    }
+}
@@ -56,7 +56,7 @@ class KogitoProcessInstancesFactoryIT extends TestHelper {
         Process<?> process = mock(Process.class);
         lenient().when(process.id()).thenReturn(PROCESS_NAME);
         lenient().when(process.name()).thenReturn(PROCESS_NAME);
-        MongoDBProcessInstances<?> instance = factory.createProcessInstances(process);
+        MongoDBProcessInstances<?> instance = (MongoDBProcessInstances<?>) factory.createProcessInstances(process);
         assertNotNull(instance);
         assertEquals(transactionManager, factory.transactionManager());
     }
@@ -18,6 +18,7 @@ package org.kie.kogito.mongodb;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -93,6 +94,24 @@ class PersistentProcessInstancesIT extends TestHelper {
         assertThat(mongodbInstance.values()).isEmpty();
     }
 
+    @Test
+    void testStreamWithOffsetAndLimit() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new MongoDBProcessInstancesFactory(getMongoClient()));
+        process.configure();
+        for (int i = 0; i < 5; i++) {
+            process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test" + i))).start();
+        }
+
+        try (Stream<ProcessInstance<BpmnVariables>> stream = process.instances().stream(ProcessInstanceReadMode.READ_ONLY, 3, 10)) {
+            assertThat(stream).hasSize(2);
+        }
+        try (Stream<ProcessInstance<BpmnVariables>> stream = process.instances().stream(ProcessInstanceReadMode.READ_ONLY, 0, 0)) {
+            assertThat(stream).isEmpty();
+        }
+        process.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+    }
+
     @Test
     void testMongoDBPersistenceWithTransaction() {
         MongoDBTransactionManager transactionExecutor = mock(MongoDBTransactionManager.class);
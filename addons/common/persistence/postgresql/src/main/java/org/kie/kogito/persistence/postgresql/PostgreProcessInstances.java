@@ -20,29 +20,39 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
+import org.kie.kogito.services.executor.Continuations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.PreparedQuery;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowIterator;
 import io.vertx.sqlclient.RowSet;
@@ -51,7 +61,7 @@ import io.vertx.sqlclient.Tuple;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
 @SuppressWarnings({ "rawtypes" })
-public class PostgreProcessInstances implements MutableProcessInstances {
+public class PostgreProcessInstances implements AsyncMutableProcessInstances {
 
     private static final String VERSION = "version";
 
@@ -59,6 +69,8 @@ public class PostgreProcessInstances implements MutableProcessInstances {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PostgreProcessInstances.class);
 
+    private static final int FETCH_SIZE = 100;
+
     private final Process<?> process;
     private final PgPool client;
     private final ProcessInstanceMarshallerService marshaller;
@@ -82,57 +94,75 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         return findById(id).isPresent();
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void create(String id, ProcessInstance instance) {
+        await(createAsync(id, instance));
+    }
+
+    @Override
+    public void update(String id, ProcessInstance instance) {
+        await(updateAsync(id, instance));
+    }
+
+    @Override
+    public void remove(String id) {
+        await(removeAsync(id));
+    }
+
+    @Override
+    public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
+        return findByIdInternal(UUID.fromString(id)).map(row -> unmarshall(row, mode));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> createAsync(String id, ProcessInstance instance) {
         if (!isActive(instance)) {
             disconnect(instance);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        insertInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
-        disconnect(instance);
+        return insertInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance))
+                .thenRun(() -> disconnect(instance));
     }
 
     @SuppressWarnings("unchecked")
     @Override
-    public void update(String id, ProcessInstance instance) {
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance instance) {
         if (!isActive(instance)) {
             disconnect(instance);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
+        CompletableFuture<Boolean> result;
         if (lock) {
-            updateWithLock(UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
+            result = updateWithLock(UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
         } else {
-            updateInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+            result = updateInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
         }
-        disconnect(instance);
+        return result.thenRun(() -> disconnect(instance));
     }
 
     @Override
-    public void remove(String id) {
-        boolean isDeleted = deleteInternal(UUID.fromString(id));
-        if (lock && !isDeleted) {
-            throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
-        }
+    public CompletionStage<Void> removeAsync(String id) {
+        return deleteInternal(UUID.fromString(id)).thenAccept(isDeleted -> {
+            if (lock && !Boolean.TRUE.equals(isDeleted)) {
+                throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
+            }
+        });
     }
 
     @Override
-    public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
-        Optional<Row> row = findByIdInternal(UUID.fromString(id));
+    public CompletionStage<Optional<ProcessInstance>> findByIdAsync(String id, ProcessInstanceReadMode mode, Executor executor) {
+        // rows are completed on the event loop, the payload is unmarshalled once handed over to the caller's executor
+        return Continuations.continueOn(findByIdInternalAsync(UUID.fromString(id)), executor)
+                .thenApply(row -> row.map(r -> unmarshall(r, mode)));
+    }
 
-        if (row.isPresent()) {
-            Optional<byte[]> payload = row
-                    .map(r -> r.getBuffer(PAYLOAD))
-                    .map(Buffer::getBytes);
-            if (payload.isPresent()) {
-                ProcessInstance<?> instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(payload.get(),
-                        process)
-                        : marshaller.unmarshallReadOnlyProcessInstance(payload.get(), process);
-                ((AbstractProcessInstance) instance).setVersion(row.get().getLong(VERSION));
-                return Optional.of(instance);
-            }
-        }
-        return Optional.empty();
+    private ProcessInstance unmarshall(Row row, ProcessInstanceReadMode mode) {
+        byte[] payload = row.getBuffer(PAYLOAD).getBytes();
+        ProcessInstance<?> instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(payload, process)
+                : marshaller.unmarshallReadOnlyProcessInstance(payload, process);
+        ((AbstractProcessInstance) instance).setVersion(row.getLong(VERSION));
+        return instance;
     }
 
     @Override
@@ -142,6 +172,18 @@ public class PostgreProcessInstances implements MutableProcessInstances {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode, int offset, int limit) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PagedRowIterator(offset, limit), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(row -> {
+                    byte[] payload = row.getBuffer(PAYLOAD).getBytes();
+                    ProcessInstance<?> instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(payload, process)
+                            : marshaller.unmarshallReadOnlyProcessInstance(payload, process);
+                    ((AbstractProcessInstance) instance).setVersion(row.getLong(VERSION));
+                    return instance;
+                });
+    }
+
     @Override
     public Integer size() {
         return countInternal().intValue();
@@ -152,7 +194,27 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         return this.lock;
     }
 
+    @Override
+    public Optional<Long> version(String id) {
+        if (!lock) {
+            return Optional.empty();
+        }
+        UUID uuid = UUID.fromString(id);
+        return await(execute(client.preparedQuery("SELECT version FROM process_instances WHERE id = $1"), Tuple.of(uuid))
+                .handle((rows, error) -> {
+                    if (error != null) {
+                        throw uncheckedException(unwrap(error), "Error finding version of process instance %s", uuid);
+                    }
+                    return Optional.ofNullable(rows)
+                            .map(RowSet::iterator)
+                            .filter(Iterator::hasNext)
+                            .map(r -> r.next().getLong(VERSION));
+                }));
+    }
+
     private void disconnect(ProcessInstance instance) {
+        // the reload function is only invoked when the disconnected instance is accessed again,
+        // at that point it is fine to wait for the row
         Supplier<byte[]> supplier = () -> {
             Optional<Row> row = findByIdInternal(UUID.fromString(instance.id()));
             ((AbstractProcessInstance) instance).setVersion(row.get().getLong(VERSION));
@@ -163,21 +225,19 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 
-    private boolean insertInternal(UUID id, byte[] payload) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("INSERT INTO process_instances (id, payload, process_id, version) VALUES ($1, $2, $3, $4)")
-                    .execute(Tuple.of(id, Buffer.buffer(payload), process.id(), 1L), getAsyncResultHandler(future));
-            return getExecutedResult(future);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error inserting process instance %s", id);
-        }
+    private CompletableFuture<Boolean> insertInternal(UUID id, byte[] payload) {
+        return executeUpdate(client.preparedQuery("INSERT INTO process_instances (id, payload, process_id, version) VALUES ($1, $2, $3, $4)"),
+                Tuple.of(id, Buffer.buffer(payload), process.id(), 1L), "Error inserting process instance %s", id);
     }
 
-    private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
+    private RuntimeException uncheckedException(Throwable ex, String message, Object... param) {
         return new RuntimeException(String.format(message, param), ex);
     }
 
+    /**
+     * Completes the future on the thread delivering the result, usually the event loop. Stages composed on it must
+     * not run engine work that might block, callers hand the result over to their executor first.
+     */
     private Handler<AsyncResult<RowSet<Row>>> getAsyncResultHandler(CompletableFuture<RowSet<Row>> future) {
         return ar -> {
             if (ar.succeeded()) {
@@ -188,37 +248,63 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         };
     }
 
-    private boolean updateInternal(UUID id, byte[] payload) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("UPDATE process_instances SET payload = $1 WHERE id = $2")
-                    .execute(Tuple.of(Buffer.buffer(payload), id), getAsyncResultHandler(future));
-            return getExecutedResult(future);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
+    private CompletableFuture<Boolean> updateInternal(UUID id, byte[] payload) {
+        return executeUpdate(client.preparedQuery("UPDATE process_instances SET payload = $1 WHERE id = $2"),
+                Tuple.of(Buffer.buffer(payload), id), "Error updating process instance %s", id);
     }
 
-    private boolean deleteInternal(UUID id) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("DELETE FROM process_instances WHERE id = $1")
-                    .execute(Tuple.of(id), getAsyncResultHandler(future));
-            return getExecutedResult(future);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s", id);
-        }
+    private CompletableFuture<Boolean> deleteInternal(UUID id) {
+        return executeUpdate(client.preparedQuery("DELETE FROM process_instances WHERE id = $1"),
+                Tuple.of(id), "Error deleting process instance %s", id);
+    }
+
+    private CompletableFuture<Boolean> updateWithLock(UUID id, byte[] payload, long version) {
+        return executeUpdate(client.preparedQuery("UPDATE process_instances SET payload = $1, version = $2 WHERE id = $3 and version = $4"),
+                Tuple.of(Buffer.buffer(payload), version + 1, id, version), "Error updating process instance %s", id)
+                        .thenApply(result -> {
+                            if (!result) {
+                                throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
+                            }
+                            return result;
+                        });
+    }
+
+    /**
+     * Executes the query and completes with whether exactly one row was affected, failures and timeouts
+     * complete the returned future exceptionally instead of being thrown to the caller.
+     */
+    private CompletableFuture<Boolean> executeUpdate(PreparedQuery<RowSet<Row>> query, Tuple params, String errorMessage, UUID id) {
+        return execute(query, params)
+                .handle((rows, error) -> {
+                    if (error != null) {
+                        throw uncheckedException(unwrap(error), errorMessage, id);
+                    }
+                    return rows != null && rows.rowCount() == 1;
+                });
+    }
+
+    private CompletableFuture<RowSet<Row>> execute(PreparedQuery<RowSet<Row>> query, Tuple params) {
+        final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
+        query.execute(params, getAsyncResultHandler(future));
+        return future.orTimeout(queryTimeoutMillis, TimeUnit.MILLISECONDS);
     }
 
-    private Boolean getExecutedResult(CompletableFuture<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private <R> R await(CompletionStage<R> stage) {
+        if (Context.isOnEventLoopThread()) {
+            throw new IllegalStateException("Blocking on process instances of processId " + process.id() + " from an event loop thread would deadlock, use the async operations instead");
+        }
         try {
-            return getResultFromFuture(future)
-                    .map(RowSet::rowCount)
-                    .map(count -> count == 1)
-                    .orElse(false);
+            return stage.toCompletableFuture().get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw e;
+            throw uncheckedException(e, "Interrupted while waiting for process instances of processId %s", process.id());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : uncheckedException(cause, "Error accessing process instances of processId %s", process.id());
         }
     }
 
@@ -231,18 +317,22 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         }
     }
 
+    private CompletableFuture<Optional<Row>> findByIdInternalAsync(UUID id) {
+        return execute(client.preparedQuery("SELECT payload, version FROM process_instances WHERE id = $1"), Tuple.of(id))
+                .handle((rows, error) -> {
+                    if (error != null) {
+                        throw uncheckedException(unwrap(error), "Error finding process instance %s", id);
+                    }
+                    return Optional.ofNullable(rows)
+                            .map(RowSet::iterator)
+                            .filter(Iterator::hasNext)
+                            .map(Iterator::next)
+                            .filter(r -> r.getBuffer(PAYLOAD) != null);
+                });
+    }
+
     private Optional<Row> findByIdInternal(UUID id) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("SELECT payload, version FROM process_instances WHERE id = $1")
-                    .execute(Tuple.of(id), getAsyncResultHandler(future));
-            return getResultFromFuture(future)
-                    .map(RowSet::iterator)
-                    .filter(Iterator::hasNext)
-                    .map(Iterator::next);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error finding process instance %s", id);
-        }
+        return await(findByIdInternalAsync(id));
     }
 
     private List<byte[]> findAllInternal() {
@@ -261,6 +351,66 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         }
     }
 
+    private RowSet<Row> findPageInternal(UUID lastId, int offset, int size) {
+        try {
+            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
+            if (lastId == null) {
+                client.preparedQuery("SELECT id, payload, version FROM process_instances WHERE process_id = $1 ORDER BY id LIMIT $2 OFFSET $3")
+                        .execute(Tuple.of(process.id(), (long) size, (long) offset), getAsyncResultHandler(future));
+            } else {
+                client.preparedQuery("SELECT id, payload, version FROM process_instances WHERE process_id = $1 AND id > $2 ORDER BY id LIMIT $3")
+                        .execute(Tuple.of(process.id(), lastId, (long) size), getAsyncResultHandler(future));
+            }
+            return getResultFromFuture(future).orElseThrow(NoSuchElementException::new);
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding page of process instances, for processId %s", process.id());
+        }
+    }
+
+    /**
+     * Iterates over the process instances of the process fetching them in pages, where only the first page
+     * uses the offset and subsequent pages continue after the last id that was read.
+     */
+    private class PagedRowIterator implements Iterator<Row> {
+
+        private final int offset;
+        private int remaining;
+        private Iterator<Row> page = Collections.emptyIterator();
+        private UUID lastId;
+        private boolean exhausted;
+
+        private PagedRowIterator(int offset, int limit) {
+            this.offset = offset;
+            this.remaining = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (page.hasNext()) {
+                return true;
+            }
+            if (exhausted || remaining <= 0) {
+                return false;
+            }
+            int size = Math.min(FETCH_SIZE, remaining);
+            RowSet<Row> rows = findPageInternal(lastId, offset, size);
+            exhausted = rows.size() < size;
+            page = rows.iterator();
+            return page.hasNext();
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Row row = page.next();
+            lastId = row.getUUID("id");
+            remaining--;
+            return row;
+        }
+    }
+
     private Long countInternal() {
         try {
             final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
@@ -341,22 +491,4 @@ public class PostgreProcessInstances implements MutableProcessInstances {
             throw uncheckedException(e, "Error reading query script file %s", scriptName);
         }
     }
-
-    private boolean updateWithLock(UUID id, byte[] payload, long version) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("UPDATE process_instances SET payload = $1, version = $2 WHERE id = $3 and version = $4")
-                    .execute(Tuple.of(Buffer.buffer(payload), version + 1, id, version), getAsyncResultHandler(future));
-            boolean result = getExecutedResult(future);
-            if (!result) {
-                throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
-            }
-            return result;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
-        return false;
-    }
 }
@@ -127,7 +127,7 @@ class PostgreProcessInstancesIT {
 
         @Override
         public PostgreProcessInstances createProcessInstances(Process<?> process) {
-            PostgreProcessInstances instances = spy(super.createProcessInstances(process));
+            PostgreProcessInstances instances = spy((PostgreProcessInstances) super.createProcessInstances(process));
             return instances;
         }
 
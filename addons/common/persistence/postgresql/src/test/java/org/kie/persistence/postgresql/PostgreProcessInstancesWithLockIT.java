@@ -174,7 +174,7 @@ class PostgreProcessInstancesWithLockIT {
 
         @Override
         public PostgreProcessInstances createProcessInstances(Process<?> process) {
-            PostgreProcessInstances instances = super.createProcessInstances(process);
+            PostgreProcessInstances instances = (PostgreProcessInstances) super.createProcessInstances(process);
             return instances;
         }
 
@@ -28,6 +28,35 @@ public interface ConfigBean extends KogitoConfig {
         return false;
     }
 
+    /**
+     * Number of worker threads applying received messages in batches, 0 applies every message
+     * on the thread it was received on.
+     */
+    default int messageConsumerWorkers() {
+        return 0;
+    }
+
+    /**
+     * Maximum number of received messages applied by a worker in a single unit of work.
+     */
+    default int messageConsumerBatchSize() {
+        return 100;
+    }
+
+    /**
+     * Number of threads running the work of reactive REST resources, 0 uses one thread per available processor.
+     */
+    default int restExecutorThreads() {
+        return 0;
+    }
+
+    /**
+     * Maximum number of reactive REST requests waiting for a thread, requests beyond it are rejected right away.
+     */
+    default int restExecutorQueueSize() {
+        return 1000;
+    }
+
     String getServiceUrl();
 
     Optional<KogitoGAV> getGav();
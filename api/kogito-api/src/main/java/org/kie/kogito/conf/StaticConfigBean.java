@@ -24,6 +24,10 @@ public class StaticConfigBean implements ConfigBean {
     private String serviceUrl;
     private boolean useCloudEvents = true;
     private boolean failOnEmptyBean = false;
+    private int messageConsumerWorkers = 0;
+    private int messageConsumerBatchSize = 100;
+    private int restExecutorThreads = 0;
+    private int restExecutorQueueSize = 1000;
     private KogitoGAV gav;
 
     public StaticConfigBean() {
@@ -47,6 +51,22 @@ public class StaticConfigBean implements ConfigBean {
         this.failOnEmptyBean = failOnEmptyBean;
     }
 
+    protected void setMessageConsumerWorkers(int messageConsumerWorkers) {
+        this.messageConsumerWorkers = messageConsumerWorkers;
+    }
+
+    protected void setMessageConsumerBatchSize(int messageConsumerBatchSize) {
+        this.messageConsumerBatchSize = messageConsumerBatchSize;
+    }
+
+    protected void setRestExecutorThreads(int restExecutorThreads) {
+        this.restExecutorThreads = restExecutorThreads;
+    }
+
+    protected void setRestExecutorQueueSize(int restExecutorQueueSize) {
+        this.restExecutorQueueSize = restExecutorQueueSize;
+    }
+
     public void setGav(KogitoGAV gav) {
         this.gav = gav;
     }
@@ -70,4 +90,24 @@ public class StaticConfigBean implements ConfigBean {
     public boolean failOnEmptyBean() {
         return failOnEmptyBean;
     }
+
+    @Override
+    public int messageConsumerWorkers() {
+        return messageConsumerWorkers;
+    }
+
+    @Override
+    public int messageConsumerBatchSize() {
+        return messageConsumerBatchSize;
+    }
+
+    @Override
+    public int restExecutorThreads() {
+        return restExecutorThreads;
+    }
+
+    @Override
+    public int restExecutorQueueSize() {
+        return restExecutorQueueSize;
+    }
 }
@@ -48,6 +48,27 @@ public interface EventManager {
      */
     void addPublisher(EventPublisher publisher);
 
+    /**
+     * Switches the event manager to outbox mode: instead of handing events to the publishers
+     * when a batch is published, they are stored in given outbox and relayed to the publishers
+     * from background once stored. Event managers not supporting an outbox ignore it.
+     *
+     * @param outbox outbox to store events in, or null to publish events right away
+     */
+    default void setOutbox(EventOutbox outbox) {
+    }
+
+    /**
+     * Whether events are stored in an outbox, see {@link #setOutbox(EventOutbox)}. Units of work then
+     * publish their batch before the writes of the storages are flushed, so the events are stored in
+     * the same transaction as the process instances that produced them.
+     *
+     * @return true if an outbox is set
+     */
+    default boolean isOutbox() {
+        return false;
+    }
+
     /**
      * Sets the service information that will be attached to events as source.
      * This is expected to be URL like structure that will allow consumer of the
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage of events waiting to be published, used by the event manager in outbox mode.
+ * <p>
+ * Events are stored together with the process instances that produced them, in the same transaction
+ * when the storage takes part in one, and are later claimed in batches by a relay that hands them to
+ * the event publishers. A claim is valid for a lease period, events of a relay that stopped before
+ * removing them can be claimed again by any node once the lease expires, so events are delivered
+ * at least once. Implementations must make claiming atomic so the same event is never claimed by two
+ * relays while the lease is valid.
+ */
+public interface EventOutbox {
+
+    /**
+     * Stores the events, joining the transaction of the current unit of work if there is one.
+     */
+    void store(Collection<OutboxEvent> events);
+
+    /**
+     * Claims up to <code>limit</code> events that are not claimed by other relay, in the order they were stored.
+     *
+     * @param owner identifier of the claiming relay
+     * @param now current time in epoch millis
+     * @param leaseMillis how long the claim is valid
+     * @param limit maximum number of events to claim
+     * @return claimed events
+     */
+    List<OutboxEvent> claim(String owner, long now, long leaseMillis, int limit);
+
+    /**
+     * Removes delivered events.
+     */
+    void remove(Collection<String> ids);
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Event kept by {@link EventOutbox}, already serialized as it is going to be published.
+ */
+public class OutboxEvent {
+
+    private final String id;
+    private final String type;
+    private final String payload;
+    private final long created;
+
+    public OutboxEvent(String id, String type, String payload, long created) {
+        this.id = requireNonNull(id);
+        this.type = type;
+        this.payload = requireNonNull(payload);
+        this.created = created;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * JSON representation of the event.
+     */
+    public String getPayload() {
+        return payload;
+    }
+
+    /**
+     * Time the event was stored at, in epoch millis.
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        OutboxEvent that = (OutboxEvent) o;
+        return id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "id='" + id + '\'' +
+                ", type='" + type + '\'' +
+                ", created=" + created +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.internal.process.runtime;
+
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Work item handler that is able to execute work items without blocking the caller.
+ * <p>
+ * The stage returned by {@link #executeWorkItemAsync(KogitoWorkItem)} completes with the results
+ * of the work item, and it is up to the engine to complete the work item with them. Implementations
+ * must not complete or abort the work item nor access its process instance from the returned stage,
+ * as it may complete on any thread.
+ * <p>
+ * When the engine does not support deferred completion at the point the work item is executed,
+ * {@link #executeWorkItem(KogitoWorkItem, KogitoWorkItemManager)} is used, which waits for the stage.
+ * Outside of parallel multi-instance iterations, deferred completion is opt-in, see {@link #getCompletionExecutor()}.
+ */
+public interface KogitoAsyncWorkItemHandler extends KogitoWorkItemHandler {
+
+    /**
+     * Starts execution of the given work item.
+     *
+     * @param workItem the work item that should be executed
+     * @return stage completed with results of the work item
+     */
+    CompletionStage<Map<String, Object>> executeWorkItemAsync(KogitoWorkItem workItem);
+
+    /**
+     * Executor on which work items of this handler are completed once their results are available, so the
+     * engine does not wait for them. The process instance is stored in its wait state when the unit of work
+     * executing the work item ends, and the results are applied afterwards to the stored instance.
+     *
+     * @return executor completing work items, or null to wait for the results, which is the default
+     */
+    default Executor getCompletionExecutor() {
+        return null;
+    }
+
+    @Override
+    default void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        Map<String, Object> results;
+        try {
+            results = executeWorkItemAsync(workItem).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        manager.completeWorkItem(workItem.getStringId(), results);
+    }
+}
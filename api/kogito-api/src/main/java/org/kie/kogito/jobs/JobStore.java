@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.jobs;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage of process instance jobs used by persistent jobs services, so timers survive restarts.
+ * <p>
+ * Jobs are claimed by a node for a lease period before being fired, a job whose lease expired (e.g. the owning
+ * node died before completing it) can be claimed again by any node. Implementations must make claiming atomic
+ * so the same job is never claimed by two nodes while the lease is valid.
+ */
+public interface JobStore {
+
+    /**
+     * Stores the job, replacing any job with the same id.
+     */
+    void store(StoredJob job);
+
+    Optional<StoredJob> find(String id);
+
+    boolean remove(String id);
+
+    /**
+     * Claims up to <code>limit</code> jobs due at given time that are not claimed by other node, ordered by
+     * their fire time.
+     *
+     * @param owner identifier of the claiming node
+     * @param now current time in epoch millis
+     * @param leaseMillis how long the claim is valid
+     * @param limit maximum number of jobs to claim
+     * @return claimed jobs
+     */
+    List<StoredJob> claim(String owner, long now, long leaseMillis, int limit);
+
+    /**
+     * Reschedules a job claimed by given owner, releasing the claim.
+     *
+     * @return false if the job no longer exists or was claimed by other node meanwhile
+     */
+    boolean reschedule(StoredJob job, String owner);
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.jobs;
+
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Persistent representation of a process instance job as kept by {@link JobStore}.
+ */
+public class StoredJob {
+
+    private final String id;
+    private final String processInstanceId;
+    private final String processId;
+    private final long fireTime;
+    private final Long repeatInterval;
+    private final int repeatLimit;
+    private final String owner;
+    private final long leaseExpiration;
+
+    public StoredJob(String id, String processInstanceId, String processId, long fireTime, Long repeatInterval, int repeatLimit) {
+        this(id, processInstanceId, processId, fireTime, repeatInterval, repeatLimit, null, 0L);
+    }
+
+    public StoredJob(String id, String processInstanceId, String processId, long fireTime, Long repeatInterval, int repeatLimit, String owner, long leaseExpiration) {
+        this.id = requireNonNull(id);
+        this.processInstanceId = requireNonNull(processInstanceId);
+        this.processId = processId;
+        this.fireTime = fireTime;
+        this.repeatInterval = repeatInterval;
+        this.repeatLimit = repeatLimit;
+        this.owner = owner;
+        this.leaseExpiration = leaseExpiration;
+    }
+
+    public static StoredJob of(ProcessInstanceJobDescription description) {
+        ExpirationTime expirationTime = description.expirationTime();
+        boolean repeatable = expirationTime.repeatInterval() != null;
+        return new StoredJob(description.id(),
+                description.processInstanceId(),
+                description.processId(),
+                expirationTime.get().toInstant().toEpochMilli(),
+                expirationTime.repeatInterval(),
+                repeatable && expirationTime.repeatLimit() != null ? expirationTime.repeatLimit() : 1);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public long getFireTime() {
+        return fireTime;
+    }
+
+    public Long getRepeatInterval() {
+        return repeatInterval;
+    }
+
+    /**
+     * Remaining number of executions, negative for jobs repeating forever.
+     */
+    public int getRepeatLimit() {
+        return repeatLimit;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public long getLeaseExpiration() {
+        return leaseExpiration;
+    }
+
+    public StoredJob claimed(String owner, long leaseExpiration) {
+        return new StoredJob(id, processInstanceId, processId, fireTime, repeatInterval, repeatLimit, owner, leaseExpiration);
+    }
+
+    /**
+     * Returns the job for next execution after this one, without claim.
+     */
+    public StoredJob next() {
+        return new StoredJob(id, processInstanceId, processId, fireTime + (repeatInterval == null ? 0 : repeatInterval), repeatInterval, repeatLimit - 1);
+    }
+
+    public boolean isClaimable(long now) {
+        return fireTime <= now && (owner == null || leaseExpiration < now);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        StoredJob that = (StoredJob) o;
+        return fireTime == that.fireTime && repeatLimit == that.repeatLimit && leaseExpiration == that.leaseExpiration && id.equals(that.id)
+                && processInstanceId.equals(that.processInstanceId) && Objects.equals(processId, that.processId)
+                && Objects.equals(repeatInterval, that.repeatInterval) && Objects.equals(owner, that.owner);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "StoredJob{" +
+                "id='" + id + '\'' +
+                ", processInstanceId='" + processInstanceId + '\'' +
+                ", processId='" + processId + '\'' +
+                ", fireTime=" + fireTime +
+                ", repeatInterval=" + repeatInterval +
+                ", repeatLimit=" + repeatLimit +
+                ", owner='" + owner + '\'' +
+                ", leaseExpiration=" + leaseExpiration +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Process instances storage that is able to perform its operations without blocking the caller,
+ * completing the returned stages once the underlying storage acknowledged the operation.
+ */
+public interface AsyncMutableProcessInstances<T> extends MutableProcessInstances<T> {
+
+    default CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id) {
+        return findByIdAsync(id, ProcessInstanceReadMode.MUTABLE);
+    }
+
+    default CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        return findByIdAsync(id, mode, Runnable::run);
+    }
+
+    /**
+     * Looks up the process instance with given id, the stored instance is read into a process instance on given
+     * executor, which also completes the returned stage, instead of on the thread of the underlying storage.
+     */
+    CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode, Executor executor);
+
+    CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> removeAsync(String id);
+}
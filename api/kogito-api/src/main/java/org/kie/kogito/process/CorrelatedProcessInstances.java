@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Collection;
+
+/**
+ * Process instances storage that keeps an index of active instances by their business key and
+ * the events they are waiting for, so the instances an incoming event correlates with can be
+ * found without loading and inspecting candidates.
+ */
+public interface CorrelatedProcessInstances<T> extends ProcessInstances<T> {
+
+    default Collection<ProcessInstance<T>> findWaiting(String businessKey, String event) {
+        return findWaiting(businessKey, event, ProcessInstanceReadMode.MUTABLE);
+    }
+
+    /**
+     * Returns active process instances with given business key that are waiting for given event.
+     *
+     * @param businessKey business key of the process instances
+     * @param event name of the event, e.g. <code>Message-orderPaid</code>
+     * @param mode read mode of the returned instances
+     * @return process instances waiting for the event, empty when there is none
+     */
+    Collection<ProcessInstance<T>> findWaiting(String businessKey, String event, ProcessInstanceReadMode mode);
+}
@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.process;
 
+import java.util.Optional;
+
 public interface MutableProcessInstances<T> extends ProcessInstances<T> {
 
     boolean exists(String id);
@@ -32,4 +34,16 @@ public interface MutableProcessInstances<T> extends ProcessInstances<T> {
     default boolean lock() {
         return false;
     }
+
+    /**
+     * Returns the version of the stored process instance, empty if the instance is not stored
+     * or the storage does not keep versions, see {@link #lock()}.
+     * Storages should override it with a query that does not read the whole instance.
+     */
+    default Optional<Long> version(String id) {
+        if (!lock()) {
+            return Optional.empty();
+        }
+        return findById(id, ProcessInstanceReadMode.READ_ONLY).map(ProcessInstance::version);
+    }
 }
@@ -17,6 +17,7 @@ package org.kie.kogito.process;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProcessInstances<T> {
 
@@ -32,5 +33,29 @@ public interface ProcessInstances<T> {
 
     Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode);
 
+    default Stream<ProcessInstance<T>> stream() {
+        return stream(ProcessInstanceReadMode.READ_ONLY);
+    }
+
+    default Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
+        return stream(mode, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns process instances as a stream that is populated lazily, so implementations
+     * can fetch and unmarshall them page by page instead of loading all of them upfront.
+     * The stream might hold resources of the underlying storage (cursors, connections) and thus
+     * should be closed once consumed, e.g. by using try-with-resources. A limit of 0 returns
+     * an empty stream.
+     *
+     * @param mode read mode of the returned instances
+     * @param offset number of instances to skip, must not be negative
+     * @param limit maximum number of instances to return, must not be negative
+     * @return stream of process instances
+     */
+    default Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, int offset, int limit) {
+        return values(mode).stream().skip(offset).limit(limit);
+    }
+
     Integer size();
 }
@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import org.kie.kogito.MapOutput;
@@ -36,12 +37,29 @@ public interface ProcessService {
 
     <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process);
 
+    <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, int offset, int limit);
+
     <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id);
 
     <T extends MappableToModel<R>, R> Optional<R> delete(Process<T> process, String id);
 
     <T extends MappableToModel<R>, R> Optional<R> update(Process<T> process, String id, T resource);
 
+    /*
+     * Non blocking variants, persistence is composed on the returned stage when the process
+     * instances storage is an AsyncMutableProcessInstances, otherwise they complete right away.
+     */
+
+    <T extends Model> CompletionStage<ProcessInstance<T>> createProcessInstanceAsync(Process<T> process, String businessKey,
+            T model,
+            String startFromNodeId);
+
+    <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id);
+
+    <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> deleteAsync(Process<T> process, String id);
+
+    <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> updateAsync(Process<T> process, String id, T resource);
+
     <T extends Model> Optional<List<WorkItem>> getTasks(Process<T> process, String id, String user, List<String> groups);
 
     <T extends Model> Optional<WorkItem> signalTask(Process<T> process, String id, String taskNodeName, String taskName);
@@ -15,6 +15,10 @@
  */
 package org.kie.kogito.uow;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
 /**
  * Unit of Work allows to group related activities and operation
  * into single unit. It it can be then completed or aborted as one
@@ -37,6 +41,29 @@ public interface UnitOfWork {
      */
     void end();
 
+    /**
+     * Completes this unit of work without blocking the caller, work units are performed
+     * using {@link WorkUnit#performAsync()}. By default it delegates to {@link #end()}.
+     * 
+     * @return stage completed once all awaiting work was performed
+     */
+    default CompletionStage<Void> endAsync() {
+        end();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Same as {@link #endAsync()} but once a work unit completed asynchronously, e.g. on the I/O thread of
+     * a storage, the remaining work is performed and the returned stage is completed on given executor.
+     * By default it delegates to {@link #endAsync()}.
+     *
+     * @param executor executor to continue on after asynchronously completed work
+     * @return stage completed once all awaiting work was performed
+     */
+    default CompletionStage<Void> endAsync(Executor executor) {
+        return endAsync();
+    }
+
     /**
      * Aborts this unit of work and ignores any awaiting work.
      */
@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.uow;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 
 /**
@@ -35,6 +37,17 @@ public interface WorkUnit<T> {
      */
     void perform();
 
+    /**
+     * Performs action associated with the work unit without blocking the caller. By default
+     * it performs the action synchronously and returns already completed stage.
+     * 
+     * @return stage completed once the action is performed
+     */
+    default CompletionStage<Void> performAsync() {
+        perform();
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Optional abort logic associated with the work unit
      */
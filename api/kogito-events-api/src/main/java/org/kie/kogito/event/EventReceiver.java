@@ -15,7 +15,10 @@
  */
 package org.kie.kogito.event;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Generic receiver for cloud events.
@@ -32,4 +35,23 @@ public interface EventReceiver {
      * @param clazz the type of object the event contains
      */
     <T> void subscribe(Consumer<T> consumer, SubscriptionInfo<T> subscription);
+
+    /**
+     * Subscribes a consumer that completes the returned stage once the event was processed, so the receiver
+     * can go on receiving meanwhile and only acknowledge processed events.
+     * <p>
+     * By default it subscribes a consumer that waits for the stage.
+     *
+     * @param consumer the consumer that will receive the events.
+     * @param subscription the subscription details
+     */
+    default <T> void subscribeAsync(Function<T, CompletionStage<?>> consumer, SubscriptionInfo<T> subscription) {
+        subscribe(event -> {
+            try {
+                consumer.apply(event).toCompletableFuture().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }, subscription);
+    }
 }
@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.services.event;
 
+import java.util.List;
+
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
 import org.kie.kogito.process.Process;
@@ -23,4 +25,11 @@ public interface EventConsumer<T extends Model> {
 
     void consume(Application application, Process<T> process, Object payload, String trigger);
 
+    /**
+     * Consumes messages received in a row, in the order they are given, within a single unit of work so a
+     * process instance receiving several of them is stored once. Either all messages are applied or, if this
+     * fails, none of them is, so callers can apply them again one by one.
+     */
+    void consumeBatch(Application application, Process<T> process, List<?> payloads, String trigger);
+
 }
@@ -15,7 +15,18 @@
  */
 package org.kie.kogito.services.event.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
@@ -29,15 +40,46 @@ import org.kie.kogito.services.event.EventConsumerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Base of generated message consumers, applying received messages to the process.
+ * <p>
+ * By default every message is applied in its own unit of work on the thread it was received on. When
+ * started with workers, received messages are queued into one partition per worker, chosen by their
+ * <code>kogitoReferenceId</code>, and every worker applies the messages queued meanwhile as one batch.
+ * Messages for the same process instance therefore keep their order, and an instance receiving several
+ * of them in a batch is stored once. Messages are subscribed with {@link EventReceiver#subscribeAsync}:
+ * the stage of a message is completed once its batch is applied, or failed when it could not be applied
+ * so the broker can deliver it again, and the receiver goes on receiving meanwhile. Batches are therefore
+ * formed from the messages the receiver keeps in flight. Receivers only supporting blocking subscriptions
+ * wait for every message, so their batches are only formed from messages received concurrently.
+ */
 public abstract class AbstractMessageConsumer<M extends Model, D, T extends AbstractProcessDataEvent<D>> implements InputTriggerAware {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractMessageConsumer.class);
 
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    // messages that can be queued per partition, relative to the batch size
+    private static final int QUEUED_BATCHES = 4;
+
+    // how long stopping waits for the workers to apply the messages already queued
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    // how often idle workers check whether they are stopped
+    private static final long POLL_MILLIS = 100;
+
     private Process<M> process;
     private Application application;
     private String trigger;
     private EventConsumer<M> eventConsumer;
 
+    private volatile List<BlockingQueue<QueuedMessage>> partitions;
+    private volatile boolean stopping;
+    private volatile boolean stopped;
+    private ExecutorService workers;
+    private int batchSize;
+    private final AtomicInteger nextPartition = new AtomicInteger();
+
     // in general we should favor the non-empty constructor
     // but there is an issue with Quarkus https://github.com/quarkusio/quarkus/issues/2949#issuecomment-513017781
     // use this in conjuction with setParams()
@@ -55,6 +97,19 @@ public abstract class AbstractMessageConsumer<M extends Model, D, T extends Abst
         init(application, process, trigger, eventConsumerFactory, eventReceiver, dataEventClass, cloudEventClass, useCloudEvents);
     }
 
+    public AbstractMessageConsumer(Application application,
+            Process<M> process,
+            String trigger,
+            EventConsumerFactory eventConsumerFactory,
+            EventReceiver eventReceiver,
+            Class<D> dataEventClass,
+            Class<T> cloudEventClass,
+            boolean useCloudEvents,
+            int workers,
+            int batchSize) {
+        init(application, process, trigger, eventConsumerFactory, eventReceiver, dataEventClass, cloudEventClass, useCloudEvents, workers, batchSize);
+    }
+
     public void init(Application application,
             Process<M> process,
             String trigger,
@@ -63,26 +118,226 @@ public abstract class AbstractMessageConsumer<M extends Model, D, T extends Abst
             Class<D> dataEventClass,
             Class<T> cloudEventClass,
             boolean useCloudEvents) {
+        init(application, process, trigger, eventConsumerFactory, eventReceiver, dataEventClass, cloudEventClass, useCloudEvents, 0, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param workers number of threads applying messages in batches, 0 to apply every message on the thread
+     *        it was received on
+     * @param batchSize maximum number of messages applied by a worker in a single unit of work
+     */
+    public void init(Application application,
+            Process<M> process,
+            String trigger,
+            EventConsumerFactory eventConsumerFactory,
+            EventReceiver eventReceiver,
+            Class<D> dataEventClass,
+            Class<T> cloudEventClass,
+            boolean useCloudEvents,
+            int workers,
+            int batchSize) {
         this.process = process;
         this.application = application;
         this.trigger = trigger;
         this.eventConsumer = eventConsumerFactory.get(this::eventToModel, useCloudEvents);
+        if (workers > 0) {
+            startWorkers(workers, Math.max(batchSize, 1));
+        }
         if (useCloudEvents) {
-            eventReceiver.subscribe(this::consumeCloud, new SubscriptionInfo<>(cloudEventClass, Optional.of(trigger)));
+            eventReceiver.subscribeAsync(this::consumeCloudAsync, new SubscriptionInfo<>(cloudEventClass, Optional.of(trigger)));
         } else {
-            eventReceiver.subscribe(this::consume, new SubscriptionInfo<>(dataEventClass, Optional.of(trigger)));
+            eventReceiver.subscribeAsync(this::consumeAsync, new SubscriptionInfo<>(dataEventClass, Optional.of(trigger)));
         }
         logger.info("Consumer for {} started.", dataEventClass);
     }
 
+    private void startWorkers(int count, int batchSize) {
+        this.batchSize = batchSize;
+        List<BlockingQueue<QueuedMessage>> queues = new ArrayList<>(count);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(count, r -> {
+            Thread thread = new Thread(r, "kogito-message-consumer-" + trigger + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < count; i++) {
+            BlockingQueue<QueuedMessage> queue = new LinkedBlockingQueue<>(batchSize * QUEUED_BATCHES);
+            queues.add(queue);
+            executor.execute(() -> drain(queue));
+        }
+        this.partitions = queues;
+        this.workers = executor;
+        logger.info("Consumer for trigger {} applies messages in batches of up to {} on {} workers", trigger, batchSize, count);
+    }
+
+    /**
+     * Stops the workers once they applied the messages already queued, waiting for them up to 30 seconds.
+     * Messages still queued afterwards are not applied and fail their receiving call. Messages received
+     * meanwhile are rejected.
+     */
+    public void stop() {
+        List<BlockingQueue<QueuedMessage>> queues;
+        ExecutorService executor;
+        synchronized (this) {
+            if (workers == null) {
+                return;
+            }
+            queues = partitions;
+            executor = workers;
+            stopping = true;
+            partitions = null;
+            workers = null;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Consumer for trigger {} did not apply queued messages within {} seconds", trigger, STOP_TIMEOUT_SECONDS);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        stopped = true;
+        for (BlockingQueue<QueuedMessage> queue : queues) {
+            List<QueuedMessage> left = new ArrayList<>();
+            queue.drainTo(left);
+            left.forEach(this::reject);
+        }
+    }
+
+    private void reject(QueuedMessage message) {
+        message.applied.completeExceptionally(new IllegalStateException("Consumer for trigger " + trigger + " stopped before applying message"));
+    }
+
     public void consumeCloud(T payload) {
-        logger.debug("Received: {} on thread {}", payload, Thread.currentThread().getName());
-        eventConsumer.consume(application, process, payload, trigger);
+        await(consumeCloudAsync(payload));
     }
 
     public void consume(D payload) {
+        await(consumeAsync(payload));
+    }
+
+    /**
+     * Applies the message, the returned stage is completed once it is applied.
+     */
+    public CompletionStage<Void> consumeCloudAsync(T payload) {
         logger.debug("Received: {} on thread {}", payload, Thread.currentThread().getName());
-        eventConsumer.consume(application, process, payload, trigger);
+        List<BlockingQueue<QueuedMessage>> queues = partitions;
+        if (queues != null) {
+            String referenceId = payload.getKogitoReferenceId();
+            // messages for the same instance always go to the same worker, others are spread evenly
+            return apply(queues.get(referenceId == null || referenceId.isEmpty() ? nextPartition(queues) : Math.floorMod(referenceId.hashCode(), queues.size())), payload);
+        }
+        return applyNow(payload);
+    }
+
+    /**
+     * Applies the message, the returned stage is completed once it is applied.
+     */
+    public CompletionStage<Void> consumeAsync(D payload) {
+        logger.debug("Received: {} on thread {}", payload, Thread.currentThread().getName());
+        List<BlockingQueue<QueuedMessage>> queues = partitions;
+        if (queues != null) {
+            return apply(queues.get(nextPartition(queues)), payload);
+        }
+        return applyNow(payload);
+    }
+
+    // without workers the message is applied on the receiving thread
+    private CompletionStage<Void> applyNow(Object payload) {
+        CompletableFuture<Void> applied = new CompletableFuture<>();
+        try {
+            if (stopping) {
+                throw new IllegalStateException("Consumer for trigger " + trigger + " is stopped");
+            }
+            eventConsumer.consume(application, process, payload, trigger);
+            applied.complete(null);
+        } catch (RuntimeException e) {
+            applied.completeExceptionally(e);
+        }
+        return applied;
+    }
+
+    private void await(CompletionStage<Void> applied) {
+        try {
+            applied.toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while applying message for trigger " + trigger, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Error applying message for trigger " + trigger, e.getCause());
+        }
+    }
+
+    private int nextPartition(List<BlockingQueue<QueuedMessage>> queues) {
+        return Math.floorMod(nextPartition.getAndIncrement(), queues.size());
+    }
+
+    // queues the message for its batch, the receiver is only held up while the partition is full
+    private CompletionStage<Void> apply(BlockingQueue<QueuedMessage> queue, Object payload) {
+        QueuedMessage message = new QueuedMessage(payload);
+        try {
+            queue.put(message);
+            // queued while stopping, after the workers are gone
+            if (stopped && queue.remove(message)) {
+                reject(message);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            message.applied.completeExceptionally(new IllegalStateException("Interrupted while applying message for trigger " + trigger, e));
+        }
+        return message.applied;
+    }
+
+    private void drain(BlockingQueue<QueuedMessage> queue) {
+        List<QueuedMessage> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                QueuedMessage first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (stopping) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            applyBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void applyBatch(List<QueuedMessage> batch) {
+        List<Object> payloads = new ArrayList<>(batch.size());
+        batch.forEach(message -> payloads.add(message.payload));
+        try {
+            eventConsumer.consumeBatch(application, process, payloads, trigger);
+            batch.forEach(message -> message.applied.complete(null));
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).applied.completeExceptionally(e);
+                return;
+            }
+            logger.warn("Consumer for trigger {}: failed to apply batch of {} messages, applying them one by one", trigger, batch.size(), e);
+        }
+        // none of the batch was applied, so a single bad message fails alone
+        for (QueuedMessage message : batch) {
+            try {
+                eventConsumer.consume(application, process, message.payload, trigger);
+                message.applied.complete(null);
+            } catch (RuntimeException e) {
+                message.applied.completeExceptionally(e);
+            }
+        }
     }
 
     @Override
@@ -91,4 +346,14 @@ public abstract class AbstractMessageConsumer<M extends Model, D, T extends Abst
     }
 
     protected abstract M eventToModel(D event);
+
+    private static class QueuedMessage {
+
+        private final Object payload;
+        private final CompletableFuture<Void> applied = new CompletableFuture<>();
+
+        private QueuedMessage(Object payload) {
+            this.payload = payload;
+        }
+    }
 }
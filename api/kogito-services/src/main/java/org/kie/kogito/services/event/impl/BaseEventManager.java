@@ -15,21 +15,28 @@
  */
 package org.kie.kogito.services.event.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.kie.kogito.Addons;
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.EventBatch;
 import org.kie.kogito.event.EventManager;
+import org.kie.kogito.event.EventMarshaller;
+import org.kie.kogito.event.EventOutbox;
 import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.OutboxEvent;
 
 public class BaseEventManager implements EventManager {
 
     private String service;
     private Addons addons;
     private Set<EventPublisher> publishers = new LinkedHashSet<>();
+    private final EventMarshaller marshaller = new DefaultEventMarshaller();
+    private volatile EventOutboxRelay relay;
 
     @Override
     public EventBatch newBatch() {
@@ -44,6 +51,27 @@ public class BaseEventManager implements EventManager {
         }
         Collection<DataEvent<?>> events = batch.events();
 
+        EventOutboxRelay outboxRelay = relay;
+        if (outboxRelay != null) {
+            store(outboxRelay.outbox(), events);
+        } else {
+            deliver(events);
+        }
+    }
+
+    private void store(EventOutbox outbox, Collection<DataEvent<?>> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<OutboxEvent> serialized = new ArrayList<>(events.size());
+        for (DataEvent<?> event : events) {
+            serialized.add(new OutboxEvent(event.getId(), event.getType(), marshaller.marshall(event), now));
+        }
+        outbox.store(serialized);
+    }
+
+    private void deliver(Collection<DataEvent<?>> events) {
         publishers.forEach(p -> p.publish(events));
     }
 
@@ -52,6 +80,24 @@ public class BaseEventManager implements EventManager {
         this.publishers.add(publisher);
     }
 
+    @Override
+    public synchronized void setOutbox(EventOutbox outbox) {
+        if (relay != null) {
+            relay.shutdown();
+            relay = null;
+        }
+        if (outbox != null) {
+            EventOutboxRelay outboxRelay = new EventOutboxRelay(outbox, this::deliver);
+            outboxRelay.start();
+            relay = outboxRelay;
+        }
+    }
+
+    @Override
+    public boolean isOutbox() {
+        return relay != null;
+    }
+
     @Override
     public void setService(String service) {
         this.service = service;
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventOutbox;
+import org.kie.kogito.event.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Polls an {@link EventOutbox} from background and hands the stored events to the publishers.
+ * <p>
+ * Events are claimed in batches with a lease and removed from the outbox only once published, events
+ * of a relay that failed or stopped before removing them are claimed again once the lease expires,
+ * so events are published at least once.
+ */
+public class EventOutboxRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventOutboxRelay.class);
+
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 500;
+    public static final long DEFAULT_LEASE_MILLIS = 60_000;
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final EventOutbox outbox;
+    private final Consumer<Collection<DataEvent<?>>> publisher;
+    private final String owner;
+    private final long pollIntervalMillis;
+    private final long leaseMillis;
+    private final int batchSize;
+
+    private ScheduledExecutorService poller;
+
+    public EventOutboxRelay(EventOutbox outbox, Consumer<Collection<DataEvent<?>>> publisher) {
+        this(outbox, publisher, UUID.randomUUID().toString(), DEFAULT_POLL_INTERVAL_MILLIS, DEFAULT_LEASE_MILLIS, DEFAULT_BATCH_SIZE);
+    }
+
+    public EventOutboxRelay(EventOutbox outbox, Consumer<Collection<DataEvent<?>>> publisher, String owner, long pollIntervalMillis, long leaseMillis, int batchSize) {
+        this.outbox = outbox;
+        this.publisher = publisher;
+        this.owner = owner;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.leaseMillis = leaseMillis;
+        this.batchSize = batchSize;
+    }
+
+    public EventOutbox outbox() {
+        return outbox;
+    }
+
+    /**
+     * Starts polling the outbox, events left by a previous run are published right away.
+     */
+    public synchronized void start() {
+        if (poller == null) {
+            poller = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "kogito-event-relay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            poller.scheduleWithFixedDelay(this::relay, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void shutdown() {
+        if (poller != null) {
+            poller.shutdown();
+            poller = null;
+        }
+    }
+
+    /**
+     * Claims and publishes stored events until there are none left.
+     *
+     * @return number of published events
+     */
+    public int relay() {
+        int published = 0;
+        try {
+            List<OutboxEvent> claimed;
+            do {
+                claimed = outbox.claim(owner, System.currentTimeMillis(), leaseMillis, batchSize);
+                if (!claimed.isEmpty()) {
+                    published += publish(claimed);
+                }
+            } while (claimed.size() >= batchSize);
+        } catch (RuntimeException e) {
+            // claims are kept, so the events are published again once the lease expires
+            LOGGER.error("Error relaying events from outbox, they will be retried after {} ms", leaseMillis, e);
+        }
+        return published;
+    }
+
+    private int publish(List<OutboxEvent> claimed) {
+        List<DataEvent<?>> events = new ArrayList<>(claimed.size());
+        List<String> ids = new ArrayList<>(claimed.size());
+        for (OutboxEvent event : claimed) {
+            try {
+                events.add(new OutboxDataEvent(mapper.readTree(event.getPayload())));
+            } catch (Exception e) {
+                // it would fail the same way on every attempt, so it is dropped
+                LOGGER.error("Event {} stored in outbox is not valid JSON, it is discarded", event.getId(), e);
+            }
+            ids.add(event.getId());
+        }
+        publisher.accept(events);
+        outbox.remove(ids);
+        LOGGER.debug("Relayed {} events from outbox", events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import org.kie.kogito.event.DataEvent;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Event relayed from an outbox. It is serialized back to the exact JSON that was stored, so publishers
+ * send the same content they would have sent for the original event.
+ */
+public class OutboxDataEvent implements DataEvent<JsonNode> {
+
+    private final JsonNode json;
+
+    public OutboxDataEvent(JsonNode json) {
+        this.json = json;
+    }
+
+    @JsonValue
+    public JsonNode toJson() {
+        return json;
+    }
+
+    @Override
+    public String getSpecVersion() {
+        return text("specversion");
+    }
+
+    @Override
+    public String getId() {
+        return text("id");
+    }
+
+    @Override
+    public String getType() {
+        return text("type");
+    }
+
+    @Override
+    public String getSource() {
+        return text("source");
+    }
+
+    @Override
+    public String getTime() {
+        return text("time");
+    }
+
+    @Override
+    public String getDataContentType() {
+        return text("datacontenttype");
+    }
+
+    @Override
+    public String getDataSchema() {
+        return text("dataschema");
+    }
+
+    @Override
+    public String getSubject() {
+        return text("subject");
+    }
+
+    @Override
+    public JsonNode getData() {
+        return json.get("data");
+    }
+
+    private String text(String field) {
+        JsonNode value = json.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxDataEvent [id=" + getId() + ", type=" + getType() + ", source=" + getSource() + "]";
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Executor with a fixed number of threads and a bounded queue of waiting tasks.
+ * <p>
+ * Once all threads are busy and the queue is full, new tasks are rejected right away with a
+ * {@link RejectedExecutionException} instead of piling up, so callers can push back on the client.
+ * Queue depth, active threads and rejected tasks are exposed so they can be reported as metrics.
+ * <p>
+ * It deliberately does not implement {@link java.util.concurrent.Executor} so that registering it as a bean
+ * does not replace the general purpose executor frameworks configure when none is present.
+ */
+public class BoundedExecutor {
+
+    private final String name;
+    private final ThreadPoolExecutor delegate;
+    private final LongAdder rejected = new LongAdder();
+
+    public BoundedExecutor(String name, int threads, int queueSize) {
+        this.name = name;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.delegate = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), new NamedThreadFactory(name), new ThreadPoolExecutor.AbortPolicy());
+        this.delegate.allowCoreThreadTimeOut(true);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public void execute(Runnable command) {
+        try {
+            delegate.execute(command);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new RejectedExecutionException("Executor " + name + " is saturated, " + delegate.getQueue().size() + " tasks are waiting", e);
+        }
+    }
+
+    /**
+     * Runs given supplier on this executor.
+     *
+     * @throws RejectedExecutionException when the executor is saturated, thrown to the caller instead of failing the returned stage
+     */
+    public <T> CompletionStage<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, this::execute);
+    }
+
+    /**
+     * Runs given supplier on this executor and completes the returned stage once the stage it returned completes.
+     *
+     * @throws RejectedExecutionException when the executor is saturated, thrown to the caller instead of failing the returned stage
+     */
+    public <T> CompletionStage<T> composeAsync(Supplier<? extends CompletionStage<T>> supplier) {
+        return CompletableFuture.supplyAsync(supplier, this::execute).thenCompose(stage -> stage);
+    }
+
+    public int getQueueDepth() {
+        return delegate.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return delegate.getQueue().size() + delegate.getQueue().remainingCapacity();
+    }
+
+    public int getActiveCount() {
+        return delegate.getActiveCount();
+    }
+
+    public int getPoolSize() {
+        return delegate.getPoolSize();
+    }
+
+    public long getCompletedCount() {
+        return delegate.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.executor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Hands completion stages over to an executor.
+ * <p>
+ * Unlike the <code>*Async</code> methods of {@link CompletableFuture}, a continuation the executor rejects, e.g. a
+ * saturated {@link BoundedExecutor}, fails the returned stage with the {@link RejectedExecutionException} instead of
+ * throwing it to the thread completing the original stage and leaving the returned one incomplete forever.
+ */
+public final class Continuations {
+
+    private Continuations() {
+    }
+
+    /**
+     * Returns a stage completed on given executor with the outcome of given stage.
+     */
+    public static <T> CompletableFuture<T> continueOn(CompletionStage<T> stage, Executor executor) {
+        CompletableFuture<T> continued = new CompletableFuture<>();
+        stage.whenComplete((value, error) -> {
+            try {
+                executor.execute(() -> {
+                    if (error != null) {
+                        continued.completeExceptionally(error);
+                    } else {
+                        continued.complete(value);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                continued.completeExceptionally(e);
+            }
+        });
+        return continued;
+    }
+}
@@ -17,12 +17,18 @@ package org.kie.kogito.services.uow;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 import org.kie.kogito.event.EventBatch;
 import org.kie.kogito.event.EventManager;
+import org.kie.kogito.services.executor.Continuations;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.WorkUnit;
 
@@ -35,6 +41,12 @@ import org.kie.kogito.uow.WorkUnit;
  */
 public class CollectingUnitOfWork implements UnitOfWork {
 
+    /**
+     * Priority of storing events in the outbox of the event manager: after the work units producing events,
+     * which use the default priority or lower, and before storages flushing their writes at the end.
+     */
+    public static final int OUTBOX_PRIORITY = 150;
+
     private Set<WorkUnit<?>> collectedWork;
     private boolean done;
 
@@ -56,15 +68,95 @@ public class CollectingUnitOfWork implements UnitOfWork {
     public void end() {
         checkStarted();
         EventBatch batch = eventManager.newBatch();
-
-        for (WorkUnit<?> work : sorted()) {
-            batch.append(work.data());
-            work.perform();
+        boolean outbox = storeEvents(batch);
+
+        // work units might intercept further work while being performed (e.g. deferred flush
+        // of batched writes), so keep going until there is nothing left that was not performed
+        Set<WorkUnit<?>> performed = Collections.newSetFromMap(new IdentityHashMap<>());
+        Collection<WorkUnit<?>> pending = sorted();
+        while (!pending.isEmpty()) {
+            for (WorkUnit<?> work : pending) {
+                batch.append(work.data());
+                work.perform();
+                performed.add(work);
+            }
+            pending = sorted();
+            pending.removeIf(performed::contains);
+        }
+        if (!outbox) {
+            eventManager.publish(batch);
         }
-        eventManager.publish(batch);
         done();
     }
 
+    @Override
+    public CompletionStage<Void> endAsync() {
+        return endAsync(Runnable::run);
+    }
+
+    @Override
+    public CompletionStage<Void> endAsync(Executor executor) {
+        checkStarted();
+        EventBatch batch = eventManager.newBatch();
+        boolean outbox = storeEvents(batch);
+        Set<WorkUnit<?>> performed = Collections.newSetFromMap(new IdentityHashMap<>());
+        return performPending(batch, performed, executor).thenRun(() -> {
+            if (!outbox) {
+                eventManager.publish(batch);
+            }
+            done();
+        });
+    }
+
+    // events stored in an outbox are written as work of this unit, so storages can write them in the same transaction
+    private boolean storeEvents(EventBatch batch) {
+        if (!eventManager.isOutbox()) {
+            return false;
+        }
+        intercept(new WorkUnit<EventBatch>() {
+
+            @Override
+            public EventBatch data() {
+                return batch;
+            }
+
+            @Override
+            public void perform() {
+                eventManager.publish(batch);
+            }
+
+            @Override
+            public Integer priority() {
+                return OUTBOX_PRIORITY;
+            }
+        });
+        return true;
+    }
+
+    private CompletionStage<Void> performPending(EventBatch batch, Set<WorkUnit<?>> performed, Executor executor) {
+        Collection<WorkUnit<?>> pending = sorted();
+        pending.removeIf(performed::contains);
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // work units are performed one after another, same as in end, only without blocking between them
+        CompletionStage<Void> stage = CompletableFuture.completedFuture(null);
+        for (WorkUnit<?> work : pending) {
+            stage = stage.thenCompose(v -> {
+                batch.append(work.data());
+                performed.add(work);
+                return continueOn(work.performAsync(), executor);
+            });
+        }
+        return stage.thenCompose(v -> performPending(batch, performed, executor));
+    }
+
+    // only work that completed on another thread is handed over, anything else goes on with the caller
+    private static CompletionStage<Void> continueOn(CompletionStage<Void> stage, Executor executor) {
+        CompletableFuture<Void> future = stage.toCompletableFuture();
+        return future.isDone() ? future : Continuations.continueOn(future, executor);
+    }
+
     @Override
     public void abort() {
         checkStarted();
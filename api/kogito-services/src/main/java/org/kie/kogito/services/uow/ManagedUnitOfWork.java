@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import org.kie.kogito.uow.UnitOfWork;
@@ -31,6 +33,7 @@ public class ManagedUnitOfWork implements UnitOfWork {
     private Consumer<UnitOfWork> onStart;
     private Consumer<UnitOfWork> onEnd;
     private Consumer<UnitOfWork> onAbort;
+    private boolean released;
 
     public ManagedUnitOfWork(UnitOfWork delegate, Consumer<UnitOfWork> onStart, Consumer<UnitOfWork> onEnd, Consumer<UnitOfWork> onAbort) {
         super();
@@ -52,10 +55,26 @@ public class ManagedUnitOfWork implements UnitOfWork {
         onEnd.accept(delegate);
     }
 
+    @Override
+    public CompletionStage<Void> endAsync() {
+        return endAsync(Runnable::run);
+    }
+
+    @Override
+    public CompletionStage<Void> endAsync(Executor executor) {
+        // unit of work is associated with the calling thread, so release it right away
+        // instead of from whatever thread completes the delegate
+        onEnd.accept(delegate);
+        released = true;
+        return delegate.endAsync(executor);
+    }
+
     @Override
     public void abort() {
         delegate.abort();
-        onAbort.accept(delegate);
+        if (!released) {
+            onAbort.accept(delegate);
+        }
     }
 
     @Override
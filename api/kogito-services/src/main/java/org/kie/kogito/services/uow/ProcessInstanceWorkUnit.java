@@ -15,7 +15,9 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.uow.WorkUnit;
@@ -25,6 +27,7 @@ public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>>
     private ProcessInstance<T> data;
     private Consumer<Object> action;
     private Consumer<Object> compensation;
+    private Function<Object, CompletionStage<Void>> asyncAction;
 
     public ProcessInstanceWorkUnit(ProcessInstance<T> data, Consumer<Object> action) {
         this.data = data;
@@ -37,6 +40,13 @@ public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>>
         this.compensation = compensation;
     }
 
+    public ProcessInstanceWorkUnit(ProcessInstance<T> data, Consumer<Object> action, Consumer<Object> compensation, Function<Object, CompletionStage<Void>> asyncAction) {
+        this.data = data;
+        this.action = action;
+        this.compensation = compensation;
+        this.asyncAction = asyncAction;
+    }
+
     @Override
     public ProcessInstance<T> data() {
         return data;
@@ -47,6 +57,14 @@ public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>>
         action.accept(data());
     }
 
+    @Override
+    public CompletionStage<Void> performAsync() {
+        if (asyncAction == null) {
+            return WorkUnit.super.performAsync();
+        }
+        return asyncAction.apply(data());
+    }
+
     @Override
     public void abort() {
         if (compensation != null) {
@@ -15,6 +15,10 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import org.kie.kogito.process.ProcessInstanceExecutionException;
@@ -48,4 +52,42 @@ public class UnitOfWorkExecutor {
         }
 
     }
+
+    /**
+     * Same as {@link #executeInUnitOfWork(UnitOfWorkManager, Supplier)} but ends the unit of work
+     * with {@link UnitOfWork#endAsync()} so the caller is not blocked while the collected work is performed.
+     */
+    public static <T> CompletionStage<T> executeInUnitOfWorkAsync(UnitOfWorkManager uowManager, Supplier<T> supplier) {
+        return executeInUnitOfWorkAsync(uowManager, supplier, Runnable::run);
+    }
+
+    /**
+     * Same as {@link #executeInUnitOfWorkAsync(UnitOfWorkManager, Supplier)} but ends the unit of work with
+     * {@link UnitOfWork#endAsync(Executor)}, continuing on given executor after asynchronously performed work.
+     */
+    public static <T> CompletionStage<T> executeInUnitOfWorkAsync(UnitOfWorkManager uowManager, Supplier<T> supplier, Executor executor) {
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        T result;
+        try {
+            uow.start();
+            result = supplier.get();
+        } catch (ProcessInstanceExecutionException e) {
+            return uow.endAsync(executor).thenApply(v -> {
+                throw e;
+            });
+        } catch (Exception e) {
+            uow.abort();
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        return uow.endAsync(executor).handle((v, error) -> {
+            if (error != null) {
+                uow.abort();
+                throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+            }
+            return result;
+        });
+    }
 }
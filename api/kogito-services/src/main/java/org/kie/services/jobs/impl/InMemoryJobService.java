@@ -40,18 +40,20 @@ public class InMemoryJobService implements JobsService {
     private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryJobService.class);
     private static final String TRIGGER = "timer";
 
-    protected final ScheduledThreadPoolExecutor scheduler;
     protected final KogitoProcessRuntime processRuntime;
     protected final UnitOfWorkManager unitOfWorkManager;
 
     protected ConcurrentHashMap<String, ScheduledFuture<?>> scheduledJobs = new ConcurrentHashMap<>();
 
+    private final int threadPoolSize;
+    private ScheduledThreadPoolExecutor scheduler;
+
     public InMemoryJobService(KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
         this(1, processRuntime, unitOfWorkManager);
     }
 
     public InMemoryJobService(int threadPoolSize, KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
-        this.scheduler = new ScheduledThreadPoolExecutor(threadPoolSize);
+        this.threadPoolSize = threadPoolSize;
         this.processRuntime = processRuntime;
         this.unitOfWorkManager = unitOfWorkManager;
     }
@@ -61,9 +63,9 @@ public class InMemoryJobService implements JobsService {
         LOGGER.debug("ScheduleProcessJob: {}", description);
         ScheduledFuture<?> future = null;
         if (description.expirationTime().repeatInterval() != null) {
-            future = scheduler.scheduleAtFixedRate(repeatableProcessJobByDescription(description), calculateDelay(description), description.expirationTime().repeatInterval(), TimeUnit.MILLISECONDS);
+            future = scheduleAtFixedRate(repeatableProcessJobByDescription(description), calculateDelay(description), description.expirationTime().repeatInterval());
         } else {
-            future = scheduler.schedule(processJobByDescription(description), calculateDelay(description), TimeUnit.MILLISECONDS);
+            future = schedule(processJobByDescription(description), calculateDelay(description));
         }
         scheduledJobs.put(description.id(), future);
         return description.id();
@@ -73,11 +75,11 @@ public class InMemoryJobService implements JobsService {
     public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
         ScheduledFuture<?> future = null;
         if (description.expirationTime().repeatInterval() != null) {
-            future = scheduler.scheduleAtFixedRate(new SignalProcessInstanceOnExpiredTimer(description.id(), description.processInstanceId(), false, description.expirationTime().repeatLimit()),
-                    calculateDelay(description), description.expirationTime().repeatInterval(), TimeUnit.MILLISECONDS);
+            future = scheduleAtFixedRate(new SignalProcessInstanceOnExpiredTimer(description.id(), description.processInstanceId(), false, description.expirationTime().repeatLimit()),
+                    calculateDelay(description), description.expirationTime().repeatInterval());
         } else {
-            future = scheduler.schedule(new SignalProcessInstanceOnExpiredTimer(description.id(), description
-                    .processInstanceId(), true, 1), calculateDelay(description), TimeUnit.MILLISECONDS);
+            future = schedule(new SignalProcessInstanceOnExpiredTimer(description.id(), description
+                    .processInstanceId(), true, 1), calculateDelay(description));
         }
         scheduledJobs.put(description.id(), future);
         return description.id();
@@ -107,6 +109,22 @@ public class InMemoryJobService implements JobsService {
         return null;
     }
 
+    // created on first use so subclasses scheduling jobs by other means do not start its threads
+    protected synchronized ScheduledThreadPoolExecutor scheduler() {
+        if (scheduler == null) {
+            scheduler = new ScheduledThreadPoolExecutor(threadPoolSize);
+        }
+        return scheduler;
+    }
+
+    protected ScheduledFuture<?> schedule(Runnable job, long delay) {
+        return scheduler().schedule(job, delay, TimeUnit.MILLISECONDS);
+    }
+
+    protected ScheduledFuture<?> scheduleAtFixedRate(Runnable job, long delay, long period) {
+        return scheduler().scheduleAtFixedRate(job, delay, period, TimeUnit.MILLISECONDS);
+    }
+
     protected long calculateDelay(JobDescription description) {
         return Duration.between(ZonedDateTime.now(), description.expirationTime().get()).toMillis();
     }
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.ProcessJobDescription;
+import org.kie.kogito.jobs.StoredJob;
+import org.kie.kogito.services.executor.BoundedExecutor;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.timer.TimerInstance;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded jobs service that keeps process instance jobs in a {@link JobStore} so they survive restarts.
+ * <p>
+ * Due jobs are claimed in batches with a lease by a poller and fired in the application, jobs of a node
+ * that stopped before completing them are claimed by any node once the lease expires, so jobs are fired
+ * at least once. Once started, the jobs of a batch are fired concurrently by a bounded pool, and the next
+ * batch is claimed when they are all done so no more jobs are claimed than can be fired within the lease. Process jobs (start timers) are registered again on every boot, so they are kept in memory.
+ * <p>
+ * Jobs are stored and removed when the unit of work that scheduled or cancelled them ends, after the process
+ * instances it wrote, so an aborted unit of work leaves no job behind and a job never fires before its process
+ * instance is stored. A job whose process instance is not found is retried once its lease expires, and only
+ * removed once it is overdue by {@link #MISSING_INSTANCE_RETRIES} leases.
+ */
+public class PersistentJobService implements JobsService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentJobService.class);
+
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 1000;
+    public static final long DEFAULT_LEASE_MILLIS = 60_000;
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_FIRING_THREADS = Runtime.getRuntime().availableProcessors();
+    public static final int MISSING_INSTANCE_RETRIES = 10;
+
+    private final KogitoProcessRuntime processRuntime;
+    private final UnitOfWorkManager unitOfWorkManager;
+    private final JobStore jobStore;
+    private final InMemoryJobService processJobs;
+    private final String owner;
+    private final long pollIntervalMillis;
+    private final long leaseMillis;
+    private final int batchSize;
+    private final int firingThreads;
+    // scheduled by units of work still in progress, so not stored yet
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService poller;
+    private volatile BoundedExecutor firing;
+
+    public PersistentJobService(KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager, JobStore jobStore) {
+        this(processRuntime, unitOfWorkManager, jobStore, UUID.randomUUID().toString(), DEFAULT_POLL_INTERVAL_MILLIS, DEFAULT_LEASE_MILLIS, DEFAULT_BATCH_SIZE);
+    }
+
+    public PersistentJobService(KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager, JobStore jobStore, String owner, long pollIntervalMillis, long leaseMillis,
+            int batchSize) {
+        this(processRuntime, unitOfWorkManager, jobStore, owner, pollIntervalMillis, leaseMillis, batchSize, DEFAULT_FIRING_THREADS);
+    }
+
+    public PersistentJobService(KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager, JobStore jobStore, String owner, long pollIntervalMillis, long leaseMillis,
+            int batchSize, int firingThreads) {
+        this.processRuntime = processRuntime;
+        this.unitOfWorkManager = unitOfWorkManager;
+        this.jobStore = jobStore;
+        this.processJobs = new InMemoryJobService(processRuntime, unitOfWorkManager);
+        this.owner = owner;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.leaseMillis = leaseMillis;
+        this.batchSize = batchSize;
+        this.firingThreads = firingThreads;
+    }
+
+    /**
+     * Starts polling the store, jobs that became due while the application was down are fired right away.
+     */
+    public synchronized void start() {
+        if (poller == null) {
+            firing = new BoundedExecutor("kogito-job-firing", firingThreads, batchSize);
+            poller = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "kogito-job-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            poller.scheduleWithFixedDelay(this::poll, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void shutdown() {
+        if (poller != null) {
+            poller.shutdown();
+            poller = null;
+            firing.shutdown();
+            firing = null;
+        }
+    }
+
+    @Override
+    public String scheduleProcessJob(ProcessJobDescription description) {
+        return processJobs.scheduleProcessJob(description);
+    }
+
+    @Override
+    public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
+        LOGGER.debug("ScheduleProcessInstanceJob: {}", description);
+        StoredJob job = StoredJob.of(description);
+        pending.add(job.getId());
+        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(job, j -> {
+            jobStore.store(j);
+            pending.remove(j.getId());
+        }, j -> pending.remove(j.getId())));
+        return description.id();
+    }
+
+    @Override
+    public boolean cancelJob(String id) {
+        LOGGER.debug("Cancel Job: {}", id);
+        if (processJobs.cancelJob(id)) {
+            return true;
+        }
+        boolean exists = pending.contains(id) || jobStore.find(id).isPresent();
+        // performed after the store of a job scheduled earlier in the same unit of work
+        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(id, jobStore::remove));
+        return exists;
+    }
+
+    @Override
+    public ZonedDateTime getScheduledTime(String id) {
+        ZonedDateTime scheduledTime = processJobs.getScheduledTime(id);
+        if (scheduledTime != null) {
+            return scheduledTime;
+        }
+        return jobStore.find(id).map(job -> ZonedDateTime.ofInstant(Instant.ofEpochMilli(job.getFireTime()), ZoneId.systemDefault())).orElse(null);
+    }
+
+    /**
+     * Claims and fires due jobs until there are none left, on the calling thread unless the service was started.
+     *
+     * @return number of fired jobs
+     */
+    public int poll() {
+        int fired = 0;
+        try {
+            List<StoredJob> claimed;
+            do {
+                claimed = jobStore.claim(owner, System.currentTimeMillis(), leaseMillis, batchSize);
+                fired += fire(claimed);
+            } while (claimed.size() >= batchSize);
+        } catch (RuntimeException e) {
+            LOGGER.error("Error polling due jobs", e);
+        }
+        return fired;
+    }
+
+    private int fire(List<StoredJob> claimed) {
+        BoundedExecutor executor = firing;
+        List<CompletableFuture<Boolean>> firings = new ArrayList<>(claimed.size());
+        for (StoredJob job : claimed) {
+            firings.add(executor == null ? CompletableFuture.completedFuture(fire(job)) : fireAsync(job, executor));
+        }
+        int fired = 0;
+        for (CompletableFuture<Boolean> firingJob : firings) {
+            if (firingJob.join()) {
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    private CompletableFuture<Boolean> fireAsync(StoredJob job, BoundedExecutor executor) {
+        try {
+            return executor.supplyAsync(() -> fire(job)).toCompletableFuture();
+        } catch (RejectedExecutionException e) {
+            // the pool was shut down while polling, its queue holds a whole batch otherwise
+            return CompletableFuture.completedFuture(fire(job));
+        }
+    }
+
+    private boolean fire(StoredJob job) {
+        String id = job.getId();
+        int limit = job.getRepeatLimit() - 1;
+        try {
+            LOGGER.debug("Job {} started", id);
+            boolean exists = UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                KogitoProcessInstance pi = processRuntime.getProcessInstance(job.getProcessInstanceId());
+                if (pi == null) {
+                    return false;
+                }
+                pi.signalEvent("timerTriggered", TimerInstance.with(Long.parseLong(id.split("_")[1]), id, limit));
+                return true;
+            });
+            if (!exists) {
+                return missingProcessInstance(job);
+            }
+            if (limit == 0 || job.getRepeatInterval() == null) {
+                // there are no more executions, remove the job
+                jobStore.remove(id);
+            } else if (!jobStore.reschedule(job.next(), owner)) {
+                LOGGER.debug("Job {} was cancelled or claimed by other node while running", id);
+            }
+            LOGGER.debug("Job {} completed", id);
+            return true;
+        } catch (RuntimeException e) {
+            // claim is kept, so the job is retried once the lease expires
+            LOGGER.error("Error firing job {}, it will be retried after {} ms", id, leaseMillis, e);
+            return false;
+        }
+    }
+
+    private boolean missingProcessInstance(StoredJob job) {
+        if (System.currentTimeMillis() - job.getFireTime() < leaseMillis * MISSING_INSTANCE_RETRIES) {
+            // claim is kept, so the job is retried once the lease expires, the instance may just not be visible yet
+            LOGGER.debug("Process instance {} of job {} not found, it will be retried after {} ms", job.getProcessInstanceId(), job.getId(), leaseMillis);
+        } else {
+            LOGGER.warn("Process instance {} of job {} not found for {} ms, removing the job", job.getProcessInstanceId(), job.getId(), leaseMillis * MISSING_INSTANCE_RETRIES);
+            jobStore.remove(job.getId());
+        }
+        return false;
+    }
+}
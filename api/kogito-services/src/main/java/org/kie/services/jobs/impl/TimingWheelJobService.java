@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+/**
+ * In memory jobs service backed by a {@link TimingWheel}, suited for large amounts of timers as scheduling
+ * and cancelling jobs does not depend on the number of jobs already scheduled. Expired jobs are executed
+ * by a separate bounded pool so long running jobs do not delay expiration of the others.
+ * <p>
+ * Used by process runtimes without a configured jobs service when the {@value #TIMING_WHEEL_PROPERTY} system
+ * property is <code>true</code>. The wheel and its worker thread are created when the first job is scheduled.
+ */
+public class TimingWheelJobService extends InMemoryJobService {
+
+    public static final String TIMING_WHEEL_PROPERTY = "kogito.jobs.in-memory.timing-wheel";
+    public static final long DEFAULT_TICK_MILLIS = 10;
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+    public static final int DEFAULT_QUEUE_SIZE = 10_000;
+
+    private final ThreadPoolExecutor executor;
+    private final long tickMillis;
+    private final int ticksPerWheel;
+    private TimingWheel wheel;
+
+    public TimingWheelJobService(KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
+        this(Runtime.getRuntime().availableProcessors(), processRuntime, unitOfWorkManager);
+    }
+
+    public TimingWheelJobService(int threadPoolSize, KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
+        this(threadPoolSize, DEFAULT_QUEUE_SIZE, DEFAULT_TICK_MILLIS, DEFAULT_TICKS_PER_WHEEL, processRuntime, unitOfWorkManager);
+    }
+
+    public TimingWheelJobService(int threadPoolSize, int queueSize, long tickMillis, int ticksPerWheel, KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
+        super(processRuntime, unitOfWorkManager);
+        this.executor = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.tickMillis = tickMillis;
+        this.ticksPerWheel = ticksPerWheel;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(TIMING_WHEEL_PROPERTY));
+    }
+
+    private synchronized TimingWheel wheel() {
+        if (wheel == null) {
+            wheel = new TimingWheel(tickMillis, TimeUnit.MILLISECONDS, ticksPerWheel, executor);
+        }
+        return wheel;
+    }
+
+    @Override
+    protected ScheduledFuture<?> schedule(Runnable job, long delay) {
+        return wheel().schedule(job, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected ScheduledFuture<?> scheduleAtFixedRate(Runnable job, long delay, long period) {
+        return wheel().scheduleAtFixedRate(job, delay, period, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void shutdown() {
+        if (wheel != null) {
+            wheel.stop();
+        }
+        executor.shutdown();
+    }
+}
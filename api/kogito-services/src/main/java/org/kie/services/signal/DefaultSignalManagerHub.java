@@ -18,7 +18,6 @@ package org.kie.services.signal;
 import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.kogito.signal.SignalManager;
@@ -54,7 +53,7 @@ public class DefaultSignalManagerHub implements SignalManagerHub {
     public void subscribe(String type, SignalManager signalManager) {
         this.signalManagers.compute(type, (k, v) -> {
             if (v == null) {
-                v = new CopyOnWriteArraySet<>();
+                v = ConcurrentHashMap.newKeySet();
             }
             v.add(signalManager);
             return v;
@@ -65,10 +64,7 @@ public class DefaultSignalManagerHub implements SignalManagerHub {
     public void unsubscribe(String type, SignalManager signalManager) {
         this.signalManagers.computeIfPresent(type, (k, v) -> {
             v.remove(signalManager);
-            if (v.isEmpty()) {
-                signalManagers.remove(type);
-            }
-            return v;
+            return v.isEmpty() ? null : v;
         });
     }
 
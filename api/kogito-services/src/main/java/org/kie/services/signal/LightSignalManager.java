@@ -15,21 +15,33 @@
  */
 package org.kie.services.signal;
 
+import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.kie.api.runtime.process.EventListener;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.signal.SignalManagerHub;
 
+/**
+ * Signal manager keeping listeners per event type in the order they were added. Listeners are counted, the
+ * manager subscribes to the hub when the first listener of a type is added and unsubscribes once the last one
+ * is removed. A listener added several times for the same type receives each signal once.
+ * <p>
+ * Signals iterate the listeners of their type in a concurrent skip list, without locking nor copying them,
+ * while adding and removing a listener costs a lookup and a skip list update regardless of how many
+ * listeners the type has.
+ */
 public class LightSignalManager implements SignalManager {
 
     private SignalManagerHub signalManagerHub;
     private final EventListenerResolver instanceResolver;
-    private ConcurrentHashMap<String, List<EventListener>> listeners = new ConcurrentHashMap<>();
+    private ConcurrentHashMap<String, Registrations> listeners = new ConcurrentHashMap<>();
 
     public LightSignalManager(EventListenerResolver instanceResolver, SignalManagerHub signalManagerHub) {
         this.instanceResolver = instanceResolver;
@@ -39,36 +51,39 @@ public class LightSignalManager implements SignalManager {
     public void addEventListener(String type, EventListener eventListener) {
         listeners.compute(type, (k, v) -> {
             if (v == null) {
-                v = new CopyOnWriteArrayList<>();
+                v = new Registrations();
+                signalManagerHub.subscribe(type, this);
             }
             v.add(eventListener);
             return v;
         });
-        signalManagerHub.subscribe(type, this);
     }
 
     public void removeEventListener(String type, EventListener eventListener) {
         listeners.computeIfPresent(type, (k, v) -> {
-            v.remove(eventListener);
-            if (v.isEmpty()) {
-                listeners.remove(type);
+            if (v.remove(eventListener)) {
+                signalManagerHub.unsubscribe(type, this);
+                return null;
             }
             return v;
         });
-        signalManagerHub.unsubscribe(type, this);
     }
 
     public void signalEvent(String type, Object event) {
         if (!listeners.containsKey(type)) {
             if (event instanceof ProcessInstance && listeners.containsKey(((ProcessInstance) event).getProcessId())) {
-                listeners.getOrDefault(((ProcessInstance) event).getProcessId(), Collections.emptyList())
+                listeners(((ProcessInstance) event).getProcessId())
                         .forEach(e -> e.signalEvent(type, event));
                 return;
             }
             signalManagerHub.publish(type, event);
         }
-        listeners.getOrDefault(type, Collections.emptyList())
-                .forEach(e -> e.signalEvent(type, event));
+        listeners(type).forEach(e -> e.signalEvent(type, event));
+    }
+
+    private Collection<EventListener> listeners(String type) {
+        Registrations registered = listeners.get(type);
+        return registered == null ? Collections.emptyList() : registered.current();
     }
 
     public void signalEvent(String processInstanceId, String type, Object event) {
@@ -85,4 +100,50 @@ public class LightSignalManager implements SignalManager {
         return event instanceof ProcessInstance &&
                 listeners.containsKey(((ProcessInstance) event).getProcessId());
     }
+
+    /**
+     * Listeners of a type ordered by the sequence number they were first added with, and the number of times
+     * each one was added. Only modified while computing the entry of the type.
+     */
+    private static class Registrations {
+
+        private final Map<EventListener, Registration> counts = new HashMap<>();
+        private final ConcurrentSkipListMap<Long, EventListener> ordered = new ConcurrentSkipListMap<>();
+        private final AtomicLong sequence = new AtomicLong();
+
+        private void add(EventListener listener) {
+            Registration registration = counts.get(listener);
+            if (registration == null) {
+                registration = new Registration(sequence.getAndIncrement());
+                counts.put(listener, registration);
+                ordered.put(registration.sequence, listener);
+            }
+            registration.count++;
+        }
+
+        // returns whether no listener is left
+        private boolean remove(EventListener listener) {
+            Registration registration = counts.get(listener);
+            if (registration != null && --registration.count == 0) {
+                counts.remove(listener);
+                ordered.remove(registration.sequence);
+            }
+            return counts.isEmpty();
+        }
+
+        // listeners added while handling the signal do not receive it
+        private Collection<EventListener> current() {
+            return ordered.headMap(sequence.get()).values();
+        }
+    }
+
+    private static class Registration {
+
+        private final long sequence;
+        private int count;
+
+        private Registration(long sequence) {
+            this.sequence = sequence;
+        }
+    }
 }
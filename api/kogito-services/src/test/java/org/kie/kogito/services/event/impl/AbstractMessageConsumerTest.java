@@ -0,0 +1,308 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Application;
+import org.kie.kogito.Model;
+import org.kie.kogito.event.EventReceiver;
+import org.kie.kogito.event.SubscriptionInfo;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.services.event.AbstractProcessDataEvent;
+import org.kie.kogito.services.event.EventConsumer;
+import org.kie.kogito.services.event.EventConsumerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class AbstractMessageConsumerTest {
+
+    private static final int REFERENCES = 5;
+    private static final int MESSAGES_PER_REFERENCE = 20;
+
+    @Test
+    void testConsumeOnReceivingThreadWithoutWorkers() {
+        RecordingConsumer recorder = new RecordingConsumer(null);
+        TestReceiver receiver = new TestReceiver();
+        TestMessageConsumer consumer = new TestMessageConsumer();
+        consumer.init(mock(Application.class), mock(Process.class), "trigger", factory(recorder), receiver, String.class, TestEvent.class, true);
+
+        receiver.send(new TestEvent("a", 1));
+
+        assertThat(recorder.single).extracting(TestEvent::toString).containsExactly("a-1");
+        assertThat(recorder.batches).isEmpty();
+    }
+
+    @Test
+    void testBatchesKeepOrderPerReferenceId() throws Exception {
+        CountDownLatch queued = new CountDownLatch(1);
+        RecordingConsumer recorder = new RecordingConsumer(queued);
+        TestReceiver receiver = new TestReceiver();
+        TestMessageConsumer consumer = new TestMessageConsumer();
+        consumer.init(mock(Application.class), mock(Process.class), "trigger", factory(recorder), receiver, String.class, TestEvent.class, true, 2, 50);
+        ExecutorService senders = Executors.newFixedThreadPool(REFERENCES);
+        try {
+            // every sender waits for its message to be applied, so batches are formed across senders
+            for (int r = 0; r < REFERENCES; r++) {
+                String referenceId = "ref" + r;
+                senders.execute(() -> {
+                    for (int i = 0; i < MESSAGES_PER_REFERENCE; i++) {
+                        receiver.send(new TestEvent(referenceId, i));
+                    }
+                });
+            }
+            receiver.awaitReceiving(REFERENCES);
+            queued.countDown();
+            assertThat(recorder.await(REFERENCES * MESSAGES_PER_REFERENCE)).isTrue();
+
+            Map<String, List<Integer>> sequences = new HashMap<>();
+            Map<String, String> threads = new HashMap<>();
+            synchronized (recorder) {
+                for (Batch batch : recorder.batches) {
+                    for (TestEvent event : batch.events) {
+                        sequences.computeIfAbsent(event.getKogitoReferenceId(), k -> new ArrayList<>()).add(event.sequence);
+                        assertThat(threads.computeIfAbsent(event.getKogitoReferenceId(), k -> batch.thread)).isEqualTo(batch.thread);
+                    }
+                }
+                assertThat(recorder.batches).anySatisfy(batch -> assertThat(batch.events.size()).isGreaterThan(1));
+                assertThat(recorder.batches).allSatisfy(batch -> assertThat(batch.events.size()).isLessThanOrEqualTo(50));
+            }
+            assertThat(sequences).hasSize(REFERENCES);
+            sequences.values().forEach(sequence -> assertThat(sequence).hasSize(MESSAGES_PER_REFERENCE).isSorted());
+            assertThat(recorder.single).isEmpty();
+        } finally {
+            senders.shutdownNow();
+            consumer.stop();
+        }
+    }
+
+    @Test
+    void testAsyncReceiverBatchesMessagesReceivedByOneThread() throws Exception {
+        CountDownLatch queued = new CountDownLatch(1);
+        RecordingConsumer recorder = new RecordingConsumer(queued);
+        AsyncTestReceiver receiver = new AsyncTestReceiver();
+        TestMessageConsumer consumer = new TestMessageConsumer();
+        consumer.init(mock(Application.class), mock(Process.class), "trigger", factory(recorder), receiver, String.class, TestEvent.class, true, 1, 50);
+        try {
+            // a single receiving thread that does not wait for messages being applied
+            List<CompletableFuture<?>> applied = new ArrayList<>();
+            for (int i = 0; i < MESSAGES_PER_REFERENCE; i++) {
+                applied.add(receiver.send(new TestEvent("ref", i)));
+            }
+            assertThat(applied).noneMatch(CompletableFuture::isDone);
+            queued.countDown();
+            CompletableFuture.allOf(applied.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+            synchronized (recorder) {
+                assertThat(recorder.batches).anySatisfy(batch -> assertThat(batch.events.size()).isGreaterThan(1));
+                assertThat(recorder.batches).flatExtracting(batch -> batch.events).extracting(event -> event.sequence).isSorted();
+            }
+        } finally {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    void testReceivingFailsForMessageNotApplied() {
+        RecordingConsumer recorder = new RecordingConsumer(new CountDownLatch(0));
+        recorder.failing = "bad";
+        TestReceiver receiver = new TestReceiver();
+        TestMessageConsumer consumer = new TestMessageConsumer();
+        consumer.init(mock(Application.class), mock(Process.class), "trigger", factory(recorder), receiver, String.class, TestEvent.class, true, 1, 50);
+        try {
+            receiver.send(new TestEvent("good", 1));
+            assertThatThrownBy(() -> receiver.send(new TestEvent("bad", 2))).isInstanceOf(IllegalArgumentException.class);
+
+            assertThat(recorder.batches).hasSize(1);
+        } finally {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    void testStopAppliesQueuedMessages() throws Exception {
+        CountDownLatch queued = new CountDownLatch(1);
+        RecordingConsumer recorder = new RecordingConsumer(queued);
+        TestReceiver receiver = new TestReceiver();
+        TestMessageConsumer consumer = new TestMessageConsumer();
+        consumer.init(mock(Application.class), mock(Process.class), "trigger", factory(recorder), receiver, String.class, TestEvent.class, true, 1, 50);
+        CompletableFuture<Void> sent = CompletableFuture.runAsync(() -> receiver.send(new TestEvent("a", 1)));
+        receiver.awaitReceiving(1);
+        CompletableFuture<Void> stopped = CompletableFuture.runAsync(consumer::stop);
+        queued.countDown();
+
+        stopped.get(5, TimeUnit.SECONDS);
+        sent.get(5, TimeUnit.SECONDS);
+        assertThat(recorder.batches).hasSize(1);
+        assertThatThrownBy(() -> receiver.send(new TestEvent("b", 2))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static EventConsumerFactory factory(EventConsumer<?> eventConsumer) {
+        return new EventConsumerFactory() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <M extends Model, D> EventConsumer<M> get(Function<D, M> function, boolean cloudEvents) {
+                return (EventConsumer<M>) eventConsumer;
+            }
+        };
+    }
+
+    private static class Batch {
+
+        private final String thread;
+        private final List<TestEvent> events;
+
+        private Batch(String thread, List<TestEvent> events) {
+            this.thread = thread;
+            this.events = events;
+        }
+    }
+
+    private static class RecordingConsumer implements EventConsumer<Model> {
+
+        private final CountDownLatch blockFirstBatch;
+        private final List<Batch> batches = new ArrayList<>();
+        private final List<TestEvent> single = new ArrayList<>();
+        private String failing;
+        private int consumed;
+
+        private RecordingConsumer(CountDownLatch blockFirstBatch) {
+            this.blockFirstBatch = blockFirstBatch;
+        }
+
+        @Override
+        public synchronized void consume(Application application, Process<Model> process, Object payload, String trigger) {
+            fail(payload);
+            single.add((TestEvent) payload);
+        }
+
+        @Override
+        public void consumeBatch(Application application, Process<Model> process, List<?> payloads, String trigger) {
+            try {
+                // hold the workers until all messages are queued, so they are picked up in batches
+                blockFirstBatch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            payloads.forEach(this::fail);
+            List<TestEvent> events = new ArrayList<>();
+            payloads.forEach(p -> events.add((TestEvent) p));
+            synchronized (this) {
+                batches.add(new Batch(Thread.currentThread().getName(), events));
+                consumed += events.size();
+                notifyAll();
+            }
+        }
+
+        private void fail(Object payload) {
+            if (((TestEvent) payload).getKogitoReferenceId().equals(failing)) {
+                throw new IllegalArgumentException("Cannot apply " + payload);
+            }
+        }
+
+        private synchronized boolean await(int messages) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (consumed < messages && System.currentTimeMillis() < deadline) {
+                wait(100);
+            }
+            return consumed == messages;
+        }
+    }
+
+    private static class TestReceiver implements EventReceiver {
+
+        private Consumer<Object> consumer;
+        private final AtomicInteger receiving = new AtomicInteger();
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> void subscribe(Consumer<T> consumer, SubscriptionInfo<T> subscription) {
+            this.consumer = (Consumer<Object>) consumer;
+        }
+
+        private void send(Object message) {
+            receiving.incrementAndGet();
+            consumer.accept(message);
+        }
+
+        // waits for given number of messages being received, plus some time for them to be queued
+        private void awaitReceiving(int messages) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (receiving.get() < messages && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static class AsyncTestReceiver implements EventReceiver {
+
+        private Function<Object, CompletionStage<?>> consumer;
+
+        @Override
+        public <T> void subscribe(Consumer<T> consumer, SubscriptionInfo<T> subscription) {
+            throw new UnsupportedOperationException();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> void subscribeAsync(Function<T, CompletionStage<?>> consumer, SubscriptionInfo<T> subscription) {
+            this.consumer = (Function<Object, CompletionStage<?>>) (Function<?, CompletionStage<?>>) consumer;
+        }
+
+        private CompletableFuture<?> send(Object message) {
+            return consumer.apply(message).toCompletableFuture();
+        }
+    }
+
+    private static class TestEvent extends AbstractProcessDataEvent<String> {
+
+        private final int sequence;
+
+        private TestEvent(String referenceId, int sequence) {
+            this.kogitoReferenceId = referenceId;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public String toString() {
+            return kogitoReferenceId + "-" + sequence;
+        }
+    }
+
+    private static class TestMessageConsumer extends AbstractMessageConsumer<Model, String, TestEvent> {
+
+        @Override
+        protected Model eventToModel(String event) {
+            return null;
+        }
+    }
+}
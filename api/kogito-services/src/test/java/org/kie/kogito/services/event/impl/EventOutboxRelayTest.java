@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.AbstractDataEvent;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventBatch;
+import org.kie.kogito.event.EventOutbox;
+import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.OutboxEvent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventOutboxRelayTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testPublishStoresEventsInOutbox() throws Exception {
+        InMemoryOutbox outbox = new InMemoryOutbox();
+        EventPublisher publisher = mock(EventPublisher.class);
+        BaseEventManager eventManager = new BaseEventManager();
+        eventManager.addPublisher(publisher);
+        eventManager.setOutbox(outbox);
+        try {
+            TestDataEvent event = new TestDataEvent("ProcessInstanceEvent");
+            EventBatch batch = mock(EventBatch.class);
+            when(batch.events()).thenReturn(Collections.singletonList(event));
+
+            eventManager.publish(batch);
+
+            verify(publisher, never()).publish(any(DataEvent.class));
+            assertThat(outbox.stored).hasSize(1);
+            OutboxEvent stored = outbox.stored.values().iterator().next();
+            assertThat(stored.getId()).isEqualTo(event.getId());
+            assertThat(stored.getType()).isEqualTo("ProcessInstanceEvent");
+            assertThat(mapper.readTree(stored.getPayload())).isEqualTo(mapper.readTree(new DefaultEventMarshaller().marshall(event)));
+        } finally {
+            eventManager.setOutbox(null);
+        }
+    }
+
+    @Test
+    void testRelayPublishesStoredJson() throws Exception {
+        InMemoryOutbox outbox = new InMemoryOutbox();
+        TestDataEvent event = new TestDataEvent("ProcessInstanceEvent");
+        String payload = new DefaultEventMarshaller().marshall(event);
+        outbox.store(Collections.singletonList(new OutboxEvent(event.getId(), event.getType(), payload, 0L)));
+        List<DataEvent<?>> published = new ArrayList<>();
+
+        EventOutboxRelay relay = new EventOutboxRelay(outbox, published::addAll, "node1", 1000L, 60_000L, 10);
+
+        assertThat(relay.relay()).isEqualTo(1);
+        assertThat(outbox.stored).isEmpty();
+        assertThat(published).hasSize(1);
+        DataEvent<?> relayed = published.get(0);
+        assertThat(relayed.getId()).isEqualTo(event.getId());
+        assertThat(relayed.getType()).isEqualTo("ProcessInstanceEvent");
+        assertThat(relayed.getSource()).isEqualTo("/test");
+        // publishers serialize relayed events to the very same content
+        assertThat(mapper.readTree(new DefaultEventMarshaller().marshall(relayed))).isEqualTo(mapper.readTree(payload));
+    }
+
+    @Test
+    void testFailedPublishIsRetriedAfterLease() {
+        InMemoryOutbox outbox = new InMemoryOutbox();
+        outbox.store(Collections.singletonList(new OutboxEvent("1", "ProcessInstanceEvent", "{\"id\":\"1\"}", 0L)));
+        List<DataEvent<?>> published = new ArrayList<>();
+        Consumer<Collection<DataEvent<?>>> failing = events -> {
+            throw new IllegalStateException("broker down");
+        };
+
+        assertThat(new EventOutboxRelay(outbox, failing, "node1", 1000L, 60_000L, 10).relay()).isZero();
+        assertThat(outbox.stored).hasSize(1);
+
+        // still claimed by node1
+        assertThat(new EventOutboxRelay(outbox, published::addAll, "node2", 1000L, 60_000L, 10).relay()).isZero();
+        // lease expired
+        outbox.expireLeases();
+        assertThat(new EventOutboxRelay(outbox, published::addAll, "node2", 1000L, 60_000L, 10).relay()).isEqualTo(1);
+        assertThat(published).extracting(DataEvent::getId).containsExactly("1");
+        assertThat(outbox.stored).isEmpty();
+    }
+
+    @Test
+    void testRelayDrainsInBatches() {
+        InMemoryOutbox outbox = new InMemoryOutbox();
+        List<OutboxEvent> events = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            events.add(new OutboxEvent(String.valueOf(i), "ProcessInstanceEvent", "{\"id\":\"" + i + "\"}", 0L));
+        }
+        outbox.store(events);
+        List<Integer> batches = new ArrayList<>();
+        List<String> published = new ArrayList<>();
+
+        int relayed = new EventOutboxRelay(outbox, batch -> {
+            batches.add(batch.size());
+            batch.forEach(e -> published.add(e.getId()));
+        }, "node1", 1000L, 60_000L, 10).relay();
+
+        assertThat(relayed).isEqualTo(25);
+        assertThat(batches).containsExactly(10, 10, 5);
+        assertThat(published).hasSize(25).startsWith("0", "1", "2").endsWith("24");
+    }
+
+    private static class InMemoryOutbox implements EventOutbox {
+
+        private final Map<String, OutboxEvent> stored = new LinkedHashMap<>();
+        private final Map<String, Long> leases = new LinkedHashMap<>();
+
+        @Override
+        public synchronized void store(Collection<OutboxEvent> events) {
+            events.forEach(e -> stored.put(e.getId(), e));
+        }
+
+        @Override
+        public synchronized List<OutboxEvent> claim(String owner, long now, long leaseMillis, int limit) {
+            List<OutboxEvent> claimed = new ArrayList<>();
+            for (OutboxEvent event : stored.values()) {
+                if (claimed.size() == limit) {
+                    break;
+                }
+                Long lease = leases.get(event.getId());
+                if (lease == null || lease < now) {
+                    leases.put(event.getId(), now + leaseMillis);
+                    claimed.add(event);
+                }
+            }
+            return claimed;
+        }
+
+        @Override
+        public synchronized void remove(Collection<String> ids) {
+            ids.forEach(id -> {
+                stored.remove(id);
+                leases.remove(id);
+            });
+        }
+
+        synchronized void expireLeases() {
+            leases.replaceAll((id, lease) -> 0L);
+        }
+    }
+
+    private static class TestDataEvent extends AbstractDataEvent<Map<String, String>> {
+
+        TestDataEvent(String type) {
+            super(type, "/test", Collections.singletonMap("name", "value"), "pi", "rpi", "process", "rootProcess", "");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.executor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BoundedExecutorTest {
+
+    private final BoundedExecutor executor = new BoundedExecutor("test", 1, 1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void cleanup() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSupplyAndCompose() throws Exception {
+        assertThat(executor.supplyAsync(() -> Thread.currentThread().getName()).toCompletableFuture().get(5, TimeUnit.SECONDS)).startsWith("test-");
+        CompletableFuture<String> inner = new CompletableFuture<>();
+        CompletionStage<String> composed = executor.composeAsync(() -> inner);
+        inner.complete("done");
+        assertThat(composed.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(executor.getCompletedCount()).isGreaterThanOrEqualTo(1L);
+    }
+
+    @Test
+    public void testRejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.supplyAsync(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        started.await(5, TimeUnit.SECONDS);
+        CompletionStage<String> queued = executor.supplyAsync(() -> "queued");
+
+        assertThat(executor.getActiveCount()).isEqualTo(1);
+        assertThat(executor.getQueueDepth()).isEqualTo(1);
+        assertThrows(RejectedExecutionException.class, () -> executor.supplyAsync(() -> "rejected"));
+        assertThat(executor.getRejectedCount()).isEqualTo(1L);
+
+        release.countDown();
+        assertThat(queued.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+}
@@ -15,10 +15,16 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventBatch;
+import org.kie.kogito.event.EventManager;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.WorkUnit;
@@ -27,9 +33,12 @@ import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class DefaultUnitOfWorkManagerTest {
 
@@ -70,6 +79,155 @@ public class DefaultUnitOfWorkManagerTest {
         verify(listener, never()).onAfterAbortEvent(any());
     }
 
+    @Test
+    public void testUnitOfWorkInterceptedWhileEnding() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        final AtomicInteger counter = new AtomicInteger(0);
+
+        WorkUnit<AtomicInteger> flushWork = WorkUnit.create(counter, (d) -> d.addAndGet(10));
+        WorkUnit<AtomicInteger> dummyWork = WorkUnit.create(counter, (d) -> {
+            d.incrementAndGet();
+            unit.intercept(flushWork);
+        });
+        unit.start();
+        unit.intercept(dummyWork);
+        unit.end();
+
+        assertThat(counter.get()).isEqualTo(11);
+    }
+
+    @Test
+    public void testUnitOfWorkStartEndAsync() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        final AtomicInteger counter = new AtomicInteger(0);
+        CompletableFuture<Void> pendingWrite = new CompletableFuture<>();
+
+        WorkUnit<AtomicInteger> asyncWork = new WorkUnit<AtomicInteger>() {
+
+            @Override
+            public AtomicInteger data() {
+                return counter;
+            }
+
+            @Override
+            public void perform() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletionStage<Void> performAsync() {
+                return pendingWrite.thenRun(counter::incrementAndGet);
+            }
+        };
+        WorkUnit<AtomicInteger> syncWork = WorkUnit.create(counter, (d) -> d.addAndGet(10));
+        unit.start();
+        unit.intercept(asyncWork);
+        unit.intercept(syncWork);
+        CompletableFuture<Void> ended = unit.endAsync().toCompletableFuture();
+
+        // unit is released from the calling thread right away, work waits for the async one
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(PassThroughUnitOfWork.class);
+        assertThat(ended).isNotDone();
+        assertThat(counter.get()).isEqualTo(0);
+
+        pendingWrite.complete(null);
+        assertThat(ended).isCompleted();
+        assertThat(counter.get()).isEqualTo(11);
+        verify(listener).onAfterEndEvent(any());
+    }
+
+    @Test
+    public void testUnitOfWorkEndAsyncContinuesOnExecutor() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        final AtomicInteger counter = new AtomicInteger(0);
+        final List<Runnable> handedOver = new ArrayList<>();
+        CompletableFuture<Void> pendingWrite = new CompletableFuture<>();
+
+        WorkUnit<AtomicInteger> syncWork = WorkUnit.create(counter, (d) -> d.addAndGet(10));
+        WorkUnit<AtomicInteger> asyncWork = new WorkUnit<AtomicInteger>() {
+
+            @Override
+            public AtomicInteger data() {
+                return counter;
+            }
+
+            @Override
+            public void perform() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletionStage<Void> performAsync() {
+                return pendingWrite.thenRun(counter::incrementAndGet);
+            }
+        };
+        WorkUnit<AtomicInteger> lastWork = WorkUnit.create(counter, (d) -> d.addAndGet(100));
+        unit.start();
+        unit.intercept(syncWork);
+        unit.intercept(asyncWork);
+        unit.intercept(lastWork);
+        CompletableFuture<Void> ended = unit.endAsync(handedOver::add).toCompletableFuture();
+
+        // work performed synchronously goes on with the caller, nothing handed over yet
+        assertThat(counter.get()).isEqualTo(10);
+        assertThat(handedOver).isEmpty();
+
+        pendingWrite.complete(null);
+        assertThat(ended).isNotDone();
+        assertThat(handedOver).hasSize(1);
+
+        handedOver.get(0).run();
+        assertThat(ended).isCompleted();
+        assertThat(counter.get()).isEqualTo(111);
+    }
+
+    @Test
+    public void testUnitOfWorkEndAsyncFailed() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        final AtomicInteger counter = new AtomicInteger(0);
+        CompletableFuture<Void> failedWrite = new CompletableFuture<>();
+        failedWrite.completeExceptionally(new IllegalStateException("conflict"));
+
+        WorkUnit<AtomicInteger> asyncWork = new WorkUnit<AtomicInteger>() {
+
+            @Override
+            public AtomicInteger data() {
+                return counter;
+            }
+
+            @Override
+            public void perform() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletionStage<Void> performAsync() {
+                return failedWrite;
+            }
+
+            @Override
+            public void abort() {
+                counter.decrementAndGet();
+            }
+        };
+        CompletableFuture<Integer> result = UnitOfWorkExecutor.executeInUnitOfWorkAsync(unitOfWorkManager, () -> {
+            unitOfWorkManager.currentUnitOfWork().intercept(asyncWork);
+            return 1;
+        }).toCompletableFuture();
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(counter.get()).isEqualTo(-1);
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(PassThroughUnitOfWork.class);
+    }
+
     @Test
     public void testUnitOfWorkStartAbort() {
 
@@ -146,4 +304,30 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter.get()).isEqualTo(1);
         assertThat(picounter.get()).isEqualTo(0);
     }
+
+    @Test
+    public void testEventsStoredInOutboxBeforeFlushingWrites() {
+
+        EventManager eventManager = mock(EventManager.class);
+        when(eventManager.isOutbox()).thenReturn(true);
+        when(eventManager.newBatch()).thenReturn(mock(EventBatch.class));
+        List<Object> performed = new ArrayList<>();
+        doAnswer(invocation -> performed.add("events")).when(eventManager).publish(any());
+
+        UnitOfWork unit = new CollectingUnitOfWork(eventManager);
+        unit.start();
+        unit.intercept(new BaseWorkUnit("flush", performed::add) {
+
+            @Override
+            public Integer priority() {
+                return CollectingUnitOfWork.OUTBOX_PRIORITY + 50;
+            }
+        });
+        unit.intercept(new BaseWorkUnit("process", performed::add));
+        unit.end();
+
+        // events are published exactly once, as work of the unit between producing them and flushing the writes
+        assertThat(performed).containsExactly("process", "events", "flush");
+        verify(eventManager, times(1)).publish(any());
+    }
 }
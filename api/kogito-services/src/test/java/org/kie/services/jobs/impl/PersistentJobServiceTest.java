@@ -0,0 +1,272 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.StoredJob;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.timer.TimerInstance;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PersistentJobServiceTest {
+
+    private static final String PROCESS_INSTANCE_ID = "pi";
+
+    private final KogitoProcessRuntime processRuntime = mock(KogitoProcessRuntime.class);
+    private final KogitoProcessInstance processInstance = mock(KogitoProcessInstance.class);
+    private final UnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+    private MapJobStore store;
+    private PersistentJobService jobService;
+
+    @BeforeEach
+    void setup() {
+        when(processRuntime.getProcessInstance(PROCESS_INSTANCE_ID)).thenReturn(processInstance);
+        store = new MapJobStore();
+        jobService = new PersistentJobService(processRuntime, unitOfWorkManager, store, "node1", 1000, 60_000, 2);
+    }
+
+    @Test
+    void testFireOnce() {
+        String id = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(3, DurationExpirationTime.now(), PROCESS_INSTANCE_ID, "process"));
+        assertThat(store.find(id)).isPresent();
+        assertThat(jobService.getScheduledTime(id)).isNotNull();
+
+        assertThat(jobService.poll()).isEqualTo(1);
+
+        ArgumentCaptor<TimerInstance> timer = ArgumentCaptor.forClass(TimerInstance.class);
+        verify(processInstance).signalEvent(eq("timerTriggered"), timer.capture());
+        assertThat(timer.getValue().getTimerId()).isEqualTo(3);
+        assertThat(timer.getValue().getId()).isEqualTo(id);
+        assertThat(timer.getValue().getRepeatLimit()).isZero();
+        assertThat(store.find(id)).isEmpty();
+    }
+
+    @Test
+    void testFireInBatches() {
+        for (int i = 0; i < 5; i++) {
+            jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(i, DurationExpirationTime.now(), PROCESS_INSTANCE_ID, "process"));
+        }
+        jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(9, DurationExpirationTime.after(60_000), PROCESS_INSTANCE_ID, "process"));
+
+        assertThat(jobService.poll()).isEqualTo(5);
+        assertThat(store.claims).isEqualTo(3);
+        verify(processInstance, times(5)).signalEvent(eq("timerTriggered"), any());
+        assertThat(store.jobs).hasSize(1);
+    }
+
+    @Test
+    void testRepeatUntilLimit() {
+        String id = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.repeat(0, 0L, 2), PROCESS_INSTANCE_ID, "process"));
+
+        assertThat(jobService.poll()).isEqualTo(1);
+        assertThat(store.find(id)).hasValueSatisfying(job -> assertThat(job.getRepeatLimit()).isEqualTo(1));
+        assertThat(jobService.poll()).isEqualTo(1);
+        verify(processInstance, times(2)).signalEvent(eq("timerTriggered"), any());
+        assertThat(store.find(id)).isEmpty();
+    }
+
+    @Test
+    void testRepeatReschedules() {
+        String id = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.repeat(0, 60_000L), PROCESS_INSTANCE_ID, "process"));
+        long firstFireTime = store.find(id).get().getFireTime();
+
+        assertThat(jobService.poll()).isEqualTo(1);
+        StoredJob next = store.find(id).get();
+        assertThat(next.getFireTime()).isEqualTo(firstFireTime + 60_000L);
+        assertThat(next.getOwner()).isNull();
+        assertThat(next.getRepeatLimit()).isNegative();
+    }
+
+    @Test
+    void testLeasedJobsAreSkipped() {
+        long now = System.currentTimeMillis();
+        store.store(new StoredJob("a_1", PROCESS_INSTANCE_ID, "process", now, null, 1, "node2", now + 60_000));
+        store.store(new StoredJob("b_1", PROCESS_INSTANCE_ID, "process", now, null, 1, "node2", now - 1));
+
+        assertThat(jobService.poll()).isEqualTo(1);
+        assertThat(store.find("a_1")).isPresent();
+        assertThat(store.find("b_1")).isEmpty();
+    }
+
+    @Test
+    void testMissingProcessInstanceRetried() {
+        String id = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.repeat(0, 1000L), "missing", "process"));
+
+        assertThat(jobService.poll()).isZero();
+        verify(processInstance, never()).signalEvent(any(), any());
+        assertThat(store.find(id)).hasValueSatisfying(job -> assertThat(job.getOwner()).isEqualTo("node1"));
+    }
+
+    @Test
+    void testMissingProcessInstanceRemovedOnceOverdue() {
+        long fireTime = System.currentTimeMillis() - 60_000L * PersistentJobService.MISSING_INSTANCE_RETRIES;
+        store.store(new StoredJob("a_1", "missing", "process", fireTime, null, 1));
+
+        assertThat(jobService.poll()).isZero();
+        assertThat(store.find("a_1")).isEmpty();
+    }
+
+    @Test
+    void testStoredWhenUnitOfWorkEnds() {
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        String id = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(60_000), PROCESS_INSTANCE_ID, "process"));
+        assertThat(store.find(id)).isEmpty();
+        unitOfWork.end();
+
+        assertThat(store.find(id)).isPresent();
+    }
+
+    @Test
+    void testNotStoredWhenUnitOfWorkAborted() {
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        String id = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(60_000), PROCESS_INSTANCE_ID, "process"));
+        unitOfWork.abort();
+
+        assertThat(store.find(id)).isEmpty();
+        assertThat(jobService.cancelJob(id)).isFalse();
+    }
+
+    @Test
+    void testCancelScheduledInSameUnitOfWork() {
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        String id = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(60_000), PROCESS_INSTANCE_ID, "process"));
+        assertThat(jobService.cancelJob(id)).isTrue();
+        unitOfWork.end();
+
+        assertThat(store.find(id)).isEmpty();
+    }
+
+    @Test
+    void testFailedJobKeepsClaim() {
+        when(processRuntime.getProcessInstance(PROCESS_INSTANCE_ID)).thenThrow(new IllegalStateException("test"));
+        String id = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.now(), PROCESS_INSTANCE_ID, "process"));
+
+        assertThat(jobService.poll()).isZero();
+        assertThat(store.find(id)).hasValueSatisfying(job -> assertThat(job.getOwner()).isEqualTo("node1"));
+    }
+
+    @Test
+    void testCancel() {
+        String id = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(60_000), PROCESS_INSTANCE_ID, "process"));
+
+        assertThat(jobService.cancelJob(id)).isTrue();
+        assertThat(jobService.cancelJob(id)).isFalse();
+        assertThat(jobService.getScheduledTime(id)).isNull();
+    }
+
+    @Test
+    void testStartedServiceFiresBatchConcurrently() throws Exception {
+        CountDownLatch firing = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            // only released when both jobs of the batch are fired at the same time
+            firing.countDown();
+            assertThat(firing.await(5, TimeUnit.SECONDS)).isTrue();
+            return null;
+        }).when(processInstance).signalEvent(eq("timerTriggered"), any());
+        jobService = new PersistentJobService(processRuntime, unitOfWorkManager, store, "node1", 1000, 60_000, 2, 2);
+        for (int i = 0; i < 2; i++) {
+            jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(i, DurationExpirationTime.now(), PROCESS_INSTANCE_ID, "process"));
+        }
+
+        jobService.start();
+        try {
+            assertThat(firing.await(5, TimeUnit.SECONDS)).isTrue();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!store.jobs.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(store.jobs).isEmpty();
+        } finally {
+            jobService.shutdown();
+        }
+    }
+
+    private static class MapJobStore implements JobStore {
+
+        private final Map<String, StoredJob> jobs = new ConcurrentHashMap<>();
+        private int claims;
+
+        @Override
+        public void store(StoredJob job) {
+            jobs.put(job.getId(), job);
+        }
+
+        @Override
+        public Optional<StoredJob> find(String id) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+
+        @Override
+        public boolean remove(String id) {
+            return jobs.remove(id) != null;
+        }
+
+        @Override
+        public synchronized List<StoredJob> claim(String owner, long now, long leaseMillis, int limit) {
+            claims++;
+            List<StoredJob> claimed = new ArrayList<>();
+            for (StoredJob job : jobs.values().stream().filter(j -> j.isClaimable(now)).sorted(Comparator.comparingLong(StoredJob::getFireTime)).limit(limit)
+                    .collect(Collectors.toList())) {
+                StoredJob claimedJob = job.claimed(owner, now + leaseMillis);
+                jobs.put(job.getId(), claimedJob);
+                claimed.add(claimedJob);
+            }
+            return claimed;
+        }
+
+        @Override
+        public synchronized boolean reschedule(StoredJob job, String owner) {
+            StoredJob current = jobs.get(job.getId());
+            if (current == null || !owner.equals(current.getOwner())) {
+                return false;
+            }
+            jobs.put(job.getId(), job);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private ExecutorService executor;
+    private TimingWheel wheel;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newFixedThreadPool(2);
+        // small wheel so that delays span several rounds
+        wheel = new TimingWheel(5, TimeUnit.MILLISECONDS, 8, executor);
+    }
+
+    @AfterEach
+    void cleanup() {
+        wheel.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testScheduleFiresNotBeforeDelay() throws Exception {
+        long start = System.nanoTime();
+        CountDownLatch latch = new CountDownLatch(1);
+        ScheduledFuture<?> future = wheel.schedule(latch::countDown, 120, TimeUnit.MILLISECONDS);
+        assertThat(future.getDelay(TimeUnit.MILLISECONDS)).isPositive();
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(120);
+        future.get(1, TimeUnit.SECONDS);
+        assertThat(future.isDone()).isTrue();
+        assertThat(future.isCancelled()).isFalse();
+    }
+
+    @Test
+    void testCancel() throws Exception {
+        AtomicInteger fired = new AtomicInteger();
+        ScheduledFuture<?> cancelled = wheel.schedule(fired::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        CountDownLatch latch = new CountDownLatch(1);
+        wheel.schedule(latch::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertThat(cancelled.cancel(false)).isTrue();
+        assertThat(cancelled.isCancelled()).isTrue();
+        assertThat(cancelled.cancel(false)).isFalse();
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).hasValue(0);
+    }
+
+    @Test
+    void testFixedRate() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        ScheduledFuture<?> future = wheel.scheduleAtFixedRate(latch::countDown, 10, 30, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(future.isDone()).isFalse();
+        assertThat(future.cancel(false)).isTrue();
+        assertThat(future.isDone()).isTrue();
+    }
+
+    @Test
+    void testManyTimersInOrder() throws Exception {
+        int count = 1000;
+        CountDownLatch latch = new CountDownLatch(count);
+        AtomicInteger outOfOrder = new AtomicInteger();
+        AtomicInteger lastDelay = new AtomicInteger();
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        TimingWheel ordered = new TimingWheel(5, TimeUnit.MILLISECONDS, 8, single);
+        try {
+            for (int i = count - 1; i >= 0; i--) {
+                int delay = (i % 5) * 60;
+                ordered.schedule(() -> {
+                    if (lastDelay.getAndSet(delay) > delay) {
+                        outOfOrder.incrementAndGet();
+                    }
+                    latch.countDown();
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(outOfOrder).hasValue(0);
+        } finally {
+            ordered.stop();
+            single.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.signal;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.runtime.process.EventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures signal fan-out and listener churn of {@link LightSignalManager}, the way process instances
+ * register and remove themselves when entering and leaving wait states.
+ * <p>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.kie.services.signal.LightSignalManagerBenchmark</code>
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LightSignalManagerBenchmark {
+
+    @Param({ "10", "1000" })
+    private int listenersPerType;
+
+    private LightSignalManager signalManager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        signalManager = new LightSignalManager(id -> Optional.empty(), new DefaultSignalManagerHub());
+        for (int i = 0; i < listenersPerType; i++) {
+            signalManager.addEventListener("fanout", new NoopListener());
+            signalManager.addEventListener("churn", new NoopListener());
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void fanOut(Blackhole blackhole) {
+        signalManager.signalEvent("fanout", blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void churn() {
+        EventListener listener = new NoopListener();
+        signalManager.addEventListener("churn", listener);
+        signalManager.removeEventListener("churn", listener);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void churnOwnType() {
+        EventListener listener = new NoopListener();
+        String type = "type-" + Thread.currentThread().getId();
+        signalManager.addEventListener(type, listener);
+        signalManager.removeEventListener(type, listener);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LightSignalManagerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static class NoopListener implements EventListener {
+
+        @Override
+        public void signalEvent(String type, Object event) {
+            ((Blackhole) event).consume(type);
+        }
+
+        @Override
+        public String[] getEventTypes() {
+            return new String[0];
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.signal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.process.EventListener;
+import org.kie.kogito.signal.SignalManagerHub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class LightSignalManagerTest {
+
+    private final SignalManagerHub hub = mock(SignalManagerHub.class);
+    private final LightSignalManager signalManager = new LightSignalManager(id -> Optional.empty(), hub);
+
+    @Test
+    void testHubSubscriptionIsReferenceCounted() {
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+
+        signalManager.addEventListener("type", first);
+        signalManager.addEventListener("type", second);
+        verify(hub, times(1)).subscribe("type", signalManager);
+
+        signalManager.removeEventListener("type", first);
+        verify(hub, never()).unsubscribe(any(), any());
+        assertThat(signalManager.accept("type", null)).isTrue();
+
+        signalManager.removeEventListener("type", second);
+        verify(hub).unsubscribe("type", signalManager);
+        assertThat(signalManager.accept("type", null)).isFalse();
+
+        // removing unknown listener is ignored
+        signalManager.removeEventListener("type", second);
+        verify(hub, times(1)).unsubscribe("type", signalManager);
+    }
+
+    @Test
+    void testListenerAddedTwiceNeedsTwoRemovals() {
+        RecordingListener listener = new RecordingListener();
+        signalManager.addEventListener("type", listener);
+        signalManager.addEventListener("type", listener);
+
+        signalManager.signalEvent("type", "data");
+        assertThat(listener.received).containsExactly("data");
+
+        signalManager.removeEventListener("type", listener);
+        signalManager.signalEvent("type", "data2");
+        assertThat(listener.received).containsExactly("data", "data2");
+
+        signalManager.removeEventListener("type", listener);
+        signalManager.signalEvent("type", "data3");
+        assertThat(listener.received).containsExactly("data", "data2");
+        verify(hub).publish("type", "data3");
+    }
+
+    @Test
+    void testListenersSignalledInOrderAddedWithoutDuplicates() {
+        List<String> signalled = new ArrayList<>();
+        List<EventListener> added = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String name = "listener" + i;
+            added.add(new RecordingListener() {
+                @Override
+                public void signalEvent(String type, Object event) {
+                    signalled.add(name);
+                }
+            });
+        }
+        added.forEach(listener -> signalManager.addEventListener("type", listener));
+        // registered again, delivered only once and at its original position
+        signalManager.addEventListener("type", added.get(0));
+
+        signalManager.signalEvent("type", "data");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            expected.add("listener" + i);
+        }
+        assertThat(signalled).isEqualTo(expected);
+    }
+
+    @Test
+    void testListenerAddedWhileSignallingIsNotSignalled() {
+        RecordingListener added = new RecordingListener();
+        RecordingListener adding = new RecordingListener() {
+            @Override
+            public void signalEvent(String type, Object event) {
+                super.signalEvent(type, event);
+                signalManager.addEventListener(type, added);
+            }
+        };
+        signalManager.addEventListener("type", adding);
+
+        signalManager.signalEvent("type", "data");
+        assertThat(adding.received).containsExactly("data");
+        assertThat(added.received).isEmpty();
+        verify(hub, never()).publish(eq("type"), any());
+    }
+
+    private static class RecordingListener implements EventListener {
+
+        private final List<Object> received = new ArrayList<>();
+
+        @Override
+        public void signalEvent(String type, Object event) {
+            received.add(event);
+        }
+
+        @Override
+        public String[] getEventTypes() {
+            return new String[0];
+        }
+    }
+}
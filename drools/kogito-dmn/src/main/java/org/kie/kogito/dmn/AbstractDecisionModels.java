@@ -16,6 +16,8 @@
 package org.kie.kogito.dmn;
 
 import java.io.Reader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -36,6 +38,8 @@ public abstract class AbstractDecisionModels implements DecisionModels {
     private static ExecutionIdSupplier execIdSupplier = null;
     private static BiFunction<DecisionModel, KogitoGAV, DecisionModel> decisionModelTransformer = null;
     private KogitoGAV gav = KogitoGAV.EMPTY_GAV;
+    // resolved and transformed models, by namespace and then by name, for the current GAV
+    private final Map<String, Map<String, DecisionModel>> decisionModels = new ConcurrentHashMap<>();
 
     protected static void init(Function<String, KieRuntimeFactory> sKieRuntimeFactoryFunction,
             ExecutionIdSupplier executionIdSupplier,
@@ -49,6 +53,16 @@ public abstract class AbstractDecisionModels implements DecisionModels {
     }
 
     public DecisionModel getDecisionModel(String namespace, String name) {
+        Map<String, DecisionModel> byName = decisionModels.get(namespace);
+        DecisionModel model = byName != null ? byName.get(name) : null;
+        if (model == null) {
+            model = decisionModels.computeIfAbsent(namespace, ns -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(name, n -> createDecisionModel(namespace, n));
+        }
+        return model;
+    }
+
+    protected DecisionModel createDecisionModel(String namespace, String name) {
         DecisionModel model = new DmnDecisionModel(dmnRuntime, namespace, name, execIdSupplier);
         return decisionModelTransformer == null
                 ? model
@@ -66,6 +80,7 @@ public abstract class AbstractDecisionModels implements DecisionModels {
     protected void initApplication(Application app) {
         app.config().get(DecisionConfig.class).decisionEventListeners().listeners().forEach(dmnRuntime::addListener);
         gav = app.config().get(ConfigBean.class).getGav().orElse(KogitoGAV.EMPTY_GAV);
+        decisionModels.clear();
     }
 
     protected static java.io.InputStreamReader readResource(java.io.InputStream stream) {
@@ -16,6 +16,7 @@
 package org.kie.kogito.dmn;
 
 import java.io.Reader;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -34,6 +35,7 @@ import org.slf4j.LoggerFactory;
 public final class DMNKogitoCallbacks {
 
     private static final Logger LOG = LoggerFactory.getLogger(DMNKogitoCallbacks.class);
+    private static long initStartNanos;
 
     private DMNKogitoCallbacks() {
         // intentionally private.
@@ -59,6 +61,7 @@ public final class DMNKogitoCallbacks {
             ExecutionIdSupplier executionIdSupplier,
             BiFunction<DecisionModel, KogitoGAV, DecisionModel> decisionModelTransformerInit,
             Reader[] readers) {
+        initStartNanos = System.nanoTime();
         if (isGraalVMNIRuntime()) {
             LOG.warn("AbstractDecisionModels.init() called.");
         } else {
@@ -67,10 +70,11 @@ public final class DMNKogitoCallbacks {
     }
 
     public static void afterAbstractDecisionModelsInit(DMNRuntime dmnRuntime) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - initStartNanos);
         if (isGraalVMNIRuntime()) {
-            LOG.warn("AbstractDecisionModels.init() done.");
+            LOG.warn("AbstractDecisionModels.init() done in {} ms.", elapsedMillis);
         } else {
-            LOG.debug("AbstractDecisionModels.init() done.");
+            LOG.debug("AbstractDecisionModels.init() done in {} ms.", elapsedMillis);
         }
     }
 
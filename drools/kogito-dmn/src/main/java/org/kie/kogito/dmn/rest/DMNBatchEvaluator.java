@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.dmn.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.kogito.decision.DecisionModel;
+import org.kie.kogito.services.executor.BoundedExecutor;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Internal Utility class.<br/>
+ * Used by generated/scaffolded code to evaluate a batch of inputs against the same decision model.
+ * <p>
+ * Inputs are read one at a time either from a JSON array or from a stream of JSON objects (NDJSON), and the results
+ * are written as NDJSON in input order, one line per input: <code>{"index":0,"result":{...}}</code>, or
+ * <code>{"index":0,"error":"..."}</code> when that input could not be evaluated. Malformed JSON ends the batch
+ * with an error line, after the results of the inputs read before it.
+ * <p>
+ * Parallel evaluations run on a {@link BoundedExecutor}, shared by all batches unless one is given. The number of
+ * inputs evaluated ahead of the next result to be written is capped by the number of threads of that executor,
+ * and inputs the executor rejects because it is saturated are evaluated on the calling thread instead.
+ */
+public class DMNBatchEvaluator {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final int MAX_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final int FLUSH_INTERVAL = 32;
+
+    private final DecisionModel decision;
+    private final ObjectMapper mapper;
+    private final ObjectWriter resultWriter;
+    private final BoundedExecutor executor;
+    private final int parallelism;
+
+    public DMNBatchEvaluator(DecisionModel decision, ObjectMapper mapper) {
+        this(decision, mapper, SharedExecutor.INSTANCE, MAX_PARALLELISM);
+    }
+
+    /**
+     * @param parallelism maximum number of inputs evaluated in parallel ahead of the next result to be written,
+     *        should not exceed the number of threads of the executor
+     */
+    public DMNBatchEvaluator(DecisionModel decision, ObjectMapper mapper, BoundedExecutor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+        }
+        this.decision = decision;
+        this.mapper = mapper;
+        this.resultWriter = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    public void evaluate(InputStream inputs, OutputStream output, boolean parallel) throws IOException {
+        Deque<CompletableFuture<BatchItem>> pending = new ArrayDeque<>();
+        int index = 0;
+        try (MappingIterator<Object> iterator = mapper.readerFor(Object.class).readValues(inputs);
+                JsonGenerator generator = mapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            try {
+                while (iterator.hasNextValue()) {
+                    Object input = iterator.nextValue();
+                    pending.add(submit(index++, input, parallel));
+                    while (pending.size() >= (parallel ? parallelism : 1)) {
+                        write(generator, pending.poll());
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                drain(generator, pending);
+                write(generator, BatchItem.failed(index, "Malformed input: " + e.getOriginalMessage()));
+                return;
+            }
+            drain(generator, pending);
+        }
+    }
+
+    private CompletableFuture<BatchItem> submit(int index, Object input, boolean parallel) {
+        if (parallel) {
+            try {
+                return executor.supplyAsync(() -> evaluate(index, input)).toCompletableFuture();
+            } catch (RejectedExecutionException e) {
+                // saturated by other requests, the caller does the work itself which also slows down reading inputs
+            }
+        }
+        return CompletableFuture.completedFuture(evaluate(index, input));
+    }
+
+    @SuppressWarnings("unchecked")
+    private BatchItem evaluate(int index, Object input) {
+        if (!(input instanceof Map)) {
+            return BatchItem.failed(index, "Input must be a JSON object");
+        }
+        try {
+            DMNResult result = decision.evaluateAll(DMNJSONUtils.ctx(decision, (Map<String, Object>) input));
+            DMNModel model = decision.getDMNModel();
+            return BatchItem.evaluated(index, new KogitoDMNResult(model.getNamespace(), model.getName(), result));
+        } catch (RuntimeException e) {
+            return BatchItem.failed(index, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        }
+    }
+
+    private void drain(JsonGenerator generator, Deque<CompletableFuture<BatchItem>> pending) throws IOException {
+        while (!pending.isEmpty()) {
+            write(generator, pending.poll());
+        }
+    }
+
+    private void write(JsonGenerator generator, CompletableFuture<BatchItem> item) throws IOException {
+        try {
+            write(generator, item.join());
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Batch evaluation failed", e.getCause());
+        }
+    }
+
+    private void write(JsonGenerator generator, BatchItem item) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", item.index);
+        if (item.result != null) {
+            generator.writeFieldName("result");
+            resultWriter.writeValue(generator, item.result);
+        } else {
+            generator.writeStringField("error", item.error);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        if ((item.index + 1) % FLUSH_INTERVAL == 0) {
+            generator.flush();
+        }
+    }
+
+    // created on first use of the default constructor, its threads time out when batches are idle
+    private static class SharedExecutor {
+
+        private static final BoundedExecutor INSTANCE = new BoundedExecutor("kogito-dmn-batch", MAX_PARALLELISM, MAX_PARALLELISM * 4);
+    }
+
+    private static class BatchItem {
+
+        private final int index;
+        private final KogitoDMNResult result;
+        private final String error;
+
+        private BatchItem(int index, KogitoDMNResult result, String error) {
+            this.index = index;
+            this.result = result;
+            this.error = error;
+        }
+
+        static BatchItem evaluated(int index, KogitoDMNResult result) {
+            return new BatchItem(index, result, null);
+        }
+
+        static BatchItem failed(int index, String error) {
+            return new BatchItem(index, null, error);
+        }
+    }
+}
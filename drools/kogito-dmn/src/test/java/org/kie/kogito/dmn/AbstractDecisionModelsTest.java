@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.dmn;
+
+import java.io.InputStreamReader;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.decision.DecisionModel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class AbstractDecisionModelsTest {
+
+    private static final String TRAFFIC_VIOLATION_NS = "https://github.com/kiegroup/drools/kie-dmn/_A4BCA8B8-CF08-433F-93B2-A2598F19ECFF";
+    private static final String TRAFFIC_VIOLATION_NAME = "Traffic Violation";
+
+    private static final AtomicInteger transformations = new AtomicInteger();
+
+    static class TestDecisionModels extends AbstractDecisionModels {
+
+        static void init() {
+            init(null,
+                    null,
+                    (model, gav) -> {
+                        transformations.incrementAndGet();
+                        return model;
+                    },
+                    new InputStreamReader(AbstractDecisionModelsTest.class.getResourceAsStream("TrafficViolation.dmn")));
+        }
+    }
+
+    @BeforeAll
+    public static void setup() {
+        TestDecisionModels.init();
+    }
+
+    @Test
+    public void testDecisionModelIsResolvedOnce() {
+        TestDecisionModels decisionModels = new TestDecisionModels();
+        int before = transformations.get();
+
+        DecisionModel first = decisionModels.getDecisionModel(TRAFFIC_VIOLATION_NS, TRAFFIC_VIOLATION_NAME);
+        DecisionModel second = decisionModels.getDecisionModel(TRAFFIC_VIOLATION_NS, TRAFFIC_VIOLATION_NAME);
+
+        assertThat(first).isSameAs(second);
+        assertThat(first.getDMNModel().getName()).isEqualTo(TRAFFIC_VIOLATION_NAME);
+        assertThat(transformations.get() - before).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnknownDecisionModelIsNotCached() {
+        TestDecisionModels decisionModels = new TestDecisionModels();
+
+        assertThatIllegalStateException().isThrownBy(() -> decisionModels.getDecisionModel(TRAFFIC_VIOLATION_NS, "Unknown"));
+        assertThatIllegalStateException().isThrownBy(() -> decisionModels.getDecisionModel(TRAFFIC_VIOLATION_NS, "Unknown"));
+    }
+}
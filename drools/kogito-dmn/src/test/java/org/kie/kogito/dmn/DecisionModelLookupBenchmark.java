@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.dmn;
+
+import java.io.InputStreamReader;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.FEELPropertyAccessible;
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.decision.DecisionModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the per request lookup of a decision model done by the generated REST resources,
+ * comparing the cached {@link AbstractDecisionModels#getDecisionModel(String, String)} with resolving
+ * and transforming the model on every request.
+ * <p>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.kie.kogito.dmn.DecisionModelLookupBenchmark</code>
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecisionModelLookupBenchmark {
+
+    private static final String TRAFFIC_VIOLATION_NS = "https://github.com/kiegroup/drools/kie-dmn/_A4BCA8B8-CF08-433F-93B2-A2598F19ECFF";
+    private static final String TRAFFIC_VIOLATION_NAME = "Traffic Violation";
+
+    static class BenchmarkDecisionModels extends AbstractDecisionModels {
+
+        static void init() {
+            init(null,
+                    null,
+                    WrappedDecisionModel::new,
+                    new InputStreamReader(DecisionModelLookupBenchmark.class.getResourceAsStream("TrafficViolation.dmn")));
+        }
+    }
+
+    /**
+     * Stands for a decorating transformer, like the monitoring one.
+     */
+    static class WrappedDecisionModel implements DecisionModel {
+
+        private final DecisionModel delegate;
+
+        WrappedDecisionModel(DecisionModel delegate, KogitoGAV gav) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public DMNContext newContext(Map<String, Object> inputSet) {
+            return delegate.newContext(inputSet);
+        }
+
+        @Override
+        public DMNContext newContext(FEELPropertyAccessible inputSet) {
+            return delegate.newContext(inputSet);
+        }
+
+        @Override
+        public DMNResult evaluateAll(DMNContext context) {
+            return delegate.evaluateAll(context);
+        }
+
+        @Override
+        public DMNResult evaluateDecisionService(DMNContext context, String decisionServiceName) {
+            return delegate.evaluateDecisionService(context, decisionServiceName);
+        }
+
+        @Override
+        public DMNModel getDMNModel() {
+            return delegate.getDMNModel();
+        }
+    }
+
+    private BenchmarkDecisionModels decisionModels;
+
+    @Setup
+    public void setup() {
+        BenchmarkDecisionModels.init();
+        decisionModels = new BenchmarkDecisionModels();
+    }
+
+    @Benchmark
+    public DecisionModel cached() {
+        return decisionModels.getDecisionModel(TRAFFIC_VIOLATION_NS, TRAFFIC_VIOLATION_NAME);
+    }
+
+    @Benchmark
+    public DecisionModel resolvedOnEachRequest() {
+        return decisionModels.createDecisionModel(TRAFFIC_VIOLATION_NS, TRAFFIC_VIOLATION_NAME);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DecisionModelLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
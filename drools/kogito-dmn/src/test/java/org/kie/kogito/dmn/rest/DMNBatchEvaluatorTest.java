@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.dmn.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.kogito.decision.DecisionModel;
+import org.kie.kogito.dmn.DMNKogito;
+import org.kie.kogito.dmn.DMNKogitoTest;
+import org.kie.kogito.dmn.DmnDecisionModel;
+import org.kie.kogito.services.executor.BoundedExecutor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DMNBatchEvaluatorTest {
+
+    private static final String TRAFFIC_VIOLATION_NS = "https://github.com/kiegroup/drools/kie-dmn/_A4BCA8B8-CF08-433F-93B2-A2598F19ECFF";
+    private static final String TRAFFIC_VIOLATION_NAME = "Traffic Violation";
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static DecisionModel decision;
+
+    @BeforeAll
+    public static void setup() {
+        DMNRuntime dmnRuntime = DMNKogito.createGenericDMNRuntime(new InputStreamReader(DMNKogitoTest.class.getResourceAsStream("TrafficViolation.dmn")));
+        decision = new DmnDecisionModel(dmnRuntime, TRAFFIC_VIOLATION_NS, TRAFFIC_VIOLATION_NAME);
+    }
+
+    @Test
+    public void testArrayWithInvalidItem() throws IOException {
+        String inputs = "[" + input(5, 140) + ", 42, " + input(19, 140) + "]";
+
+        List<JsonNode> results = evaluate(new DMNBatchEvaluator(decision, mapper), inputs, false);
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).get("index").asInt()).isZero();
+        assertThat(suspended(results.get(0))).isEqualTo("No");
+        assertThat(results.get(1).get("index").asInt()).isEqualTo(1);
+        assertThat(results.get(1).get("result")).isNull();
+        assertThat(results.get(1).get("error").asText()).isEqualTo("Input must be a JSON object");
+        assertThat(results.get(2).get("index").asInt()).isEqualTo(2);
+        assertThat(suspended(results.get(2))).isEqualTo("Yes");
+    }
+
+    @Test
+    public void testParallelNdjsonKeepsOrder() throws IOException {
+        StringBuilder inputs = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            inputs.append(input(i % 2 == 0 ? 0 : 19, 140)).append('\n');
+        }
+        BoundedExecutor executor = new BoundedExecutor("test", 4, 4);
+        try {
+            List<JsonNode> results = evaluate(new DMNBatchEvaluator(decision, mapper, executor, 4), inputs.toString(), true);
+
+            assertThat(results).hasSize(50);
+            for (int i = 0; i < 50; i++) {
+                assertThat(results.get(i).get("index").asInt()).isEqualTo(i);
+                assertThat(suspended(results.get(i))).isEqualTo(i % 2 == 0 ? "No" : "Yes");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelEvaluatedByCallerWhenExecutorSaturated() throws IOException {
+        StringBuilder inputs = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            inputs.append(input(i % 2 == 0 ? 0 : 19, 140)).append('\n');
+        }
+        BoundedExecutor executor = new BoundedExecutor("test", 1, 1);
+        try {
+            List<JsonNode> results = evaluate(new DMNBatchEvaluator(decision, mapper, executor, 4), inputs.toString(), true);
+
+            assertThat(results).hasSize(20);
+            for (int i = 0; i < 20; i++) {
+                assertThat(results.get(i).get("index").asInt()).isEqualTo(i);
+                assertThat(suspended(results.get(i))).isEqualTo(i % 2 == 0 ? "No" : "Yes");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testMalformedInputEndsBatch() throws IOException {
+        String inputs = input(5, 140) + "\n{\"Driver\": oops}\n" + input(5, 140);
+
+        List<JsonNode> results = evaluate(new DMNBatchEvaluator(decision, mapper), inputs, false);
+
+        assertThat(results).hasSize(2);
+        assertThat(suspended(results.get(0))).isEqualTo("No");
+        assertThat(results.get(1).get("index").asInt()).isEqualTo(1);
+        assertThat(results.get(1).get("error").asText()).startsWith("Malformed input");
+    }
+
+    private static String input(int points, int actualSpeed) {
+        return "{\"Driver\": {\"Points\": " + points + "}, \"Violation\": {\"Type\": \"speed\", \"Speed Limit\": 100, \"Actual Speed\": " + actualSpeed + "}}";
+    }
+
+    private static String suspended(JsonNode item) {
+        return item.get("result").get("dmnContext").get("Should the driver be suspended?").asText();
+    }
+
+    private static List<JsonNode> evaluate(DMNBatchEvaluator evaluator, String inputs, boolean parallel) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        evaluator.evaluate(new ByteArrayInputStream(inputs.getBytes(StandardCharsets.UTF_8)), output, parallel);
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8.name()).split("\n")) {
+            results.add(mapper.readTree(line));
+        }
+        return results;
+    }
+}
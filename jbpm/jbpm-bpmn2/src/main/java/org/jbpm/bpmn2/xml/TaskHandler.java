@@ -50,6 +50,7 @@ import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
 import static org.jbpm.ruleflow.core.Metadata.CONDITION;
+import static org.jbpm.ruleflow.core.Metadata.CUSTOM_PARALLELISM;
 
 public class TaskHandler extends AbstractNodeHandler {
 
@@ -323,6 +324,10 @@ public class TaskHandler extends AbstractNodeHandler {
                 Node orignalNode = node;
                 node = forEachNode;
                 handleForEachNode(node, element, uri, localName, parser);
+                String parallelism = (String) orignalNode.getMetaData().get(CUSTOM_PARALLELISM);
+                if (parallelism != null) {
+                    forEachNode.setParallelism(Integer.parseInt(parallelism.trim()));
+                }
                 // remove output collection data output of for each to avoid problems when running in variable strict mode
                 if (orignalNode instanceof WorkItemNode) {
                     ((WorkItemNode) orignalNode).adjustOutMapping(forEachNode.getOutputCollectionExpression());
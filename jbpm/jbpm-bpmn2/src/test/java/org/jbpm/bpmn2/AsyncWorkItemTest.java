@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.bpmn2;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoAsyncWorkItemHandler;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ACTIVE;
+import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_COMPLETED;
+import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ERROR;
+
+public class AsyncWorkItemTest {
+
+    private final UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private AsyncHandler handler;
+    private BpmnProcess process;
+
+    @BeforeEach
+    public void setup() {
+        configure(new AsyncHandler(executor));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testWorkItemCompletedOnceResultsAvailable() throws Exception {
+        ProcessInstance<BpmnVariables> processInstance = startInUnitOfWork();
+
+        // stored in its wait state while results are still pending
+        assertThat(process.instances().findById(processInstance.id())).hasValueSatisfying(pi -> assertThat(pi.status()).isEqualTo(STATE_ACTIVE));
+        assertThat(handler.results.isDone()).isFalse();
+
+        handler.results.complete(new HashMap<>());
+
+        awaitStored(processInstance.id(), pi -> pi == null);
+    }
+
+    @Test
+    public void testWorkItemFailedWhenResultsFail() throws Exception {
+        ProcessInstance<BpmnVariables> processInstance = startInUnitOfWork();
+
+        handler.results.completeExceptionally(new IllegalStateException("service unavailable"));
+
+        awaitStored(processInstance.id(), pi -> pi != null && pi.status() == STATE_ERROR);
+        assertThat(process.instances().findById(processInstance.id()).get().error())
+                .hasValueSatisfying(error -> assertThat(error.errorMessage()).contains("service unavailable"));
+    }
+
+    @Test
+    public void testResultsIgnoredWhenUnitOfWorkAborted() {
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.emptyMap()));
+        processInstance.start();
+        uow.abort();
+
+        assertThat(handler.results.isCancelled()).isTrue();
+        assertThat(process.instances().findById(processInstance.id())).isEmpty();
+    }
+
+    @Test
+    public void testResultsAwaitedWithoutCompletionExecutor() {
+        configure(new AsyncHandler(null));
+        handler.results.complete(new HashMap<>());
+
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.emptyMap()));
+        processInstance.start();
+
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        uow.end();
+    }
+
+    @Test
+    public void testCompletionAttemptedAgainWhenRejected() throws Exception {
+        AtomicInteger rejections = new AtomicInteger();
+        configure(new AsyncHandler(command -> {
+            if (rejections.getAndIncrement() == 0) {
+                throw new RejectedExecutionException("saturated");
+            }
+            executor.execute(command);
+        }));
+        ProcessInstance<BpmnVariables> processInstance = startInUnitOfWork();
+
+        handler.results.complete(new HashMap<>());
+
+        awaitStored(processInstance.id(), pi -> pi == null);
+        assertThat(rejections).hasValue(2);
+    }
+
+    @Test
+    public void testWorkItemFailedWhenCompletionAttemptsExhausted() throws Exception {
+        configure(new AsyncHandler(command -> {
+            throw new RejectedExecutionException("saturated");
+        }));
+        ProcessInstance<BpmnVariables> processInstance = startInUnitOfWork();
+
+        handler.results.complete(new HashMap<>());
+
+        awaitStored(processInstance.id(), pi -> pi != null && pi.status() == STATE_ERROR);
+        assertThat(process.instances().findById(processInstance.id()).get().error())
+                .hasValueSatisfying(error -> assertThat(error.errorMessage()).contains("saturated"));
+    }
+
+    private void configure(AsyncHandler handler) {
+        this.handler = handler;
+        ProcessConfig config = new StaticProcessConfig(new DefaultWorkItemHandlerConfig().register("Human Task", handler),
+                new DefaultProcessEventListenerConfig(), uowManager, null);
+        process = BpmnProcess.from(config, new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.configure();
+    }
+
+    private ProcessInstance<BpmnVariables> startInUnitOfWork() {
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.emptyMap()));
+        processInstance.start();
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+        uow.end();
+        return processInstance;
+    }
+
+    private void awaitStored(String id, Predicate<ProcessInstance<?>> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.test(process.instances().findById(id).orElse(null))) {
+            assertThat(System.nanoTime()).as("stored process instance did not reach expected state in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static class AsyncHandler implements KogitoAsyncWorkItemHandler {
+
+        private final CompletableFuture<Map<String, Object>> results = new CompletableFuture<>();
+        private final Executor completionExecutor;
+
+        private AsyncHandler(Executor completionExecutor) {
+            this.completionExecutor = completionExecutor;
+        }
+
+        @Override
+        public CompletionStage<Map<String, Object>> executeWorkItemAsync(KogitoWorkItem workItem) {
+            return results;
+        }
+
+        @Override
+        public Executor getCompletionExecutor() {
+            return completionExecutor;
+        }
+
+        @Override
+        public void abortWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.node.ForEachNode;
 
 import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.LongLiteralExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
@@ -36,6 +37,7 @@ import static org.jbpm.ruleflow.core.factory.CompositeContextNodeFactory.METHOD_
 import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_COLLECTION_EXPRESSION;
 import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_OUTPUT_COLLECTION_EXPRESSION;
 import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_OUTPUT_VARIABLE;
+import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_PARALLELISM;
 
 public class ForEachNodeVisitor extends AbstractCompositeNodeVisitor<ForEachNode> {
 
@@ -65,6 +67,9 @@ public class ForEachNodeVisitor extends AbstractCompositeNodeVisitor<ForEachNode
                             new ObjectCreationExpr(null, new ClassOrInterfaceType(null, ObjectDataType.class.getSimpleName()), NodeList.nodeList(
                                     new StringLiteralExpr(node.getOutputVariableType().getStringType())))));
         }
+        if (node.getParallelism() > 0) {
+            body.addStatement(getFactoryMethod(getNodeId(node), METHOD_PARALLELISM, new IntegerLiteralExpr(String.valueOf(node.getParallelism()))));
+        }
         // visit nodes
         visitNodes(getNodeId(node), node.getNodes(), body, ((VariableScope) node.getCompositeNode().getDefaultContext(VariableScope.VARIABLE_SCOPE)), metadata);
         body.addStatement(getFactoryMethod(getNodeId(node), METHOD_LINK_INCOMING_CONNECTIONS, new LongLiteralExpr(node.getLinkedIncomingNode(Node.CONNECTION_DEFAULT_TYPE).getNodeId())))
@@ -26,7 +26,7 @@ public class xxxRestWorkItemHandler extends RestWorkItemHandler {
     }
 
     public xxxRestWorkItemHandler(Vertx vertx) {
-        super(WebClient.create(vertx));
+        super(WebClient.create(vertx), sharedCompletionExecutor());
     }
     
     @Override
@@ -31,6 +31,8 @@ import org.jbpm.integrationtests.test.Person;
 import org.jbpm.process.instance.ProcessInstance;
 import org.jbpm.test.util.AbstractBaseTest;
 import org.jbpm.workflow.instance.WorkflowProcessInstanceUpgrader;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.jbpm.workflow.instance.node.CompositeNodeInstance;
 import org.junit.jupiter.api.Test;
 import org.kie.api.io.ResourceType;
 import org.kie.internal.builder.KnowledgeBuilderFactory;
@@ -38,6 +40,7 @@ import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ProcessUpgradeTest extends AbstractBaseTest {
 
@@ -232,6 +235,11 @@ public class ProcessUpgradeTest extends AbstractBaseTest {
                 kruntime, processInstance.getStringId(), "org.test.ruleflow2", mapping);
         assertEquals("org.test.ruleflow2", processInstance.getProcessId());
 
+        // node instances are looked up by the node they were migrated to
+        WorkflowProcessInstanceImpl workflowProcessInstance = (WorkflowProcessInstanceImpl) processInstance;
+        assertEquals(1, workflowProcessInstance.getNodeInstances(102L).size());
+        assertTrue(workflowProcessInstance.getNodeInstances(2L).isEmpty());
+
         kruntime.getKogitoWorkItemManager().completeWorkItem(handler.getWorkItem().getStringId(), null);
         assertEquals(1, list.size());
         assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.getState());
@@ -354,6 +362,10 @@ public class ProcessUpgradeTest extends AbstractBaseTest {
                 kruntime, processInstance.getStringId(), "org.test.ruleflow2", mapping);
         assertEquals("org.test.ruleflow2", processInstance.getProcessId());
 
+        CompositeNodeInstance compositeNodeInstance = (CompositeNodeInstance) ((WorkflowProcessInstanceImpl) processInstance).getNodeInstances(2L).get(0);
+        assertEquals(1, compositeNodeInstance.getNodeInstances(101L).size());
+        assertTrue(compositeNodeInstance.getNodeInstances(1L).isEmpty());
+
         kruntime.getKogitoWorkItemManager().completeWorkItem(handler.getWorkItem().getStringId(), null);
         assertEquals(1, list.size());
         assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.getState());
@@ -60,6 +60,7 @@ import org.kie.kogito.jobs.ProcessJobDescription;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.services.jobs.impl.InMemoryJobService;
+import org.kie.services.jobs.impl.TimingWheelJobService;
 
 public class LightProcessRuntime extends AbstractProcessRuntime {
 
@@ -90,7 +91,7 @@ public class LightProcessRuntime extends AbstractProcessRuntime {
         this.runtimeContext = runtimeContext;
         this.processInstanceManager = services.getProcessInstanceManager();
         this.signalManager = services.getSignalManager();
-        this.jobService = services.getJobsService() == null ? new InMemoryJobService(kogitoProcessRuntime, this.unitOfWorkManager) : services.getJobsService();
+        this.jobService = services.getJobsService() == null ? createDefaultJobsService() : services.getJobsService();
         this.processEventSupport = services.getEventSupport();
         this.workItemManager = services.getKogitoWorkItemManager();
         if (isActive()) {
@@ -100,6 +101,11 @@ public class LightProcessRuntime extends AbstractProcessRuntime {
         initProcessActivationListener();
     }
 
+    private JobsService createDefaultJobsService() {
+        return TimingWheelJobService.isEnabled() ? new TimingWheelJobService(kogitoProcessRuntime, unitOfWorkManager)
+                : new InMemoryJobService(kogitoProcessRuntime, unitOfWorkManager);
+    }
+
     public void initStartTimers() {
         Collection<Process> processes = runtimeContext.getProcesses();
         for (Process process : processes) {
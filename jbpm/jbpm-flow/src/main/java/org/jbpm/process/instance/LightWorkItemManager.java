@@ -23,7 +23,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.drools.core.process.instance.WorkItem;
@@ -31,6 +33,7 @@ import org.jbpm.process.instance.impl.workitem.Abort;
 import org.jbpm.process.instance.impl.workitem.Active;
 import org.jbpm.process.instance.impl.workitem.Complete;
 import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
+import org.kie.kogito.internal.process.runtime.KogitoAsyncWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.WorkItemNotFoundException;
@@ -69,6 +72,11 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
 
     @Override
     public void internalExecuteWorkItem(InternalKogitoWorkItem workItem) {
+        internalExecuteWorkItem(workItem, null);
+    }
+
+    @Override
+    public void internalExecuteWorkItem(InternalKogitoWorkItem workItem, Consumer<CompletionStage<Map<String, Object>>> asyncResults) {
         ((KogitoWorkItemImpl) workItem).setId(UUID.randomUUID().toString());
         internalAddWorkItem(workItem);
         KogitoWorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
@@ -77,7 +85,11 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
             Transition<?> transition = new TransitionToActive();
             eventSupport.fireBeforeWorkItemTransition(processInstance, workItem, transition, null);
 
-            handler.executeWorkItem(workItem, this);
+            if (handler instanceof KogitoAsyncWorkItemHandler && asyncResults != null) {
+                asyncResults.accept(((KogitoAsyncWorkItemHandler) handler).executeWorkItemAsync(workItem));
+            } else {
+                handler.executeWorkItem(workItem, this);
+            }
 
             eventSupport.fireAfterWorkItemTransition(processInstance, workItem, transition, null);
         } else {
@@ -85,6 +97,11 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
         }
     }
 
+    @Override
+    public KogitoWorkItemHandler getWorkItemHandler(String workItemName) {
+        return this.workItemHandlers.get(workItemName);
+    }
+
     @Override
     public void internalAddWorkItem(InternalKogitoWorkItem workItem) {
         workItems.put(workItem.getStringId(), workItem);
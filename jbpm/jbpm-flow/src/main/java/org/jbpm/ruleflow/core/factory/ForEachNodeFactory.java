@@ -25,6 +25,7 @@ public class ForEachNodeFactory<T extends RuleFlowNodeContainerFactory<T, ?>> ex
     public static final String METHOD_COLLECTION_EXPRESSION = "collectionExpression";
     public static final String METHOD_OUTPUT_COLLECTION_EXPRESSION = "outputCollectionExpression";
     public static final String METHOD_OUTPUT_VARIABLE = "outputVariable";
+    public static final String METHOD_PARALLELISM = "parallelism";
 
     public ForEachNodeFactory(T nodeContainerFactory, NodeContainer nodeContainer, long id) {
         super(nodeContainerFactory, nodeContainer, new ForEachNode(), id);
@@ -55,6 +56,11 @@ public class ForEachNodeFactory<T extends RuleFlowNodeContainerFactory<T, ?>> ex
         return this;
     }
 
+    public ForEachNodeFactory<T> parallelism(int parallelism) {
+        getForEachNode().setParallelism(parallelism);
+        return this;
+    }
+
     public ForEachNodeFactory<T> waitForCompletion(boolean waitForCompletion) {
         getForEachNode().setWaitForCompletion(waitForCompletion);
         return this;
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.process.core.event.EventFilter;
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.util.PatternConstants;
+import org.jbpm.workflow.core.node.AsyncEventNode;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.CompositeNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.jbpm.workflow.core.node.EventNodeInterface;
+import org.kie.api.definition.process.Node;
+
+/**
+ * Nodes of a container that may react to an event of a given type, so a signal only checks those
+ * instead of every node of the container.
+ * <p>
+ * Event nodes listening to a fixed event type are indexed by that type, nodes whose accepted events
+ * depend on variables or on their child nodes are returned for every type. Returned nodes still have
+ * to be checked with {@link EventNodeInterface#acceptsEvent(String, Object, java.util.function.Function)},
+ * this only skips the nodes that can never accept the event. Nodes are returned in container order.
+ */
+public class EventNodeIndex {
+
+    private final Map<Node, Integer> positions = new HashMap<>();
+    private final Map<String, List<Node>> eventNodesByType = new HashMap<>();
+    private final List<Node> anyTypeEventNodes = new ArrayList<>();
+    private final Map<String, List<Node>> nodesByName = new HashMap<>();
+    private final List<Node> compositeNodes = new ArrayList<>();
+
+    public EventNodeIndex(Node[] nodes) {
+        for (int i = 0; i < nodes.length; i++) {
+            Node node = nodes[i];
+            positions.put(node, i);
+            if (node instanceof EventNodeInterface) {
+                Set<String> types = fixedEventTypes(node);
+                if (types == null) {
+                    anyTypeEventNodes.add(node);
+                } else {
+                    types.forEach(type -> eventNodesByType.computeIfAbsent(type, t -> new ArrayList<>()).add(node));
+                }
+            }
+            if (node.getName() != null) {
+                nodesByName.computeIfAbsent(node.getName(), name -> new ArrayList<>()).add(node);
+            }
+            if (node instanceof CompositeNode) {
+                compositeNodes.add(node);
+            }
+        }
+    }
+
+    /**
+     * Event nodes that may accept an event of given type.
+     */
+    public List<Node> getEventNodes(String type) {
+        return merge(eventNodesByType.getOrDefault(type, Collections.emptyList()), anyTypeEventNodes);
+    }
+
+    /**
+     * Nodes named as given type together with all composite nodes, the nodes a signal on a dynamic
+     * container may trigger or be propagated to.
+     */
+    public List<Node> getDynamicNodes(String type) {
+        return merge(nodesByName.getOrDefault(type, Collections.emptyList()), compositeNodes);
+    }
+
+    private List<Node> merge(List<Node> first, List<Node> second) {
+        if (first.isEmpty()) {
+            return second;
+        }
+        if (second.isEmpty()) {
+            return first;
+        }
+        List<Node> result = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() || j < second.size()) {
+            if (j == second.size()) {
+                result.add(first.get(i++));
+            } else if (i == first.size()) {
+                result.add(second.get(j++));
+            } else {
+                int left = positions.get(first.get(i));
+                int right = positions.get(second.get(j));
+                if (left < right) {
+                    result.add(first.get(i++));
+                } else if (right < left) {
+                    result.add(second.get(j++));
+                } else {
+                    result.add(first.get(i++));
+                    j++;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Event types given node can accept, or null when they cannot be known upfront.
+     */
+    private static Set<String> fixedEventTypes(Node node) {
+        if (node.getClass() == EventNode.class || node.getClass() == AsyncEventNode.class) {
+            // all filters must accept the event and type filters are matched as is
+            for (EventFilter filter : ((EventNode) node).getEventFilters()) {
+                if (filter.getClass() == EventTypeFilter.class && ((EventTypeFilter) filter).getType() != null) {
+                    return Collections.singleton(((EventTypeFilter) filter).getType());
+                }
+            }
+            return null;
+        }
+        if (node.getClass() == BoundaryEventNode.class) {
+            // any filter may accept the event once its type is resolved
+            List<EventFilter> filters = ((EventNode) node).getEventFilters();
+            if (filters.isEmpty()) {
+                return null;
+            }
+            Set<String> types = new LinkedHashSet<>();
+            for (EventFilter filter : filters) {
+                if (filter.getClass() != EventTypeFilter.class) {
+                    return null;
+                }
+                String type = ((EventTypeFilter) filter).getType();
+                if (type == null || PatternConstants.PARAMETER_MATCHER.matcher(type).find()) {
+                    return null;
+                }
+                types.add(type);
+            }
+            return types;
+        }
+        return null;
+    }
+}
@@ -45,6 +45,7 @@ public class ForEachNode extends CompositeContextNode {
     private String outputCollectionExpression;
     private String completionConditionExpression;
     private boolean waitForCompletion = true;
+    private int parallelism;
 
     public ForEachNode() {
         // Split
@@ -242,6 +243,18 @@ public class ForEachNode extends CompositeContextNode {
         this.waitForCompletion = waitForCompletion;
     }
 
+    /**
+     * Maximum number of asynchronous work items of the iterations executed at the same time,
+     * 0 (the default) executes iterations one after another.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     public static class ForEachSplitNode extends ExtendedNodeImpl {
         private static final long serialVersionUID = 510l;
     }
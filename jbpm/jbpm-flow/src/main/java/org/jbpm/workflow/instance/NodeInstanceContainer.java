@@ -38,6 +38,13 @@ public interface NodeInstanceContainer extends KogitoNodeInstanceContainer {
 
     void removeNodeInstance(NodeInstance nodeInstance);
 
+    /**
+     * Notifies that given node instance of this container was moved to another node, e.g. when migrating
+     * the process instance, so containers looking up node instances by node id can keep up.
+     */
+    default void nodeInstanceMoved(NodeInstance nodeInstance, long previousNodeId) {
+    }
+
     NodeContainer getNodeContainer();
 
     void nodeInstanceCompleted(NodeInstance nodeInstance, String outType);
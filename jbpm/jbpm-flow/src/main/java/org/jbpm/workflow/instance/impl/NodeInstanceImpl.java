@@ -97,7 +97,11 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
     }
 
     public void setNodeId(final long nodeId) {
+        long previousNodeId = this.nodeId;
         this.nodeId = nodeId;
+        if (nodeInstanceContainer != null && previousNodeId != nodeId) {
+            nodeInstanceContainer.nodeInstanceMoved(this, previousNodeId);
+        }
     }
 
     public long getNodeId() {
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.instance.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jbpm.workflow.instance.NodeInstance;
+import org.kie.api.definition.process.Node;
+
+/**
+ * Active node instances of a container, kept in the order they were added and indexed
+ * by node instance id and by node id so lookups do not need to scan all of them.
+ */
+public class NodeInstanceIndex {
+
+    private final Map<String, NodeInstance> byId = new LinkedHashMap<>();
+    private final Map<Long, Map<String, NodeInstance>> byNodeId = new HashMap<>();
+
+    public void add(NodeInstance nodeInstance) {
+        byId.put(nodeInstance.getStringId(), nodeInstance);
+        byNodeId.computeIfAbsent(nodeInstance.getNodeId(), id -> new LinkedHashMap<>()).put(nodeInstance.getStringId(), nodeInstance);
+    }
+
+    public boolean remove(NodeInstance nodeInstance) {
+        if (byId.get(nodeInstance.getStringId()) != nodeInstance) {
+            return false;
+        }
+        byId.remove(nodeInstance.getStringId());
+        Map<String, NodeInstance> ofNode = byNodeId.get(nodeInstance.getNodeId());
+        if (ofNode != null) {
+            ofNode.remove(nodeInstance.getStringId());
+            if (ofNode.isEmpty()) {
+                byNodeId.remove(nodeInstance.getNodeId());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves given node instance to the node it now refers to, once its node id changed.
+     */
+    public void reindex(NodeInstance nodeInstance, long previousNodeId) {
+        if (byId.get(nodeInstance.getStringId()) != nodeInstance) {
+            return;
+        }
+        Map<String, NodeInstance> ofNode = byNodeId.get(previousNodeId);
+        if (ofNode != null) {
+            ofNode.remove(nodeInstance.getStringId());
+            if (ofNode.isEmpty()) {
+                byNodeId.remove(previousNodeId);
+            }
+        }
+        byNodeId.computeIfAbsent(nodeInstance.getNodeId(), id -> new LinkedHashMap<>()).put(nodeInstance.getStringId(), nodeInstance);
+    }
+
+    public NodeInstance get(String nodeInstanceId) {
+        return byId.get(nodeInstanceId);
+    }
+
+    public List<NodeInstance> getByNodeId(long nodeId) {
+        Map<String, NodeInstance> ofNode = byNodeId.get(nodeId);
+        return ofNode == null ? new ArrayList<>() : new ArrayList<>(ofNode.values());
+    }
+
+    public NodeInstance first() {
+        Iterator<NodeInstance> iterator = byId.values().iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    public boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Live, read only view of the node instances in the order they were added.
+     */
+    public Collection<NodeInstance> values() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    /**
+     * Copy of the node instances of given nodes grouped by node id, used to look up only the node instances
+     * that were active when an event was received while handling it adds and removes node instances.
+     */
+    public Map<Long, List<NodeInstance>> snapshotByNodeId(Collection<? extends Node> nodes) {
+        Map<Long, List<NodeInstance>> snapshot = new HashMap<>();
+        for (Node node : nodes) {
+            Map<String, NodeInstance> ofNode = byNodeId.get(node.getId());
+            if (ofNode != null) {
+                snapshot.put(node.getId(), new ArrayList<>(ofNode.values()));
+            }
+        }
+        return snapshot;
+    }
+}
@@ -23,8 +23,6 @@ import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -49,7 +47,9 @@ import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.util.PatternConstants;
 import org.jbpm.workflow.core.DroolsAction;
 import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.impl.EventNodeIndex;
 import org.jbpm.workflow.core.impl.NodeImpl;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
 import org.jbpm.workflow.core.node.ActionNode;
 import org.jbpm.workflow.core.node.BoundaryEventNode;
 import org.jbpm.workflow.core.node.CompositeNode;
@@ -117,7 +117,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
     private static final long serialVersionUID = 510l;
     private static final Logger logger = LoggerFactory.getLogger(WorkflowProcessInstanceImpl.class);
 
-    private final List<NodeInstance> nodeInstances = new ArrayList<>();
+    private final NodeInstanceIndex nodeInstances = new NodeInstanceIndex();
 
     private Map<String, List<KogitoEventListener>> eventListeners = new HashMap<>();
     private Map<String, List<KogitoEventListener>> externalEventListeners = new HashMap<>();
@@ -191,6 +191,11 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         this.nodeInstances.remove(nodeInstance);
     }
 
+    @Override
+    public void nodeInstanceMoved(final NodeInstance nodeInstance, long previousNodeId) {
+        this.nodeInstances.reindex(nodeInstance, previousNodeId);
+    }
+
     @Override
     public Collection<org.kie.api.runtime.process.NodeInstance> getNodeInstances() {
         return new ArrayList<>(getNodeInstances(false));
@@ -198,10 +203,10 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
 
     @Override
     public Collection<NodeInstance> getNodeInstances(boolean recursive) {
-        Collection<NodeInstance> result = nodeInstances;
+        Collection<NodeInstance> result = nodeInstances.values();
         if (recursive) {
             result = new ArrayList<>(result);
-            for (NodeInstance nodeInstance : nodeInstances) {
+            for (NodeInstance nodeInstance : nodeInstances.values()) {
                 if (nodeInstance instanceof KogitoNodeInstanceContainer) {
                     result.addAll(((org.jbpm.workflow.instance.NodeInstanceContainer) nodeInstance).getNodeInstances(true));
                 }
@@ -214,7 +219,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
     public Collection<KogitoNodeInstance> getKogitoNodeInstances(Predicate<KogitoNodeInstance> filter,
             boolean recursive) {
         Collection<KogitoNodeInstance> result = new ArrayList<>();
-        for (NodeInstance nodeInstance : nodeInstances) {
+        for (NodeInstance nodeInstance : nodeInstances.values()) {
             if (nodeInstance instanceof KogitoNodeInstance && filter.test(nodeInstance)) {
                 result.add(nodeInstance);
             }
@@ -238,10 +243,18 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
 
     @Override
     public NodeInstance getNodeInstance(String nodeInstanceId, boolean recursive) {
-        return getNodeInstances(recursive).stream()
-                .filter(nodeInstance -> Objects.equals(nodeInstance.getStringId(), nodeInstanceId))
-                .findFirst()
-                .orElse(null);
+        NodeInstance result = nodeInstances.get(nodeInstanceId);
+        if (result == null && recursive) {
+            for (NodeInstance nodeInstance : nodeInstances.values()) {
+                if (nodeInstance instanceof KogitoNodeInstanceContainer) {
+                    result = ((org.jbpm.workflow.instance.NodeInstanceContainer) nodeInstance).getNodeInstance(nodeInstanceId, true);
+                    if (result != null) {
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
     }
 
     public List<String> getActiveNodeIds() {
@@ -261,8 +274,8 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
 
     @Override
     public NodeInstance getFirstNodeInstance(final long nodeId) {
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId() == nodeId && nodeInstance.getLevel() == getCurrentLevel()) {
+        for (final NodeInstance nodeInstance : this.nodeInstances.getByNodeId(nodeId)) {
+            if (nodeInstance.getLevel() == getCurrentLevel()) {
                 return nodeInstance;
             }
         }
@@ -270,13 +283,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
     }
 
     public List<NodeInstance> getNodeInstances(final long nodeId) {
-        List<NodeInstance> result = new ArrayList<>();
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId() == nodeId) {
-                result.add(nodeInstance);
-            }
-        }
-        return result;
+        return nodeInstances.getByNodeId(nodeId);
     }
 
     public List<NodeInstance> getNodeInstances(final long nodeId, final List<NodeInstance> currentView) {
@@ -403,7 +410,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
 
             // deactivate all node instances of this process instance
             while (!nodeInstances.isEmpty()) {
-                NodeInstance nodeInstance = nodeInstances.get(0);
+                NodeInstance nodeInstance = nodeInstances.first();
                 nodeInstance.cancel();
             }
             if (this.slaTimerId != null && !slaTimerId.trim().isEmpty()) {
@@ -440,7 +447,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         removeEventListeners();
         unregisterExternalEventNodeListeners();
 
-        for (NodeInstance nodeInstance : nodeInstances) {
+        for (NodeInstance nodeInstance : nodeInstances.values()) {
             if (nodeInstance instanceof EventBasedNodeInstanceInterface) {
                 ((EventBasedNodeInstanceInterface) nodeInstance).removeEventListeners();
             }
@@ -451,7 +458,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
     @Override
     public void reconnect() {
         super.reconnect();
-        for (NodeInstance nodeInstance : nodeInstances) {
+        for (NodeInstance nodeInstance : nodeInstances.values()) {
             if (nodeInstance instanceof EventBasedNodeInstanceInterface) {
                 ((EventBasedNodeInstanceInterface) nodeInstance).addEventListeners();
             }
@@ -602,7 +609,9 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                 return;
             }
 
-            List<NodeInstance> currentView = new ArrayList<>(this.nodeInstances);
+            EventNodeIndex eventNodeIndex = getEventNodeIndex();
+            List<org.kie.api.definition.process.Node> eventNodes = eventNodeIndex.getEventNodes(type);
+            Map<Long, List<NodeInstance>> currentView = this.nodeInstances.snapshotByNodeId(eventNodes);
 
             try {
                 this.activatingNodeIds = new ArrayList<>();
@@ -618,7 +627,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                         listener.signalEvent(type, event);
                     }
                 }
-                for (org.kie.api.definition.process.Node node : getWorkflowProcess().getNodes()) {
+                for (org.kie.api.definition.process.Node node : eventNodes) {
                     if (node instanceof EventNodeInterface
                             && ((EventNodeInterface) node).acceptsEvent(type, event, getResolver(node, currentView))) {
                         if (node instanceof EventNode && ((EventNode) node).getFrom() == null) {
@@ -629,8 +638,8 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                                 EventSubProcessNodeInstance eventNodeInstance = (EventSubProcessNodeInstance) getNodeInstance(node);
                                 eventNodeInstance.signalEvent(type, event);
                             } else {
-                                List<NodeInstance> nodeInstances = getNodeInstances(node.getId(), currentView);
-                                if (nodeInstances != null && !nodeInstances.isEmpty()) {
+                                List<NodeInstance> nodeInstances = currentView.getOrDefault(node.getId(), Collections.emptyList());
+                                if (!nodeInstances.isEmpty()) {
                                     for (NodeInstance nodeInstance : nodeInstances) {
                                         ((EventNodeInstanceInterface) nodeInstance).signalEvent(type, event);
                                     }
@@ -640,7 +649,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                     }
                 }
                 if (((org.jbpm.workflow.core.WorkflowProcess) getWorkflowProcess()).isDynamic()) {
-                    for (org.kie.api.definition.process.Node node : getWorkflowProcess().getNodes()) {
+                    for (org.kie.api.definition.process.Node node : eventNodeIndex.getDynamicNodes(type)) {
                         if (type.equals(node.getName()) && node.getIncomingConnections().isEmpty()) {
                             NodeInstance nodeInstance = getNodeInstance(node);
                             if (event != null) {
@@ -654,8 +663,10 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                             }
                             nodeInstance.trigger(null, Node.CONNECTION_DEFAULT_TYPE);
                         } else if (node instanceof CompositeNode) {
-                            Optional<NodeInstance> instance = this.nodeInstances.stream().filter(ni -> ni.getNodeId() == node.getId()).findFirst();
-                            instance.ifPresent(n -> ((CompositeNodeInstance) n).signalEvent(type, event));
+                            List<NodeInstance> instances = this.nodeInstances.getByNodeId(node.getId());
+                            if (!instances.isEmpty()) {
+                                ((CompositeNodeInstance) instances.get(0)).signalEvent(type, event);
+                            }
                         }
                     }
                 }
@@ -668,13 +679,21 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         }
     }
 
-    private Function<String, String> getResolver(org.kie.api.definition.process.Node node, List<NodeInstance> currentView) {
+    private EventNodeIndex getEventNodeIndex() {
+        org.kie.api.definition.process.WorkflowProcess process = getWorkflowProcess();
+        if (process instanceof WorkflowProcessImpl) {
+            return ((WorkflowProcessImpl) process).getEventNodeIndex();
+        }
+        return new EventNodeIndex(process.getNodes());
+    }
+
+    private Function<String, String> getResolver(org.kie.api.definition.process.Node node, Map<Long, List<NodeInstance>> currentView) {
         if (node instanceof DynamicNode) {
             // special handling for dynamic node to allow to resolve variables from individual node instances of the dynamic node
             // instead of just relying on process instance's variables
             return e -> {
-                List<NodeInstance> nodeInstances = getNodeInstances(node.getId(), currentView);
-                if (nodeInstances != null && !nodeInstances.isEmpty()) {
+                List<NodeInstance> nodeInstances = currentView.getOrDefault(node.getId(), Collections.emptyList());
+                if (!nodeInstances.isEmpty()) {
                     StringBuilder st = new StringBuilder();
                     for (NodeInstance ni : nodeInstances) {
                         String result = resolveVariable(e, new NodeInstanceResolverFactory(ni));
@@ -896,7 +915,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
             return true;
         } else {
             int eventSubprocessCounter = 0;
-            for (NodeInstance nodeInstance : nodeInstances) {
+            for (NodeInstance nodeInstance : nodeInstances.values()) {
                 org.kie.api.definition.process.Node node = nodeInstance.getNode();
                 if (node instanceof EventSubProcessNode) {
                     if (((EventSubProcessNodeInstance) nodeInstance).getNodeInstances().isEmpty()) {
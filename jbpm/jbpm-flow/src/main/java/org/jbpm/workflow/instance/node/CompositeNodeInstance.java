@@ -16,6 +16,7 @@
 package org.jbpm.workflow.instance.node;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -40,6 +41,7 @@ import org.jbpm.workflow.instance.WorkflowProcessInstance;
 import org.jbpm.workflow.instance.impl.NodeInstanceFactory;
 import org.jbpm.workflow.instance.impl.NodeInstanceFactoryRegistry;
 import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
+import org.jbpm.workflow.instance.impl.NodeInstanceIndex;
 import org.kie.api.definition.process.Connection;
 import org.kie.api.definition.process.NodeContainer;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
@@ -59,7 +61,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
 
     private static final long serialVersionUID = 510l;
 
-    private final List<NodeInstance> nodeInstances = new ArrayList<>();
+    private final NodeInstanceIndex nodeInstances = new NodeInstanceIndex();
 
     private int state = STATE_ACTIVE;
     private Map<String, Integer> iterationLevels = new HashMap<>();
@@ -171,7 +173,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
         triggerCompleted(outType, cancelRemainingInstances);
         if (cancelRemainingInstances) {
             while (!nodeInstances.isEmpty()) {
-                NodeInstance nodeInstance = nodeInstances.get(0);
+                NodeInstance nodeInstance = nodeInstances.first();
                 nodeInstance.cancel();
             }
         }
@@ -180,7 +182,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     @Override
     public void cancel() {
         while (!nodeInstances.isEmpty()) {
-            NodeInstance nodeInstance = nodeInstances.get(0);
+            NodeInstance nodeInstance = nodeInstances.first();
             nodeInstance.cancel();
         }
         super.cancel();
@@ -201,6 +203,11 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
         this.nodeInstances.remove(nodeInstance);
     }
 
+    @Override
+    public void nodeInstanceMoved(final NodeInstance nodeInstance, long previousNodeId) {
+        this.nodeInstances.reindex(nodeInstance, previousNodeId);
+    }
+
     @Override
     public Collection<org.kie.api.runtime.process.NodeInstance> getNodeInstances() {
         return new ArrayList<>(getNodeInstances(false));
@@ -213,10 +220,10 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
 
     @Override
     public Collection<NodeInstance> getNodeInstances(boolean recursive) {
-        Collection<NodeInstance> result = nodeInstances;
+        Collection<NodeInstance> result = nodeInstances.values();
         if (recursive) {
             result = new ArrayList<>(result);
-            for (NodeInstance nodeInstance : nodeInstances) {
+            for (NodeInstance nodeInstance : nodeInstances.values()) {
                 if (nodeInstance instanceof NodeInstanceContainer) {
                     result.addAll(((NodeInstanceContainer) nodeInstance).getNodeInstances(true));
                 }
@@ -229,7 +236,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     public Collection<KogitoNodeInstance> getKogitoNodeInstances(Predicate<KogitoNodeInstance> filter,
             boolean recursive) {
         Collection<KogitoNodeInstance> result = new ArrayList<>();
-        for (NodeInstance nodeInstance : nodeInstances) {
+        for (NodeInstance nodeInstance : nodeInstances.values()) {
 
             if (nodeInstance instanceof KogitoNodeInstance && filter.test(nodeInstance)) {
                 result.add(nodeInstance);
@@ -245,28 +252,29 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
 
     @Override
     public NodeInstance getNodeInstance(String nodeInstanceId) {
-        for (NodeInstance nodeInstance : nodeInstances) {
-            if (nodeInstance.getStringId().equals(nodeInstanceId)) {
-                return nodeInstance;
-            }
-        }
-        return null;
+        return nodeInstances.get(nodeInstanceId);
     }
 
     @Override
     public NodeInstance getNodeInstance(String nodeInstanceId, boolean recursive) {
-        for (NodeInstance nodeInstance : getNodeInstances(recursive)) {
-            if (nodeInstance.getStringId().equals(nodeInstanceId)) {
-                return nodeInstance;
+        NodeInstance result = nodeInstances.get(nodeInstanceId);
+        if (result == null && recursive) {
+            for (NodeInstance nodeInstance : nodeInstances.values()) {
+                if (nodeInstance instanceof NodeInstanceContainer) {
+                    result = ((NodeInstanceContainer) nodeInstance).getNodeInstance(nodeInstanceId, true);
+                    if (result != null) {
+                        break;
+                    }
+                }
             }
         }
-        return null;
+        return result;
     }
 
     @Override
     public NodeInstance getFirstNodeInstance(final long nodeId) {
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId() == nodeId && nodeInstance.getLevel() == getCurrentLevel()) {
+        for (final NodeInstance nodeInstance : this.nodeInstances.getByNodeId(nodeId)) {
+            if (nodeInstance.getLevel() == getCurrentLevel()) {
                 return nodeInstance;
             }
         }
@@ -302,17 +310,18 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
 
     @Override
     public void signalEvent(String type, Object event) {
-        List<NodeInstance> currentView = new ArrayList<>(this.nodeInstances);
+        List<org.kie.api.definition.process.Node> nodes = Arrays.asList(getCompositeNode().internalGetNodes());
+        Map<Long, List<NodeInstance>> currentView = this.nodeInstances.snapshotByNodeId(nodes);
         super.signalEvent(type, event);
-        for (org.kie.api.definition.process.Node node : getCompositeNode().internalGetNodes()) {
+        for (org.kie.api.definition.process.Node node : nodes) {
             if (node instanceof EventNodeInterface
                     && ((EventNodeInterface) node).acceptsEvent(type, event)) {
                 if (node instanceof EventNode && ((EventNode) node).getFrom() == null || node instanceof EventSubProcessNode) {
                     EventNodeInstanceInterface eventNodeInstance = (EventNodeInstanceInterface) getNodeInstance(node);
                     eventNodeInstance.signalEvent(type, event);
                 } else {
-                    List<NodeInstance> nodeInstances = getNodeInstances(node.getId(), currentView);
-                    if (nodeInstances != null && !nodeInstances.isEmpty()) {
+                    List<NodeInstance> nodeInstances = currentView.getOrDefault(node.getId(), Collections.emptyList());
+                    if (!nodeInstances.isEmpty()) {
                         for (NodeInstance nodeInstance : nodeInstances) {
                             ((EventNodeInstanceInterface) nodeInstance)
                                     .signalEvent(type, event);
@@ -337,13 +346,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     }
 
     public List<NodeInstance> getNodeInstances(final long nodeId) {
-        List<NodeInstance> result = new ArrayList<>();
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId() == nodeId) {
-                result.add(nodeInstance);
-            }
-        }
-        return result;
+        return nodeInstances.getByNodeId(nodeId);
     }
 
     public List<NodeInstance> getNodeInstances(final long nodeId, List<NodeInstance> currentView) {
@@ -400,7 +403,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     @Override
     public void addEventListeners() {
         super.addEventListeners();
-        for (NodeInstance nodeInstance : nodeInstances) {
+        for (NodeInstance nodeInstance : nodeInstances.values()) {
             if (nodeInstance instanceof EventBasedNodeInstanceInterface) {
                 ((EventBasedNodeInstanceInterface) nodeInstance).addEventListeners();
             }
@@ -410,7 +413,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     @Override
     public void removeEventListeners() {
         super.removeEventListeners();
-        for (NodeInstance nodeInstance : nodeInstances) {
+        for (NodeInstance nodeInstance : nodeInstances.values()) {
             if (nodeInstance instanceof EventBasedNodeInstanceInterface) {
                 ((EventBasedNodeInstanceInterface) nodeInstance).removeEventListeners();
             }
@@ -15,13 +15,19 @@
  */
 package org.jbpm.workflow.instance.node;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 import org.jbpm.process.core.ContextContainer;
 import org.jbpm.process.core.context.variable.VariableScope;
@@ -38,6 +44,7 @@ import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.jbpm.workflow.instance.impl.NodeInstanceResolverFactory;
 import org.kie.api.definition.process.Connection;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
+import org.kie.kogito.process.workitems.InternalKogitoWorkItemManager;
 import org.mvel2.integration.VariableResolver;
 import org.mvel2.integration.impl.SimpleValueResolver;
 
@@ -50,10 +57,25 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
 
     private static final String TEMP_OUTPUT_VAR = "foreach_output";
 
+    private transient ParallelIterations parallelIterations;
+
     public ForEachNode getForEachNode() {
         return (ForEachNode) getNode();
     }
 
+    /**
+     * Consumer of the asynchronous results of given work item node instance while iterations are
+     * being executed in parallel, null otherwise.
+     */
+    Consumer<CompletionStage<Map<String, Object>>> getAsyncResultsConsumer(WorkItemNodeInstance nodeInstance) {
+        ParallelIterations iterations = parallelIterations;
+        return iterations == null ? null : results -> iterations.add(nodeInstance, results);
+    }
+
+    private boolean isActive() {
+        return getNodeInstanceContainer().getNodeInstance(getStringId()) != null;
+    }
+
     @Override
     public NodeInstance getNodeInstance(final org.kie.api.definition.process.Node node) {
         if (node instanceof ForEachSplitNode) {
@@ -145,17 +167,99 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                     variableScopeInstance.setVariable(this, variableName, o);
                     nodeInstances.add(nodeInstance);
                 }
+                int parallelism = getForEachNode().getParallelism();
+                if (parallelism > 0) {
+                    triggerParallel(nodeInstances, parallelism);
+                } else {
+                    for (NodeInstance nodeInstance : nodeInstances) {
+                        logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
+                        nodeInstance.trigger(this, getForEachSplitNode().getTo().getToType());
+                    }
+                    if (!getForEachNode().isWaitForCompletion()) {
+                        ForEachNodeInstance.this.triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, false);
+                    }
+                }
+            }
+        }
+
+        /*
+         * Asynchronous work items reached by the iterations are started right away, up to the configured
+         * parallelism, and completed on this thread in the order they were started, so the join still
+         * sees the results in collection order and the completion condition stops the remaining ones.
+         */
+        private void triggerParallel(List<NodeInstance> nodeInstances, int parallelism) {
+            ParallelIterations iterations = new ParallelIterations();
+            parallelIterations = iterations;
+            try {
                 for (NodeInstance nodeInstance : nodeInstances) {
-                    logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
+                    while (iterations.size() >= parallelism && isActive()) {
+                        iterations.completeNext();
+                    }
+                    if (!isActive()) {
+                        break;
+                    }
+                    logger.debug("Triggering [{}] in parallel multi-instance loop.", nodeInstance.getNodeId());
                     nodeInstance.trigger(this, getForEachSplitNode().getTo().getToType());
                 }
-                if (!getForEachNode().isWaitForCompletion()) {
+                if (!getForEachNode().isWaitForCompletion() && isActive()) {
                     ForEachNodeInstance.this.triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, false);
                 }
+                while (iterations.size() > 0 && isActive()) {
+                    iterations.completeNext();
+                }
+            } finally {
+                parallelIterations = null;
+                iterations.cancel();
             }
         }
     }
 
+    private class ParallelIterations {
+
+        private final Deque<WorkItemNodeInstance> nodeInstances = new ArrayDeque<>();
+        private final Deque<CompletableFuture<Map<String, Object>>> results = new ArrayDeque<>();
+
+        void add(WorkItemNodeInstance nodeInstance, CompletionStage<Map<String, Object>> result) {
+            nodeInstances.add(nodeInstance);
+            results.add(result.toCompletableFuture());
+        }
+
+        int size() {
+            return nodeInstances.size();
+        }
+
+        void completeNext() {
+            WorkItemNodeInstance nodeInstance = nodeInstances.poll();
+            CompletableFuture<Map<String, Object>> result = results.poll();
+            if (nodeInstance.getNodeInstanceContainer().getNodeInstance(nodeInstance.getStringId()) == null) {
+                // iteration was cancelled meanwhile
+                result.cancel(false);
+                return;
+            }
+            Map<String, Object> workItemResults;
+            try {
+                workItemResults = result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                nodeInstance.handleWorkItemException(e);
+                return;
+            } catch (ExecutionException e) {
+                nodeInstance.handleWorkItemException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                return;
+            }
+            InternalKogitoWorkItemManager workItemManager = (InternalKogitoWorkItemManager) getProcessInstance().getKnowledgeRuntime().getWorkItemManager();
+            if (workItemManager.getWorkItem(nodeInstance.getWorkItemId()) != null) {
+                workItemManager.completeWorkItem(nodeInstance.getWorkItemId(), workItemResults);
+            }
+        }
+
+        void cancel() {
+            results.forEach(result -> result.cancel(false));
+            nodeInstances.clear();
+            results.clear();
+        }
+    }
+
     public class ForEachJoinNodeInstance extends NodeInstanceImpl {
 
         private static final long serialVersionUID = 510l;
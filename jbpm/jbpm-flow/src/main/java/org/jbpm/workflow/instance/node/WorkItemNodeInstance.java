@@ -27,6 +27,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 
 import org.drools.core.WorkItemHandlerNotFoundException;
@@ -64,13 +67,17 @@ import org.kie.api.runtime.EnvironmentName;
 import org.kie.api.runtime.KieRuntime;
 import org.kie.api.runtime.process.DataTransformer;
 import org.kie.api.runtime.process.EventListener;
+import org.kie.api.runtime.process.NodeInstanceContainer;
 import org.kie.api.runtime.process.ProcessWorkItemHandlerException;
+import org.kie.kogito.internal.process.runtime.KogitoAsyncWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
 import org.kie.kogito.process.EventDescription;
 import org.kie.kogito.process.GroupedNamedDataType;
 import org.kie.kogito.process.IOEventDescription;
 import org.kie.kogito.process.NamedDataType;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.process.workitem.WorkItemExecutionException;
 import org.kie.kogito.process.workitems.InternalKogitoWorkItem;
 import org.kie.kogito.process.workitems.InternalKogitoWorkItemManager;
@@ -163,18 +170,12 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
             getProcessInstance().getKnowledgeRuntime().update(getProcessInstance().getKnowledgeRuntime().getFactHandle(this), this);
         } else {
             try {
-                ((InternalKogitoWorkItemManager) getProcessInstance().getKnowledgeRuntime().getWorkItemManager()).internalExecuteWorkItem(workItem);
+                ((InternalKogitoWorkItemManager) getProcessInstance().getKnowledgeRuntime().getWorkItemManager()).internalExecuteWorkItem(workItem, getAsyncResultsConsumer());
             } catch (WorkItemHandlerNotFoundException wihnfe) {
                 getProcessInstance().setState(STATE_ABORTED);
                 throw wihnfe;
-            } catch (ProcessWorkItemHandlerException handlerException) {
-                this.workItemId = workItem.getStringId();
-                handleWorkItemHandlerException(handlerException, workItem);
-            } catch (WorkItemExecutionException e) {
-                handleException(e.getErrorCode(), e);
             } catch (Exception e) {
-                String exceptionName = e.getClass().getName();
-                handleException(exceptionName, e);
+                handleWorkItemException(e);
             }
         }
         if (!workItemNode.isWaitForCompletion()) {
@@ -183,6 +184,57 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
         this.workItemId = workItem.getStringId();
     }
 
+    /**
+     * Handles failure of the work item execution, either thrown by its handler or completing its asynchronous results.
+     */
+    void handleWorkItemException(Exception e) {
+        if (e instanceof ProcessWorkItemHandlerException) {
+            this.workItemId = workItem.getStringId();
+            handleWorkItemHandlerException((ProcessWorkItemHandlerException) e, workItem);
+        } else if (e instanceof WorkItemExecutionException) {
+            handleException(((WorkItemExecutionException) e).getErrorCode(), e);
+        } else {
+            handleException(e.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Fails this work item with the error its asynchronous results completed with, as if the handler had thrown it.
+     */
+    public void internalFailWorkItem(Exception e) {
+        try {
+            handleWorkItemException(e);
+        } catch (Exception handlingError) {
+            captureError(handlingError);
+        }
+    }
+
+    private Consumer<CompletionStage<Map<String, Object>>> getAsyncResultsConsumer() {
+        // only the closest for each decides, nested ones run their iterations on their own
+        NodeInstanceContainer container = getNodeInstanceContainer();
+        while (container instanceof KogitoNodeInstance) {
+            if (container instanceof ForEachNodeInstance) {
+                Consumer<CompletionStage<Map<String, Object>>> iterations = ((ForEachNodeInstance) container).getAsyncResultsConsumer(this);
+                if (iterations != null) {
+                    return iterations;
+                }
+                break;
+            }
+            container = ((KogitoNodeInstance) container).getNodeInstanceContainer();
+        }
+        // otherwise, when its handler opted in, the work item waits for its results and is completed later on by the process instance
+        KogitoWorkItemHandler handler = ((InternalKogitoWorkItemManager) getProcessInstance().getKnowledgeRuntime().getWorkItemManager()).getWorkItemHandler(workItem.getName());
+        Executor executor = handler instanceof KogitoAsyncWorkItemHandler ? ((KogitoAsyncWorkItemHandler) handler).getCompletionExecutor() : null;
+        Object kogitoProcessInstance = getProcessInstance().getMetaData().get("KogitoProcessInstance");
+        if (executor != null && kogitoProcessInstance instanceof AbstractProcessInstance) {
+            AbstractProcessInstance<?> processInstance = (AbstractProcessInstance<?>) kogitoProcessInstance;
+            if (processInstance.supportsAsyncWorkItems()) {
+                return results -> processInstance.internalCompleteWorkItemAsync(workItem.getStringId(), results, executor);
+            }
+        }
+        return null;
+    }
+
     protected void handleException(String exceptionName, Exception e) {
         ExceptionScopeInstance exceptionScopeInstance = (ExceptionScopeInstance) resolveContextInstance(ExceptionScope.EXCEPTION_SCOPE, exceptionName);
         if (exceptionScopeInstance == null) {
@@ -15,13 +15,21 @@
  */
 package org.kie.kogito.event.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
+import org.kie.kogito.process.CorrelatedProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.impl.Sig;
 import org.kie.kogito.services.event.AbstractProcessDataEvent;
 import org.kie.kogito.services.event.EventConsumer;
@@ -42,7 +50,39 @@ public class CloudEventConsumer<D, M extends Model, T extends AbstractProcessDat
     @Override
     public void consume(Application application, Process<M> process, Object object, String trigger) {
         T cloudEvent = (T) object;
-        M model = function.apply(cloudEvent.getData());
+        if (isIgnored(cloudEvent, trigger)) {
+            return;
+        }
+        UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+            handle(process, cloudEvent, trigger, new LoadedInstances<>(process));
+            return null;
+        });
+    }
+
+    @Override
+    public void consumeBatch(Application application, Process<M> process, List<?> payloads, String trigger) {
+        List<T> cloudEvents = new ArrayList<>(payloads.size());
+        for (Object payload : payloads) {
+            T cloudEvent = (T) payload;
+            if (!isIgnored(cloudEvent, trigger)) {
+                cloudEvents.add(cloudEvent);
+            }
+        }
+        if (cloudEvents.isEmpty()) {
+            return;
+        }
+        UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+            // instances are loaded once, so messages for the same instance are applied one after
+            // another to the same copy, which is stored once when the unit of work ends
+            LoadedInstances<M> instances = new LoadedInstances<>(process);
+            for (T cloudEvent : cloudEvents) {
+                handle(process, cloudEvent, trigger, instances);
+            }
+            return null;
+        });
+    }
+
+    private boolean isIgnored(T cloudEvent, String trigger) {
         String simpleName = cloudEvent.getClass().getSimpleName();
         // currently we filter out messages on the receiving end; for strategy see https://issues.redhat.com/browse/KOGITO-3591
         if (ignoredMessageType(cloudEvent, simpleName) && ignoredMessageType(cloudEvent, trigger)) {
@@ -51,31 +91,50 @@ public class CloudEventConsumer<D, M extends Model, T extends AbstractProcessDat
                     trigger,
                     cloudEvent.getType(),
                     cloudEvent.getSource());
-            return;
+            return true;
         }
-        UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
-            if (cloudEvent.getKogitoReferenceId() != null && !cloudEvent.getKogitoReferenceId().isEmpty()) {
-                logger.debug("Received message with reference id '{}' going to use it to send signal '{}'",
+        return false;
+    }
+
+    private void handle(Process<M> process, T cloudEvent, String trigger, LoadedInstances<M> instances) {
+        if (cloudEvent.getKogitoReferenceId() != null && !cloudEvent.getKogitoReferenceId().isEmpty()) {
+            logger.debug("Received message with reference id '{}' going to use it to send signal '{}'",
+                    cloudEvent.getKogitoReferenceId(),
+                    trigger);
+            Optional<ProcessInstance<M>> instance = instances.findById(cloudEvent.getKogitoReferenceId());
+            if (instance.isPresent()) {
+                instance.get().send(Sig.of("Message-" + trigger,
+                        cloudEvent.getData(),
+                        cloudEvent.getKogitoProcessinstanceId()));
+                return;
+            }
+            Collection<ProcessInstance<M>> correlated = instances.loaded(findWaiting(process.instances(), cloudEvent.getKogitoReferenceId(), trigger));
+            if (!correlated.isEmpty()) {
+                logger.debug("Reference id '{}' matches business key of {} process instances waiting for signal '{}'",
                         cloudEvent.getKogitoReferenceId(),
+                        correlated.size(),
                         trigger);
-                Optional<ProcessInstance<M>> instance = process.instances().findById(cloudEvent.getKogitoReferenceId());
-                if (instance.isPresent()) {
-                    instance.get().send(Sig.of("Message-" + trigger,
-                            cloudEvent.getData(),
-                            cloudEvent.getKogitoProcessinstanceId()));
-                } else {
-                    logger.warn("Process instance with id '{}' not found for triggering signal '{}', starting a new one",
-                            cloudEvent.getKogitoReferenceId(),
-                            trigger);
-                    startNewInstance(process, model, cloudEvent, trigger);
-                }
+                correlated.forEach(pi -> pi.send(Sig.of("Message-" + trigger,
+                        cloudEvent.getData(),
+                        cloudEvent.getKogitoProcessinstanceId())));
             } else {
-                logger.debug("Received message without reference id, starting new process instance with trigger '{}'",
+                logger.warn("Process instance with id '{}' not found for triggering signal '{}', starting a new one",
+                        cloudEvent.getKogitoReferenceId(),
                         trigger);
-                startNewInstance(process, model, cloudEvent, trigger);
+                startNewInstance(process, function.apply(cloudEvent.getData()), cloudEvent, trigger);
             }
-            return null;
-        });
+        } else {
+            logger.debug("Received message without reference id, starting new process instance with trigger '{}'",
+                    trigger);
+            startNewInstance(process, function.apply(cloudEvent.getData()), cloudEvent, trigger);
+        }
+    }
+
+    private Collection<ProcessInstance<M>> findWaiting(ProcessInstances<M> instances, String businessKey, String trigger) {
+        if (instances instanceof CorrelatedProcessInstances) {
+            return ((CorrelatedProcessInstances<M>) instances).findWaiting(businessKey, "Message-" + trigger);
+        }
+        return Collections.emptyList();
     }
 
     private void startNewInstance(Process<M> process, M model, T cloudEvent, String trigger) {
@@ -91,4 +150,36 @@ public class CloudEventConsumer<D, M extends Model, T extends AbstractProcessDat
         return !type.equals(cloudEvent.getType()) && !type.equals(cloudEvent.getSource());
     }
 
+    /**
+     * Process instances loaded by the current unit of work, keyed by id. Instances that completed or were
+     * aborted by an earlier message are treated as not found, same as they would be once removed from storage.
+     */
+    private static class LoadedInstances<M extends Model> {
+
+        private final Process<M> process;
+        private final Map<String, Optional<ProcessInstance<M>>> instances = new HashMap<>();
+
+        private LoadedInstances(Process<M> process) {
+            this.process = process;
+        }
+
+        private Optional<ProcessInstance<M>> findById(String id) {
+            return instances.computeIfAbsent(id, process.instances()::findById).filter(LoadedInstances::isAlive);
+        }
+
+        private Collection<ProcessInstance<M>> loaded(Collection<ProcessInstance<M>> found) {
+            if (found.isEmpty()) {
+                return found;
+            }
+            List<ProcessInstance<M>> result = new ArrayList<>(found.size());
+            for (ProcessInstance<M> instance : found) {
+                instances.computeIfAbsent(instance.id(), id -> Optional.of(instance)).filter(LoadedInstances::isAlive).ifPresent(result::add);
+            }
+            return result;
+        }
+
+        private static boolean isAlive(ProcessInstance<?> instance) {
+            return instance.status() != ProcessInstance.STATE_COMPLETED && instance.status() != ProcessInstance.STATE_ABORTED;
+        }
+    }
 }
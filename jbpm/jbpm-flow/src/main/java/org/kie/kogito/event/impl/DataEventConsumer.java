@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.event.impl;
 
+import java.util.List;
 import java.util.function.Function;
 
 import org.kie.kogito.Application;
@@ -40,13 +41,27 @@ public class DataEventConsumer<D, M extends Model> implements EventConsumer<M> {
     public void consume(Application application, Process<M> process, Object eventData, String trigger) {
         M model = function.apply((D) eventData);
         UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
-            logger.debug(
-                    "Received message without reference id, staring new process instance with trigger '{}'",
-                    trigger);
-            ProcessInstance<M> pi = process.createInstance(model);
-            pi.start(trigger, null);
+            startNewInstance(process, model, trigger);
             return null;
         });
     }
 
+    @Override
+    public void consumeBatch(Application application, Process<M> process, List<?> payloads, String trigger) {
+        UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+            for (Object eventData : payloads) {
+                startNewInstance(process, function.apply((D) eventData), trigger);
+            }
+            return null;
+        });
+    }
+
+    private void startNewInstance(Process<M> process, M model, String trigger) {
+        logger.debug(
+                "Received message without reference id, staring new process instance with trigger '{}'",
+                trigger);
+        ProcessInstance<M> pi = process.createInstance(model);
+        pi.start(trigger, null);
+    }
+
 }
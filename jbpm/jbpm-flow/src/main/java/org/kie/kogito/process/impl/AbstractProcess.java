@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.jbpm.process.core.timer.DateTimeUtils;
 import org.jbpm.process.core.timer.Timer;
@@ -49,6 +50,7 @@ import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.ProcessInstancesFactory;
 import org.kie.kogito.process.Signal;
+import org.kie.kogito.uow.UnitOfWorkManager;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractProcess<T extends Model> implements Process<T> {
@@ -125,7 +127,9 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
 
     @Override
     public <S> void send(Signal<S> signal) {
-        instances().values(ProcessInstanceReadMode.MUTABLE).forEach(pi -> pi.send(signal));
+        try (Stream<ProcessInstance<T>> stream = instances().stream(ProcessInstanceReadMode.MUTABLE)) {
+            stream.forEach(pi -> pi.send(signal));
+        }
     }
 
     public Process<T> configure() {
@@ -215,6 +219,10 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
         this.processInstancesFactory = processInstancesFactory;
     }
 
+    public UnitOfWorkManager unitOfWorkManager() {
+        return services.getUnitOfWorkManager();
+    }
+
     public EventListener eventListener() {
         return completionEventListener;
     }
@@ -25,6 +25,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -49,6 +52,7 @@ import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
 import org.kie.kogito.internal.process.runtime.WorkItemNotFoundException;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
 import org.kie.kogito.process.EventDescription;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.NodeInstanceNotFoundException;
@@ -63,6 +67,9 @@ import org.kie.kogito.process.flexible.AdHocFragment;
 import org.kie.kogito.process.flexible.Milestone;
 import org.kie.kogito.process.workitem.Policy;
 import org.kie.kogito.process.workitem.Transition;
+import org.kie.kogito.process.workitems.InternalKogitoWorkItem;
+import org.kie.kogito.process.workitems.InternalKogitoWorkItemManager;
+import org.kie.kogito.services.uow.PassThroughUnitOfWork;
 import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
 
 public abstract class AbstractProcessInstance<T extends Model> implements ProcessInstance<T> {
@@ -87,6 +94,9 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     protected Long version;
 
+    // what the storage last read or wrote for this instance, so it can write only what changed since
+    protected Object storedState;
+
     public AbstractProcessInstance(AbstractProcess<T> process, T variables, ProcessRuntime rt) {
         this(process, variables, null, rt);
     }
@@ -223,7 +233,8 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.id = processInstance.getStringId();
         addCompletionEventListener();
         KogitoProcessInstance processInstance = getProcessRuntime().getKogitoProcessRuntime().startProcessInstance(this.id, trigger);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).create(pi.id(), pi));
+        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).create(pi.id(), pi),
+                (instances, pi) -> instances.createAsync(pi.id(), pi));
         unbind(variables, processInstance.getVariables());
         if (this.processInstance != null) {
             this.status = this.processInstance.getState();
@@ -235,13 +246,31 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         getProcessRuntime().getUnitOfWorkManager().currentUnitOfWork().intercept(new ProcessInstanceWorkUnit(this, action));
     }
 
+    /**
+     * Same as {@link #addToUnitOfWork(Consumer)} but when process instances storage supports non blocking
+     * operations the work unit is also given the async variant of the action, used when the unit of work
+     * is ended asynchronously.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected void addToUnitOfWork(Consumer<ProcessInstance<T>> action,
+            BiFunction<AsyncMutableProcessInstances<T>, ProcessInstance<T>, CompletionStage<Void>> asyncAction) {
+        if (!(process.instances() instanceof AsyncMutableProcessInstances)) {
+            addToUnitOfWork(action);
+            return;
+        }
+        AsyncMutableProcessInstances<T> instances = (AsyncMutableProcessInstances<T>) process.instances();
+        Function<Object, CompletionStage<Void>> async = pi -> asyncAction.apply(instances, (ProcessInstance<T>) pi);
+        getProcessRuntime().getUnitOfWorkManager().currentUnitOfWork().intercept(new ProcessInstanceWorkUnit(this, action, null, async));
+    }
+
     @Override
     public void abort() {
         String pid = processInstance().getStringId();
         unbind(variables, processInstance().getVariables());
         getProcessRuntime().getKogitoProcessRuntime().abortProcessInstance(pid);
         this.status = processInstance.getState();
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()));
+        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()),
+                (instances, pi) -> instances.removeAsync(pi.id()));
     }
 
     private InternalProcessRuntime getProcessRuntime() {
@@ -305,6 +334,20 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.version = version;
     }
 
+    /**
+     * Returns the state the storage recorded when this instance was last read from or written to it,
+     * which storages writing only the changed parts of an instance use as the base to compare with.
+     *
+     * @return recorded state, or null when the storage did not record any
+     */
+    public Object internalGetStoredState() {
+        return storedState;
+    }
+
+    public void internalSetStoredState(Object storedState) {
+        this.storedState = storedState;
+    }
+
     @Override
     public T updateVariables(T updates) {
         Map<String, Object> map = bind(updates);
@@ -313,7 +356,8 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             processInstance().setVariable(entry.getKey(), entry.getValue());
         }
         this.variables.update(map);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi),
+                (instances, pi) -> instances.updateAsync(pi.id(), pi));
         return variables;
     }
 
@@ -363,7 +407,8 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
         nodeInstanceContainerNode.getNodeInstance(node).trigger(null, Node.CONNECTION_DEFAULT_TYPE);
 
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi),
+                (instances, pi) -> instances.updateAsync(pi.id(), pi));
     }
 
     @Override
@@ -451,11 +496,51 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         removeOnFinish();
     }
 
+    /**
+     * Tells if work items of this instance can wait for their asynchronous results, that is when they run
+     * within a unit of work that stores this instance before the results are taken into account.
+     */
+    public boolean supportsAsyncWorkItems() {
+        return rt != null && !(getProcessRuntime().getUnitOfWorkManager().currentUnitOfWork() instanceof PassThroughUnitOfWork);
+    }
+
+    /**
+     * Completes given work item with its asynchronous results on given executor. Results are applied only after
+     * the current unit of work has stored this instance in its wait state and ended, in their own unit of work
+     * to the stored instance, failing the work item instead when the results completed exceptionally. Applying
+     * them is attempted again when it fails, and the work item is failed once attempts are exhausted.
+     *
+     * @param workItemId id of the work item waiting for the results
+     * @param results results of the work item as returned by its handler
+     * @param executor executor to apply the results on, as given by the work item handler
+     */
+    public void internalCompleteWorkItemAsync(String workItemId, CompletionStage<Map<String, Object>> results, Executor executor) {
+        AsyncWorkItemCompletion.afterUnitOfWork(process, getProcessRuntime().getUnitOfWorkManager(), processInstance.getStringId(), workItemId, results, executor);
+    }
+
+    /**
+     * Fails given work item as if its handler had thrown given error.
+     *
+     * @param workItemId id of the work item to fail
+     * @param error error to fail the work item with
+     */
+    public void internalFailWorkItem(String workItemId, Exception error) {
+        // the work item knows its node instance, which is looked up in the node instance index
+        InternalKogitoWorkItem workItem = ((InternalKogitoWorkItemManager) getProcessRuntime().getKogitoProcessRuntime().getKogitoWorkItemManager()).getWorkItem(workItemId);
+        NodeInstance nodeInstance = workItem == null ? null : processInstance().getNodeInstance(workItem.getNodeInstanceStringId(), true);
+        if (!(nodeInstance instanceof WorkItemNodeInstance)) {
+            throw new WorkItemNotFoundException("Work item with id " + workItemId + " was not found in process instance " + id(), workItemId);
+        }
+        ((WorkItemNodeInstance) nodeInstance).internalFailWorkItem(error);
+        removeOnFinish();
+    }
+
     @Override
     public <R> R updateWorkItem(String id, Function<KogitoWorkItem, R> updater, Policy<?>... policies) {
         R result = getProcessRuntime().getKogitoProcessRuntime().getKogitoWorkItemManager().updateWorkItem(id, updater,
                 policies);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi),
+                (instances, pi) -> instances.updateAsync(pi.id(), pi));
         return result;
     }
 
@@ -490,9 +575,11 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         if (processInstance.getState() != KogitoProcessInstance.STATE_ACTIVE && processInstance.getState() != KogitoProcessInstance.STATE_ERROR) {
             removeCompletionListener();
             syncProcessInstance(processInstance);
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()));
+            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()),
+                    (instances, pi) -> instances.removeAsync(pi.id()));
         } else {
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi),
+                    (instances, pi) -> instances.updateAsync(pi.id(), pi));
         }
         unbind(this.variables, processInstance().getVariables());
         this.status = processInstance.getState();
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Completes a work item with its asynchronous results once the unit of work that executed it ended, so the
+ * results are applied to the process instance as stored in its wait state, in a unit of work of their own.
+ * <p>
+ * Results are applied on the executor given by the work item handler. When applying them fails, e.g. because
+ * the stored instance is not visible yet or was updated concurrently, it is attempted again a few times with
+ * increasing delays, and the work item is failed with the last error once attempts are exhausted.
+ */
+class AsyncWorkItemCompletion {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncWorkItemCompletion.class);
+
+    static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_DELAY_MILLIS = 100;
+
+    private final Process<?> process;
+    private final UnitOfWorkManager uowManager;
+    private final String processInstanceId;
+    private final String workItemId;
+    private final Executor executor;
+
+    private AsyncWorkItemCompletion(Process<?> process, UnitOfWorkManager uowManager, String processInstanceId, String workItemId, Executor executor) {
+        this.process = process;
+        this.uowManager = uowManager;
+        this.processInstanceId = processInstanceId;
+        this.workItemId = workItemId;
+        this.executor = executor;
+    }
+
+    /**
+     * Applies given results once the current unit of work ended, cancelling them if it is aborted instead.
+     */
+    static void afterUnitOfWork(Process<?> process, UnitOfWorkManager uowManager, String processInstanceId, String workItemId,
+            CompletionStage<Map<String, Object>> results, Executor executor) {
+        AsyncWorkItemCompletion completion = new AsyncWorkItemCompletion(process, uowManager, processInstanceId, workItemId, executor);
+        UnitOfWork unitOfWork = uowManager.currentUnitOfWork();
+        CompletableFuture<Void> stored = new CompletableFuture<>();
+        unitOfWork.intercept(new StoredWorkUnit(stored, results));
+        CompletableFuture<Void> ended = EndedUnitsOfWork.of(uowManager).ended(unitOfWork);
+        CompletableFuture.allOf(stored, ended)
+                .thenCombine(results, (done, outcome) -> outcome)
+                .whenComplete((outcome, error) -> {
+                    if (!stored.isCancelled()) {
+                        completion.submit(outcome, error == null ? null : unwrap(error), 1);
+                    }
+                });
+    }
+
+    private void submit(Map<String, Object> outcome, Exception error, int attempt) {
+        try {
+            executor.execute(() -> apply(outcome, error, attempt));
+        } catch (RejectedExecutionException e) {
+            retry(outcome, error, attempt, e);
+        }
+    }
+
+    private void apply(Map<String, Object> outcome, Exception error, int attempt) {
+        try {
+            boolean applied = UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> process.instances().findById(processInstanceId).map(pi -> {
+                if (error == null) {
+                    pi.completeWorkItem(workItemId, outcome);
+                } else {
+                    ((AbstractProcessInstance<?>) pi).internalFailWorkItem(workItemId, error);
+                }
+                return true;
+            }).orElse(false));
+            if (!applied) {
+                retry(outcome, error, attempt, new ProcessInstanceNotFoundException(processInstanceId));
+            }
+        } catch (RuntimeException e) {
+            retry(outcome, error, attempt, e);
+        }
+    }
+
+    private void retry(Map<String, Object> outcome, Exception error, int attempt, RuntimeException cause) {
+        if (attempt < MAX_ATTEMPTS) {
+            long delay = RETRY_DELAY_MILLIS << (attempt - 1);
+            LOGGER.debug("Unable to complete work item {} of process instance {}, attempting again in {} ms", workItemId, processInstanceId, delay, cause);
+            // the delay thread only hands the attempt over to the executor
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, Runnable::run).execute(() -> submit(outcome, error, attempt + 1));
+        } else if (cause instanceof ProcessInstanceNotFoundException) {
+            LOGGER.error("Unable to complete work item {}, process instance {} was not found after {} attempts", workItemId, processInstanceId, attempt);
+        } else {
+            fail(cause);
+        }
+    }
+
+    // last resort once applying results keeps failing, on the calling thread as the executor might be saturated
+    private void fail(RuntimeException cause) {
+        try {
+            UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+                ProcessInstance<?> pi = process.instances().findById(processInstanceId).orElseThrow(() -> new ProcessInstanceNotFoundException(processInstanceId));
+                ((AbstractProcessInstance<?>) pi).internalFailWorkItem(workItemId, cause);
+                return null;
+            });
+            LOGGER.warn("Failed work item {} of process instance {} after {} attempts to complete it", workItemId, processInstanceId, MAX_ATTEMPTS, cause);
+        } catch (RuntimeException e) {
+            e.addSuppressed(cause);
+            LOGGER.error("Unable to complete nor fail work item {} of process instance {}", workItemId, processInstanceId, e);
+        }
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+    }
+
+    /**
+     * Performed after the process instance was stored by the unit of work, cancels the pending results when
+     * the unit of work is aborted.
+     */
+    private static class StoredWorkUnit implements WorkUnit<CompletableFuture<Void>> {
+
+        private final CompletableFuture<Void> stored;
+        private final CompletionStage<Map<String, Object>> results;
+
+        private StoredWorkUnit(CompletableFuture<Void> stored, CompletionStage<Map<String, Object>> results) {
+            this.stored = stored;
+            this.results = results;
+        }
+
+        @Override
+        public CompletableFuture<Void> data() {
+            return stored;
+        }
+
+        @Override
+        public void perform() {
+            stored.complete(null);
+        }
+
+        @Override
+        public void abort() {
+            stored.cancel(false);
+            results.toCompletableFuture().cancel(false);
+        }
+
+        @Override
+        public Integer priority() {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Tracks the end of units of work, once their listeners such as transaction managers committed.
+     * A single listener is registered per unit of work manager.
+     */
+    private static class EndedUnitsOfWork implements UnitOfWorkEventListener {
+
+        private static final Map<UnitOfWorkManager, EndedUnitsOfWork> LISTENERS = new WeakHashMap<>();
+
+        private final Map<UnitOfWork, CompletableFuture<Void>> pending = new WeakHashMap<>();
+
+        private static EndedUnitsOfWork of(UnitOfWorkManager uowManager) {
+            synchronized (LISTENERS) {
+                EndedUnitsOfWork listener = LISTENERS.get(uowManager);
+                if (listener == null) {
+                    listener = new EndedUnitsOfWork();
+                    uowManager.register(listener);
+                    LISTENERS.put(uowManager, listener);
+                }
+                return listener;
+            }
+        }
+
+        private synchronized CompletableFuture<Void> ended(UnitOfWork unitOfWork) {
+            return pending.computeIfAbsent(unitOfWork, u -> new CompletableFuture<>());
+        }
+
+        @Override
+        public void onAfterEndEvent(UnitOfWorkEndEvent event) {
+            CompletableFuture<Void> ended;
+            synchronized (this) {
+                ended = pending.remove(event.getUnitOfWork());
+            }
+            if (ended != null) {
+                ended.complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import org.jbpm.workflow.instance.WorkflowProcessInstance;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.services.executor.Continuations;
+import org.kie.kogito.services.uow.PassThroughUnitOfWork;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.WorkUnit;
+
+/**
+ * Decorator of {@link MutableProcessInstances} that keeps the most recently used process instances in memory
+ * so they are not fetched from the storage on every access.
+ * <p>
+ * The cache keeps a marshalled snapshot of every instance and each caller gets its own copy unmarshalled from it,
+ * so instances are never shared between callers. The cache is bounded, least recently used instances are evicted
+ * once it reaches its maximum size. Instances are evicted as well when they are removed, when writing them fails
+ * and when the unit of work that wrote them is aborted.
+ * <p>
+ * When the underlying storage uses optimistic locking the version of a cached instance is checked against
+ * the stored one before it is served, so instances changed or removed by other nodes are read again from the
+ * storage. That costs a version query on every hit, so with locking the cache saves unmarshalling the stored
+ * payload rather than a round trip. Without optimistic locking the storage keeps no versions, so the cache
+ * assumes it is the only writer.
+ * <p>
+ * Use {@link #of(Process, MutableProcessInstances, Marshaller, int, ProcessInstancesCacheListener)} to keep
+ * the asynchronous operations of storages implementing {@link AsyncMutableProcessInstances}.
+ */
+public class CachingProcessInstances<T> implements MutableProcessInstances<T> {
+
+    /**
+     * Converts process instances to and from the snapshots kept in the cache.
+     */
+    public interface Marshaller<T> {
+
+        byte[] marshall(ProcessInstance<T> instance);
+
+        ProcessInstance<T> unmarshall(byte[] data, ProcessInstanceReadMode mode);
+    }
+
+    protected final Process<T> process;
+    protected final MutableProcessInstances<T> delegate;
+    protected final Marshaller<T> marshaller;
+    protected final ProcessInstancesCacheListener listener;
+
+    private final Map<String, CachedInstance> cache;
+
+    public CachingProcessInstances(Process<T> process, MutableProcessInstances<T> delegate, Marshaller<T> marshaller, int maxSize) {
+        this(process, delegate, marshaller, maxSize, ProcessInstancesCacheListener.NO_OP);
+    }
+
+    public CachingProcessInstances(Process<T> process, MutableProcessInstances<T> delegate, Marshaller<T> marshaller, int maxSize,
+            ProcessInstancesCacheListener listener) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive but was " + maxSize);
+        }
+        this.process = process;
+        this.delegate = delegate;
+        this.marshaller = marshaller;
+        this.listener = listener;
+        this.cache = new LinkedHashMap<String, CachedInstance>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedInstance> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                listener.onEviction(process.id());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Wraps given process instances with a cache, keeping their asynchronous operations if they have any.
+     */
+    public static <T> CachingProcessInstances<T> of(Process<T> process, MutableProcessInstances<T> delegate, Marshaller<T> marshaller, int maxSize,
+            ProcessInstancesCacheListener listener) {
+        if (delegate instanceof AsyncMutableProcessInstances) {
+            return new Async<>(process, (AsyncMutableProcessInstances<T>) delegate, marshaller, maxSize, listener);
+        }
+        return new CachingProcessInstances<>(process, delegate, marshaller, maxSize, listener);
+    }
+
+    public MutableProcessInstances<T> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
+        CachedInstance cached = cached(id);
+        if (cached != null) {
+            if (isCurrent(id, cached)) {
+                listener.onHit(process.id());
+                return Optional.of(copy(cached, mode));
+            }
+            invalidate(id);
+        }
+        listener.onMiss(process.id());
+        return cacheFound(id, delegate.findById(id, mode), mode);
+    }
+
+    @Override
+    public Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode) {
+        return delegate.values(mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, int offset, int limit) {
+        return delegate.stream(mode, offset, limit);
+    }
+
+    @Override
+    public Integer size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean exists(String id) {
+        if (!delegate.lock()) {
+            synchronized (cache) {
+                if (cache.containsKey(id)) {
+                    return true;
+                }
+            }
+        }
+        return delegate.exists(id);
+    }
+
+    @Override
+    public void create(String id, ProcessInstance<T> instance) {
+        WorkflowProcessInstance wpi = ((AbstractProcessInstance<?>) instance).internalGetProcessInstance();
+        // taken before writing, as storages disconnect the instance once written
+        byte[] data = isActive(instance) ? marshaller.marshall(instance) : null;
+        try {
+            delegate.create(id, instance);
+        } catch (RuntimeException e) {
+            invalidate(id);
+            throw e;
+        }
+        created(id, instance, wpi, data, currentUnitOfWork());
+    }
+
+    @Override
+    public void update(String id, ProcessInstance<T> instance) {
+        WorkflowProcessInstance wpi = ((AbstractProcessInstance<?>) instance).internalGetProcessInstance();
+        byte[] data = isActive(instance) ? marshaller.marshall(instance) : null;
+        try {
+            delegate.update(id, instance);
+        } catch (RuntimeException e) {
+            // most likely updated by other request in the meantime, stop using the cached copy
+            invalidate(id);
+            throw e;
+        }
+        updated(id, instance, wpi, data, currentUnitOfWork());
+    }
+
+    @Override
+    public void remove(String id) {
+        invalidate(id);
+        delegate.remove(id);
+    }
+
+    @Override
+    public boolean lock() {
+        return delegate.lock();
+    }
+
+    @Override
+    public Optional<Long> version(String id) {
+        return delegate.version(id);
+    }
+
+    /**
+     * Removes the instance from the cache, so it is read again from the underlying storage on next access.
+     */
+    public void invalidate(String id) {
+        synchronized (cache) {
+            cache.remove(id);
+        }
+    }
+
+    protected CachedInstance cached(String id) {
+        synchronized (cache) {
+            return cache.get(id);
+        }
+    }
+
+    private boolean isCurrent(String id, CachedInstance cached) {
+        if (!delegate.lock()) {
+            return true;
+        }
+        Optional<Long> stored = delegate.version(id);
+        return stored.isPresent() && stored.get().equals(cached.version);
+    }
+
+    protected ProcessInstance<T> copy(CachedInstance cached, ProcessInstanceReadMode mode) {
+        ProcessInstance<T> instance = marshaller.unmarshall(cached.data, mode);
+        if (cached.version != null) {
+            ((AbstractProcessInstance<?>) instance).setVersion(cached.version);
+        }
+        return instance;
+    }
+
+    protected Optional<ProcessInstance<T>> cacheFound(String id, Optional<ProcessInstance<T>> found, ProcessInstanceReadMode mode) {
+        // read only instances cannot be used for further changes, so only mutable ones are worth keeping
+        if (mode == ProcessInstanceReadMode.MUTABLE) {
+            found.ifPresent(instance -> cache(new CachedInstance(id, marshaller.marshall(instance), instance.version())));
+        }
+        return found;
+    }
+
+    protected void created(String id, ProcessInstance<T> instance, WorkflowProcessInstance wpi, byte[] data, UnitOfWork unitOfWork) {
+        if (data != null) {
+            if (delegate.lock()) {
+                ((AbstractProcessInstance<?>) instance).setVersion(1L);
+            }
+            keepAttached(instance, wpi);
+            cacheWritten(new CachedInstance(id, data, instance.version()), unitOfWork);
+        } else {
+            invalidate(id);
+        }
+    }
+
+    protected void updated(String id, ProcessInstance<T> instance, WorkflowProcessInstance wpi, byte[] data, UnitOfWork unitOfWork) {
+        AbstractProcessInstance<?> abstractInstance = (AbstractProcessInstance<?>) instance;
+        if (delegate.lock() && data != null && abstractInstance.version() != null) {
+            abstractInstance.setVersion(abstractInstance.version() + 1);
+        }
+        keepAttached(instance, wpi);
+        if (data != null) {
+            cacheWritten(new CachedInstance(id, data, instance.version()), unitOfWork);
+        } else {
+            invalidate(id);
+        }
+    }
+
+    private void cache(CachedInstance cached) {
+        synchronized (cache) {
+            cache.put(cached.id, cached);
+        }
+    }
+
+    private void cacheWritten(CachedInstance cached, UnitOfWork unitOfWork) {
+        cache(cached);
+        // the write only becomes durable once the unit of work completes, an aborted one must not leave it cached
+        if (unitOfWork != null) {
+            unitOfWork.intercept(WorkUnit.create(cached.id, id -> {
+            }, this::invalidate));
+        }
+    }
+
+    protected UnitOfWork currentUnitOfWork() {
+        if (!(process instanceof AbstractProcess)) {
+            return null;
+        }
+        UnitOfWork unitOfWork = ((AbstractProcess<?>) process).unitOfWorkManager().currentUnitOfWork();
+        return unitOfWork instanceof PassThroughUnitOfWork ? null : unitOfWork;
+    }
+
+    /**
+     * Storages disconnect the instance once written and reload it from the storage on next access,
+     * instead the instance is reattached to the very same process instance it was written from. This
+     * only concerns the caller's own instance, the cache itself hands out copies.
+     */
+    private void keepAttached(ProcessInstance<T> instance, WorkflowProcessInstance wpi) {
+        AbstractProcessInstance<?> abstractInstance = (AbstractProcessInstance<?>) instance;
+        if (wpi != null && abstractInstance.internalGetProcessInstance() == null) {
+            abstractInstance.reloadSupplier = pi -> pi.internalSetProcessInstance(wpi);
+        }
+    }
+
+    protected static class CachedInstance {
+
+        private final String id;
+        private final byte[] data;
+        private final Long version;
+
+        private CachedInstance(String id, byte[] data, Long version) {
+            this.id = id;
+            this.data = data;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Cache of a storage with asynchronous operations, which it delegates to.
+     * <p>
+     * With optimistic locking a cached instance cannot be checked against the stored version without
+     * blocking, so asynchronous lookups always read the instance from the storage and refresh the cache.
+     */
+    public static class Async<T> extends CachingProcessInstances<T> implements AsyncMutableProcessInstances<T> {
+
+        private final AsyncMutableProcessInstances<T> asyncDelegate;
+
+        public Async(Process<T> process, AsyncMutableProcessInstances<T> delegate, Marshaller<T> marshaller, int maxSize,
+                ProcessInstancesCacheListener listener) {
+            super(process, delegate, marshaller, maxSize, listener);
+            this.asyncDelegate = delegate;
+        }
+
+        @Override
+        public CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode, Executor executor) {
+            CachedInstance cached = delegate.lock() ? null : cached(id);
+            if (cached != null) {
+                listener.onHit(process.id());
+                return Continuations.continueOn(CompletableFuture.completedFuture(cached), executor)
+                        .thenApply(c -> Optional.of(copy(c, mode)));
+            }
+            listener.onMiss(process.id());
+            return asyncDelegate.findByIdAsync(id, mode, executor)
+                    .thenApply(found -> cacheFound(id, found, mode));
+        }
+
+        @Override
+        public CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance) {
+            WorkflowProcessInstance wpi = ((AbstractProcessInstance<?>) instance).internalGetProcessInstance();
+            byte[] data = isActive(instance) ? marshaller.marshall(instance) : null;
+            // the unit of work is bound to the calling thread, the write completes on the storage's one
+            UnitOfWork unitOfWork = currentUnitOfWork();
+            return invalidateOnFailure(id, asyncDelegate.createAsync(id, instance))
+                    .thenRun(() -> created(id, instance, wpi, data, unitOfWork));
+        }
+
+        @Override
+        public CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance) {
+            WorkflowProcessInstance wpi = ((AbstractProcessInstance<?>) instance).internalGetProcessInstance();
+            byte[] data = isActive(instance) ? marshaller.marshall(instance) : null;
+            UnitOfWork unitOfWork = currentUnitOfWork();
+            return invalidateOnFailure(id, asyncDelegate.updateAsync(id, instance))
+                    .thenRun(() -> updated(id, instance, wpi, data, unitOfWork));
+        }
+
+        @Override
+        public CompletionStage<Void> removeAsync(String id) {
+            invalidate(id);
+            return asyncDelegate.removeAsync(id);
+        }
+
+        private CompletionStage<Void> invalidateOnFailure(String id, CompletionStage<Void> write) {
+            return write.whenComplete((v, error) -> {
+                if (error != null) {
+                    invalidate(id);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.kie.kogito.process.AsyncMutableProcessInstances;
+import org.kie.kogito.process.CorrelatedProcessInstances;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+
+/**
+ * Decorator of {@link MutableProcessInstances} that maintains a correlation index of the instances
+ * written through it, so instances waiting for an event can be looked up by business key without
+ * querying the storage for candidates.
+ * <p>
+ * The index is kept in memory, the storages do not keep business keys in a form they can be queried by.
+ * Instances written by other nodes are not seen until they are read or written through this one, so
+ * found instances are always loaded and checked against the storage, and the index is corrected when
+ * they differ. When the index finds no waiting instance the stored instances are queried instead, and
+ * the index is refreshed from them. That query reads all stored instances of the process, so it runs at
+ * most once per rescan interval: misses in between are answered by the index refreshed by the last query,
+ * and instances written by other nodes since then are only found once the interval elapsed.
+ */
+public class CorrelationIndexedProcessInstances<T> implements MutableProcessInstances<T>, CorrelatedProcessInstances<T> {
+
+    private static final Duration DEFAULT_RESCAN_INTERVAL = Duration.ofSeconds(10);
+
+    protected final MutableProcessInstances<T> delegate;
+    protected final ProcessInstanceCorrelationIndex correlations = new ProcessInstanceCorrelationIndex();
+
+    private final long rescanIntervalMillis;
+    private final AtomicLong nextScan = new AtomicLong(Long.MIN_VALUE);
+
+    public CorrelationIndexedProcessInstances(MutableProcessInstances<T> delegate) {
+        this(delegate, DEFAULT_RESCAN_INTERVAL);
+    }
+
+    public CorrelationIndexedProcessInstances(MutableProcessInstances<T> delegate, Duration rescanInterval) {
+        this.delegate = delegate;
+        this.rescanIntervalMillis = rescanInterval.toMillis();
+    }
+
+    /**
+     * Wraps given process instances with the correlation index, or returns them as they are if not enabled.
+     * Asynchronous operations of the wrapped instances are kept.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static MutableProcessInstances<?> indexed(MutableProcessInstances<?> instances, boolean enabled) {
+        if (!enabled) {
+            return instances;
+        }
+        return instances instanceof AsyncMutableProcessInstances ? new Async((AsyncMutableProcessInstances) instances)
+                : new CorrelationIndexedProcessInstances(instances);
+    }
+
+    public MutableProcessInstances<T> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
+        return delegate.findById(id, mode);
+    }
+
+    @Override
+    public Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode) {
+        return delegate.values(mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, int offset, int limit) {
+        return delegate.stream(mode, offset, limit);
+    }
+
+    @Override
+    public Integer size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return delegate.exists(id);
+    }
+
+    @Override
+    public void create(String id, ProcessInstance<T> instance) {
+        delegate.create(id, instance);
+        correlations.index(id, instance);
+    }
+
+    @Override
+    public void update(String id, ProcessInstance<T> instance) {
+        delegate.update(id, instance);
+        correlations.index(id, instance);
+    }
+
+    @Override
+    public void remove(String id) {
+        delegate.remove(id);
+        correlations.unindex(id);
+    }
+
+    @Override
+    public boolean isActive(ProcessInstance<T> instance) {
+        return delegate.isActive(instance);
+    }
+
+    @Override
+    public boolean lock() {
+        return delegate.lock();
+    }
+
+    @Override
+    public Collection<ProcessInstance<T>> findWaiting(String businessKey, String event, ProcessInstanceReadMode mode) {
+        List<ProcessInstance<T>> found = new ArrayList<>();
+        for (String id : correlations.find(businessKey, event)) {
+            Optional<ProcessInstance<T>> instance = delegate.findById(id, mode);
+            if (!instance.isPresent()) {
+                correlations.unindex(id);
+            } else if (isWaiting(instance.get(), businessKey, event)) {
+                found.add(instance.get());
+            } else {
+                correlations.index(id, instance.get());
+            }
+        }
+        return found.isEmpty() ? findStored(businessKey, event, mode) : found;
+    }
+
+    /**
+     * Drops the index, it is filled again as instances are written and looked up.
+     */
+    public void reset() {
+        correlations.clear();
+        nextScan.set(Long.MIN_VALUE);
+    }
+
+    // the waiting instance may have been written by other node, the stored instances are the only source of truth
+    private Collection<ProcessInstance<T>> findStored(String businessKey, String event, ProcessInstanceReadMode mode) {
+        long now = System.currentTimeMillis();
+        long next = nextScan.get();
+        // a single caller rescans once the interval elapsed, anyone else relies on the index
+        if (now < next || !nextScan.compareAndSet(next, now + rescanIntervalMillis)) {
+            return Collections.emptyList();
+        }
+        List<String> waiting = new ArrayList<>();
+        try (Stream<ProcessInstance<T>> stored = delegate.stream(ProcessInstanceReadMode.READ_ONLY)) {
+            stored.forEach(instance -> {
+                correlations.index(instance.id(), instance);
+                if (isWaiting(instance, businessKey, event)) {
+                    waiting.add(instance.id());
+                }
+            });
+        }
+        List<ProcessInstance<T>> found = new ArrayList<>();
+        for (String id : waiting) {
+            delegate.findById(id, mode).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    private static boolean isWaiting(ProcessInstance<?> instance, String businessKey, String event) {
+        return businessKey.equals(instance.businessKey())
+                && instance.status() == ProcessInstance.STATE_ACTIVE
+                && instance.events().stream().anyMatch(e -> event.equals(e.getEvent()));
+    }
+
+    /**
+     * Correlation index of a storage with asynchronous operations, which it delegates to.
+     */
+    public static class Async<T> extends CorrelationIndexedProcessInstances<T> implements AsyncMutableProcessInstances<T> {
+
+        private final AsyncMutableProcessInstances<T> asyncDelegate;
+
+        public Async(AsyncMutableProcessInstances<T> delegate) {
+            this(delegate, DEFAULT_RESCAN_INTERVAL);
+        }
+
+        public Async(AsyncMutableProcessInstances<T> delegate, Duration rescanInterval) {
+            super(delegate, rescanInterval);
+            this.asyncDelegate = delegate;
+        }
+
+        @Override
+        public CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode, Executor executor) {
+            return asyncDelegate.findByIdAsync(id, mode, executor);
+        }
+
+        // indexed up front while the instance is still attached, reading it once written could reload it on the storage's thread
+        @Override
+        public CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance) {
+            correlations.index(id, instance);
+            return unindexOnFailure(id, asyncDelegate.createAsync(id, instance));
+        }
+
+        @Override
+        public CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance) {
+            correlations.index(id, instance);
+            return unindexOnFailure(id, asyncDelegate.updateAsync(id, instance));
+        }
+
+        @Override
+        public CompletionStage<Void> removeAsync(String id) {
+            return asyncDelegate.removeAsync(id).thenRun(() -> correlations.unindex(id));
+        }
+
+        private CompletionStage<Void> unindexOnFailure(String id, CompletionStage<Void> write) {
+            return write.whenComplete((v, error) -> {
+                if (error != null) {
+                    correlations.unindex(id);
+                }
+            });
+        }
+    }
+}
@@ -16,17 +16,21 @@
 package org.kie.kogito.process.impl;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+import org.kie.kogito.process.CorrelatedProcessInstances;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 
-class MapProcessInstances<T> implements MutableProcessInstances<T> {
+class MapProcessInstances<T> implements MutableProcessInstances<T>, CorrelatedProcessInstances<T> {
 
     private final ConcurrentHashMap<String, ProcessInstance<T>> instances = new ConcurrentHashMap<>();
+    private final ProcessInstanceCorrelationIndex correlations = new ProcessInstanceCorrelationIndex();
 
     @Override
     public Integer size() {
@@ -43,6 +47,14 @@ class MapProcessInstances<T> implements MutableProcessInstances<T> {
         return instances.values();
     }
 
+    @Override
+    public Collection<ProcessInstance<T>> findWaiting(String businessKey, String event, ProcessInstanceReadMode mode) {
+        return correlations.find(businessKey, event).stream()
+                .map(instances::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void create(String id, ProcessInstance<T> instance) {
         if (isActive(instance)) {
@@ -50,6 +62,7 @@ class MapProcessInstances<T> implements MutableProcessInstances<T> {
             if (existing != null) {
                 throw new ProcessInstanceDuplicatedException(id);
             }
+            correlations.index(id, instance);
         }
     }
 
@@ -57,12 +70,14 @@ class MapProcessInstances<T> implements MutableProcessInstances<T> {
     public void update(String id, ProcessInstance<T> instance) {
         if (isActive(instance)) {
             instances.put(id, instance);
+            correlations.index(id, instance);
         }
     }
 
     @Override
     public void remove(String id) {
         instances.remove(id);
+        correlations.unindex(id);
     }
 
     @Override
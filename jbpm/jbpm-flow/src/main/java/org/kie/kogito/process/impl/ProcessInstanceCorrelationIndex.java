@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kie.kogito.process.EventDescription;
+import org.kie.kogito.process.ProcessInstance;
+
+/**
+ * In memory index of active process instances by business key and the events they are waiting for.
+ * Instances without business key are not indexed as there is nothing to correlate them with.
+ */
+class ProcessInstanceCorrelationIndex {
+
+    private final Map<CorrelationKey, Set<String>> waiting = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    void index(String id, ProcessInstance<?> instance) {
+        String businessKey = instance.businessKey();
+        if (businessKey == null || instance.status() != ProcessInstance.STATE_ACTIVE) {
+            unindex(id);
+            return;
+        }
+        Set<String> events = new HashSet<>();
+        for (EventDescription<?> event : instance.events()) {
+            events.add(event.getEvent());
+        }
+        entries.compute(id, (k, previous) -> {
+            if (previous != null) {
+                previous.events.stream()
+                        .filter(event -> !previous.businessKey.equals(businessKey) || !events.contains(event))
+                        .forEach(event -> remove(new CorrelationKey(previous.businessKey, event), id));
+            }
+            events.forEach(event -> add(new CorrelationKey(businessKey, event), id));
+            return new Entry(businessKey, events);
+        });
+    }
+
+    void unindex(String id) {
+        entries.computeIfPresent(id, (k, previous) -> {
+            previous.events.forEach(event -> remove(new CorrelationKey(previous.businessKey, event), id));
+            return null;
+        });
+    }
+
+    Set<String> find(String businessKey, String event) {
+        Set<String> ids = waiting.get(new CorrelationKey(businessKey, event));
+        return ids == null ? Collections.emptySet() : new HashSet<>(ids);
+    }
+
+    void clear() {
+        entries.clear();
+        waiting.clear();
+    }
+
+    private void add(CorrelationKey key, String id) {
+        waiting.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private void remove(CorrelationKey key, String id) {
+        waiting.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static class Entry {
+
+        private final String businessKey;
+        private final Set<String> events;
+
+        private Entry(String businessKey, Set<String> events) {
+            this.businessKey = businessKey;
+            this.events = events;
+        }
+    }
+
+    private static class CorrelationKey {
+
+        private final String businessKey;
+        private final String event;
+
+        private CorrelationKey(String businessKey, String event) {
+            this.businessKey = businessKey;
+            this.event = event;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(businessKey, event);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CorrelationKey)) {
+                return false;
+            }
+            CorrelationKey other = (CorrelationKey) obj;
+            return businessKey.equals(other.businessKey) && Objects.equals(event, other.event);
+        }
+    }
+}
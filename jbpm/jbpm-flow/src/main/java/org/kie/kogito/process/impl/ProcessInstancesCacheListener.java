@@ -0,0 +1,37 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+/**
+ * Receives notifications about the process instances cache usage, see {@link CachingProcessInstances}.
+ */
+public interface ProcessInstancesCacheListener {
+
+    ProcessInstancesCacheListener NO_OP = new ProcessInstancesCacheListener() {
+    };
+
+    default void onHit(String processId) {
+
+    }
+
+    default void onMiss(String processId) {
+
+    }
+
+    default void onEviction(String processId) {
+
+    }
+}
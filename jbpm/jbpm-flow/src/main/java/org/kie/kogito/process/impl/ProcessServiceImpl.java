@@ -20,8 +20,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jbpm.process.instance.impl.humantask.HumanTaskHelper;
 import org.jbpm.process.instance.impl.humantask.HumanTaskTransition;
@@ -30,6 +34,7 @@ import org.kie.kogito.Application;
 import org.kie.kogito.MapOutput;
 import org.kie.kogito.MappableToModel;
 import org.kie.kogito.Model;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
@@ -46,9 +51,20 @@ import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 public class ProcessServiceImpl implements ProcessService {
 
     private final Application application;
+    private final Executor executor;
 
     public ProcessServiceImpl(Application application) {
+        this(application, Runnable::run);
+    }
+
+    /**
+     * @param executor worker executor the async variants continue on once the storage completed, as asynchronous
+     *        storages complete on their I/O threads where engine work (possibly blocking, e.g. reloading a disconnected
+     *        instance) must not run; stored instances are read on it as well so results are handed over only once
+     */
+    public ProcessServiceImpl(Application application, Executor executor) {
         this.application = application;
+        this.executor = executor;
     }
 
     @Override
@@ -68,10 +84,20 @@ public class ProcessServiceImpl implements ProcessService {
 
     @Override
     public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process) {
-        return process.instances().values().stream()
-                .map(ProcessInstance::variables)
-                .map(MappableToModel::toModel)
-                .collect(Collectors.toList());
+        return getProcessInstanceOutput(process, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative, got offset " + offset + " and limit " + limit);
+        }
+        try (Stream<ProcessInstance<T>> stream = process.instances().stream(ProcessInstanceReadMode.READ_ONLY, offset, limit)) {
+            return stream
+                    .map(ProcessInstance::variables)
+                    .map(MappableToModel::toModel)
+                    .collect(Collectors.toList());
+        }
     }
 
     @Override
@@ -109,6 +135,64 @@ public class ProcessServiceImpl implements ProcessService {
                         .map(MappableToModel::toModel));
     }
 
+    @Override
+    public <T extends Model> CompletionStage<ProcessInstance<T>> createProcessInstanceAsync(Process<T> process, String businessKey,
+            T model,
+            String startFromNodeId) {
+        return UnitOfWorkExecutor.executeInUnitOfWorkAsync(application.unitOfWorkManager(), () -> {
+            ProcessInstance<T> pi = process.createInstance(businessKey, model);
+            if (startFromNodeId != null) {
+                pi.startFrom(startFromNodeId);
+            } else {
+                pi.start();
+            }
+            return pi;
+        }, executor);
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id) {
+        return findInstanceAsync(process, id, ProcessInstanceReadMode.READ_ONLY)
+                .thenApply(instance -> instance
+                        .map(ProcessInstance::variables)
+                        .map(MappableToModel::toModel));
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> deleteAsync(Process<T> process, String id) {
+        return findInstanceAsync(process, id, ProcessInstanceReadMode.MUTABLE)
+                .thenCompose(instance -> UnitOfWorkExecutor.executeInUnitOfWorkAsync(
+                        application.unitOfWorkManager(),
+                        () -> instance
+                                .map(pi -> {
+                                    pi.abort();
+                                    return pi;
+                                })
+                                .map(ProcessInstance::checkError)
+                                .map(ProcessInstance::variables)
+                                .map(MappableToModel::toModel),
+                        executor));
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> updateAsync(Process<T> process, String id, T resource) {
+        return findInstanceAsync(process, id, ProcessInstanceReadMode.MUTABLE)
+                .thenCompose(instance -> UnitOfWorkExecutor.executeInUnitOfWorkAsync(
+                        application.unitOfWorkManager(),
+                        () -> instance
+                                .map(pi -> pi.updateVariables(resource))
+                                .map(MappableToModel::toModel),
+                        executor));
+    }
+
+    private <T> CompletionStage<Optional<ProcessInstance<T>>> findInstanceAsync(Process<T> process, String id, ProcessInstanceReadMode mode) {
+        if (process.instances() instanceof AsyncMutableProcessInstances) {
+            // the storage hands the stored instance over to the worker executor, a saturated one fails the stage
+            return ((AsyncMutableProcessInstances<T>) process.instances()).findByIdAsync(id, mode, executor);
+        }
+        return CompletableFuture.completedFuture(process.instances().findById(id, mode));
+    }
+
     @Override
     public <T extends Model> Optional<List<WorkItem>> getTasks(Process<T> process, String id, String user, List<String> groups) {
         return process.instances()
@@ -16,19 +16,47 @@
 package org.jbpm.process;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
 import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
+import org.jbpm.ruleflow.core.factory.ForEachNodeFactory;
 import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.core.node.ForEachNode;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.process.WorkflowProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoAsyncWorkItemHandler;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
 import org.slf4j.LoggerFactory;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class ForEachTest extends AbstractBaseTest {
 
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
     public void addLogger() {
         logger = LoggerFactory.getLogger(this.getClass());
     }
@@ -90,4 +118,97 @@ public class ForEachTest extends AbstractBaseTest {
         kruntime.startProcess("ParentProcess", parameters);
     }
 
+    @Test
+    public void testParallelIterations() {
+        AsyncUpperCaseHandler handler = new AsyncUpperCaseHandler();
+        WorkflowProcessInstance processInstance = startAsyncProcess(3, null, handler, "aaaaa", "bbbb", "ccc", "dd", "e", "ff");
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+        assertThat(processInstance.getVariable("listOut")).isEqualTo(Arrays.asList("AAAAA", "BBBB", "CCC", "DD", "E", "FF"));
+        assertThat(handler.maxRunning.get()).isBetween(2, 3);
+    }
+
+    @Test
+    public void testParallelIterationsCompletionCondition() {
+        AsyncUpperCaseHandler handler = new AsyncUpperCaseHandler();
+        WorkflowProcessInstance processInstance = startAsyncProcess(2, "listOut.size() == 2", handler, "aaaaa", "bbbb", "ccc", "dd", "e");
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+        assertThat(processInstance.getVariable("listOut")).isEqualTo(Arrays.asList("AAAAA", "BBBB"));
+        assertThat(handler.started.get()).isEqualTo(3);
+        assertThat(handler.aborted).containsExactly("ccc");
+    }
+
+    @Test
+    public void testAsyncHandlerWithoutParallelism() {
+        AsyncUpperCaseHandler handler = new AsyncUpperCaseHandler();
+        WorkflowProcessInstance processInstance = startAsyncProcess(0, null, handler, "aa", "b", "ccc");
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+        assertThat(processInstance.getVariable("listOut")).isEqualTo(Arrays.asList("AA", "B", "CCC"));
+        assertThat(handler.maxRunning.get()).isEqualTo(1);
+    }
+
+    private WorkflowProcessInstance startAsyncProcess(int parallelism, String completionCondition, AsyncUpperCaseHandler handler, String... items) {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("ParallelProcess");
+        factory.variable("list", new ObjectDataType("java.util.List"));
+        factory.variable("listOut", new ObjectDataType("java.util.List"));
+        factory.name("Parallel Process");
+        factory.packageName("org.jbpm.process");
+        factory.version("1.0");
+        factory.startNode(1).name("Start").done();
+        ForEachNodeFactory<RuleFlowProcessFactory> forEachNode = factory.forEachNode(2);
+        forEachNode.collectionExpression("list")
+                .variable("x", new ObjectDataType("java.lang.String"))
+                .outputCollectionExpression("listOut")
+                .outputVariable("y", new ObjectDataType("java.lang.String"))
+                .parallelism(parallelism);
+        forEachNode.workItemNode(5).name("Upper").workName("Upper").inMapping("Input", "x").outMapping("Result", "y").done();
+        forEachNode.linkIncomingConnections(5);
+        forEachNode.linkOutgoingConnections(5);
+        forEachNode.done();
+        factory.endNode(3).name("End").terminate(true).done();
+        factory.connection(1, 2);
+        factory.connection(2, 3);
+        RuleFlowProcess process = factory.validate().getProcess();
+        ((ForEachNode) process.getNode(2)).setCompletionConditionExpression(completionCondition);
+
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(process);
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Upper", handler);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("list", Arrays.asList(items));
+        parameters.put("listOut", new ArrayList<>());
+        return (WorkflowProcessInstance) kruntime.startProcess("ParallelProcess", parameters);
+    }
+
+    private class AsyncUpperCaseHandler implements KogitoAsyncWorkItemHandler {
+
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private final List<String> aborted = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletionStage<Map<String, Object>> executeWorkItemAsync(KogitoWorkItem workItem) {
+            String input = (String) workItem.getParameter("Input");
+            started.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    // longer items take longer, so the first ones complete last
+                    Thread.sleep(input.length() * 20L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+                return Collections.singletonMap("Result", input.toUpperCase());
+            }, executor);
+        }
+
+        @Override
+        public void abortWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            aborted.add((String) workItem.getParameter("Input"));
+        }
+    }
 }
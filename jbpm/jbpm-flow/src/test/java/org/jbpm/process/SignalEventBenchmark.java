@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.process;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.core.impl.KnowledgeBaseImpl;
+import org.jbpm.process.instance.impl.demo.DoNothingWorkItemHandler;
+import org.jbpm.workflow.instance.NodeInstance;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.kie.api.KieBase;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures signalling a process instance and looking up its node instances for growing number of
+ * active node instances, the cost of both is expected to stay the same regardless of instance size.
+ * <p>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.jbpm.process.SignalEventBenchmark</code>
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignalEventBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int branches;
+
+    private WorkflowProcessInstanceImpl processInstance;
+    private String lastNodeInstanceId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        KieBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        ((KnowledgeBaseImpl) kbase).addProcess(SignalEventTest.createProcess(branches));
+        KogitoProcessRuntime kruntime = KogitoProcessRuntime.asKogitoProcessRuntime(kbase.newKieSession());
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Wait", new DoNothingWorkItemHandler());
+        processInstance = (WorkflowProcessInstanceImpl) kruntime.startProcess("org.jbpm.signals");
+        NodeInstance last = null;
+        for (NodeInstance nodeInstance : processInstance.getNodeInstances(false)) {
+            last = nodeInstance;
+        }
+        lastNodeInstanceId = last.getStringId();
+    }
+
+    @Benchmark
+    public WorkflowProcessInstanceImpl signalUnknownEvent() {
+        processInstance.signalEvent("unknown", null);
+        return processInstance;
+    }
+
+    @Benchmark
+    public NodeInstance getNodeInstance() {
+        return processInstance.getNodeInstance(lastNodeInstanceId, true);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SignalEventBenchmark.class.getSimpleName()).build()).run();
+    }
+}
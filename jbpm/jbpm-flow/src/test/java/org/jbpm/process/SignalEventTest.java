@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.process;
+
+import org.jbpm.process.instance.impl.demo.DoNothingWorkItemHandler;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.core.node.Split;
+import org.jbpm.workflow.instance.NodeInstance;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SignalEventTest extends AbstractBaseTest {
+
+    private static final int BRANCHES = 50;
+
+    public void addLogger() {
+        logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    /**
+     * Process with given number of parallel branches, each waiting on a work item and on an event
+     * node listening to its own event type, all active once started.
+     */
+    public static RuleFlowProcess createProcess(int branches) {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("org.jbpm.signals");
+        factory.name("Signals");
+        factory.packageName("org.jbpm.process");
+        factory.version("1.0");
+        factory.startNode(1).name("Start").done();
+        factory.splitNode(2).name("Split").type(Split.TYPE_AND).done();
+        factory.connection(1, 2);
+        for (int i = 0; i < branches; i++) {
+            long taskId = 10 + i * 4L;
+            factory.workItemNode(taskId).name("Task " + i).workName("Wait").done();
+            factory.endNode(taskId + 1).name("Task End " + i).terminate(false).done();
+            factory.eventNode(taskId + 2).name("Event " + i).eventType("event-" + i).done();
+            factory.endNode(taskId + 3).name("Event End " + i).terminate(false).done();
+            factory.connection(2, taskId);
+            factory.connection(taskId, taskId + 1);
+            factory.connection(2, taskId + 2);
+            factory.connection(taskId + 2, taskId + 3);
+        }
+        return factory.validate().getProcess();
+    }
+
+    private KogitoProcessRuntime createRuntime(int branches) {
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(createProcess(branches));
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Wait", new DoNothingWorkItemHandler());
+        return kruntime;
+    }
+
+    @Test
+    public void testSignalOnlyTriggersListeningNode() {
+        KogitoProcessRuntime kruntime = createRuntime(BRANCHES);
+        WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) kruntime.startProcess("org.jbpm.signals");
+        assertEquals(KogitoProcessInstance.STATE_ACTIVE, processInstance.getState());
+        assertEquals(BRANCHES * 2, processInstance.getNodeInstances().size());
+
+        processInstance.signalEvent("unknown", null);
+        assertEquals(BRANCHES * 2, processInstance.getNodeInstances().size());
+
+        processInstance.signalEvent("event-7", "data");
+        assertEquals(BRANCHES * 2 - 1, processInstance.getNodeInstances().size());
+        assertEquals(0, processInstance.getNodeInstances(40L).size());
+        assertEquals(1, processInstance.getNodeInstances(38L).size());
+
+        processInstance.signalEvent("event-7", "data");
+        assertEquals(BRANCHES * 2 - 1, processInstance.getNodeInstances().size());
+    }
+
+    @Test
+    public void testNodeInstanceLookup() {
+        KogitoProcessRuntime kruntime = createRuntime(BRANCHES);
+        WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) kruntime.startProcess("org.jbpm.signals");
+
+        for (NodeInstance nodeInstance : processInstance.getNodeInstances(false)) {
+            NodeInstance found = processInstance.getNodeInstance(nodeInstance.getStringId(), true);
+            assertSame(nodeInstance, found);
+        }
+        assertNull(processInstance.getNodeInstance("unknown", true));
+
+        NodeInstance event = processInstance.getNodeInstances(12L).get(0);
+        processInstance.signalEvent("event-0", null);
+        assertNull(processInstance.getNodeInstance(event.getStringId(), false));
+    }
+}
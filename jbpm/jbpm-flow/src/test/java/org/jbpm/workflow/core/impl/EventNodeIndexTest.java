@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.workflow.core.node.ActionNode;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.CompositeNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.junit.jupiter.api.Test;
+import org.kie.api.definition.process.Node;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventNodeIndexTest {
+
+    @Test
+    public void testEventNodesByType() {
+        EventNode first = eventNode(1, "first");
+        EventNode second = eventNode(2, "second");
+        EventNode noType = new EventNode();
+        noType.setId(3);
+        ActionNode action = new ActionNode();
+        action.setId(4);
+        EventNodeIndex index = new EventNodeIndex(new Node[] { first, action, noType, second });
+
+        assertThat(index.getEventNodes("first")).containsExactly(first, noType);
+        assertThat(index.getEventNodes("second")).containsExactly(noType, second);
+        assertThat(index.getEventNodes("unknown")).containsExactly(noType);
+    }
+
+    @Test
+    public void testBoundaryEventNodes() {
+        BoundaryEventNode fixed = boundaryEventNode(1, "Message-fixed");
+        BoundaryEventNode resolved = boundaryEventNode(2, "Message-#{var}");
+        EventNodeIndex index = new EventNodeIndex(new Node[] { fixed, resolved });
+
+        assertThat(index.getEventNodes("Message-fixed")).containsExactly(fixed, resolved);
+        assertThat(index.getEventNodes("Message-value")).containsExactly(resolved);
+    }
+
+    @Test
+    public void testDynamicNodes() {
+        ActionNode task = new ActionNode();
+        task.setId(1);
+        task.setName("task");
+        CompositeNode composite = new CompositeNode();
+        composite.setId(2);
+        composite.setName("task");
+        ActionNode other = new ActionNode();
+        other.setId(3);
+        other.setName("other");
+        EventNodeIndex index = new EventNodeIndex(new Node[] { task, composite, other });
+
+        assertThat(index.getDynamicNodes("task")).containsExactly(task, composite);
+        assertThat(index.getDynamicNodes("other")).containsExactly(composite, other);
+        assertThat(index.getDynamicNodes("unknown")).containsExactly(composite);
+    }
+
+    private static EventNode eventNode(long id, String type) {
+        EventNode node = new EventNode();
+        node.setId(id);
+        node.addEventFilter(typeFilter(type));
+        return node;
+    }
+
+    private static BoundaryEventNode boundaryEventNode(long id, String type) {
+        BoundaryEventNode node = new BoundaryEventNode();
+        node.setId(id);
+        node.addEventFilter(typeFilter(type));
+        return node;
+    }
+
+    private static EventTypeFilter typeFilter(String type) {
+        EventTypeFilter filter = new EventTypeFilter();
+        filter.setType(type);
+        return filter;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class CachingProcessInstancesTest {
+
+    private Process<Object> process;
+    private UnitOfWorkManager unitOfWorkManager;
+    private MutableProcessInstances<Object> delegate;
+    private ProcessInstancesCacheListener listener;
+    private CachingProcessInstances.Marshaller<Object> marshaller;
+
+    @BeforeEach
+    public void setup() {
+        unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        AbstractProcess<?> abstractProcess = mock(AbstractProcess.class);
+        when(abstractProcess.id()).thenReturn("test");
+        when(abstractProcess.unitOfWorkManager()).thenReturn(unitOfWorkManager);
+        process = (Process<Object>) (Process<?>) abstractProcess;
+        delegate = mock(MutableProcessInstances.class);
+        listener = mock(ProcessInstancesCacheListener.class);
+        // snapshots only keep the id, enough to tell the copies apart
+        marshaller = new CachingProcessInstances.Marshaller<Object>() {
+
+            @Override
+            public byte[] marshall(ProcessInstance<Object> instance) {
+                return instance.id().getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public ProcessInstance<Object> unmarshall(byte[] data, ProcessInstanceReadMode mode) {
+                return activeInstance(new String(data, StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    @Test
+    public void testFindByIdIsCached() {
+        CachingProcessInstances<Object> instances = new CachingProcessInstances<>(process, delegate, marshaller, 10, listener);
+        ProcessInstance<Object> instance = activeInstance("1");
+        when(delegate.findById("1", ProcessInstanceReadMode.MUTABLE)).thenReturn(Optional.of(instance));
+
+        assertThat(instances.findById("1")).containsSame(instance);
+        assertThat(instances.findById("1")).hasValueSatisfying(found -> assertThat(found.id()).isEqualTo("1"));
+        assertThat(instances.findById("1", ProcessInstanceReadMode.READ_ONLY)).hasValueSatisfying(found -> assertThat(found.id()).isEqualTo("1"));
+
+        verify(delegate, times(1)).findById(any(), any());
+        verify(listener, times(1)).onMiss("test");
+        verify(listener, times(2)).onHit("test");
+    }
+
+    @Test
+    public void testEveryCallerGetsOwnCopy() {
+        CachingProcessInstances<Object> instances = new CachingProcessInstances<>(process, delegate, marshaller, 10);
+        ProcessInstance<Object> instance = activeInstance("1");
+        instances.create("1", instance);
+
+        ProcessInstance<Object> first = instances.findById("1").get();
+        ProcessInstance<Object> second = instances.findById("1").get();
+        ProcessInstance<Object> readOnly = instances.findById("1", ProcessInstanceReadMode.READ_ONLY).get();
+
+        assertThat(first).isNotSameAs(instance).isNotSameAs(second).isNotSameAs(readOnly);
+        assertThat(second).isNotSameAs(readOnly);
+        verify(delegate, never()).findById(any(), any());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        CachingProcessInstances<Object> instances = new CachingProcessInstances<>(process, delegate, marshaller, 2, listener);
+        instances.create("1", activeInstance("1"));
+        instances.create("2", activeInstance("2"));
+        instances.findById("1");
+        instances.create("3", activeInstance("3"));
+
+        assertThat(instances.findById("1")).isPresent();
+        assertThat(instances.findById("3")).isPresent();
+        verify(delegate, never()).findById(any(), any());
+        assertThat(instances.findById("2")).isEmpty();
+        verify(delegate).findById("2", ProcessInstanceReadMode.MUTABLE);
+        verify(listener, times(1)).onEviction("test");
+    }
+
+    @Test
+    public void testStaleVersionNotServed() {
+        CachingProcessInstances<Object> instances = new CachingProcessInstances<>(process, delegate, marshaller, 10);
+        when(delegate.lock()).thenReturn(true);
+        instances.create("1", activeInstance("1"));
+
+        when(delegate.version("1")).thenReturn(Optional.of(1L));
+        assertThat(instances.findById("1")).hasValueSatisfying(found -> assertThat(found.version()).isEqualTo(1L));
+        verify(delegate, never()).findById(any(), any());
+
+        // updated by other node
+        when(delegate.version("1")).thenReturn(Optional.of(2L));
+        instances.findById("1");
+        verify(delegate).findById("1", ProcessInstanceReadMode.MUTABLE);
+    }
+
+    @Test
+    public void testRemovedElsewhereNotServed() {
+        CachingProcessInstances<Object> instances = new CachingProcessInstances<>(process, delegate, marshaller, 10);
+        when(delegate.lock()).thenReturn(true);
+        instances.create("1", activeInstance("1"));
+        when(delegate.version("1")).thenReturn(Optional.empty());
+
+        assertThat(instances.findById("1")).isEmpty();
+        verify(delegate).findById("1", ProcessInstanceReadMode.MUTABLE);
+    }
+
+    @Test
+    public void testAbortedUnitOfWorkEvicts() {
+        CachingProcessInstances<Object> instances = new CachingProcessInstances<>(process, delegate, marshaller, 10);
+        instances.create("1", activeInstance("1"));
+
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        instances.update("1", instances.findById("1").get());
+        unitOfWork.abort();
+
+        instances.findById("1");
+        verify(delegate).findById("1", ProcessInstanceReadMode.MUTABLE);
+    }
+
+    @Test
+    public void testCompletedUnitOfWorkKeepsCached() {
+        CachingProcessInstances<Object> instances = new CachingProcessInstances<>(process, delegate, marshaller, 10);
+
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        instances.create("1", activeInstance("1"));
+        unitOfWork.end();
+
+        assertThat(instances.findById("1")).isPresent();
+        verify(delegate, never()).findById(any(), any());
+    }
+
+    @Test
+    public void testWrittenInstanceKeptAttached() {
+        CachingProcessInstances<Object> instances = new CachingProcessInstances<>(process, delegate, marshaller, 10);
+        ProcessInstance<Object> processInstance = activeInstance("1");
+        AbstractProcessInstance<?> instance = (AbstractProcessInstance<?>) processInstance;
+        WorkflowProcessInstanceImpl wpi = (WorkflowProcessInstanceImpl) instance.internalGetProcessInstance();
+        when(delegate.lock()).thenReturn(true);
+        // storages disconnect the instance once written
+        doAnswerDisconnect(instance);
+
+        instances.create("1", processInstance);
+        assertThat(instance.version()).isEqualTo(1L);
+        instance.reloadSupplier.accept(instance);
+        assertThat(instance.internalGetProcessInstance()).isSameAs(wpi);
+
+        instances.update("1", processInstance);
+        assertThat(instance.version()).isEqualTo(2L);
+    }
+
+    @Test
+    public void testConflictInvalidates() {
+        CachingProcessInstances<Object> instances = new CachingProcessInstances<>(process, delegate, marshaller, 10);
+        ProcessInstance<Object> instance = activeInstance("1");
+        instances.create("1", instance);
+        doThrow(new IllegalStateException("conflict")).when(delegate).update("1", instance);
+
+        assertThatThrownBy(() -> instances.update("1", instance)).isInstanceOf(IllegalStateException.class);
+        instances.findById("1");
+        verify(delegate).findById("1", ProcessInstanceReadMode.MUTABLE);
+    }
+
+    @Test
+    public void testAsyncOperationsDelegated() throws Exception {
+        AsyncMutableProcessInstances<Object> asyncDelegate = mock(AsyncMutableProcessInstances.class);
+        when(asyncDelegate.createAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncDelegate.removeAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncDelegate.findByIdAsync(eq("2"), any(), any())).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        CachingProcessInstances<Object> instances = CachingProcessInstances.of(process, asyncDelegate, marshaller, 10, listener);
+        assertThat(instances).isInstanceOf(AsyncMutableProcessInstances.class);
+        AsyncMutableProcessInstances<Object> async = (AsyncMutableProcessInstances<Object>) instances;
+
+        async.createAsync("1", activeInstance("1")).toCompletableFuture().get();
+        assertThat(async.findByIdAsync("1", ProcessInstanceReadMode.MUTABLE, Runnable::run).toCompletableFuture().get()).isPresent();
+        assertThat(async.findByIdAsync("2", ProcessInstanceReadMode.MUTABLE, Runnable::run).toCompletableFuture().get()).isEmpty();
+        async.removeAsync("1").toCompletableFuture().get();
+
+        verify(asyncDelegate).createAsync(eq("1"), any());
+        verify(asyncDelegate, never()).findByIdAsync(eq("1"), any(), any());
+        verify(asyncDelegate).removeAsync("1");
+        verify(asyncDelegate, never()).create(any(), any());
+        assertThat(CachingProcessInstances.of(process, delegate, marshaller, 10, listener)).isNotInstanceOf(AsyncMutableProcessInstances.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private ProcessInstance<Object> activeInstance(String id) {
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        when(instance.id()).thenReturn(id);
+        when(instance.status()).thenReturn(KogitoProcessInstance.STATE_ACTIVE);
+        when(instance.internalGetProcessInstance()).thenReturn(mock(WorkflowProcessInstanceImpl.class));
+        when(instance.version()).thenCallRealMethod();
+        doCallRealMethod().when(instance).setVersion(any());
+        return instance;
+    }
+
+    private void doAnswerDisconnect(AbstractProcessInstance<?> instance) {
+        WorkflowProcessInstanceImpl wpi = (WorkflowProcessInstanceImpl) instance.internalGetProcessInstance();
+        when(instance.internalGetProcessInstance()).thenReturn(wpi, (WorkflowProcessInstanceImpl) null);
+        doAnswer(invocation -> {
+            when(instance.internalGetProcessInstance()).thenReturn(invocation.getArgument(0));
+            return null;
+        }).when(instance).internalSetProcessInstance(any());
+    }
+}
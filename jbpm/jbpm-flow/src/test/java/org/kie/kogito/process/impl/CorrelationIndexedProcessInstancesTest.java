@@ -0,0 +1,215 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
+import org.kie.kogito.process.CorrelatedProcessInstances;
+import org.kie.kogito.process.EventDescription;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class CorrelationIndexedProcessInstancesTest {
+
+    private MutableProcessInstances<Object> delegate;
+
+    @BeforeEach
+    public void setup() {
+        delegate = mock(MutableProcessInstances.class);
+        when(delegate.stream(ProcessInstanceReadMode.READ_ONLY)).thenAnswer(invocation -> Stream.empty());
+    }
+
+    @Test
+    public void testFindWaitingByBusinessKeyAndEvent() {
+        CorrelationIndexedProcessInstances<Object> instances = new CorrelationIndexedProcessInstances<>(delegate);
+        ProcessInstance<Object> first = instance("1", "order-1", ProcessInstance.STATE_ACTIVE, "Message-paid");
+        ProcessInstance<Object> second = instance("2", "order-2", ProcessInstance.STATE_ACTIVE, "Message-paid");
+        instances.create("1", first);
+        instances.create("2", second);
+        when(delegate.findById("1", ProcessInstanceReadMode.MUTABLE)).thenReturn(Optional.of(first));
+
+        assertThat(instances.findWaiting("order-1", "Message-paid")).containsExactly(first);
+        assertThat(instances.findWaiting("order-1", "Message-shipped")).isEmpty();
+        assertThat(instances.findWaiting("order-3", "Message-paid")).isEmpty();
+        verify(delegate, never()).findById(eq("2"), any());
+    }
+
+    @Test
+    public void testIndexFollowsUpdatesAndRemoval() {
+        CorrelationIndexedProcessInstances<Object> instances = new CorrelationIndexedProcessInstances<>(delegate);
+        instances.create("1", instance("1", "order-1", ProcessInstance.STATE_ACTIVE, "Message-paid"));
+
+        ProcessInstance<Object> shipped = instance("1", "order-1", ProcessInstance.STATE_ACTIVE, "Message-shipped");
+        instances.update("1", shipped);
+        when(delegate.findById("1", ProcessInstanceReadMode.MUTABLE)).thenReturn(Optional.of(shipped));
+        assertThat(instances.findWaiting("order-1", "Message-paid")).isEmpty();
+        assertThat(instances.findWaiting("order-1", "Message-shipped")).containsExactly(shipped);
+
+        instances.update("1", instance("1", "order-1", ProcessInstance.STATE_COMPLETED));
+        assertThat(instances.findWaiting("order-1", "Message-shipped")).isEmpty();
+
+        instances.create("2", instance("2", "order-2", ProcessInstance.STATE_ACTIVE, "Message-paid"));
+        instances.remove("2");
+        assertThat(instances.findWaiting("order-2", "Message-paid")).isEmpty();
+    }
+
+    @Test
+    public void testHitServedWithoutQueryingStorage() {
+        CorrelationIndexedProcessInstances<Object> instances = new CorrelationIndexedProcessInstances<>(delegate);
+        ProcessInstance<Object> instance = instance("1", "order-1", ProcessInstance.STATE_ACTIVE, "Message-paid");
+        instances.create("1", instance);
+        when(delegate.findById("1", ProcessInstanceReadMode.MUTABLE)).thenReturn(Optional.of(instance));
+
+        assertThat(instances.findWaiting("order-1", "Message-paid")).containsExactly(instance);
+        verify(delegate, never()).stream(any());
+    }
+
+    @Test
+    public void testMissQueriesStorage() {
+        CorrelationIndexedProcessInstances<Object> instances = new CorrelationIndexedProcessInstances<>(delegate);
+        // written by other node, never seen by this one
+        ProcessInstance<Object> stored = instance("1", "order-1", ProcessInstance.STATE_ACTIVE, "Message-paid");
+        when(delegate.stream(ProcessInstanceReadMode.READ_ONLY)).thenAnswer(invocation -> Stream.of(stored));
+        when(delegate.findById("1", ProcessInstanceReadMode.MUTABLE)).thenReturn(Optional.of(stored));
+
+        assertThat(instances.findWaiting("order-1", "Message-paid")).containsExactly(stored);
+        verify(delegate, times(1)).stream(ProcessInstanceReadMode.READ_ONLY);
+
+        // the index was refreshed by the query
+        assertThat(instances.findWaiting("order-1", "Message-paid")).containsExactly(stored);
+        verify(delegate, times(1)).stream(ProcessInstanceReadMode.READ_ONLY);
+    }
+
+    @Test
+    public void testMissesWithinRescanIntervalDoNotQueryStorage() {
+        CorrelationIndexedProcessInstances<Object> instances = new CorrelationIndexedProcessInstances<>(delegate, Duration.ofHours(1));
+
+        assertThat(instances.findWaiting("order-1", "Message-paid")).isEmpty();
+        assertThat(instances.findWaiting("order-2", "Message-paid")).isEmpty();
+        assertThat(instances.findWaiting("order-1", "Message-paid")).isEmpty();
+        verify(delegate, times(1)).stream(ProcessInstanceReadMode.READ_ONLY);
+
+        // written by other node in the meantime, found once the index is rescanned
+        ProcessInstance<Object> stored = instance("1", "order-1", ProcessInstance.STATE_ACTIVE, "Message-paid");
+        when(delegate.stream(ProcessInstanceReadMode.READ_ONLY)).thenAnswer(invocation -> Stream.of(stored));
+        when(delegate.findById("1", ProcessInstanceReadMode.MUTABLE)).thenReturn(Optional.of(stored));
+        assertThat(instances.findWaiting("order-1", "Message-paid")).isEmpty();
+        instances.reset();
+        assertThat(instances.findWaiting("order-1", "Message-paid")).containsExactly(stored);
+        verify(delegate, times(2)).stream(ProcessInstanceReadMode.READ_ONLY);
+    }
+
+    @Test
+    public void testStaleHitCorrectedFromStorage() {
+        CorrelationIndexedProcessInstances<Object> instances = new CorrelationIndexedProcessInstances<>(delegate);
+        instances.create("1", instance("1", "order-1", ProcessInstance.STATE_ACTIVE, "Message-paid"));
+
+        // changed by other node, the index is corrected
+        ProcessInstance<Object> changed = instance("1", "order-1", ProcessInstance.STATE_ACTIVE, "Message-shipped");
+        when(delegate.stream(ProcessInstanceReadMode.READ_ONLY)).thenAnswer(invocation -> Stream.of(changed));
+        when(delegate.findById("1", ProcessInstanceReadMode.MUTABLE)).thenReturn(Optional.of(changed));
+        assertThat(instances.findWaiting("order-1", "Message-paid")).isEmpty();
+        assertThat(instances.findWaiting("order-1", "Message-shipped")).containsExactly(changed);
+
+        // removed by other node
+        when(delegate.stream(ProcessInstanceReadMode.READ_ONLY)).thenAnswer(invocation -> Stream.empty());
+        when(delegate.findById("1", ProcessInstanceReadMode.MUTABLE)).thenReturn(Optional.empty());
+        assertThat(instances.findWaiting("order-1", "Message-shipped")).isEmpty();
+    }
+
+    @Test
+    public void testIndexedOnlyWhenEnabled() {
+        assertThat(CorrelationIndexedProcessInstances.indexed(delegate, false)).isSameAs(delegate);
+        assertThat(CorrelationIndexedProcessInstances.indexed(delegate, true)).isInstanceOf(CorrelationIndexedProcessInstances.class);
+    }
+
+    @Test
+    public void testAsyncOperationsDelegated() throws Exception {
+        AsyncMutableProcessInstances<Object> asyncDelegate = mock(AsyncMutableProcessInstances.class);
+        when(asyncDelegate.createAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncDelegate.removeAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncDelegate.findByIdAsync(eq("1"), any(), any())).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        MutableProcessInstances<?> indexed = CorrelationIndexedProcessInstances.indexed(asyncDelegate, true);
+        assertThat(indexed).isInstanceOf(AsyncMutableProcessInstances.class).isInstanceOf(CorrelationIndexedProcessInstances.class);
+        AsyncMutableProcessInstances<Object> instances = (AsyncMutableProcessInstances<Object>) indexed;
+
+        ProcessInstance<Object> instance = instance("1", "order-1", ProcessInstance.STATE_ACTIVE, "Message-paid");
+        instances.createAsync("1", instance).toCompletableFuture().get();
+        when(asyncDelegate.findById("1", ProcessInstanceReadMode.MUTABLE)).thenReturn(Optional.of(instance));
+        assertThat(((CorrelatedProcessInstances<Object>) instances).findWaiting("order-1", "Message-paid")).containsExactly(instance);
+        assertThat(instances.findByIdAsync("1", ProcessInstanceReadMode.MUTABLE, Runnable::run).toCompletableFuture().get()).isEmpty();
+        instances.removeAsync("1").toCompletableFuture().get();
+
+        verify(asyncDelegate).createAsync("1", instance);
+        verify(asyncDelegate).removeAsync("1");
+        verify(asyncDelegate, never()).create(any(), any());
+    }
+
+    @Test
+    public void testInstancesWithoutBusinessKeyNotIndexed() {
+        CorrelationIndexedProcessInstances<Object> instances = new CorrelationIndexedProcessInstances<>(delegate);
+        ProcessInstance<Object> instance = instance("1", null, ProcessInstance.STATE_ACTIVE, "Message-paid");
+        instances.create("1", instance);
+
+        verify(instance, never()).events();
+    }
+
+    @Test
+    public void testMapProcessInstancesFindWaiting() {
+        MapProcessInstances<Object> instances = new MapProcessInstances<>();
+        ProcessInstance<Object> instance = instance("1", "order-1", ProcessInstance.STATE_ACTIVE, "Message-paid");
+        instances.create("1", instance);
+
+        assertThat(instances.findWaiting("order-1", "Message-paid")).containsExactly(instance);
+
+        instances.remove("1");
+        assertThat(instances.findWaiting("order-1", "Message-paid")).isEmpty();
+    }
+
+    private ProcessInstance<Object> instance(String id, String businessKey, int status, String... events) {
+        ProcessInstance<Object> instance = mock(ProcessInstance.class);
+        when(instance.id()).thenReturn(id);
+        when(instance.businessKey()).thenReturn(businessKey);
+        when(instance.status()).thenReturn(status);
+        Set<EventDescription<?>> descriptions = Arrays.stream(events).map(event -> {
+            EventDescription<?> description = mock(EventDescription.class);
+            when(description.getEvent()).thenReturn(event);
+            return description;
+        }).collect(Collectors.toSet());
+        when(instance.events()).thenReturn(descriptions);
+        return instance;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Application;
+import org.kie.kogito.MappableToModel;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.services.executor.BoundedExecutor;
+import org.kie.kogito.services.executor.Continuations;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class ProcessServiceImplTest {
+
+    private static final String EVENT_LOOP = "event-loop";
+
+    // single threaded like a Vert.x event loop, engine work blocking on it from within would never complete
+    private ExecutorService eventLoop;
+    private ExecutorService worker;
+
+    private Application application;
+    private ProcessServiceImpl processService;
+    private Process<MappableToModel<String>> process;
+    private ProcessInstance<MappableToModel<String>> instance;
+
+    @BeforeEach
+    public void setup() {
+        eventLoop = Executors.newSingleThreadExecutor(r -> new Thread(r, EVENT_LOOP));
+        worker = Executors.newSingleThreadExecutor();
+
+        application = mock(Application.class);
+        when(application.unitOfWorkManager()).thenReturn(new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+        processService = new ProcessServiceImpl(application, worker);
+
+        MappableToModel<String> variables = mock(MappableToModel.class);
+        when(variables.toModel()).thenAnswer(invocation -> blockOnEventLoop());
+        instance = mock(ProcessInstance.class);
+        when(instance.variables()).thenReturn(variables);
+        when(instance.checkError()).thenReturn(instance);
+        when(instance.updateVariables(any())).thenAnswer(invocation -> variables);
+
+        AsyncMutableProcessInstances<MappableToModel<String>> instances = mock(AsyncMutableProcessInstances.class);
+        when(instances.findByIdAsync(eq("1"), any(ProcessInstanceReadMode.class), any(Executor.class)))
+                .thenAnswer(invocation -> Continuations.continueOn(CompletableFuture.supplyAsync(() -> Optional.of(instance), eventLoop),
+                        invocation.getArgument(2)));
+        process = mock(Process.class);
+        when(process.instances()).thenAnswer(invocation -> instances);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        eventLoop.shutdownNow();
+        worker.shutdownNow();
+    }
+
+    @Test
+    public void testUpdateAsyncContinuesOffEventLoop() throws Exception {
+        MappableToModel<String> resource = mock(MappableToModel.class);
+        Optional<String> output = processService.updateAsync(process, "1", resource)
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(output).contains("model");
+    }
+
+    @Test
+    public void testDeleteAsyncContinuesOffEventLoop() throws Exception {
+        Optional<String> output = processService.deleteAsync(process, "1")
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(output).contains("model");
+    }
+
+    @Test
+    public void testFindByIdAsyncHandsOverToWorkerOnce() throws Exception {
+        AtomicInteger handovers = new AtomicInteger();
+        processService = new ProcessServiceImpl(application, command -> {
+            handovers.incrementAndGet();
+            worker.execute(command);
+        });
+
+        Optional<String> output = processService.findByIdAsync(process, "1")
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(output).contains("model");
+        assertThat(handovers).hasValue(1);
+    }
+
+    @Test
+    public void testUpdateAsyncFailsWhenWorkerSaturated() throws Exception {
+        BoundedExecutor saturated = new BoundedExecutor("saturated", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // one task running and one waiting, so the continuation is rejected once the storage completes
+            saturated.execute(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            saturated.execute(() -> {
+            });
+            processService = new ProcessServiceImpl(application, saturated::execute);
+
+            MappableToModel<String> resource = mock(MappableToModel.class);
+            CompletableFuture<Optional<String>> output = processService.updateAsync(process, "1", resource).toCompletableFuture();
+
+            assertThatThrownBy(() -> output.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(RejectedExecutionException.class);
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    // same as reloading a disconnected instance, which waits for a query completed on the event loop
+    private String blockOnEventLoop() throws Exception {
+        assertThat(Thread.currentThread().getName()).isNotEqualTo(EVENT_LOOP);
+        return eventLoop.submit(() -> "model").get(1, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import org.kie.kogito.serialization.process.impl.ProtobufProcessInstanceSections;
+
+/**
+ * Process instance marshalled for a storage that keeps a base payload along with the changes made since.
+ * When there is a delta only it needs to be stored, replacing the previous one, otherwise the payload
+ * is the new base and any stored delta must be dropped.
+ */
+public class MarshalledProcessInstance {
+
+    private final byte[] payload;
+    private final byte[] delta;
+    // sections of the payload, when already split while computing the delta
+    private final ProtobufProcessInstanceSections sections;
+
+    public MarshalledProcessInstance(byte[] payload, byte[] delta) {
+        this(payload, delta, null);
+    }
+
+    MarshalledProcessInstance(byte[] payload, byte[] delta, ProtobufProcessInstanceSections sections) {
+        this.payload = payload;
+        this.delta = delta;
+        this.sections = sections;
+    }
+
+    /**
+     * Whole process instance, same as returned by {@link ProcessInstanceMarshallerService#marshallProcessInstance}.
+     */
+    public byte[] payload() {
+        return payload;
+    }
+
+    /**
+     * Changes since the stored base, or null when the payload should be stored as the new base.
+     */
+    public byte[] delta() {
+        return delta;
+    }
+
+    public boolean isDelta() {
+        return delta != null;
+    }
+
+    ProtobufProcessInstanceSections sections() {
+        return sections != null ? sections : ProtobufProcessInstanceSections.of(payload);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+import com.google.protobuf.Any;
+
+/**
+ * Remembers which strategy handled values of a given class, or stored values of a given type url,
+ * so they are not looked up again through all the strategies. A remembered strategy is still asked
+ * to accept the value, falling back to the lookup when it does not.
+ */
+public final class ObjectMarshallerStrategyCache {
+
+    private final ObjectMarshallerStrategy[] strategies;
+    private final Map<Class<?>, ObjectMarshallerStrategy> marshallers = new ConcurrentHashMap<>();
+    private final Map<String, ObjectMarshallerStrategy> unmarshallers = new ConcurrentHashMap<>();
+
+    public ObjectMarshallerStrategyCache(ObjectMarshallerStrategy[] strategies) {
+        this.strategies = strategies;
+    }
+
+    public ObjectMarshallerStrategy[] strategies() {
+        return strategies;
+    }
+
+    public ObjectMarshallerStrategy findForMarshalling(Object value) {
+        return find(marshallers, value.getClass(), value, ObjectMarshallerStrategy::acceptForMarshalling);
+    }
+
+    public ObjectMarshallerStrategy findForUnmarshalling(Object value) {
+        if (!(value instanceof Any)) {
+            return find(strategies, value, ObjectMarshallerStrategy::acceptForUnmarshalling);
+        }
+        return find(unmarshallers, ((Any) value).getTypeUrl(), value, ObjectMarshallerStrategy::acceptForUnmarshalling);
+    }
+
+    private <K> ObjectMarshallerStrategy find(Map<K, ObjectMarshallerStrategy> cache, K key, Object value, BiPredicate<ObjectMarshallerStrategy, Object> accept) {
+        ObjectMarshallerStrategy strategy = cache.get(key);
+        if (strategy == null || !accept.test(strategy, value)) {
+            strategy = find(strategies, value, accept);
+            cache.put(key, strategy);
+        }
+        return strategy;
+    }
+
+    /**
+     * Returns the first of the given strategies accepting the value.
+     */
+    public static ObjectMarshallerStrategy find(ObjectMarshallerStrategy[] strategies, Object value, BiPredicate<ObjectMarshallerStrategy, Object> accept) {
+        for (ObjectMarshallerStrategy current : strategies) {
+            if (accept.test(current, value)) {
+                return current;
+            }
+        }
+        // we cannot persist the data
+        throw new ProcessInstanceMarshallerException("No marshaller found for class " + value.getClass().getName());
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.impl.CachingProcessInstances;
+import org.kie.kogito.process.impl.ProcessInstancesCacheListener;
+
+/**
+ * Keeps the process instances cached by {@link CachingProcessInstances} as protobuf snapshots, so that every
+ * caller gets its own copy of a cached instance.
+ */
+public class ProcessInstanceCacheMarshaller<T> implements CachingProcessInstances.Marshaller<T> {
+
+    private final Process<T> process;
+    private final ProcessInstanceMarshallerService marshaller;
+
+    public ProcessInstanceCacheMarshaller(Process<T> process) {
+        this.process = process;
+        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+    }
+
+    /**
+     * Wraps the process instances of given process with a cache of given size, or returns them as they are
+     * if the size is not positive.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static MutableProcessInstances<?> cached(Process<?> process, MutableProcessInstances<?> instances, int maxSize, ProcessInstancesCacheListener listener) {
+        if (maxSize <= 0) {
+            return instances;
+        }
+        return CachingProcessInstances.of((Process) process, (MutableProcessInstances) instances, new ProcessInstanceCacheMarshaller<>(process), maxSize, listener);
+    }
+
+    @Override
+    public byte[] marshall(ProcessInstance<T> instance) {
+        return marshaller.marshallProcessInstance(instance);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ProcessInstance<T> unmarshall(byte[] data, ProcessInstanceReadMode mode) {
+        return (ProcessInstance<T>) marshaller.unmarshallProcessInstance(data, process, mode == ProcessInstanceReadMode.READ_ONLY);
+    }
+}
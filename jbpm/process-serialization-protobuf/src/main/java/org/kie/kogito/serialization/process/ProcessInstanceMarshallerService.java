@@ -15,8 +15,6 @@
  */
 package org.kie.kogito.serialization.process;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,19 +27,31 @@ import java.util.function.Supplier;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.serialization.process.impl.ProtobufInputBuffer;
+import org.kie.kogito.serialization.process.impl.ProtobufOutputBuffer;
 import org.kie.kogito.serialization.process.impl.ProtobufProcessInstanceMarshallerFactory;
+import org.kie.kogito.serialization.process.impl.ProtobufProcessInstanceSections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ProcessInstanceMarshallerService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceMarshallerService.class);
 
+    // buffers that grew over this size while marshalling a big instance are not kept around
+    private static final int MAX_POOLED_BUFFER_CAPACITY = 1024 * 1024;
+
+    private static final ThreadLocal<ProtobufOutputBuffer> BUFFERS = new ThreadLocal<>();
+
     private List<ObjectMarshallerStrategy> strats;
 
+    private ObjectMarshallerStrategyCache strategyCache;
+
     private Map<MarshallerContextName<Object>, Object> contextEntries;
 
     private ProcessInstanceMarshallerFactory processInstanceMarshallerFactory;
 
+    private double deltaCompactionRatio = 0.5;
+
     public class Builder {
 
         public Builder() {
@@ -76,8 +86,19 @@ public class ProcessInstanceMarshallerService {
             return this;
         }
 
+        /**
+         * Sets how big a delta can grow, relative to the size of the base payload, before
+         * {@link ProcessInstanceMarshallerService#marshallProcessInstanceDelta(ProcessInstance)} compacts
+         * the instance into a new base instead. Defaults to half of the base payload.
+         */
+        public Builder withDeltaCompactionRatio(double ratio) {
+            ProcessInstanceMarshallerService.this.deltaCompactionRatio = ratio;
+            return this;
+        }
+
         public ProcessInstanceMarshallerService build() {
             Collections.sort(ProcessInstanceMarshallerService.this.strats);
+            ProcessInstanceMarshallerService.this.strategyCache = new ObjectMarshallerStrategyCache(strats.toArray(new ObjectMarshallerStrategy[strats.size()]));
             return ProcessInstanceMarshallerService.this;
         }
 
@@ -93,7 +114,8 @@ public class ProcessInstanceMarshallerService {
     }
 
     protected void setupEnvironment(MarshallerContext env) {
-        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, strats.toArray(new ObjectMarshallerStrategy[strats.size()]));
+        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, strategyCache.strategies());
+        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGY_CACHE, strategyCache);
 
         for (Map.Entry<MarshallerContextName<Object>, Object> entry : contextEntries.entrySet()) {
             env.set(entry.getKey(), entry.getValue());
@@ -101,19 +123,115 @@ public class ProcessInstanceMarshallerService {
     }
 
     public byte[] marshallProcessInstance(ProcessInstance<?> processInstance) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            MarshallerWriterContext context = processInstanceMarshallerFactory.newWriterContext(baos);
+        ProtobufOutputBuffer buffer = acquireBuffer();
+        try {
+            MarshallerWriterContext context = processInstanceMarshallerFactory.newWriterContext(buffer);
             setupEnvironment(context);
             org.kie.kogito.serialization.process.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
             marshaller.writeProcessInstance(context, processInstance);
-            return baos.toByteArray();
+            return buffer.toByteArray();
         } catch (Exception e) {
             throw new ProcessInstanceMarshallerException("Error while marshalling process instance", e);
+        } finally {
+            releaseBuffer(buffer);
         }
     }
 
+    private static ProtobufOutputBuffer acquireBuffer() {
+        ProtobufOutputBuffer buffer = BUFFERS.get();
+        if (buffer == null) {
+            return new ProtobufOutputBuffer();
+        }
+        // taken out while in use, so nested marshalling on the same thread gets its own buffer
+        BUFFERS.remove();
+        return buffer;
+    }
+
+    private static void releaseBuffer(ProtobufOutputBuffer buffer) {
+        if (buffer.capacity() <= MAX_POOLED_BUFFER_CAPACITY) {
+            buffer.reset();
+            BUFFERS.set(buffer);
+        }
+    }
+
+    /**
+     * Marshalls the process instance for a storage keeping a base payload and a delta, see {@link MarshalledProcessInstance}.
+     * The delta holds the variables, node instances and instance header that differ from the base this instance was
+     * read with, or last stored as. Once the delta grows over the compaction ratio, or when there is no base,
+     * the whole instance is returned to be stored as the new base.
+     * <p>
+     * On top of marshalling the whole instance, every write makes an extra pass over the payload to split it
+     * into sections and compare them with the base, trading CPU for less data written.
+     * <p>
+     * Storages must make sure the stored base did not change since the instance was read, e.g. through
+     * optimistic locking, as otherwise the delta would be applied to a different base. Once written, they
+     * must call {@link #markStored(ProcessInstance, MarshalledProcessInstance)}.
+     */
+    public MarshalledProcessInstance marshallProcessInstanceDelta(ProcessInstance<?> processInstance) {
+        AbstractProcessInstance<?> instance = (AbstractProcessInstance<?>) processInstance;
+        byte[] payload = marshallProcessInstance(processInstance);
+        ProtobufProcessInstanceSections current = ProtobufProcessInstanceSections.of(payload);
+        if (instance.internalGetStoredState() instanceof ProtobufProcessInstanceSections) {
+            ProtobufProcessInstanceSections base = (ProtobufProcessInstanceSections) instance.internalGetStoredState();
+            byte[] delta = base.diff(current);
+            if (delta.length <= base.size() * deltaCompactionRatio) {
+                return new MarshalledProcessInstance(payload, delta, current);
+            }
+        }
+        return new MarshalledProcessInstance(payload, null, current);
+    }
+
+    /**
+     * Turns a delta returned by {@link #marshallProcessInstanceDelta(ProcessInstance)} into a whole instance
+     * to be stored as the new base, for storages that could not write the delta, e.g. because its base is not
+     * stored yet.
+     */
+    public MarshalledProcessInstance compactProcessInstance(MarshalledProcessInstance marshalled) {
+        if (!marshalled.isDelta()) {
+            return marshalled;
+        }
+        return new MarshalledProcessInstance(marshalled.payload(), null, marshalled.sections());
+    }
+
+    /**
+     * Records that given marshalled process instance was successfully stored, so later deltas of the instance
+     * are computed against what is actually stored. Writing a delta keeps the stored base, writing a whole
+     * instance makes it the new base. Until this is called the previous base is kept, so a failed write does
+     * not leave the instance with a base that was never stored.
+     */
+    public void markStored(ProcessInstance<?> processInstance, MarshalledProcessInstance stored) {
+        if (!stored.isDelta()) {
+            ((AbstractProcessInstance<?>) processInstance).internalSetStoredState(stored.sections());
+        }
+    }
+
+    /**
+     * Unmarshalls a process instance stored as a base payload and an optional delta, keeping the base in
+     * mutable instances so they can be written back with {@link #marshallProcessInstanceDelta(ProcessInstance)}.
+     */
+    public ProcessInstance<?> unmarshallProcessInstance(byte[] payload, byte[] delta, Process<?> process, boolean readOnly) {
+        ProtobufProcessInstanceSections base = null;
+        byte[] data = payload;
+        if (delta != null) {
+            base = ProtobufProcessInstanceSections.of(payload);
+            data = base.apply(delta);
+        }
+        ProcessInstance<?> instance = unmarshallProcessInstance(data, process, readOnly);
+        if (!readOnly) {
+            ((AbstractProcessInstance<?>) instance).internalSetStoredState(base != null ? base : ProtobufProcessInstanceSections.of(payload));
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the whole process instance payload out of a base payload and its delta.
+     */
+    public byte[] applyDelta(byte[] payload, byte[] delta) {
+        return delta == null ? payload : ProtobufProcessInstanceSections.of(payload).apply(delta);
+    }
+
     public ProcessInstance<?> unmarshallProcessInstance(byte[] data, Process<?> process, boolean readOnly) {
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
+        try (ProtobufInputBuffer bais = new ProtobufInputBuffer(data)) {
             MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
             context.set(MarshallerContextName.MARSHALLER_PROCESS, process);
             context.set(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY, readOnly);
@@ -139,7 +257,7 @@ public class ProcessInstanceMarshallerService {
             if (data == null) {
                 LOGGER.warn("Process Instance {} cannot be found", processInstance.id());
             }
-            try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
+            try (ProtobufInputBuffer bais = new ProtobufInputBuffer(data)) {
                 MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
                 context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
                 setupEnvironment(context);
@@ -17,12 +17,11 @@ package org.kie.kogito.serialization.process.impl;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.BiPredicate;
 
 import org.kie.kogito.serialization.process.MarshallerContext;
 import org.kie.kogito.serialization.process.MarshallerContextName;
 import org.kie.kogito.serialization.process.ObjectMarshallerStrategy;
-import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
+import org.kie.kogito.serialization.process.ObjectMarshallerStrategyCache;
 
 public abstract class ProtobufAbstractMarshallerContext implements MarshallerContext {
 
@@ -45,24 +44,19 @@ public abstract class ProtobufAbstractMarshallerContext implements MarshallerCon
 
     @Override
     public ObjectMarshallerStrategy findObjectMarshallerStrategyFor(Object value) {
-        return findMarshaller(value, (s, v) -> s.acceptForMarshalling(v));
+        ObjectMarshallerStrategyCache cache = get(MarshallerContextName.OBJECT_MARSHALLING_STRATEGY_CACHE);
+        if (cache != null) {
+            return cache.findForMarshalling(value);
+        }
+        return ObjectMarshallerStrategyCache.find(get(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES), value, ObjectMarshallerStrategy::acceptForMarshalling);
     }
 
     @Override
     public ObjectMarshallerStrategy findObjectUnmarshallerStrategyFor(Object value) {
-        return findMarshaller(value, (s, v) -> s.acceptForUnmarshalling(v));
-    }
-
-    private ObjectMarshallerStrategy findMarshaller(Object value, BiPredicate<ObjectMarshallerStrategy, Object> type) {
-        ObjectMarshallerStrategy[] objectMarshallerStrategies = get(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES);
-
-        for (ObjectMarshallerStrategy current : objectMarshallerStrategies) {
-            if (type.test(current, value)) {
-                return current;
-            }
+        ObjectMarshallerStrategyCache cache = get(MarshallerContextName.OBJECT_MARSHALLING_STRATEGY_CACHE);
+        if (cache != null) {
+            return cache.findForUnmarshalling(value);
         }
-
-        // we cannot persist the data
-        throw new ProcessInstanceMarshallerException("No marshaller found for class " + value.getClass().getName());
+        return ObjectMarshallerStrategyCache.find(get(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES), value, ObjectMarshallerStrategy::acceptForUnmarshalling);
     }
 }
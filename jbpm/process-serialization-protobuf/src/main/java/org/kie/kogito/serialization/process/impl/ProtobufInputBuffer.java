@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import com.google.protobuf.Parser;
+
+/**
+ * Input over a byte array that lets protobuf messages be parsed straight from the array,
+ * instead of through the intermediate buffer of {@link Parser#parseFrom(java.io.InputStream)}.
+ */
+public final class ProtobufInputBuffer extends ByteArrayInputStream {
+
+    public ProtobufInputBuffer(byte[] data) {
+        super(data);
+    }
+
+    public <T> T readMessage(Parser<T> parser) throws IOException {
+        T message = parser.parseFrom(buf, pos, count - pos);
+        pos = count;
+        return message;
+    }
+}
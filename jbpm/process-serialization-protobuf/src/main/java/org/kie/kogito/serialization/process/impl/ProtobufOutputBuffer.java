@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+
+/**
+ * Growable byte array that is meant to be reused across marshalling calls of the same thread.
+ * Protobuf messages are encoded straight into the array, without the intermediate buffer
+ * of {@link MessageLite#writeTo(OutputStream)}.
+ */
+public final class ProtobufOutputBuffer extends OutputStream {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private byte[] buffer;
+    private int count;
+
+    public ProtobufOutputBuffer() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public ProtobufOutputBuffer(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required - buffer.length > 0) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length << 1));
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    public void writeMessage(MessageLite message) throws IOException {
+        int size = message.getSerializedSize();
+        ensureCapacity(count + size);
+        CodedOutputStream output = CodedOutputStream.newInstance(buffer, count, size);
+        message.writeTo(output);
+        output.checkNoSpaceLeft();
+        count += size;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public void reset() {
+        count = 0;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+}
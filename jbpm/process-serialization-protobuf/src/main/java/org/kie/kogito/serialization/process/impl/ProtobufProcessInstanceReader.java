@@ -106,6 +106,8 @@ public class ProtobufProcessInstanceReader {
             KogitoProcessInstanceProtobuf.ProcessInstance.Builder builder = KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder();
             JsonFormat.parser().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).ignoringUnknownFields().merge(new InputStreamReader(input), builder);
             processInstanceProtobuf = builder.build();
+        } else if (input instanceof ProtobufInputBuffer) {
+            processInstanceProtobuf = ((ProtobufInputBuffer) input).readMessage(KogitoProcessInstanceProtobuf.ProcessInstance.parser());
         } else {
             processInstanceProtobuf = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(input);
         }
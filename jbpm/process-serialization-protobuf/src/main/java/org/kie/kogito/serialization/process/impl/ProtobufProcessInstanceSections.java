@@ -0,0 +1,165 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+/**
+ * Binary encoded process instance split into sections that are compared and stored independently:
+ * the instance header, every variable and every top level node instance. A delta holds the sections
+ * that differ from a base encoding, so the base plus the delta give back the whole instance.
+ * <p>
+ * A delta is encoded as a format version followed by entries of section key, removal flag and,
+ * unless removed, the bytes of the section.
+ */
+public final class ProtobufProcessInstanceSections {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String HEADER = "h";
+    private static final String VARIABLE_PREFIX = "v:";
+    private static final String NODE_INSTANCE_PREFIX = "n:";
+
+    private final byte[] payload;
+    private Map<String, ByteString> sections;
+
+    private ProtobufProcessInstanceSections(byte[] payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * Creates the sections of a binary encoded process instance, which is only split once needed.
+     */
+    public static ProtobufProcessInstanceSections of(byte[] payload) {
+        return new ProtobufProcessInstanceSections(payload);
+    }
+
+    private Map<String, ByteString> sections() {
+        if (sections == null) {
+            sections = split(payload);
+        }
+        return sections;
+    }
+
+    private static Map<String, ByteString> split(byte[] payload) {
+        KogitoProcessInstanceProtobuf.ProcessInstance instance;
+        try {
+            instance = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(payload);
+        } catch (InvalidProtocolBufferException e) {
+            throw new ProcessInstanceMarshallerException("Process instance payload cannot be split into sections", e);
+        }
+        Map<String, ByteString> split = new LinkedHashMap<>();
+        if (instance.hasContext()) {
+            KogitoTypesProtobuf.WorkflowContext context = instance.getContext();
+            split.put(HEADER, instance.toBuilder().setContext(context.toBuilder().clearVariable().clearNodeInstance()).build().toByteString());
+            for (KogitoTypesProtobuf.Variable variable : context.getVariableList()) {
+                split.put(VARIABLE_PREFIX + variable.getName(), variable.toByteString());
+            }
+            for (KogitoTypesProtobuf.NodeInstance nodeInstance : context.getNodeInstanceList()) {
+                split.put(NODE_INSTANCE_PREFIX + nodeInstance.getId(), nodeInstance.toByteString());
+            }
+        } else {
+            split.put(HEADER, instance.toByteString());
+        }
+        return split;
+    }
+
+    /**
+     * Size in bytes of the encoding these sections were created from.
+     */
+    public int size() {
+        return payload.length;
+    }
+
+    /**
+     * Encodes the sections of <code>current</code> that are new or differ from these ones,
+     * and the removal of the ones it does not have anymore.
+     */
+    public byte[] diff(ProtobufProcessInstanceSections current) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream()) {
+            CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+            out.writeUInt32NoTag(FORMAT_VERSION);
+            Map<String, ByteString> base = sections();
+            Map<String, ByteString> changed = current.sections();
+            for (Map.Entry<String, ByteString> section : changed.entrySet()) {
+                if (!section.getValue().equals(base.get(section.getKey()))) {
+                    out.writeStringNoTag(section.getKey());
+                    out.writeBoolNoTag(false);
+                    out.writeBytesNoTag(section.getValue());
+                }
+            }
+            for (String key : base.keySet()) {
+                if (!changed.containsKey(key)) {
+                    out.writeStringNoTag(key);
+                    out.writeBoolNoTag(true);
+                }
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Process instance delta cannot be encoded", e);
+        }
+    }
+
+    /**
+     * Applies a delta created by {@link #diff(ProtobufProcessInstanceSections)} to these sections
+     * and returns the binary encoding of the resulting process instance.
+     */
+    public byte[] apply(byte[] delta) {
+        Map<String, ByteString> merged = new LinkedHashMap<>(sections());
+        try {
+            CodedInputStream in = CodedInputStream.newInstance(delta);
+            int version = in.readUInt32();
+            if (version != FORMAT_VERSION) {
+                throw new ProcessInstanceMarshallerException("Unsupported process instance delta format " + version);
+            }
+            while (!in.isAtEnd()) {
+                String key = in.readStringRequireUtf8();
+                if (in.readBool()) {
+                    merged.remove(key);
+                } else {
+                    merged.put(key, in.readBytes());
+                }
+            }
+            return assemble(merged);
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Process instance delta cannot be applied", e);
+        }
+    }
+
+    private static byte[] assemble(Map<String, ByteString> sections) throws InvalidProtocolBufferException {
+        KogitoProcessInstanceProtobuf.ProcessInstance.Builder instance = KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder().mergeFrom(sections.get(HEADER));
+        for (Map.Entry<String, ByteString> section : sections.entrySet()) {
+            if (section.getKey().startsWith(VARIABLE_PREFIX)) {
+                instance.getContextBuilder().addVariable(KogitoTypesProtobuf.Variable.parseFrom(section.getValue()));
+            } else if (section.getKey().startsWith(NODE_INSTANCE_PREFIX)) {
+                instance.getContextBuilder().addNodeInstance(KogitoTypesProtobuf.NodeInstance.parseFrom(section.getValue()));
+            }
+        }
+        return instance.build().toByteArray();
+    }
+}
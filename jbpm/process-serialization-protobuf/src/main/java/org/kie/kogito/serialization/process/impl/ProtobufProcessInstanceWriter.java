@@ -150,6 +150,8 @@ public class ProtobufProcessInstanceWriter {
         String format = (String) this.context.get(MARSHALLER_FORMAT);
         if (format != null && "json".equals(format)) {
             os.write(JsonFormat.printer().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).print(piProtobuf).getBytes());
+        } else if (os instanceof ProtobufOutputBuffer) {
+            ((ProtobufOutputBuffer) os).writeMessage(piProtobuf);
         } else {
             piProtobuf.writeTo(os);
         }
@@ -30,6 +30,7 @@ import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
 
 public class ProtobufObjectMarshallerStrategy implements ObjectMarshallerStrategy {
 
@@ -52,7 +53,8 @@ public class ProtobufObjectMarshallerStrategy implements ObjectMarshallerStrateg
     public Object marshall(Object unmarshalled) {
         try (ByteArrayOutputStream stream = new ByteArrayOutputStream(); ObjectOutputStream out = new ObjectOutputStream(stream)) {
             out.writeObject(unmarshalled);
-            return Any.pack(BytesValue.of(ByteString.copyFrom(stream.toByteArray())));
+            out.flush();
+            return Any.pack(BytesValue.of(UnsafeByteOperations.unsafeWrap(stream.toByteArray())));
         } catch (IOException e) {
             throw new ProcessInstanceMarshallerException("Not possible to unmarshall value: " + unmarshalled, e);
         }
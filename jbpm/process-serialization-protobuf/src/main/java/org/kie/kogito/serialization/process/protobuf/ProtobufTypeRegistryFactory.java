@@ -31,6 +31,8 @@ public final class ProtobufTypeRegistryFactory {
 
     private Collection<Descriptor> descriptors;
 
+    private TypeRegistry typeRegistry;
+
     private ProtobufTypeRegistryFactory() {
         descriptors = new ArrayList<>();
         ServiceLoader<ProtobufTypeProvider> providers = ServiceLoader.load(ProtobufTypeProvider.class);
@@ -44,6 +46,14 @@ public final class ProtobufTypeRegistryFactory {
     }
 
     public TypeRegistry create() {
+        // registries are immutable and the known descriptors do not change once loaded
+        if (typeRegistry == null) {
+            typeRegistry = build();
+        }
+        return typeRegistry;
+    }
+
+    private TypeRegistry build() {
         TypeRegistry.Builder builder = TypeRegistry.newBuilder();
 
         builder.add(KogitoTypesProtobuf.getDescriptor().getMessageTypes())
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufDateMarshallerStrategy;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufObjectMarshallerStrategy;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufStringMarshallerStrategy;
+
+import com.google.protobuf.Any;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ObjectMarshallerStrategyCacheTest {
+
+    private final ObjectMarshallerStrategy strings = spy(new ProtobufStringMarshallerStrategy());
+    private final ObjectMarshallerStrategy dates = spy(new ProtobufDateMarshallerStrategy());
+    private final ObjectMarshallerStrategy objects = spy(new ProtobufObjectMarshallerStrategy());
+
+    private final ObjectMarshallerStrategyCache cache = new ObjectMarshallerStrategyCache(new ObjectMarshallerStrategy[] { strings, dates, objects });
+
+    @Test
+    public void testStrategyIsLookedUpOncePerClass() {
+        assertThat(cache.findForMarshalling(new Date())).isSameAs(dates);
+        assertThat(cache.findForMarshalling(new Date())).isSameAs(dates);
+        assertThat(cache.findForMarshalling(1)).isSameAs(objects);
+
+        verify(strings, times(2)).acceptForMarshalling(any());
+        verify(dates, times(3)).acceptForMarshalling(any());
+    }
+
+    @Test
+    public void testStrategyIsLookedUpOncePerTypeUrl() {
+        Any date = (Any) dates.marshall(new Date());
+
+        assertThat(cache.findForUnmarshalling(date)).isSameAs(dates);
+        assertThat(cache.findForUnmarshalling(date)).isSameAs(dates);
+
+        verify(strings, times(1)).acceptForUnmarshalling(any());
+    }
+
+    @Test
+    public void testRememberedStrategyRejectingValue() {
+        assertThat(cache.findForMarshalling("value")).isSameAs(strings);
+        when(strings.acceptForMarshalling("other")).thenReturn(false);
+
+        assertThat(cache.findForMarshalling("other")).isSameAs(objects);
+    }
+
+    @Test
+    public void testNoStrategy() {
+        ObjectMarshallerStrategyCache empty = new ObjectMarshallerStrategyCache(new ObjectMarshallerStrategy[0]);
+
+        assertThatExceptionOfType(ProcessInstanceMarshallerException.class).isThrownBy(() -> empty.findForMarshalling("value"));
+    }
+}
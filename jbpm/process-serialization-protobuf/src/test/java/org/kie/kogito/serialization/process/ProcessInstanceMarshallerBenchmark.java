@@ -0,0 +1,237 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.process.core.context.variable.VariableScope;
+import org.jbpm.process.instance.context.variable.VariableScopeInstance;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+import org.kie.api.runtime.process.WorkflowProcessInstance;
+import org.kie.kogito.Model;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.impl.AbstractProcess;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.serialization.process.impl.ProtobufProcessInstanceMarshallerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link ProcessInstanceMarshallerService} with the way it used to marshall process instances,
+ * allocating a new output stream and strategy array and looking up the strategy of every variable
+ * on each call.
+ * <p>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.kie.kogito.serialization.process.ProcessInstanceMarshallerBenchmark</code>
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessInstanceMarshallerBenchmark {
+
+    @Param({ "5", "200" })
+    private int variables;
+
+    private ProcessInstanceMarshallerService marshaller;
+    private ProcessInstanceMarshallerFactory factory;
+    private ObjectMarshallerStrategy[] strategies;
+    private BenchmarkProcess process;
+    private ProcessInstance<?> processInstance;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+        factory = new ProtobufProcessInstanceMarshallerFactory();
+        List<ObjectMarshallerStrategy> loaded = new ArrayList<>();
+        ServiceLoader.load(ObjectMarshallerStrategy.class).forEach(loaded::add);
+        loaded.sort(null);
+        strategies = loaded.toArray(new ObjectMarshallerStrategy[loaded.size()]);
+
+        process = new BenchmarkProcess();
+        processInstance = process.createInstance(newProcessInstance(variables));
+        payload = marshaller.marshallProcessInstance(processInstance);
+    }
+
+    @Benchmark
+    public byte[] marshall() {
+        return marshaller.marshallProcessInstance(processInstance);
+    }
+
+    @Benchmark
+    public byte[] marshallUnpooled() throws IOException {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            MarshallerWriterContext context = factory.newWriterContext(baos);
+            context.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, Arrays.copyOf(strategies, strategies.length));
+            factory.newKogitoProcessInstanceMarshaller().writeProcessInstance(context, processInstance);
+            return baos.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public ProcessInstance<?> unmarshall() {
+        return marshaller.unmarshallProcessInstance(payload, process);
+    }
+
+    @Benchmark
+    public ProcessInstance<?> unmarshallUnpooled() throws IOException {
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(payload)) {
+            MarshallerReaderContext context = factory.newReaderContext(bais);
+            context.set(MarshallerContextName.MARSHALLER_PROCESS, process);
+            context.set(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY, false);
+            context.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, Arrays.copyOf(strategies, strategies.length));
+            return factory.newKogitoProcessInstanceMarshaller().readProcessInstance(context);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProcessInstanceMarshallerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private RuleFlowProcessInstance newProcessInstance(int count) {
+        RuleFlowProcessInstance instance = new RuleFlowProcessInstance() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void disconnect() {
+                // not connected to any runtime
+            }
+        };
+        instance.setProcess(process.process());
+        instance.setId(UUID.randomUUID().toString());
+        instance.setState(KogitoProcessInstance.STATE_ACTIVE);
+        instance.setStartDate(new Date());
+        VariableScopeInstance variableScope = (VariableScopeInstance) instance.getContextInstance(VariableScope.VARIABLE_SCOPE);
+        for (int i = 0; i < count; i++) {
+            switch (i % 4) {
+                case 0:
+                    variableScope.internalSetVariable("text" + i, new String(new char[256]).replace('\0', 'x'));
+                    break;
+                case 1:
+                    variableScope.internalSetVariable("number" + i, i);
+                    break;
+                case 2:
+                    variableScope.internalSetVariable("date" + i, new Date());
+                    break;
+                default:
+                    variableScope.internalSetVariable("object" + i, new BenchmarkValue("value" + i, i));
+            }
+        }
+        return instance;
+    }
+
+    public static class BenchmarkValue implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final int amount;
+
+        public BenchmarkValue(String name, int amount) {
+            this.name = name;
+            this.amount = amount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+    }
+
+    public static class BenchmarkModel implements Model {
+    }
+
+    private static class BenchmarkProcess extends AbstractProcess<BenchmarkModel> {
+
+        private final RuleFlowProcess definition;
+
+        private BenchmarkProcess() {
+            definition = new RuleFlowProcess();
+            definition.setId("benchmark");
+            definition.setName("benchmark");
+            definition.setPackageName(BenchmarkProcess.class.getPackage().getName());
+        }
+
+        @Override
+        public ProcessInstance<BenchmarkModel> createInstance(BenchmarkModel workingMemory) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ProcessInstance<BenchmarkModel> createInstance(String businessKey, BenchmarkModel workingMemory) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ProcessInstance<? extends Model> createInstance(Model m) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ProcessInstance<BenchmarkModel> createInstance(WorkflowProcessInstance wpi) {
+            return new BenchmarkProcessInstance(this, wpi);
+        }
+
+        @Override
+        public ProcessInstance<BenchmarkModel> createReadOnlyInstance(WorkflowProcessInstance wpi) {
+            return new BenchmarkProcessInstance(this, wpi);
+        }
+
+        @Override
+        public RuleFlowProcess process() {
+            return definition;
+        }
+    }
+
+    private static class BenchmarkProcessInstance extends AbstractProcessInstance<BenchmarkModel> {
+
+        private BenchmarkProcessInstance(BenchmarkProcess process, WorkflowProcessInstance wpi) {
+            super(process, new BenchmarkModel(), wpi);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.StringValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ProtobufProcessInstanceSectionsTest {
+
+    @Test
+    public void testDiffOfSameInstanceIsEmpty() {
+        byte[] payload = instance("active", variable("name", "john"), nodeInstance("1")).toByteArray();
+        ProtobufProcessInstanceSections base = ProtobufProcessInstanceSections.of(payload);
+
+        byte[] delta = base.diff(ProtobufProcessInstanceSections.of(payload.clone()));
+
+        // only the format version
+        assertThat(delta).hasSize(1);
+        assertThat(base.apply(delta)).isEqualTo(payload);
+    }
+
+    @Test
+    public void testDeltaOnlyHoldsChangedSections() throws Exception {
+        String largeValue = new String(new char[1000]).replace('\0', 'x');
+        ProtobufProcessInstanceSections base = ProtobufProcessInstanceSections.of(instance("active",
+                variable("large", largeValue), variable("name", "john"), nodeInstance("1")).toByteArray());
+        KogitoProcessInstanceProtobuf.ProcessInstance current = instance("active",
+                variable("large", largeValue), variable("name", "mary"), nodeInstance("2"));
+
+        byte[] delta = base.diff(ProtobufProcessInstanceSections.of(current.toByteArray()));
+
+        assertThat(delta.length).isLessThan(base.size() / 5);
+        assertThat(KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(base.apply(delta))).isEqualTo(current);
+    }
+
+    @Test
+    public void testDeltaAppliesHeaderChanges() throws Exception {
+        ProtobufProcessInstanceSections base = ProtobufProcessInstanceSections.of(instance("active", variable("name", "john")).toByteArray());
+        KogitoProcessInstanceProtobuf.ProcessInstance current = instance("completed");
+
+        byte[] delta = base.diff(ProtobufProcessInstanceSections.of(current.toByteArray()));
+
+        assertThat(KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(base.apply(delta))).isEqualTo(current);
+    }
+
+    @Test
+    public void testUnsupportedDeltaFormat() {
+        ProtobufProcessInstanceSections base = ProtobufProcessInstanceSections.of(instance("active").toByteArray());
+
+        assertThatExceptionOfType(ProcessInstanceMarshallerException.class).isThrownBy(() -> base.apply(new byte[] { 2 }));
+    }
+
+    private static KogitoProcessInstanceProtobuf.ProcessInstance instance(String description, Object... sections) {
+        KogitoTypesProtobuf.WorkflowContext.Builder context = KogitoTypesProtobuf.WorkflowContext.newBuilder();
+        for (Object section : sections) {
+            if (section instanceof KogitoTypesProtobuf.Variable) {
+                context.addVariable((KogitoTypesProtobuf.Variable) section);
+            } else {
+                context.addNodeInstance((KogitoTypesProtobuf.NodeInstance) section);
+            }
+        }
+        return KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder()
+                .setId("pi")
+                .setProcessId("process")
+                .setDescription(description)
+                .setContext(context)
+                .build();
+    }
+
+    private static KogitoTypesProtobuf.Variable variable(String name, String value) {
+        return KogitoTypesProtobuf.Variable.newBuilder()
+                .setName(name)
+                .setDataType(String.class.getName())
+                .setValue(Any.pack(StringValue.of(value)))
+                .build();
+    }
+
+    private static KogitoTypesProtobuf.NodeInstance nodeInstance(String id) {
+        return KogitoTypesProtobuf.NodeInstance.newBuilder()
+                .setId(id)
+                .setNodeId(1)
+                .setContent(Any.newBuilder().setTypeUrl("type.googleapis.com/test").setValue(ByteString.copyFromUtf8(id)))
+                .build();
+    }
+}
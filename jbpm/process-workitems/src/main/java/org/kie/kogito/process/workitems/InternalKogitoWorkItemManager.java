@@ -17,15 +17,33 @@ package org.kie.kogito.process.workitems;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 
 import org.drools.core.process.instance.WorkItem;
 import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.kogito.internal.process.runtime.KogitoAsyncWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
 
 public interface InternalKogitoWorkItemManager extends org.drools.core.process.instance.WorkItemManager, org.kie.kogito.internal.process.runtime.KogitoWorkItemManager {
 
     void internalExecuteWorkItem(InternalKogitoWorkItem workItem);
 
+    /**
+     * Executes given work item, handing the results of a {@link KogitoAsyncWorkItemHandler} to given consumer
+     * instead of waiting for them. The consumer is then responsible for completing the work item.
+     * Work items of other handlers are executed as usual.
+     *
+     * @param workItem work item to execute
+     * @param asyncResults consumer of the results of asynchronously executed work item
+     */
+    void internalExecuteWorkItem(InternalKogitoWorkItem workItem, Consumer<CompletionStage<Map<String, Object>>> asyncResults);
+
+    /**
+     * Returns the handler registered for given work item name, if any.
+     */
+    KogitoWorkItemHandler getWorkItemHandler(String workItemName);
+
     void internalAddWorkItem(InternalKogitoWorkItem workItem);
 
     void internalAbortWorkItem(String id);
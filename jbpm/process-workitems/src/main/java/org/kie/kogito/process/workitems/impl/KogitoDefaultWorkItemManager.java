@@ -22,11 +22,14 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.drools.core.process.instance.WorkItem;
 import org.kie.internal.runtime.Closeable;
+import org.kie.kogito.internal.process.runtime.KogitoAsyncWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
@@ -59,15 +62,27 @@ public class KogitoDefaultWorkItemManager implements InternalKogitoWorkItemManag
 
     @Override
     public void internalExecuteWorkItem(InternalKogitoWorkItem workItem) {
+        internalExecuteWorkItem(workItem, null);
+    }
+
+    @Override
+    public void internalExecuteWorkItem(InternalKogitoWorkItem workItem, Consumer<CompletionStage<Map<String, Object>>> asyncResults) {
         ((KogitoWorkItemImpl) workItem).setId(UUID.randomUUID().toString());
         internalAddWorkItem(workItem);
         KogitoWorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
-        if (handler != null) {
+        if (handler instanceof KogitoAsyncWorkItemHandler && asyncResults != null) {
+            asyncResults.accept(((KogitoAsyncWorkItemHandler) handler).executeWorkItemAsync(workItem));
+        } else if (handler != null) {
             handler.executeWorkItem(workItem, this);
         } else
             throw new KogitoWorkItemHandlerNotFoundException(workItem.getName());
     }
 
+    @Override
+    public KogitoWorkItemHandler getWorkItemHandler(String workItemName) {
+        return this.workItemHandlers.get(workItemName);
+    }
+
     @Override
     public void internalAddWorkItem(InternalKogitoWorkItem workItem) {
         workItems.put(workItem.getStringId(), workItem);
@@ -22,6 +22,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
@@ -38,6 +40,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -175,6 +179,56 @@ public abstract class DiscoveredServiceWorkItemHandler implements KogitoWorkItem
      * @return returns map of data that was returned from the service call
      */
     protected Map<String, Object> discoverAndCall(WorkItem workItem, String namespace, String serviceName, HttpMethods method) {
+        Request request = produceRequest(workItem, namespace, serviceName, method);
+
+        try (Response response = this.buildHttpClient().newCall(request).execute()) {
+
+            Map<String, Object> results = produceResultsFromResponse(response);
+
+            return results;
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Same as {@link #discoverAndCall(WorkItem, String, String, HttpMethods)} but does not wait for the service
+     * to respond. Meant to be used by handlers implementing {@link org.kie.kogito.internal.process.runtime.KogitoAsyncWorkItemHandler}, so the work item
+     * is completed once the service responded instead of blocking the process execution meanwhile.
+     * Cancelling the returned stage cancels the service call.
+     * 
+     * @see #discoverAndCall(WorkItem, String, String, HttpMethods)
+     * @return returns stage completed with map of data that was returned from the service call
+     */
+    protected CompletionStage<Map<String, Object>> discoverAndCallAsync(WorkItem workItem, String namespace, String serviceName, HttpMethods method) {
+        Call call = this.buildHttpClient().newCall(produceRequest(workItem, namespace, serviceName, method));
+        CompletableFuture<Map<String, Object>> results = new CompletableFuture<>();
+        call.enqueue(new Callback() {
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                results.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response closed = response) {
+                    results.complete(produceResultsFromResponse(closed));
+                } catch (Exception e) {
+                    results.completeExceptionally(e);
+                }
+            }
+        });
+        results.whenComplete((r, e) -> {
+            if (results.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return results;
+    }
+
+    protected Request produceRequest(WorkItem workItem, String namespace, String serviceName, HttpMethods method) {
         Map<String, Object> data = new HashMap<>(workItem.getParameters());
         String service = (String) data.remove(serviceName);
 
@@ -204,16 +258,7 @@ public abstract class DiscoveredServiceWorkItemHandler implements KogitoWorkItem
             default:
                 break;
         }
-
-        try (Response response = this.buildHttpClient().newCall(request).execute()) {
-
-            Map<String, Object> results = produceResultsFromResponse(response);
-
-            return results;
-
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return request;
     }
 
     protected RequestBody produceRequestPayload(Map<String, Object> data) {
@@ -18,6 +18,7 @@ package org.kie.kogito.cloud.workitems;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -27,9 +28,11 @@ import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClient;
 import org.kie.kogito.cloud.workitems.service.discovery.ServiceDiscovery;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
@@ -42,6 +45,7 @@ import okio.BufferedSource;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @Disabled("Disabled in favor of the refactoring: https://issues.redhat.com/browse/KOGITO-5284")
@@ -62,6 +66,37 @@ public class DiscoveredServiceWorkItemHandlerTest {
         when(workItem.getParameters()).thenReturn(Collections.singletonMap("service", "test"));
 
         Call call = mock(Call.class);
+        Response response = fakeResponse();
+
+        when(call.execute()).thenReturn(response);
+        when(httpClient.newCall(any())).thenReturn(call);
+
+        Map<String, Object> results = handler.discoverAndCall(workItem, "", "service", HttpMethods.POST);
+
+        assertThat(results).isNotNull().containsKey("test").containsValue("fake");
+    }
+
+    @Test
+    public void testGivenEndpointAsync() throws Exception {
+        DiscoveredServiceWorkItemHandler handler = new TestDiscoveredServiceWorkItemHandler("test", "http://testhost:9000");
+
+        WorkItem workItem = Mockito.mock(WorkItem.class);
+        when(workItem.getParameters()).thenReturn(Collections.singletonMap("service", "test"));
+
+        Call call = mock(Call.class);
+        ArgumentCaptor<Callback> callback = ArgumentCaptor.forClass(Callback.class);
+        when(httpClient.newCall(any())).thenReturn(call);
+
+        CompletableFuture<Map<String, Object>> results = handler.discoverAndCallAsync(workItem, "", "service", HttpMethods.POST).toCompletableFuture();
+        assertThat(results).isNotDone();
+
+        verify(call).enqueue(callback.capture());
+        callback.getValue().onResponse(call, fakeResponse());
+
+        assertThat(results.get()).isNotNull().containsKey("test").containsValue("fake");
+    }
+
+    private Response fakeResponse() {
         ResponseBody body = new ResponseBody() {
             private String content = "{\"test\" : \"fake\"}";
 
@@ -82,14 +117,7 @@ public class DiscoveredServiceWorkItemHandlerTest {
                 return content.length();
             }
         };
-        Response response = new Response.Builder().body(body).protocol(Protocol.HTTP_1_1).message("test").request(new Request.Builder().url("http://localhost:9000").build()).code(200).build();
-
-        when(call.execute()).thenReturn(response);
-        when(httpClient.newCall(any())).thenReturn(call);
-
-        Map<String, Object> results = handler.discoverAndCall(workItem, "", "service", HttpMethods.POST);
-
-        assertThat(results).isNotNull().containsKey("test").containsValue("fake");
+        return new Response.Builder().body(body).protocol(Protocol.HTTP_1_1).message("test").request(new Request.Builder().url("http://localhost:9000").build()).code(200).build();
     }
 
     private class TestDiscoveredServiceWorkItemHandler extends DiscoveredServiceWorkItemHandler {
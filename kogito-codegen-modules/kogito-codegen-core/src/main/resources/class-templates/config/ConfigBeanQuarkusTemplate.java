@@ -28,11 +28,27 @@ public class ConfigBean extends org.kie.kogito.conf.StaticConfigBean {
     @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.jackson.fail-on-empty-bean", defaultValue="false")
     boolean failOnEmptyBean;
 
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.messaging.consumer.workers", defaultValue="0")
+    int messageConsumerWorkers;
+
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.messaging.consumer.batch-size", defaultValue="100")
+    int messageConsumerBatchSize;
+
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.rest.executor.threads", defaultValue="0")
+    int restExecutorThreads;
+
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.rest.executor.queue-size", defaultValue="1000")
+    int restExecutorQueueSize;
+
     @javax.annotation.PostConstruct
     protected void init() {
         setServiceUrl(kogitoService.orElse(""));
         setCloudEvents(useCloudEvents);
         setFailOnEmptyBean(failOnEmptyBean);
+        setMessageConsumerWorkers(messageConsumerWorkers);
+        setMessageConsumerBatchSize(messageConsumerBatchSize);
+        setRestExecutorThreads(restExecutorThreads);
+        setRestExecutorQueueSize(restExecutorQueueSize);
         setGav($gav$);
     }
 }
@@ -27,11 +27,27 @@ public class ConfigBean extends org.kie.kogito.conf.StaticConfigBean {
     @org.springframework.beans.factory.annotation.Value("${kogito.jackson.fail-on-empty-bean:#{false}}")
     boolean failOnEmptyBean;
 
+    @org.springframework.beans.factory.annotation.Value("${kogito.messaging.consumer.workers:#{0}}")
+    int messageConsumerWorkers;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.messaging.consumer.batch-size:#{100}}")
+    int messageConsumerBatchSize;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.rest.executor.threads:#{0}}")
+    int restExecutorThreads;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.rest.executor.queue-size:#{1000}}")
+    int restExecutorQueueSize;
+
     @javax.annotation.PostConstruct
     protected void init() {
         setServiceUrl(kogitoService.orElse(""));
         setCloudEvents(useCloudEvents);
         setFailOnEmptyBean(failOnEmptyBean);
+        setMessageConsumerWorkers(messageConsumerWorkers);
+        setMessageConsumerBatchSize(messageConsumerBatchSize);
+        setRestExecutorThreads(restExecutorThreads);
+        setRestExecutorQueueSize(restExecutorQueueSize);
         setGav($gav$);
     }
 }
@@ -19,6 +19,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -38,6 +39,8 @@ import org.kie.dmn.model.api.BusinessKnowledgeModel;
 import org.kie.dmn.model.api.DRGElement;
 import org.kie.dmn.model.api.Decision;
 import org.kie.dmn.model.api.Definitions;
+import org.kie.dmn.model.api.dmndi.DMNDI;
+import org.kie.dmn.model.v1_1.TDefinitions;
 import org.kie.dmn.openapi.DMNOASGeneratorFactory;
 import org.kie.dmn.openapi.model.DMNOASResult;
 import org.kie.dmn.typesafe.DMNAllTypesIndex;
@@ -87,6 +90,8 @@ public class DecisionCodegen extends AbstractGenerator {
     private final List<CollectedResource> cResources;
     private final List<DMNResource> resources = new ArrayList<>();
     private final List<GeneratedFile> generatedFiles = new ArrayList<>();
+    // classpath locations of the runtime copies of the models, see generateAndStoreRuntimeResources()
+    private final Map<CollectedResource, String> runtimeResourcePaths = new HashMap<>();
 
     public DecisionCodegen(KogitoBuildContext context, List<CollectedResource> cResources) {
         super(context, GENERATOR_NAME, new DecisionConfigGenerator(context));
@@ -105,6 +110,11 @@ public class DecisionCodegen extends AbstractGenerator {
                 .getOrElseThrow(e -> new RuntimeException("Error compiling DMN model(s)", e));
         // Any post-compilation of the DMN model validations: DT (static) analysis
         DecisionValidation.dmnValidateDecisionTablesInModels(context(), dmnRuntime.getModels());
+        for (DMNModel model : dmnRuntime.getModels()) {
+            if (model.getName() == null || model.getName().isEmpty()) {
+                throw new RuntimeException("Model name should not be empty");
+            }
+        }
         List<DMNResource> dmnResources = dmnRuntime.getModels().stream().map(model -> new DMNResource(model, r2cr.get(model.getResource()))).collect(toList());
         resources.addAll(dmnResources);
     }
@@ -115,12 +125,43 @@ public class DecisionCodegen extends AbstractGenerator {
             return Collections.emptyList();
         }
         loadModelsAndValidate();
+        // before the REST resources, which strip the decision logic from the models when storing them
+        generateAndStoreRuntimeResources();
         generateAndStoreRestResources();
         generateAndStoreDecisionModelResourcesProvider();
 
         return generatedFiles;
     }
 
+    /**
+     * Stores a copy of each model without its diagram interchange (DMNDI) section, which is only
+     * needed by the editors and usually makes up most of the file. The generated DecisionModels
+     * reads these copies, so that less XML has to be parsed when the application starts.
+     */
+    private void generateAndStoreRuntimeResources() {
+        DMNMarshaller marshaller = DMNMarshallerFactory.newDefaultMarshaller();
+        for (DMNResource resource : resources) {
+            Definitions definitions = resource.getDmnModel().getDefinitions();
+            if (definitions instanceof TDefinitions || definitions.getDMNDI() == null) {
+                // DMN 1.1 has no DMNDI, nothing to strip
+                continue;
+            }
+            String relativePath = modelResourcePath(resource.getDmnModel(), ".dmn_runtime");
+            DMNDI dmndi = definitions.getDMNDI();
+            definitions.setDMNDI(null);
+            try {
+                storeFile(GeneratedFileType.RESOURCE, relativePath, marshaller.marshal(definitions));
+            } finally {
+                definitions.setDMNDI(dmndi);
+            }
+            runtimeResourcePaths.put(resource.getCollectedResource(), "/" + relativePath);
+        }
+    }
+
+    private static String modelResourcePath(DMNModel model, String extension) {
+        return CodegenStringUtil.escapeIdentifier(model.getNamespace()).replace(".", "/") + "/" + CodegenStringUtil.escapeIdentifier(model.getName()) + extension;
+    }
+
     private void generateAndStoreRestResources() {
         List<DecisionRestResourceGenerator> rgs = new ArrayList<>(); // REST resources
 
@@ -136,10 +177,6 @@ public class DecisionCodegen extends AbstractGenerator {
 
         for (DMNResource resource : resources) {
             DMNModel model = resource.getDmnModel();
-            if (model.getName() == null || model.getName().isEmpty()) {
-                throw new RuntimeException("Model name should not be empty");
-            }
-
             boolean stronglyTypedEnabled = Optional.ofNullable(context())
                     .flatMap(c -> c.getApplicationProperty(STRONGLY_TYPED_CONFIGURATION_KEY))
                     .map(Boolean::parseBoolean)
@@ -177,7 +214,7 @@ public class DecisionCodegen extends AbstractGenerator {
                     bkm.setEncapsulatedLogic(null);
                 }
             }
-            String relativePath = CodegenStringUtil.escapeIdentifier(model.getNamespace()).replace(".", "/") + "/" + CodegenStringUtil.escapeIdentifier(model.getName()) + ".dmn_nologic";
+            String relativePath = modelResourcePath(model, ".dmn_nologic");
             storeFile(GeneratedFileType.RESOURCE, relativePath, marshaller.marshal(definitions));
         }
     }
@@ -260,7 +297,8 @@ public class DecisionCodegen extends AbstractGenerator {
         return Optional.of(new DecisionContainerGenerator(
                 context(),
                 applicationCanonicalName(),
-                this.cResources));
+                this.cResources,
+                this.runtimeResourcePaths));
     }
 
     @Override
@@ -16,6 +16,8 @@
 package org.kie.kogito.codegen.decision;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 
 import org.kie.kogito.codegen.api.context.KogitoBuildContext;
 import org.kie.kogito.codegen.api.io.CollectedResource;
@@ -34,6 +36,7 @@ import com.github.javaparser.ast.type.ClassOrInterfaceType;
 
 import static org.kie.kogito.codegen.core.CodegenUtils.newObject;
 import static org.kie.kogito.codegen.decision.ReadResourceUtil.getReadResourceMethod;
+import static org.kie.kogito.codegen.decision.ReadResourceUtil.getReadRuntimeResourceMethod;
 
 public class DecisionContainerGenerator extends AbstractApplicationSection {
 
@@ -43,12 +46,23 @@ public class DecisionContainerGenerator extends AbstractApplicationSection {
 
     private final String applicationCanonicalName;
     private final Collection<CollectedResource> resources;
+    private final Map<CollectedResource, String> runtimeResourcePaths;
     private final TemplatedGenerator templatedGenerator;
 
     public DecisionContainerGenerator(KogitoBuildContext context, String applicationCanonicalName, Collection<CollectedResource> cResources) {
+        this(context, applicationCanonicalName, cResources, Collections.emptyMap());
+    }
+
+    /**
+     * @param runtimeResourcePaths classpath locations of the generated runtime copies of the models, read instead
+     *        of the original resources when present
+     */
+    public DecisionContainerGenerator(KogitoBuildContext context, String applicationCanonicalName, Collection<CollectedResource> cResources,
+            Map<CollectedResource, String> runtimeResourcePaths) {
         super(context, SECTION_CLASS_NAME);
         this.applicationCanonicalName = applicationCanonicalName;
         this.resources = cResources;
+        this.runtimeResourcePaths = runtimeResourcePaths;
         this.templatedGenerator = TemplatedGenerator.builder()
                 .withTargetTypeName(SECTION_CLASS_NAME)
                 .build(context, "DecisionContainer");
@@ -76,7 +90,10 @@ public class DecisionContainerGenerator extends AbstractApplicationSection {
         setupDecisionModelTransformerVariable(initMethod);
 
         for (CollectedResource resource : resources) {
-            MethodCallExpr getResAsStream = getReadResourceMethod(applicationClass, resource);
+            String runtimeResourcePath = runtimeResourcePaths.get(resource);
+            MethodCallExpr getResAsStream = runtimeResourcePath != null
+                    ? getReadRuntimeResourceMethod(applicationClass, runtimeResourcePath)
+                    : getReadResourceMethod(applicationClass, resource);
             MethodCallExpr isr = new MethodCallExpr("readResource").addArgument(getResAsStream);
             initMethod.addArgument(isr);
         }
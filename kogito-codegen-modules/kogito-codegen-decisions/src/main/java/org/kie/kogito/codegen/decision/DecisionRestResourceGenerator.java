@@ -78,6 +78,8 @@ public class DecisionRestResourceGenerator {
     private boolean swaggerAnnPresent;
     private final TemplatedGenerator generator;
 
+    private static final String BATCH_PATH = "batch";
+
     private static final Supplier<RuntimeException> TEMPLATE_WAS_MODIFIED = () -> new RuntimeException("Template was modified!");
 
     public DecisionRestResourceGenerator(KogitoBuildContext context, DMNModel model, String appCanonicalName) {
@@ -178,6 +180,8 @@ public class DecisionRestResourceGenerator {
         //set the root path for the dmnMethod itself
         interpolateRequestPath("", dmnMethodUrlPlaceholder, dmnMethod);
 
+        removeBatchMethodIfConflicting(template);
+
         if (context.getAddonsConfig().useMonitoring()) {
             addMonitoringImports(clazz);
             addMonitoringFields(template);
@@ -252,6 +256,14 @@ public class DecisionRestResourceGenerator {
         }
     }
 
+    private void removeBatchMethodIfConflicting(ClassOrInterfaceDeclaration template) {
+        boolean conflicting = dmnModel.getDefinitions().getDecisionService().stream().anyMatch(ds -> BATCH_PATH.equals(ds.getName()));
+        if (conflicting) {
+            LOGGER.warn("DMN model '{}' has a decision service named '{}', the batch endpoint will not be generated", dmnModel.getName(), BATCH_PATH);
+            template.findAll(MethodDeclaration.class, x -> x.getNameAsString().equals("dmn_batch")).forEach(MethodDeclaration::remove);
+        }
+    }
+
     private void chooseMethodForStronglyTyped(ClassOrInterfaceDeclaration template) {
         if (isStronglyTyped) {
             MethodDeclaration extractContextIfSucceded = template.findAll(MethodDeclaration.class, x -> x.getName().toString().equals("extractContextIfSucceded")).get(0);
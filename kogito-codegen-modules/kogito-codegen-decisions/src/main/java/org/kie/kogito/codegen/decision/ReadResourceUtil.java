@@ -47,6 +47,11 @@ class ReadResourceUtil {
                 .addArgument(new StringLiteralExpr(getDecisionModelRelativeResourcePath(resource)));
     }
 
+    public static MethodCallExpr getReadRuntimeResourceMethod(ClassOrInterfaceType applicationClass, String runtimeResourcePath) {
+        return new MethodCallExpr(new FieldAccessExpr(applicationClass.getNameAsExpression(), "class"), "getResourceAsStream")
+                .addArgument(new StringLiteralExpr(runtimeResourcePath));
+    }
+
     private static String getDecisionModelJarResourcePath(CollectedResource resource) {
         return resource.resource().getSourcePath();
     }
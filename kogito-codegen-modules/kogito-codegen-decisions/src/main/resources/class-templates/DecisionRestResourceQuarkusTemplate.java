@@ -26,7 +26,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import org.kie.kogito.Application;
-import org.kie.kogito.dmn.rest.DMNEvaluationErrorException;
+import org.kie.kogito.dmn.rest.DMNBatchEvaluator;
 import org.kie.kogito.dmn.rest.DMNJSONUtils;
 import org.kie.kogito.dmn.rest.KogitoDMNResult;
 import org.kie.kogito.dmn.util.StronglyTypedUtils;
@@ -36,6 +36,8 @@ public class DMNRestResourceTemplate {
 
     Application application;
 
+    private org.kie.kogito.decision.DecisionModel decision;
+
     private static final String KOGITO_DECISION_INFOWARN_HEADER = "X-Kogito-decision-messages";
     private static final String KOGITO_EXECUTION_ID_HEADER = "X-Kogito-execution-id";
 
@@ -47,6 +49,11 @@ public class DMNRestResourceTemplate {
             .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
             .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
 
+    @javax.annotation.PostConstruct
+    protected void init() {
+        decision = application.get(org.kie.kogito.decision.DecisionModels.class).getDecisionModel("$modelNamespace$", "$modelName$");
+    }
+
     @javax.ws.rs.core.Context
     private org.jboss.resteasy.spi.HttpResponse httpResponse;
 
@@ -59,7 +66,6 @@ public class DMNRestResourceTemplate {
     @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @io.swagger.v3.oas.annotations.media.Content(mediaType = "application/json",schema = @io.swagger.v3.oas.annotations.media.Schema(ref = "/dmnDefinitions.json#/definitions/InputSet1")), description = "DMN input")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(content = @io.swagger.v3.oas.annotations.media.Content(mediaType = "application/json",schema = @io.swagger.v3.oas.annotations.media.Schema(ref = "/dmnDefinitions.json#/definitions/OutputSet1")), description = "DMN output")
     public Response dmn($inputType$ variables) {
-        org.kie.kogito.decision.DecisionModel decision = application.get(org.kie.kogito.decision.DecisionModels.class).getDecisionModel("$modelNamespace$", "$modelName$");
         OutputSet outputSet = (OutputSet) StronglyTypedUtils.convertToOutputSet(variables, OutputSet.class);
         org.kie.dmn.api.core.DMNResult decisionResult = decision.evaluateAll(DMNJSONUtils.ctx(decision, $inputData$));
         enrichResponseHeaders(decisionResult);
@@ -67,6 +73,15 @@ public class DMNRestResourceTemplate {
         return $extractContextMethod$(result);
     }
 
+    @POST
+    @Path("/batch")
+    @Consumes({ MediaType.APPLICATION_JSON, DMNBatchEvaluator.NDJSON })
+    @Produces(DMNBatchEvaluator.NDJSON)
+    public Response dmn_batch(java.io.InputStream inputs, @javax.ws.rs.QueryParam("parallel") boolean parallel) {
+        DMNBatchEvaluator evaluator = new DMNBatchEvaluator(decision, objectMapper);
+        return Response.ok((javax.ws.rs.core.StreamingOutput) output -> evaluator.evaluate(inputs, output, parallel)).build();
+    }
+
     @GET
     @Produces(MediaType.APPLICATION_XML)
     public String dmn() throws java.io.IOException {
@@ -15,27 +15,24 @@
  */
 package org.kie.dmn.kogito.quarkus.example;
 
-import javax.servlet.http.HttpServletResponse;
-
 import java.util.stream.Collectors;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.kie.kogito.Application;
-import org.kie.kogito.dmn.rest.DMNEvaluationErrorException;
+import org.kie.kogito.dmn.rest.DMNBatchEvaluator;
 import org.kie.kogito.dmn.rest.DMNJSONUtils;
 import org.kie.kogito.dmn.rest.KogitoDMNResult;
 import org.kie.kogito.dmn.util.StronglyTypedUtils;
-
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 
 @RestController
 @RequestMapping("/$nameURL$")
@@ -43,6 +40,8 @@ public class DMNRestResourceTemplate {
 
     Application application;
 
+    private org.kie.kogito.decision.DecisionModel decision;
+
     private static final String KOGITO_DECISION_INFOWARN_HEADER = "X-Kogito-decision-messages";
     private static final String KOGITO_EXECUTION_ID_HEADER = "X-Kogito-execution-id";
 
@@ -54,6 +53,11 @@ public class DMNRestResourceTemplate {
             .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
             .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
 
+    @javax.annotation.PostConstruct
+    protected void init() {
+        decision = application.get(org.kie.kogito.decision.DecisionModels.class).getDecisionModel("$modelNamespace$", "$modelName$");
+    }
+
     @PostMapping(value = "$dmnMethodUrl$", produces = MediaType.APPLICATION_JSON_VALUE, consumes =
             MediaType.APPLICATION_JSON_VALUE)
     @org.eclipse.microprofile.openapi.annotations.parameters.RequestBody(content = @org.eclipse.microprofile.openapi.annotations.media.Content(mediaType = "application/json",schema = @org.eclipse.microprofile.openapi.annotations.media.Schema(ref = "/dmnDefinitions.json#/definitions/InputSet1")), description = "DMN input")
@@ -62,7 +66,6 @@ public class DMNRestResourceTemplate {
     @io.swagger.v3.oas.annotations.responses.ApiResponse(content = @io.swagger.v3.oas.annotations.media.Content(mediaType = "application/json",schema = @io.swagger.v3.oas.annotations.media.Schema(ref = "/dmnDefinitions.json#/definitions/OutputSet1")), description = "DMN output")
     public ResponseEntity<?> dmn(@RequestBody(required = false) $inputType$ variables,
                             HttpServletResponse httpResponse) {
-        org.kie.kogito.decision.DecisionModel decision = application.get(org.kie.kogito.decision.DecisionModels.class).getDecisionModel("$modelNamespace$", "$modelName$");
         OutputSet outputSet = (OutputSet)StronglyTypedUtils.convertToOutputSet(variables, OutputSet.class);
         org.kie.dmn.api.core.DMNResult decisionResult = decision.evaluateAll(DMNJSONUtils.ctx(decision, $inputData$));
         enrichResponseHeaders(decisionResult, httpResponse);
@@ -70,6 +73,14 @@ public class DMNRestResourceTemplate {
         return $extractContextMethod$(result);
     }
 
+    @PostMapping(value = "batch", produces = DMNBatchEvaluator.NDJSON, consumes = { MediaType.APPLICATION_JSON_VALUE, DMNBatchEvaluator.NDJSON })
+    public void dmn_batch(java.io.InputStream inputs,
+                          @RequestParam(value = "parallel", defaultValue = "false") boolean parallel,
+                          HttpServletResponse httpResponse) throws java.io.IOException {
+        httpResponse.setContentType(DMNBatchEvaluator.NDJSON);
+        new DMNBatchEvaluator(decision, objectMapper).evaluate(inputs, httpResponse.getOutputStream(), parallel);
+    }
+
     @GetMapping(produces = MediaType.APPLICATION_XML_VALUE)
     public String dmn() throws java.io.IOException {
         return new String(org.drools.core.util.IoUtils.
@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.codegen.decision;
 
+import java.io.StringReader;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -28,6 +29,12 @@ import org.assertj.core.api.AbstractStringAssert;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.kie.api.io.Resource;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.ast.DecisionNode;
+import org.kie.dmn.core.internal.utils.DMNRuntimeBuilder;
+import org.kie.internal.io.ResourceFactory;
 import org.kie.kogito.codegen.api.AddonsConfig;
 import org.kie.kogito.codegen.api.ApplicationSection;
 import org.kie.kogito.codegen.api.GeneratedFile;
@@ -70,6 +77,46 @@ public class DecisionCodegenTest {
         assertNotEmptySectionCompilationUnit(codeGenerator);
     }
 
+    @ParameterizedTest
+    @MethodSource("org.kie.kogito.codegen.api.utils.KogitoContextTestUtils#contextBuilders")
+    public void generateBatchEndpoint(KogitoBuildContext.Builder contextBuilder) {
+        if (!contextBuilder.build().hasREST()) {
+            return;
+        }
+        DecisionCodegen codeGenerator = getDecisionCodegen("src/test/resources/decision/models/vacationDays", contextBuilder);
+
+        GeneratedFile resource = codeGenerator.generate().stream()
+                .filter(x -> x.relativePath().equals("decision/VacationsResource.java"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("REST resource not generated"));
+
+        assertThat(new String(resource.contents()))
+                .contains("dmn_batch(")
+                .contains("new DMNBatchEvaluator(decision, objectMapper)");
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.kie.kogito.codegen.api.utils.KogitoContextTestUtils#contextBuilders")
+    public void generateRuntimeResources(KogitoBuildContext.Builder contextBuilder) {
+        DecisionCodegen codeGenerator = getDecisionCodegen("src/test/resources/decision/models/vacationDays", contextBuilder);
+
+        GeneratedFile runtimeResource = codeGenerator.generate().stream()
+                .filter(x -> x.relativePath().equals("decision/Vacations.dmn_runtime"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("runtime resource not generated"));
+        String contents = new String(runtimeResource.contents());
+        assertThat(contents).doesNotContain("<dmndi:DMNDI>").contains("decisionTable");
+
+        DMNModel original = compileModel(ResourceFactory.newFileResource("src/test/resources/decision/models/vacationDays/vacationDays.dmn"));
+        DMNModel runtime = compileModel(ResourceFactory.newReaderResource(new StringReader(contents)));
+        assertThat(runtime.hasErrors()).isFalse();
+        assertThat(decisionNames(runtime)).isNotEmpty().isEqualTo(decisionNames(original));
+
+        assertNotEmptySectionCompilationUnit(codeGenerator)
+                .contains("\"/decision/Vacations.dmn_runtime\"")
+                .doesNotContain("vacationDays.dmn");
+    }
+
     @ParameterizedTest
     @MethodSource("org.kie.kogito.codegen.api.utils.KogitoContextTestUtils#contextBuilders")
     public void doNotGenerateTypesafeInfo(KogitoBuildContext.Builder contextBuilder) {
@@ -222,6 +269,18 @@ public class DecisionCodegenTest {
         return DecisionCodegen.ofCollectedResources(context, CollectedResourceProducer.fromPaths(Paths.get(sourcePath).toAbsolutePath()));
     }
 
+    private DMNModel compileModel(Resource resource) {
+        DMNRuntime dmnRuntime = DMNRuntimeBuilder.fromDefaults()
+                .buildConfiguration()
+                .fromResources(singleton(resource))
+                .getOrElseThrow(e -> new IllegalStateException("model does not compile", e));
+        return dmnRuntime.getModel("decision", "Vacations");
+    }
+
+    private List<String> decisionNames(DMNModel model) {
+        return model.getDecisions().stream().map(DecisionNode::getName).sorted().collect(Collectors.toList());
+    }
+
     private List<String> fileNames(List<GeneratedFile> generatedFiles) {
         return generatedFiles.stream().map(GeneratedFile::relativePath).collect(Collectors.toList());
     }
@@ -15,7 +15,9 @@
  */
 package org.kie.kogito.codegen;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Files;
@@ -34,6 +36,7 @@ import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
 import org.kie.kogito.Application;
 import org.kie.kogito.codegen.api.AddonsConfig;
 import org.kie.kogito.codegen.api.GeneratedFile;
+import org.kie.kogito.codegen.api.GeneratedFileType;
 import org.kie.kogito.codegen.api.Generator;
 import org.kie.kogito.codegen.api.context.KogitoBuildContext;
 import org.kie.kogito.codegen.api.context.impl.JavaKogitoBuildContext;
@@ -180,8 +183,12 @@ public class AbstractCodegenIT {
         MemoryFileSystem trgMfs = new MemoryFileSystem();
 
         List<String> sources = new ArrayList<>();
+        Map<String, byte[]> resources = new HashMap<>();
         for (GeneratedFile entry : generatedFiles) {
             String fileName = entry.relativePath();
+            if (entry.category() == GeneratedFileType.Category.RESOURCE) {
+                resources.put(fileName, entry.contents());
+            }
             if (!fileName.endsWith(".java")) {
                 continue;
             }
@@ -209,7 +216,7 @@ public class AbstractCodegenIT {
         assertThat(result).isNotNull();
         assertThat(result.getErrors()).describedAs(String.join("\n\n", Arrays.toString(result.getErrors()))).hasSize(0);
 
-        classloader = new TestClassLoader(this.getClass().getClassLoader(), trgMfs.getMap());
+        classloader = new TestClassLoader(this.getClass().getClassLoader(), trgMfs.getMap(), resources);
 
         @SuppressWarnings("unchecked")
         Class<Application> app = (Class<Application>) Class.forName(context.getPackageName() + ".Application", true, classloader);
@@ -246,10 +253,12 @@ public class AbstractCodegenIT {
     private static class TestClassLoader extends URLClassLoader {
 
         private final Map<String, byte[]> extraClassDefs;
+        private final Map<String, byte[]> resources;
 
-        public TestClassLoader(ClassLoader parent, Map<String, byte[]> extraClassDefs) {
+        public TestClassLoader(ClassLoader parent, Map<String, byte[]> extraClassDefs, Map<String, byte[]> resources) {
             super(new URL[0], parent);
             this.extraClassDefs = new HashMap<>();
+            this.resources = resources;
 
             for (Entry<String, byte[]> entry : extraClassDefs.entrySet()) {
                 this.extraClassDefs.put(entry.getKey().replaceAll("/", ".").replaceFirst("\\.class", ""), entry.getValue());
@@ -264,5 +273,11 @@ public class AbstractCodegenIT {
             }
             return super.findClass(name);
         }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            byte[] resource = resources.get(name);
+            return resource != null ? new ByteArrayInputStream(resource) : super.getResourceAsStream(name);
+        }
     }
 }
@@ -57,12 +57,14 @@ import com.github.javaparser.ast.expr.ConditionalExpr;
 import com.github.javaparser.ast.expr.EnclosedExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.NullLiteralExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.SimpleName;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.expr.SuperExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.CatchClause;
 import com.github.javaparser.ast.stmt.ExplicitConstructorInvocationStmt;
@@ -108,6 +110,18 @@ public class PersistenceGenerator extends AbstractGenerator {
     private static final String KOGITO_PERSISTENCE_QUERY_TIMEOUT = "kogito.persistence.query.timeout.millis";
     private static final String OPTIMISTIC_LOCK = "lock";
     private static final String OPTIMISTIC_LOCK_PROP = "kogito.persistence.optimistic.lock";
+    private static final String JDBC_BATCH = "batch";
+    private static final String JDBC_BATCH_PROP = "kogito.persistence.jdbc.batch";
+    private static final String DELTA = "delta";
+    private static final String DELTA_PROP = "kogito.persistence.delta";
+    private static final String CACHE_SIZE = "cacheSize";
+    private static final String CACHE_SIZE_PROP = "kogito.persistence.cache.size";
+    private static final String CACHE_LISTENER = "cacheListener";
+    private static final String CACHE_LISTENER_TYPE = "org.kie.kogito.process.impl.ProcessInstancesCacheListener";
+    private static final String CORRELATION_INDEX = "correlationIndex";
+    private static final String CORRELATION_INDEX_PROP = "kogito.persistence.correlation.index";
+    private static final String OUTBOX = "outbox";
+    private static final String OUTBOX_PROP = "kogito.persistence.outbox";
 
     private final ProtoGenerator protoGenerator;
 
@@ -194,6 +208,8 @@ public class PersistenceGenerator extends AbstractGenerator {
         CompilationUnit compilationUnit = new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE);
         compilationUnit.getTypes().add(persistenceProviderClazz);
         addOptimisticLockFlag(persistenceProviderClazz);
+        addCache(persistenceProviderClazz);
+        addBooleanFlag(persistenceProviderClazz, CORRELATION_INDEX, CORRELATION_INDEX_PROP);
         generatePersistenceProviderClazz(persistenceProviderClazz, compilationUnit).ifPresent(generatedFiles::add);
         return generatedFiles;
     }
@@ -337,7 +353,7 @@ public class PersistenceGenerator extends AbstractGenerator {
             body.addStatement(new MethodCallExpr(new NameExpr("context"), "registerProtoFiles", NodeList.nodeList(chainExpression)));
             for (String baseMarshallers : variableMarshallers) {
                 Expression newMarshallerExpr = new ObjectCreationExpr(null, new ClassOrInterfaceType(null, baseMarshallers), NodeList.nodeList());
-                body.addStatement(new MethodCallExpr(new NameExpr("context"), "registerMarshaller", NodeList.nodeList(newMarshallerExpr)));
+                body.addStatement(new MethodCallExpr(null, "register", NodeList.nodeList(newMarshallerExpr)));
             }
             CatchClause catchClause = new CatchClause(new Parameter().setType(IOException.class).setName("e"), new BlockStmt());
             TryStmt tryStmt = new TryStmt(body, NodeList.nodeList(catchClause), null);
@@ -415,6 +431,8 @@ public class PersistenceGenerator extends AbstractGenerator {
 
             persistenceProviderClazz.addMember(pathField);
             persistenceProviderClazz.addMember(pathMethod);
+            addCache(persistenceProviderClazz);
+            addBooleanFlag(persistenceProviderClazz, CORRELATION_INDEX, CORRELATION_INDEX_PROP);
             generatedClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                     new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         }
@@ -463,6 +481,10 @@ public class PersistenceGenerator extends AbstractGenerator {
             persistenceProviderClazz.addMember(dbNameMethod);
             generatedTMFile = mongodbBasedTransaction(persistenceProviderClazz);
             addOptimisticLockFlag(persistenceProviderClazz);
+            addCache(persistenceProviderClazz);
+            addBooleanFlag(persistenceProviderClazz, CORRELATION_INDEX, CORRELATION_INDEX_PROP);
+            addBooleanFlag(persistenceProviderClazz, DELTA, DELTA_PROP);
+            addBooleanFlag(persistenceProviderClazz, OUTBOX, OUTBOX_PROP);
             generatedClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                     new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         }
@@ -539,6 +561,8 @@ public class PersistenceGenerator extends AbstractGenerator {
             generatedPgClientFile.ifPresent(generatedFiles::add);
         }
         addOptimisticLockFlag(persistenceProviderClazz);
+        addCache(persistenceProviderClazz);
+        addBooleanFlag(persistenceProviderClazz, CORRELATION_INDEX, CORRELATION_INDEX_PROP);
         Optional<GeneratedFile> generatedPgClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                 new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         generatedPgClientFile.ifPresent(generatedFiles::add);
@@ -576,6 +600,11 @@ public class PersistenceGenerator extends AbstractGenerator {
         }
 
         addOptimisticLockFlag(persistenceProviderClazz);
+        addCache(persistenceProviderClazz);
+        addBooleanFlag(persistenceProviderClazz, CORRELATION_INDEX, CORRELATION_INDEX_PROP);
+        addBooleanFlag(persistenceProviderClazz, JDBC_BATCH, JDBC_BATCH_PROP);
+        addBooleanFlag(persistenceProviderClazz, DELTA, DELTA_PROP);
+        addBooleanFlag(persistenceProviderClazz, OUTBOX, OUTBOX_PROP);
         Optional<GeneratedFile> generatedPgClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                 new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         generatedPgClientFile.ifPresent(generatedFiles::add);
@@ -584,21 +613,65 @@ public class PersistenceGenerator extends AbstractGenerator {
     }
 
     private void addOptimisticLockFlag(ClassOrInterfaceDeclaration persistenceProviderClazz) {
-        FieldDeclaration lockField = new FieldDeclaration().addVariable(new VariableDeclarator()
+        addBooleanFlag(persistenceProviderClazz, OPTIMISTIC_LOCK, OPTIMISTIC_LOCK_PROP);
+    }
+
+    /**
+     * Adds the size of the process instances cache, disabled unless configured, and the optional listener of the cache.
+     */
+    private void addCache(ClassOrInterfaceDeclaration persistenceProviderClazz) {
+        FieldDeclaration sizeField = new FieldDeclaration().addVariable(new VariableDeclarator()
+                .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, Integer.class.getCanonicalName()))))
+                .setName(CACHE_SIZE));
+        context().getDependencyInjectionAnnotator().withConfigInjection(sizeField, CACHE_SIZE_PROP);
+
+        BlockStmt sizeMethodBody = new BlockStmt();
+        sizeMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(CACHE_SIZE), OR_ELSE).addArgument(new IntegerLiteralExpr("0"))));
+        MethodDeclaration sizeMethod = new MethodDeclaration()
+                .addModifier(Keyword.PUBLIC)
+                .setName(CACHE_SIZE)
+                .setType("int")
+                .setBody(sizeMethodBody);
+
+        FieldDeclaration listenerField = new FieldDeclaration().addVariable(new VariableDeclarator()
+                .setType(new ClassOrInterfaceType(null, new SimpleName(context().getDependencyInjectionAnnotator().optionalInstanceInjectionType()),
+                        NodeList.nodeList(new ClassOrInterfaceType(null, CACHE_LISTENER_TYPE))))
+                .setName(CACHE_LISTENER));
+        context().getDependencyInjectionAnnotator().withOptionalInjection(listenerField);
+
+        BlockStmt listenerMethodBody = new BlockStmt();
+        listenerMethodBody.addStatement(new ReturnStmt(new ConditionalExpr(
+                context().getDependencyInjectionAnnotator().optionalInstanceExists(CACHE_LISTENER),
+                context().getDependencyInjectionAnnotator().getOptionalInstance(CACHE_LISTENER),
+                new MethodCallExpr(new SuperExpr(), CACHE_LISTENER))));
+        MethodDeclaration listenerMethod = new MethodDeclaration()
+                .addModifier(Keyword.PUBLIC)
+                .setName(CACHE_LISTENER)
+                .setType(CACHE_LISTENER_TYPE)
+                .setBody(listenerMethodBody);
+
+        persistenceProviderClazz.addMember(sizeField);
+        persistenceProviderClazz.addMember(sizeMethod);
+        persistenceProviderClazz.addMember(listenerField);
+        persistenceProviderClazz.addMember(listenerMethod);
+    }
+
+    private void addBooleanFlag(ClassOrInterfaceDeclaration persistenceProviderClazz, String name, String property) {
+        FieldDeclaration flagField = new FieldDeclaration().addVariable(new VariableDeclarator()
                 .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, Boolean.class.getCanonicalName()))))
-                .setName(OPTIMISTIC_LOCK));
-        context().getDependencyInjectionAnnotator().withConfigInjection(lockField, OPTIMISTIC_LOCK_PROP);
+                .setName(name));
+        context().getDependencyInjectionAnnotator().withConfigInjection(flagField, property);
 
-        BlockStmt lockMethodBody = new BlockStmt();
-        lockMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(OPTIMISTIC_LOCK), OR_ELSE).addArgument(new BooleanLiteralExpr(false))));
-        MethodDeclaration enabledMethod = new MethodDeclaration()
+        BlockStmt flagMethodBody = new BlockStmt();
+        flagMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(name), OR_ELSE).addArgument(new BooleanLiteralExpr(false))));
+        MethodDeclaration flagMethod = new MethodDeclaration()
                 .addModifier(Keyword.PUBLIC)
-                .setName(OPTIMISTIC_LOCK)
+                .setName(name)
                 .setType("boolean")
-                .setBody(lockMethodBody);
+                .setBody(flagMethodBody);
 
-        persistenceProviderClazz.addMember(lockField);
-        persistenceProviderClazz.addMember(enabledMethod);
+        persistenceProviderClazz.addMember(flagField);
+        persistenceProviderClazz.addMember(flagMethod);
     }
 
     private Optional<GeneratedFile> mongodbBasedTransaction(ClassOrInterfaceDeclaration persistenceProviderClazz) {
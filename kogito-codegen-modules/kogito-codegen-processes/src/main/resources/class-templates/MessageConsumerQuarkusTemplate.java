@@ -46,10 +46,17 @@ public class $Type$MessageConsumer extends AbstractMessageConsumer<$Type$, $Data
              eventReceiver,
              $DataType$.class,
              $DataEventType$.class,
-             configBean.useCloudEvents());
+             configBean.useCloudEvents(),
+             configBean.messageConsumerWorkers(),
+             configBean.messageConsumerBatchSize());
 
     }
 
+    @javax.annotation.PreDestroy
+    void destroy() {
+        stop();
+    }
+
     protected $Type$ eventToModel($DataType$ event) {
         $Type$ model = new $Type$();
         model.set$DataType$(event);
@@ -38,7 +38,14 @@ public class $Type$MessageConsumer extends AbstractMessageConsumer<$Type$, $Data
               eventReceiver,
               $DataType$.class,
               $DataEventType$.class,
-              configBean.useCloudEvents());
+              configBean.useCloudEvents(),
+              configBean.messageConsumerWorkers(),
+              configBean.messageConsumerBatchSize());
+    }
+
+    @javax.annotation.PreDestroy
+    void destroy() {
+        stop();
     }
 
     protected $Type$ eventToModel($DataType$ event) {
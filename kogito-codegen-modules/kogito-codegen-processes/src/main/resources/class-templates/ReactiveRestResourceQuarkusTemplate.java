@@ -18,10 +18,14 @@ package com.myspace.demo;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
 
+import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -32,10 +36,13 @@ import javax.ws.rs.Path;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.ServiceUnavailableException;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
@@ -48,51 +55,57 @@ import org.kie.kogito.process.workitem.Comment;
 import org.kie.kogito.process.workitem.Policies;
 import org.kie.kogito.process.workitem.TaskModel;
 import org.kie.kogito.auth.IdentityProvider;
+import org.kie.kogito.services.executor.BoundedExecutor;
 
 @Path("/$name$")
 public class $Type$ReactiveResource {
 
     Process<$Type$> process;
 
-    Application application;
+    @Inject
+    ProcessService processService;
+
+    @Inject
+    BoundedExecutor executor;
 
     @POST
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
-    public CompletionStage<$Type$Output> createResource_$name$(@Context HttpHeaders httpHeaders,
-                                                               @QueryParam("businessKey") String businessKey,
-                                                               $Type$Input resource) {
-        return CompletableFuture
-                .supplyAsync(
-                        () -> {
-                            ProcessInstance<$Type$> pi = processService.createProcessInstance(process,
-                                                                                              businessKey,
-                                                                                              Optional.ofNullable(resource).orElse(new $Type$Input()).toModel(),
-                                                                                              httpHeaders.getHeaderString("X-KOGITO-StartFromNode"));
-                            return Response.created(uriInfo.getAbsolutePathBuilder().path(pi.id()).build())
-                                    .entity(pi.checkError().variables().toModel())
-                                    .build();
-                        });
+    public CompletionStage<Response> createResource_$name$(@Context HttpHeaders httpHeaders,
+                                                           @Context UriInfo uriInfo,
+                                                           @QueryParam("businessKey") String businessKey,
+                                                           $Type$Input resource) {
+        return composeAsync(() -> processService.createProcessInstanceAsync(process,
+                                                                            businessKey,
+                                                                            Optional.ofNullable(resource).orElse(new $Type$Input()).toModel(),
+                                                                            httpHeaders.getHeaderString("X-KOGITO-StartFromNode")))
+                .thenApply(pi -> Response.created(uriInfo.getAbsolutePathBuilder().path(pi.id()).build())
+                        .entity(pi.checkError().variables().toModel())
+                        .build());
     }
 
     @GET()
     @Produces(MediaType.APPLICATION_JSON)
-    public CompletionStage<List<$Type$Output>> getResources_$name$() {
-        return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process));
+    public CompletionStage<List<$Type$Output>> getResources_$name$(@QueryParam("offset") @DefaultValue("0") int offset,
+                                                                 @QueryParam("limit") Integer limit) {
+        if (offset < 0 || (limit != null && limit < 0)) {
+            throw new BadRequestException("offset and limit must not be negative");
+        }
+        return supplyAsync(() -> processService.getProcessInstanceOutput(process, offset, Optional.ofNullable(limit).orElse(Integer.MAX_VALUE)));
     }
 
     @GET()
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> getResource_$name$(@PathParam("id") String id) {
-        return CompletableFuture.supplyAsync(() -> processService.findById(process, id).orElseThrow(NotFoundException::new));
+        return composeAsync(() -> processService.findByIdAsync(process, id)).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @DELETE()
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> deleteResource_$name$(@PathParam("id") final String id) {
-        return CompletableFuture.supplyAsync(() -> processService.delete(process, id).orElseThrow(NotFoundException::new));
+        return composeAsync(() -> processService.deleteAsync(process, id)).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @PUT()
@@ -100,7 +113,7 @@ public class $Type$ReactiveResource {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> updateModel_$name$(@PathParam("id") String id, $Type$ resource) {
-        return CompletableFuture.supplyAsync(() -> processService.update(process, id, resource).orElseThrow(NotFoundException::new));
+        return composeAsync(() -> processService.updateAsync(process, id, resource)).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @GET()
@@ -109,11 +122,34 @@ public class $Type$ReactiveResource {
     public CompletionStage<List<TaskModel>> getTasks_$name$(@PathParam("id") String id,
                                                            @QueryParam("user") final String user,
                                                            @QueryParam("group") final List<String> groups) {
-        return CompletableFuture.supplyAsync(
+        return supplyAsync(
                 () -> processService.getTasks(process, id, user, groups)
                         .orElseThrow(NotFoundException::new)
                         .stream()
                         .map($TaskModelFactory$::from)
                         .collect(Collectors.toList()));
     }
-}
\ No newline at end of file
+
+    private <T> CompletionStage<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return executor.supplyAsync(supplier);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException(1L, e);
+        }
+    }
+
+    private <T> CompletionStage<T> composeAsync(Supplier<CompletionStage<T>> supplier) {
+        try {
+            // continuations of the process service are rejected as well once the executor is saturated
+            return executor.composeAsync(supplier).exceptionally(error -> {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (cause instanceof RejectedExecutionException) {
+                    throw new ServiceUnavailableException(1L, cause);
+                }
+                throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+            });
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException(1L, e);
+        }
+    }
+}
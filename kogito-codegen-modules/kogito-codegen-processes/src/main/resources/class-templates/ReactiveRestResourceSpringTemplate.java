@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.myspace.demo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.jbpm.util.JsonSchemaUtil;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.ProcessService;
+import org.kie.kogito.process.workitem.Attachment;
+import org.kie.kogito.process.workitem.AttachmentInfo;
+import org.kie.kogito.process.workitem.Comment;
+import org.kie.kogito.process.workitem.Policies;
+import org.kie.kogito.process.workitem.TaskModel;
+import org.kie.kogito.auth.IdentityProvider;
+import org.kie.kogito.services.executor.BoundedExecutor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+@RestController
+@RequestMapping("/$name$")
+public class $Type$ReactiveResource {
+
+    Process<$Type$> process;
+
+    @Autowired
+    ProcessService processService;
+
+    @Autowired
+    BoundedExecutor executor;
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletionStage<ResponseEntity<$Type$Output>> createResource_$name$(@RequestHeader HttpHeaders httpHeaders,
+                                                                               @RequestParam(value = "businessKey", required = false) String businessKey,
+                                                                               @RequestBody(required = false) $Type$Input resource,
+                                                                               UriComponentsBuilder uriComponentsBuilder) {
+        return composeAsync(() -> processService.createProcessInstanceAsync(process,
+                                                                            businessKey,
+                                                                            Optional.ofNullable(resource).orElse(new $Type$Input()).toModel(),
+                                                                            httpHeaders.getOrEmpty("X-KOGITO-StartFromNode").stream().findFirst().orElse(null)))
+                .thenApply(pi -> ResponseEntity.created(uriComponentsBuilder.path("/$name$/{id}").buildAndExpand(pi.id()).toUri())
+                        .body(pi.checkError().variables().toModel()));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletionStage<List<$Type$Output>> getResources_$name$(@RequestParam(value = "offset", defaultValue = "0") int offset,
+                                                                 @RequestParam(value = "limit", required = false) Integer limit) {
+        return supplyAsync(() -> processService.getProcessInstanceOutput(process, offset, Optional.ofNullable(limit).orElse(Integer.MAX_VALUE)));
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletionStage<$Type$Output> getResource_$name$(@PathVariable("id") String id) {
+        return composeAsync(() -> processService.findByIdAsync(process, id)).thenApply(output -> output.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletionStage<$Type$Output> deleteResource_$name$(@PathVariable("id") final String id) {
+        return composeAsync(() -> processService.deleteAsync(process, id)).thenApply(output -> output.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    @PutMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletionStage<$Type$Output> updateModel_$name$(@PathVariable("id") String id, @RequestBody(required = false) $Type$ resource) {
+        return composeAsync(() -> processService.updateAsync(process, id, resource)).thenApply(output -> output.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    @GetMapping(value = "/{id}/tasks", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletionStage<List<TaskModel>> getTasks_$name$(@PathVariable("id") String id,
+                                                            @RequestParam(value = "user", required = false) final String user,
+                                                            @RequestParam(value = "group", required = false) final List<String> groups) {
+        return supplyAsync(
+                () -> processService.getTasks(process, id, user, groups)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND))
+                        .stream()
+                        .map($TaskModelFactory$::from)
+                        .collect(Collectors.toList()));
+    }
+
+    private <T> CompletionStage<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return executor.supplyAsync(supplier);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+
+    private <T> CompletionStage<T> composeAsync(Supplier<CompletionStage<T>> supplier) {
+        try {
+            // continuations of the process service are rejected as well once the executor is saturated
+            return executor.composeAsync(supplier).exceptionally(error -> {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (cause instanceof RejectedExecutionException) {
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, cause.getMessage(), cause);
+                }
+                throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+            });
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -81,8 +82,12 @@ public class $Type$Resource {
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@QueryParam("offset") @DefaultValue("0") int offset,
+                                                @QueryParam("limit") Integer limit) {
+        if (offset < 0 || (limit != null && limit < 0)) {
+            throw new BadRequestException("offset and limit must not be negative");
+        }
+        return processService.getProcessInstanceOutput(process, offset, Optional.ofNullable(limit).orElse(Integer.MAX_VALUE));
     }
 
     @GET
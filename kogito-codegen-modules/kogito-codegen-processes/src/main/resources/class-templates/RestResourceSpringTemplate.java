@@ -78,8 +78,12 @@ public class $Type$Resource {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@RequestParam(value = "offset", defaultValue = "0") int offset,
+                                                @RequestParam(value = "limit", required = false) Integer limit) {
+        if (offset < 0 || (limit != null && limit < 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset and limit must not be negative");
+        }
+        return processService.getProcessInstanceOutput(process, offset, Optional.ofNullable(limit).orElse(Integer.MAX_VALUE));
     }
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -1,9 +1,12 @@
 package org.kie.kogito.codegen.process.persistence;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.google.protobuf.Any;
-import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import org.infinispan.protostream.BaseMarshaller;
 import org.infinispan.protostream.ProtobufUtil;
 import org.infinispan.protostream.SerializationContext;
 import org.infinispan.protostream.config.Configuration;
@@ -15,6 +18,8 @@ public class ProtostreamObjectMarshaller implements ObjectMarshallerStrategy {
 
     private static final String NAMESPACE = "org.kie.kogito/";
     private SerializationContext context;
+    private final Map<Class<?>, String> typeUrls = new HashMap<>();
+    private final Map<String, Class<?>> javaTypes = new HashMap<>();
 
 
     public ProtostreamObjectMarshaller() {
@@ -22,6 +27,12 @@ public class ProtostreamObjectMarshaller implements ObjectMarshallerStrategy {
 
     }
 
+    private void register(BaseMarshaller<?> marshaller) {
+        context.registerMarshaller(marshaller);
+        typeUrls.put(marshaller.getJavaClass(), NAMESPACE + marshaller.getTypeName());
+        javaTypes.put(NAMESPACE + marshaller.getTypeName(), marshaller.getJavaClass());
+    }
+
     @Override
     public Integer order() {
         return 2;
@@ -29,16 +40,15 @@ public class ProtostreamObjectMarshaller implements ObjectMarshallerStrategy {
 
     @Override
     public boolean acceptForMarshalling(Object value) {
-        return context.canMarshall(value.getClass());
+        return typeUrls.containsKey(value.getClass());
     }
 
     @Override
     public Object marshall(Object unmarshalled) {
         try {
-            String fullTypeName = context.getMarshaller(unmarshalled.getClass()).getTypeName();
             return Any.newBuilder()
-                    .setTypeUrl(NAMESPACE + fullTypeName)
-                    .setValue(ByteString.copyFrom(ProtobufUtil.toByteArray(context, unmarshalled))).build();
+                    .setTypeUrl(typeUrls.get(unmarshalled.getClass()))
+                    .setValue(UnsafeByteOperations.unsafeWrap(ProtobufUtil.toByteArray(context, unmarshalled))).build();
         } catch (IOException e) {
             throw new ProcessInstanceMarshallerException("cannot marshall protobuf stream", e);
         }
@@ -47,24 +57,19 @@ public class ProtostreamObjectMarshaller implements ObjectMarshallerStrategy {
     @Override
     public boolean acceptForUnmarshalling(Object value) {
         Any data = (Any) value;
-        return data.getTypeUrl().startsWith(NAMESPACE);
+        return javaTypes.containsKey(data.getTypeUrl());
     }
 
     @Override
     public Object unmarshall(Object marshalled) {
         try {
             Any data = (Any) marshalled;
-            String fqn = context.getMarshaller(removeNamespace(data.getTypeUrl())).getJavaClass().getCanonicalName();
             byte[] bytes = data.getValue().toByteArray();
-            return ProtobufUtil.fromByteArray(context, bytes, 0, bytes.length, Class.forName(fqn));
-        } catch(IOException | ClassNotFoundException e) {
+            return ProtobufUtil.fromByteArray(context, bytes, 0, bytes.length, javaTypes.get(data.getTypeUrl()));
+        } catch (IOException e) {
             throw new ProcessInstanceMarshallerException("cannot unmarshall protobuf stream", e);
         }
-        
-    }
 
-    private String removeNamespace(String dataTypeURL) {
-        return dataTypeURL.substring(NAMESPACE.length());
     }
 
 }
@@ -16,11 +16,15 @@
 package $Package$;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Disposes;
 import javax.enterprise.inject.Produces;
+import javax.inject.Singleton;
 
 import org.kie.kogito.Application;
+import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.impl.ProcessServiceImpl;
+import org.kie.kogito.services.executor.BoundedExecutor;
 
 
 
@@ -28,7 +32,17 @@ import org.kie.kogito.process.impl.ProcessServiceImpl;
 public class ProcessServiceProducer {
 
     @Produces
-    public ProcessService processService(Application application){
-        return new ProcessServiceImpl(application);
+    public ProcessService processService(Application application, BoundedExecutor restResourceExecutor){
+        return new ProcessServiceImpl(application, restResourceExecutor::execute);
+    }
+
+    @Produces
+    @Singleton
+    public BoundedExecutor restResourceExecutor(ConfigBean configBean) {
+        return new BoundedExecutor("kogito-rest", configBean.restExecutorThreads(), configBean.restExecutorQueueSize());
+    }
+
+    public void shutdownRestResourceExecutor(@Disposes BoundedExecutor executor) {
+        executor.shutdown();
     }
 }
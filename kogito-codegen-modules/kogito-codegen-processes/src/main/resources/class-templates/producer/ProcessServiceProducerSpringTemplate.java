@@ -16,8 +16,10 @@
 package $Package$;
 
 import org.kie.kogito.Application;
+import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.impl.ProcessServiceImpl;
+import org.kie.kogito.services.executor.BoundedExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -25,7 +27,12 @@ import org.springframework.context.annotation.Configuration;
 public class ProcessServiceProducer {
 
     @Bean
-    public ProcessService processService(Application application){
-        return new ProcessServiceImpl(application);
+    public ProcessService processService(Application application, BoundedExecutor restResourceExecutor){
+        return new ProcessServiceImpl(application, restResourceExecutor::execute);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedExecutor restResourceExecutor(ConfigBean configBean) {
+        return new BoundedExecutor("kogito-rest", configBean.restExecutorThreads(), configBean.restExecutorQueueSize());
     }
 }
@@ -35,6 +35,7 @@ import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.MethodCallExpr;
 
 import static com.github.javaparser.StaticJavaParser.parse;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -88,4 +89,29 @@ class FileSystemPersistenceGeneratorTest {
         assertThat(fieldDeclaration.get().getVariables()).hasSize(1);
         assertThat(fieldDeclaration.get().getVariables().get(0).getName().asString()).isEqualTo(PATH_NAME);
     }
+
+    @Test
+    void testObjectMarshallerStrategy() {
+        context.setApplicationProperty("kogito.persistence.type", FILESYSTEM_PERSISTENCE_TYPE);
+
+        ReflectionProtoGenerator protoGenerator = ReflectionProtoGenerator.builder().build(Collections.singleton(GeneratedPOJO.class));
+        Collection<GeneratedFile> generatedFiles = new PersistenceGenerator(context, protoGenerator).generate();
+
+        GeneratedFile strategy = generatedFiles.stream()
+                .filter(gf -> gf.relativePath().endsWith("/ProtostreamObjectMarshaller.java"))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("Object marshaller strategy not generated"));
+        assertThat(generatedFiles)
+                .anyMatch(gf -> gf.relativePath().equals("META-INF/services/org.kie.kogito.serialization.process.ObjectMarshallerStrategy"));
+
+        CompilationUnit compilationUnit = parse(new ByteArrayInputStream(strategy.contents()));
+        ClassOrInterfaceDeclaration classDeclaration = compilationUnit.findFirst(ClassOrInterfaceDeclaration.class)
+                .orElseThrow(() -> new NoSuchElementException("Compilation unit doesn't contain a class or interface declaration!"));
+
+        // every marshaller is registered along with its java type, so the strategy does not need to look classes up by name
+        assertThat(classDeclaration.getDefaultConstructor()).isPresent();
+        assertThat(classDeclaration.getDefaultConstructor().get().findAll(MethodCallExpr.class, m -> m.getNameAsString().equals("register")))
+                .anyMatch(m -> m.getArgument(0).toString().endsWith("PersonMessageMarshaller()"));
+        assertThat(classDeclaration.findAll(MethodCallExpr.class, m -> m.getNameAsString().equals("forName"))).isEmpty();
+    }
 }
@@ -79,6 +79,13 @@ class JDBCPersistenceGeneratorTest {
         final ClassOrInterfaceDeclaration classDeclaration = compilationUnit
                 .findFirst(ClassOrInterfaceDeclaration.class)
                 .orElseThrow(() -> new NoSuchElementException("Compilation unit doesn't contain a class or interface declaration!"));
+
+        assertThat(classDeclaration.getMethodsByName("lock")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("batch")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("cacheSize")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("correlationIndex")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("outbox")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("cacheListener")).hasSize(1);
     }
 
 }
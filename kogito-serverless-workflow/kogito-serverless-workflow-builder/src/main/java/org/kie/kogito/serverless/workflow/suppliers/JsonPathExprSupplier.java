@@ -28,6 +28,8 @@ public class JsonPathExprSupplier implements Supplier<Expression> {
     private String jsonPathExpr;
 
     public JsonPathExprSupplier(String jsonPathExpr) {
+        // compiled once here so invalid expressions fail the build rather than the running workflow
+        JsonPathResolver.compile(jsonPathExpr);
         this.jsonPathExpr = jsonPathExpr;
     }
 
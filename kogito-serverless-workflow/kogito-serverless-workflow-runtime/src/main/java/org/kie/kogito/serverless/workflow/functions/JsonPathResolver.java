@@ -22,33 +22,52 @@ import java.util.Iterator;
 import org.jbpm.workflow.instance.impl.WorkItemHandlerParamResolver;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
-import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 
 public class JsonPathResolver implements WorkItemHandlerParamResolver {
 
+    // no mapping provider, results are read straight from the nodes the expression selects
     private static final Configuration jsonPathConfig = Configuration
             .builder()
-            .mappingProvider(new JacksonMappingProvider())
             .jsonProvider(new JacksonJsonNodeJsonProvider())
             .build();
 
-    private String jsonPathExpr;
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final JsonPath jsonPath;
 
     public JsonPathResolver(String jsonPathExpr) {
-        this.jsonPathExpr = jsonPathExpr;
+        this.jsonPath = compile(jsonPathExpr);
+    }
+
+    /**
+     * Compiles given expression so it can be evaluated over and over without being parsed again
+     * 
+     * @param jsonPathExpr json path expression
+     * @return compiled expression
+     * @throws com.jayway.jsonpath.InvalidPathException if the expression is not valid
+     */
+    public static JsonPath compile(String jsonPathExpr) {
+        return JsonPath.compile(jsonPathExpr);
     }
 
     @Override
     public Object apply(Object context) {
-        JsonNode node = JsonPath
-                .using(jsonPathConfig)
-                .parse(context)
-                .read(jsonPathExpr, JsonNode.class);
-        return readValue(node);
+        JsonNode json = context instanceof JsonNode ? (JsonNode) context : mapper.valueToTree(context);
+        Object value = jsonPath.read(json, jsonPathConfig);
+        return value instanceof JsonNode ? readValue((JsonNode) value) : readScalar(value);
+    }
+
+    // the json provider already unwraps value nodes, keep them as readValue would
+    private Object readScalar(Object value) {
+        if (value instanceof Number && !(value instanceof Integer) && !(value instanceof Long)) {
+            return ((Number) value).doubleValue();
+        }
+        return value;
     }
 
     private Object readValue(JsonNode node) {
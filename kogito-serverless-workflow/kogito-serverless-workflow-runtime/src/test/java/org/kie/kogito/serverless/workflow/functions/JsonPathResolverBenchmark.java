@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serverless.workflow.functions;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+
+/**
+ * Measures resolving the arguments of an action, a handful of expressions evaluated over the same workflow data,
+ * comparing {@link JsonPathResolver} with parsing the expression and mapping the result on every evaluation.
+ * <p>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.kie.kogito.serverless.workflow.functions.JsonPathResolverBenchmark</code>
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonPathResolverBenchmark {
+
+    private static final String[] EXPRESSIONS = { "$.id", "$.customer.name", "$.customer.vip", "$.total", "$.items[*].sku", "$.items[0].quantity" };
+
+    private static final Configuration mappingConfig = Configuration
+            .builder()
+            .mappingProvider(new JacksonMappingProvider())
+            .jsonProvider(new JacksonJsonNodeJsonProvider())
+            .build();
+
+    private JsonNode workflowData;
+    private List<JsonPathResolver> resolvers;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode data = mapper.createObjectNode().put("id", 26).put("total", 125.5);
+        data.putObject("customer").put("name", "pepe").put("vip", true);
+        ArrayNode items = data.putArray("items");
+        for (int i = 0; i < 10; i++) {
+            items.addObject().put("sku", "sku-" + i).put("quantity", i);
+        }
+        workflowData = data;
+        resolvers = Stream.of(EXPRESSIONS).map(JsonPathResolver::new).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void compiled(Blackhole bh) {
+        for (JsonPathResolver resolver : resolvers) {
+            bh.consume(resolver.apply(workflowData));
+        }
+    }
+
+    @Benchmark
+    public void parsedOnEachEvaluation(Blackhole bh) {
+        for (String expression : EXPRESSIONS) {
+            bh.consume(JsonPath.using(mappingConfig).parse(workflowData).read(expression, JsonNode.class));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonPathResolverBenchmark.class.getSimpleName()).build()).run();
+    }
+}
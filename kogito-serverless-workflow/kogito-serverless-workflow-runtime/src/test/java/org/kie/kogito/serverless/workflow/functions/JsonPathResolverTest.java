@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serverless.workflow.functions;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jayway.jsonpath.InvalidPathException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonPathResolverTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testScalarValues() {
+        ObjectNode data = mapper.createObjectNode()
+                .put("int", 26)
+                .put("long", 10000000000L)
+                .put("double", 1.5)
+                .put("text", "pepe")
+                .put("flag", true)
+                .putNull("none");
+
+        assertEquals(26, new JsonPathResolver("$.int").apply(data));
+        assertEquals(10000000000L, new JsonPathResolver("$.long").apply(data));
+        assertEquals(1.5, new JsonPathResolver("$.double").apply(data));
+        assertEquals("pepe", new JsonPathResolver("$.text").apply(data));
+        assertEquals(true, new JsonPathResolver("$.flag").apply(data));
+        assertNull(new JsonPathResolver("$.none").apply(data));
+    }
+
+    @Test
+    public void testArrayValues() {
+        ObjectNode data = mapper.createObjectNode();
+        data.putArray("numbers").add(1).add(2.5);
+        data.putArray("people").add(mapper.createObjectNode().put("name", "pepe")).add(mapper.createObjectNode().put("name", "mary"));
+
+        assertEquals(Arrays.asList(1, 2.5), new JsonPathResolver("$.numbers").apply(data));
+        assertEquals(Arrays.asList("pepe", "mary"), new JsonPathResolver("$.people[*].name").apply(data));
+    }
+
+    @Test
+    public void testResolverIsReused() {
+        JsonPathResolver resolver = new JsonPathResolver("$.name");
+
+        assertEquals("pepe", resolver.apply(mapper.createObjectNode().put("name", "pepe")));
+        assertEquals("mary", resolver.apply(mapper.createObjectNode().put("name", "mary")));
+    }
+
+    @Test
+    public void testNonJsonContext() {
+        assertEquals("pepe", new JsonPathResolver("$.name").apply(Collections.singletonMap("name", "pepe")));
+    }
+
+    @Test
+    public void testInvalidExpression() {
+        assertThrows(InvalidPathException.class, () -> new JsonPathResolver("$.name."));
+    }
+}
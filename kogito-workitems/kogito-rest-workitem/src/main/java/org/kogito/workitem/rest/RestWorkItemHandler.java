@@ -21,6 +21,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.UnaryOperator;
 
 import org.jbpm.process.core.Process;
@@ -29,10 +31,11 @@ import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.workflow.core.node.WorkItemNode;
 import org.jbpm.workflow.instance.impl.WorkItemHandlerParamResolver;
 import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
+import org.kie.kogito.internal.process.runtime.KogitoAsyncWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
-import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.services.executor.BoundedExecutor;
 import org.kogito.workitem.rest.bodybuilders.DefaultWorkItemHandlerBodyBuilder;
 import org.kogito.workitem.rest.bodybuilders.RestWorkItemHandlerBodyBuilder;
 import org.kogito.workitem.rest.resulthandlers.DefaultRestWorkItemHandlerResult;
@@ -40,13 +43,14 @@ import org.kogito.workitem.rest.resulthandlers.RestWorkItemHandlerResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.mutiny.core.buffer.Buffer;
 import io.vertx.mutiny.ext.web.client.HttpRequest;
 import io.vertx.mutiny.ext.web.client.HttpResponse;
 import io.vertx.mutiny.ext.web.client.WebClient;
 
-public class RestWorkItemHandler implements KogitoWorkItemHandler {
+public class RestWorkItemHandler implements KogitoAsyncWorkItemHandler {
 
     public static final String REST_TASK_TYPE = "Rest";
     public static final String URL = "Url";
@@ -82,13 +86,36 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
     }
 
     private WebClient client;
+    private Executor completionExecutor;
 
     public RestWorkItemHandler(WebClient client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates a handler completing its work items on given executor once responses are received,
+     * instead of having the engine wait for them.
+     */
+    public RestWorkItemHandler(WebClient client, Executor completionExecutor) {
         this.client = client;
+        this.completionExecutor = completionExecutor;
+    }
+
+    /**
+     * Returns the executor shared by generated handlers to complete their work items, created on first use.
+     * Its threads time out when idle and completions it rejects while saturated are attempted again later.
+     */
+    public static Executor sharedCompletionExecutor() {
+        return SharedExecutor.INSTANCE::execute;
+    }
+
+    @Override
+    public Executor getCompletionExecutor() {
+        return completionExecutor;
     }
 
     @Override
-    public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+    public CompletionStage<Map<String, Object>> executeWorkItemAsync(KogitoWorkItem workItem) {
         RestWorkItemTargetInfo targetInfo = getTargetInfo(workItem);
         logger.debug("Using target {}", targetInfo);
         //retrieving parameters
@@ -120,9 +147,9 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
         if (user != null && !user.trim().isEmpty() && password != null && !password.trim().isEmpty()) {
             request.basicAuthentication(user, password);
         }
-        HttpResponse<Buffer> response = method == HttpMethod.POST || method == HttpMethod.PUT ? request.sendJsonAndAwait(bodyBuilder.apply(inputModel, parameters, resolver)) : request.sendAndAwait();
-        manager.completeWorkItem(workItem.getStringId(), targetInfo != null ? Collections.singletonMap(RESULT,
-                resultHandler.apply(targetInfo, response)) : Collections.emptyMap());
+        Uni<HttpResponse<Buffer>> response = method == HttpMethod.POST || method == HttpMethod.PUT ? request.sendJson(bodyBuilder.apply(inputModel, parameters, resolver)) : request.send();
+        return response.subscribeAsCompletionStage().thenApply(r -> targetInfo != null ? Collections.singletonMap(RESULT,
+                resultHandler.apply(targetInfo, r)) : Collections.emptyMap());
     }
 
     private RestWorkItemTargetInfo getTargetInfo(KogitoWorkItem workItem) {
@@ -206,4 +233,10 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
         }
         return type.cast(value);
     }
+
+    private static class SharedExecutor {
+
+        private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        private static final BoundedExecutor INSTANCE = new BoundedExecutor("kogito-rest-workitem", THREADS, THREADS * 64);
+    }
 }
@@ -39,6 +39,7 @@ import org.mockito.Mockito;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.buffer.Buffer;
@@ -138,7 +139,7 @@ public class RestWorkItemHandlerTest {
         when(webClient.request(HttpMethod.GET, 8080, "localhost", "/results/26/names/pepe"))
                 .thenReturn(request);
         HttpResponse<Buffer> response = mock(HttpResponse.class);
-        when(request.sendAndAwait()).thenReturn(response);
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
         when(response.bodyAsJsonObject()).thenReturn(JsonObject.mapFrom(Collections.singletonMap("num", 1)));
 
         Map<String, Object> parameters = new HashMap<>();
@@ -203,7 +204,7 @@ public class RestWorkItemHandlerTest {
         when(webClient.request(HttpMethod.GET, 8080, "localhost", "/results/25"))
                 .thenReturn(request);
         HttpResponse<Buffer> response = mock(HttpResponse.class);
-        when(request.sendAndAwait()).thenReturn(response);
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
         when(response.bodyAsJsonObject()).thenReturn(JsonObject.mapFrom(Collections.singletonMap("num", 1)));
 
         Map<String, Object> parameters = new HashMap<>();
@@ -262,7 +263,7 @@ public class RestWorkItemHandlerTest {
         when(webClient.request(HttpMethod.POST, 8080, "localhost", "/results/sum"))
                 .thenReturn(request);
         HttpResponse<Buffer> response = mock(HttpResponse.class);
-        when(request.sendJsonAndAwait(Mockito.any())).thenReturn(response);
+        when(request.sendJson(Mockito.any())).thenReturn(Uni.createFrom().item(response));
         when(response.bodyAsJsonObject()).thenReturn(JsonObject.mapFrom(Collections.singletonMap("num", 1)));
 
         ObjectNode workflowData = mapper.createObjectNode().put("id", 26).put("name", "pepe");
@@ -303,7 +304,7 @@ public class RestWorkItemHandlerTest {
                 webClient);
         handler.executeWorkItem(workItem, manager);
 
-        verify(request).sendJsonAndAwait(bodyCaptor.capture());
+        verify(request).sendJson(bodyCaptor.capture());
         Map<String, Object> bodyMap = bodyCaptor.getValue();
         assertEquals(26, bodyMap.get("id"));
         assertEquals("pepe", bodyMap.get("name"));
@@ -334,7 +335,7 @@ public class RestWorkItemHandlerTest {
         when(webClient.request(HttpMethod.POST, 8080, "localhost", "/results/sum"))
                 .thenReturn(request);
         HttpResponse<Buffer> response = mock(HttpResponse.class);
-        when(request.sendJsonAndAwait(Mockito.any())).thenReturn(response);
+        when(request.sendJson(Mockito.any())).thenReturn(Uni.createFrom().item(response));
         when(response.bodyAsJsonObject()).thenReturn(JsonObject.mapFrom(Collections.singletonMap("num", 1)));
 
         ObjectNode workflowData = mapper.createObjectNode().put("id", 26).put("name", "pepe");
@@ -374,7 +375,7 @@ public class RestWorkItemHandlerTest {
         handler.executeWorkItem(workItem, manager);
 
         ArgumentCaptor<ObjectNode> bodyCaptor = ArgumentCaptor.forClass(ObjectNode.class);
-        verify(request).sendJsonAndAwait(bodyCaptor.capture());
+        verify(request).sendJson(bodyCaptor.capture());
         ObjectNode bodyMap = bodyCaptor.getValue();
         assertEquals(26, bodyMap.get("id").asInt());
         assertEquals("pepe", bodyMap.get("name").asText());
@@ -15,35 +15,74 @@
  */
 package org.kie.kogito.addon.cloudevents.quarkus;
 
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.addon.cloudevents.JsonStringToObjectConsumer;
 import org.kie.kogito.event.EventReceiver;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.kie.kogito.event.SubscriptionInfo;
 import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 
 @ApplicationScoped
 public class QuarkusCloudEventReceiver implements EventReceiver {
 
+    private static final Logger logger = LoggerFactory.getLogger(QuarkusCloudEventReceiver.class);
+
     @Inject
     @Named(KogitoEventStreams.PUBLISHER)
     Publisher<String> eventPublisher;
 
     @Inject
-    private ObjectMapper objectMapper;
+    ObjectMapper objectMapper;
+
+    // events handed to asynchronous consumers before any of them completed
+    @ConfigProperty(name = "kogito.messaging.consumer.max-in-flight", defaultValue = "256")
+    int maxInFlight;
 
     @Override
     public <T> void subscribe(Consumer<T> consumer, SubscriptionInfo<T> info) {
         Multi.createFrom().publisher(eventPublisher).subscribe().with(
                 new JsonStringToObjectConsumer<>(objectMapper, consumer, info.getEventType()));
     }
+
+    @Override
+    public <T> void subscribeAsync(Function<T, CompletionStage<?>> consumer, SubscriptionInfo<T> info) {
+        Multi.createFrom().publisher(eventPublisher)
+                .onItem().transformToUni(value -> consume(consumer, value, info.getEventType()))
+                .merge(Math.max(maxInFlight, 1))
+                .subscribe().with(done -> {
+                });
+    }
+
+    // a failed event is logged and does not end the subscription, later events are still received
+    private <T> Uni<Void> consume(Function<T, CompletionStage<?>> consumer, String value, Class<T> type) {
+        T event;
+        try {
+            event = objectMapper.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            logger.info("Invalid payload {}", value, e);
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().completionStage(() -> consumer.apply(event))
+                .onItem().<Void> transform(result -> null)
+                .onFailure().recoverWithItem(error -> {
+                    logger.warn("Event {} could not be processed", value, error);
+                    return null;
+                });
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.addon.cloudevents.quarkus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Application;
+import org.kie.kogito.Model;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.services.event.AbstractProcessDataEvent;
+import org.kie.kogito.services.event.EventConsumer;
+import org.kie.kogito.services.event.EventConsumerFactory;
+import org.kie.kogito.services.event.impl.AbstractMessageConsumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.smallrye.mutiny.Multi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuarkusCloudEventReceiverTest {
+
+    private static final int MESSAGES = 100;
+    private static final int MAX_IN_FLIGHT = 32;
+
+    @Test
+    void testMessagesInFlightAreAppliedInBatches() throws Exception {
+        RecordingConsumer recorder = new RecordingConsumer();
+        QuarkusCloudEventReceiver receiver = new QuarkusCloudEventReceiver();
+        receiver.eventPublisher = Multi.createFrom().range(0, MESSAGES).map(i -> "\"message-" + i + "\"");
+        receiver.objectMapper = new ObjectMapper();
+        receiver.maxInFlight = MAX_IN_FLIGHT;
+
+        TestMessageConsumer consumer = new TestMessageConsumer(recorder.received);
+        consumer.init(null, null, "trigger", factory(recorder), receiver, String.class, null, false, 1, 50);
+        try {
+            assertThat(recorder.await(MESSAGES)).isTrue();
+
+            synchronized (recorder) {
+                // the receiver kept receiving while the first message was applied
+                assertThat(recorder.batches).anySatisfy(size -> assertThat(size).isGreaterThan(1));
+                assertThat(recorder.batches).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(MAX_IN_FLIGHT));
+            }
+        } finally {
+            consumer.stop();
+        }
+    }
+
+    private static EventConsumerFactory factory(EventConsumer<?> eventConsumer) {
+        return new EventConsumerFactory() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <M extends Model, D> EventConsumer<M> get(Function<D, M> function, boolean cloudEvents) {
+                return (EventConsumer<M>) eventConsumer;
+            }
+        };
+    }
+
+    private static class RecordingConsumer implements EventConsumer<Model> {
+
+        // released once the receiver handed over as many messages as it keeps in flight
+        private final CountDownLatch received = new CountDownLatch(MAX_IN_FLIGHT);
+        private final List<Integer> batches = new ArrayList<>();
+        private int consumed;
+
+        @Override
+        public synchronized void consume(Application application, Process<Model> process, Object payload, String trigger) {
+            batches.add(1);
+            consumed++;
+            notifyAll();
+        }
+
+        @Override
+        public void consumeBatch(Application application, Process<Model> process, List<?> payloads, String trigger) {
+            try {
+                received.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                batches.add(payloads.size());
+                consumed += payloads.size();
+                notifyAll();
+            }
+        }
+
+        private synchronized boolean await(int messages) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (consumed < messages && System.currentTimeMillis() < deadline) {
+                wait(100);
+            }
+            return consumed == messages;
+        }
+    }
+
+    private static class TestMessageConsumer extends AbstractMessageConsumer<Model, String, AbstractProcessDataEvent<String>> {
+
+        private final CountDownLatch received;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private TestMessageConsumer(CountDownLatch received) {
+            this.received = received;
+        }
+
+        @Override
+        public CompletionStage<Void> consumeAsync(String payload) {
+            CompletionStage<Void> applied = super.consumeAsync(payload);
+            if (count.incrementAndGet() <= MAX_IN_FLIGHT) {
+                received.countDown();
+            }
+            return applied;
+        }
+
+        @Override
+        protected Model eventToModel(String event) {
+            return null;
+        }
+    }
+}
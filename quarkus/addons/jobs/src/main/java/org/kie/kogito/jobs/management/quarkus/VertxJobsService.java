@@ -25,7 +25,6 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
-import org.kie.kogito.jobs.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.ProcessJobDescription;
 import org.kie.kogito.jobs.api.Job;
 import org.kie.kogito.jobs.api.JobNotFoundException;
@@ -98,10 +97,7 @@ public class VertxJobsService extends RestJobsService {
     }
 
     @Override
-    public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
-        String callback = getCallbackEndpoint(description);
-        LOGGER.debug("Job to be scheduled {} with callback URL {}", description, callback);
-        final Job job = buildJob(description, callback);
+    protected void sendJob(Job job) {
         client.post(JOBS_PATH).sendJson(job, res -> {
             if (res.succeeded() && res.result().statusCode() == 200) {
                 LOGGER.debug("Creating of the job {} done with status code {} ", job, res.result().statusCode());
@@ -109,11 +105,10 @@ public class VertxJobsService extends RestJobsService {
                 LOGGER.error("Scheduling of job {} failed with response code {}", job, res.result().statusCode(), res.cause());
             }
         });
-        return job.getId();
     }
 
     @Override
-    public boolean cancelJob(String id) {
+    protected boolean sendCancel(String id) {
         client.delete(JOBS_PATH + "/" + id).send(res -> {
             if (res.succeeded() && (res.result().statusCode() == 200 || res.result().statusCode() == 404)) {
                 LOGGER.debug("Canceling of the job {} done with status code {} ", id, res.result().statusCode());
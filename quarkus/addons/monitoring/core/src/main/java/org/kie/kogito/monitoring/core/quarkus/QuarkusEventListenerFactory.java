@@ -24,9 +24,11 @@ import org.kie.kogito.KogitoGAV;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.monitoring.core.common.Constants;
 import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.kogito.monitoring.core.common.process.MetricsProcessInstancesCacheListener;
 import org.kie.kogito.monitoring.core.common.process.MonitoringProcessEventListenerConfig;
 import org.kie.kogito.monitoring.core.common.rule.RuleMetricsListenerConfig;
 import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.ProcessInstancesCacheListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,4 +59,11 @@ public class QuarkusEventListenerFactory {
         LOGGER.debug("Producing default listener for process monitoring.");
         return new MonitoringProcessEventListenerConfig(configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), MonitoringRegistry.getDefaultMeterRegistry());
     }
+
+    @Produces
+    @IfBuildProperty(name = Constants.MONITORING_PROCESS_USE_DEFAULT, stringValue = "true", enableIfMissing = true)
+    public ProcessInstancesCacheListener produceProcessInstancesCacheListener() {
+        LOGGER.debug("Producing default listener for process instances cache monitoring.");
+        return new MetricsProcessInstancesCacheListener(configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), MonitoringRegistry.getDefaultMeterRegistry());
+    }
 }
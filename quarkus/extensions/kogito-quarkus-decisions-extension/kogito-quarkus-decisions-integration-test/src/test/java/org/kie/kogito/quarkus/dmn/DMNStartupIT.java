@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.quarkus.dmn;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.drools.core.util.IoUtils;
+import org.junit.jupiter.api.Test;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.feel.codegen.feel11.CodegenStringUtil;
+import org.kie.kogito.dmn.DMNKogito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the time needed to create the DMNRuntime at startup from the original models and
+ * from the runtime copies generated at build time, which are the ones the application reads.
+ */
+@QuarkusTest
+public class DMNStartupIT {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DMNStartupIT.class);
+
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 5;
+
+    @Test
+    public void testRuntimeResourcesStartup() {
+        List<String> original = Stream.of("a.dmn", "OneOfEachType.dmn")
+                .map(DMNStartupIT::readResource)
+                .collect(Collectors.toList());
+        List<String> runtime = Stream.of(
+                runtimeResourcePath("http://www.trisotech.com/definitions/_2ceee5b6-0f0d-41ef-890e-2cd6fb1adb10", "dmnModel"),
+                runtimeResourcePath("http://www.trisotech.com/definitions/_4f5608e9-4d74-4c22-a47e-ab657257fc9c", "OneOfEachType"))
+                .map(DMNStartupIT::readResource)
+                .collect(Collectors.toList());
+
+        assertTrue(length(runtime) < length(original));
+        assertEquals(modelNames(createRuntime(original)), modelNames(createRuntime(runtime)));
+
+        long originalMillis = measureStartup(original);
+        long runtimeMillis = measureStartup(runtime);
+        LOGGER.info("DMNRuntime created in {} ms from {} chars of original models, in {} ms from {} chars of runtime models",
+                originalMillis, length(original), runtimeMillis, length(runtime));
+    }
+
+    private static long measureStartup(List<String> models) {
+        for (int i = 0; i < WARMUP; i++) {
+            createRuntime(models);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            createRuntime(models);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static DMNRuntime createRuntime(List<String> models) {
+        return DMNKogito.createGenericDMNRuntime(models.stream().map(StringReader::new).toArray(Reader[]::new));
+    }
+
+    private static List<String> modelNames(DMNRuntime dmnRuntime) {
+        dmnRuntime.getModels().forEach(model -> assertFalse(model.hasErrors(), model.getName()));
+        return dmnRuntime.getModels().stream().map(DMNModel::getName).sorted().collect(Collectors.toList());
+    }
+
+    private static int length(List<String> models) {
+        return models.stream().mapToInt(String::length).sum();
+    }
+
+    private static String runtimeResourcePath(String namespace, String name) {
+        return CodegenStringUtil.escapeIdentifier(namespace).replace(".", "/") + "/" + CodegenStringUtil.escapeIdentifier(name) + ".dmn_runtime";
+    }
+
+    private static String readResource(String path) {
+        try (InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(path)) {
+            assertNotNull(stream, path);
+            return new String(IoUtils.readBytesFromInputStream(stream), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
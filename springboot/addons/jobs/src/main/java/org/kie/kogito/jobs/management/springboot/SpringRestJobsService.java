@@ -19,7 +19,6 @@ import java.time.ZonedDateTime;
 
 import javax.annotation.PostConstruct;
 
-import org.kie.kogito.jobs.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.ProcessJobDescription;
 import org.kie.kogito.jobs.api.Job;
 import org.kie.kogito.jobs.api.JobNotFoundException;
@@ -69,21 +68,17 @@ public class SpringRestJobsService extends RestJobsService {
     }
 
     @Override
-    public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
-        String callback = getCallbackEndpoint(description);
-        LOGGER.debug("Job to be scheduled {} with callback URL {}", description, callback);
-        final Job job = buildJob(description, callback);
+    protected void sendJob(Job job) {
         ResponseEntity<String> result = restTemplate.postForEntity(getJobsServiceUri(),
                 job,
                 String.class);
         if (result.getStatusCode().ordinal() == 200) {
             LOGGER.debug("Creating of the job {} done with status code {} ", job, result.getStatusCode());
         }
-        return job.getId();
     }
 
     @Override
-    public boolean cancelJob(String id) {
+    protected boolean sendCancel(String id) {
 
         try {
             restTemplate.delete(getJobsServiceUri() + "/{id}", id);
@@ -20,9 +20,11 @@ import org.kie.kogito.KogitoGAV;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.monitoring.core.common.Constants;
 import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.kogito.monitoring.core.common.process.MetricsProcessInstancesCacheListener;
 import org.kie.kogito.monitoring.core.common.process.MonitoringProcessEventListenerConfig;
 import org.kie.kogito.monitoring.core.common.rule.RuleMetricsListenerConfig;
 import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.ProcessInstancesCacheListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,6 +54,16 @@ public class SpringbootEventListenerFactory {
         return new MonitoringProcessEventListenerConfig(configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), MonitoringRegistry.getDefaultMeterRegistry());
     }
 
+    @Bean
+    @ConditionalOnProperty(
+            value = Constants.MONITORING_PROCESS_USE_DEFAULT,
+            havingValue = "true",
+            matchIfMissing = true)
+    public ProcessInstancesCacheListener produceProcessInstancesCacheListener() {
+        LOGGER.debug("Producing default listener for process instances cache monitoring.");
+        return new MetricsProcessInstancesCacheListener(configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), MonitoringRegistry.getDefaultMeterRegistry());
+    }
+
     @ConditionalOnProperty(
             value = Constants.MONITORING_RULE_USE_DEFAULT,
             havingValue = "true",
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.springboot;
+
+import javax.annotation.PostConstruct;
+
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.conf.ConfigBean;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.kogito.monitoring.core.common.system.metrics.ExecutorMetrics;
+import org.kie.kogito.services.executor.BoundedExecutor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SpringbootExecutorMetricsRegister {
+
+    ConfigBean configBean;
+
+    ObjectProvider<BoundedExecutor> executors;
+
+    @Autowired
+    public SpringbootExecutorMetricsRegister(ConfigBean configBean, ObjectProvider<BoundedExecutor> executors) {
+        this.configBean = configBean;
+        this.executors = executors;
+    }
+
+    @PostConstruct
+    void bind() {
+        ExecutorMetrics metrics = new ExecutorMetrics(configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), MonitoringRegistry.getDefaultMeterRegistry());
+        executors.orderedStream().forEach(metrics::bind);
+    }
+}